@@ -0,0 +1,131 @@
+package com.assessment.kata.checkoutkata.benchmarks;
+
+import com.assessment.kata.checkoutkata.discount.DiscountEngine;
+import com.assessment.kata.checkoutkata.discount.GreedyDiscountEngine;
+import com.assessment.kata.checkoutkata.discount.OptimalDiscountEngine;
+import com.assessment.kata.checkoutkata.model.BarcodeIndex;
+import com.assessment.kata.checkoutkata.model.BundleComponent;
+import com.assessment.kata.checkoutkata.model.BundleOffer;
+import com.assessment.kata.checkoutkata.model.Cart;
+import com.assessment.kata.checkoutkata.model.CheckoutSummary;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices a 100-line basket where most items are in overlapping "any 3 of" bundles or meal deals.
+ * {@code scanAndTotal} adds one unit to a cart that keeps its solver between scans;
+ * {@code solveFromScratch} summarizes the same basket with a new solver every time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BundlePricingBenchmark {
+
+  private static final int LINES = 100;
+
+  @Param({"optimal", "greedy"})
+  public String engine;
+
+  private DiscountEngine discountEngine;
+  private PriceBookSnapshot priceBook;
+  private Item[] basketItems;
+  private int[] basketQuantities;
+  private Cart cart;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUpPriceBook() {
+    discountEngine = "greedy".equals(engine) ? new GreedyDiscountEngine() : new OptimalDiscountEngine();
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 2 * LINES; i++) {
+      keys.add("sku-" + i);
+    }
+    ItemCatalog catalog = ItemCatalog.of(keys);
+    Map<Item, ItemPricing> pricing = new HashMap<>();
+    for (Item item : catalog.items()) {
+      int priceInCents = 20 + 7 * (item.getId() % 13);
+      DiscountRule rule = item.getId() % 5 == 0 ? new DiscountRule(2, 10) : null;
+      pricing.put(item, new ItemPricing(priceInCents, rule));
+    }
+    // Overlapping "any 3 of" windows over the first 60 items, meal deals over the next 40
+    List<BundleOffer> bundles = new ArrayList<>();
+    for (int b = 0; b < 20; b++) {
+      List<Item> window = List.of(catalog.get(3 * b), catalog.get(3 * b + 1), catalog.get(3 * b + 2),
+          catalog.get(3 * b + 3));
+      bundles.add(new BundleOffer("any-3-" + b, "Any 3 #" + b, 100, List.of(new BundleComponent(3, window))));
+    }
+    for (int b = 0; b < 10; b++) {
+      bundles.add(new BundleOffer("meal-" + b, "Meal deal #" + b, 150, List.of(
+          new BundleComponent(1, List.of(catalog.get(60 + b), catalog.get(70 + b))),
+          new BundleComponent(1, List.of(catalog.get(80 + b))),
+          new BundleComponent(1, List.of(catalog.get(90 + b), catalog.get(100 + b))))));
+    }
+    priceBook = PriceBookSnapshot.of(1, catalog, BarcodeIndex.empty(), bundles, pricing);
+
+    Random random = new Random(42);
+    basketItems = new Item[LINES];
+    basketQuantities = new int[LINES];
+    for (int i = 0; i < LINES; i++) {
+      basketItems[i] = catalog.get(i);
+      basketQuantities[i] = 1 + random.nextInt(3);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void fillCart() {
+    cart = new Cart(CheckoutBenchmarkState.CART_ID, discountEngine.newSolver());
+    for (int i = 0; i < LINES; i++) {
+      cart.add(basketItems[i], basketQuantities[i], priceBook);
+    }
+    cart.summarize(priceBook);
+    next = 0;
+  }
+
+  /**
+   * Scans one more unit of the next line and prices the cart; the line is trimmed back
+   * once it has grown by four units so the basket keeps its size.
+   */
+  @Benchmark
+  public CheckoutSummary scanAndTotal() {
+    Item item = basketItems[next];
+    next = (next + 1) % LINES;
+    if (cart.add(item, 1, priceBook) > 8) {
+      cart.remove(item, 4, priceBook);
+    }
+    return cart.summarize(priceBook);
+  }
+
+  @Benchmark
+  public CheckoutSummary solveFromScratch() {
+    Cart fresh = new Cart(CheckoutBenchmarkState.CART_ID, discountEngine.newSolver());
+    for (int i = 0; i < LINES; i++) {
+      fresh.add(basketItems[i], basketQuantities[i], priceBook);
+    }
+    return fresh.summarize(priceBook);
+  }
+}
@@ -0,0 +1,94 @@
+package com.assessment.kata.checkoutkata.benchmarks;
+
+import com.assessment.kata.checkoutkata.discount.OptimalDiscountEngine;
+import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.journal.TransactionJournal;
+import com.assessment.kata.checkoutkata.metrics.CheckoutMetrics;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import com.assessment.kata.checkoutkata.service.CartJournal;
+import com.assessment.kata.checkoutkata.service.CartStore;
+import com.assessment.kata.checkoutkata.service.CartUpdateBroadcaster;
+import com.assessment.kata.checkoutkata.service.CheckoutService;
+import com.assessment.kata.checkoutkata.service.CheckoutServiceImpl;
+import com.assessment.kata.checkoutkata.service.OrderLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared fixture: a checkout service over an in-memory price book and one cart
+ * pre-filled with {@code cartSize} units spread round-robin over the catalog.
+ * {@code discountDensity} is the fraction of catalog items that carry an offer.
+ */
+@State(Scope.Thread)
+public class CheckoutBenchmarkState {
+
+  static final String CART_ID = "bench";
+  static final ItemCatalog CATALOG = ItemCatalog.of(List.of("apple", "banana", "peach", "kiwi"));
+
+  @Param({"4", "40", "400"})
+  public int cartSize;
+
+  @Param({"0.0", "0.5", "1.0"})
+  public double discountDensity;
+
+  public CheckoutService checkoutService;
+  public ItemQuantityRequestDTO[] singleUnitRequests;
+  public ItemQuantityRequestDTO[] refillRequests;
+  public int nextItem;
+
+  @Setup(Level.Trial)
+  public void setUpService() {
+    checkoutService = new CheckoutServiceImpl(new InMemoryPricingService(priceBook(discountDensity)),
+        new CartStore(new OptimalDiscountEngine()), new CheckoutMetrics(new SimpleMeterRegistry()),
+        new CartUpdateBroadcaster(), CartJournal.NONE, TransactionJournal.NONE,
+        OrderLedger.NONE, Clock.systemDefaultZone());
+
+    List<Item> catalog = CATALOG.items();
+    singleUnitRequests = new ItemQuantityRequestDTO[catalog.size()];
+    refillRequests = new ItemQuantityRequestDTO[catalog.size()];
+    for (int i = 0; i < catalog.size(); i++) {
+      singleUnitRequests[i] = new ItemQuantityRequestDTO(catalog.get(i).getKey(), 1);
+      refillRequests[i] = new ItemQuantityRequestDTO(catalog.get(i).getKey(), cartSize);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void fillCart() {
+    checkoutService.clearCart(CART_ID);
+    for (int unit = 0; unit < cartSize; unit++) {
+      checkoutService.scanItems(CART_ID, singleUnitRequests[unit % singleUnitRequests.length]);
+    }
+    nextItem = 0;
+  }
+
+  public int nextItemIndex() {
+    int index = nextItem;
+    nextItem = (index + 1) % singleUnitRequests.length;
+    return index;
+  }
+
+  static PriceBookSnapshot priceBook(double discountDensity) {
+    List<Item> catalog = CATALOG.items();
+    int discounted = (int) Math.round(catalog.size() * discountDensity);
+    Map<Item, ItemPricing> pricing = new HashMap<>();
+    for (int i = 0; i < catalog.size(); i++) {
+      int priceInCents = 20 + 10 * i;
+      DiscountRule rule = i < discounted ? new DiscountRule(2 + i % 2, priceInCents / 2) : null;
+      pricing.put(catalog.get(i), new ItemPricing(priceInCents, rule));
+    }
+    return PriceBookSnapshot.of(1, CATALOG, pricing);
+  }
+}
@@ -0,0 +1,68 @@
+package com.assessment.kata.checkoutkata.benchmarks;
+
+import com.assessment.kata.checkoutkata.discount.OptimalDiscountEngine;
+import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
+import com.assessment.kata.checkoutkata.mapper.CheckoutMapper;
+import com.assessment.kata.checkoutkata.model.Cart;
+import com.assessment.kata.checkoutkata.model.CheckoutSummary;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import com.assessment.kata.checkoutkata.util.CheckoutStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckoutMapperBenchmark {
+
+  @Param({"4", "40", "400"})
+  public int cartSize;
+
+  @Param({"0.0", "0.5", "1.0"})
+  public double discountDensity;
+
+  private CheckoutSummary summary;
+
+  @Setup
+  public void setUp() {
+    PriceBookSnapshot priceBook = CheckoutBenchmarkState.priceBook(discountDensity);
+    Cart cart = new Cart(CheckoutBenchmarkState.CART_ID, new OptimalDiscountEngine().newSolver());
+    List<Item> catalog = CheckoutBenchmarkState.CATALOG.items();
+    for (int unit = 0; unit < cartSize; unit++) {
+      cart.add(catalog.get(unit % catalog.size()), 1, priceBook);
+    }
+    summary = cart.summarize(priceBook);
+  }
+
+  @Benchmark
+  public CheckoutSummaryResponseDTO toCheckoutSummaryResponseDTO() {
+    return CheckoutMapper.toCheckoutSummaryResponseDTO(summary);
+  }
+
+  /**
+   * Formats the three amounts a summary response carries.
+   */
+  @Benchmark
+  public void formatPrice(Blackhole blackhole) {
+    blackhole.consume(CheckoutStringUtils.formatPrice(summary.getSubtotalInCents()));
+    blackhole.consume(CheckoutStringUtils.formatPrice(summary.getTotalDiscountInCents()));
+    blackhole.consume(CheckoutStringUtils.formatPrice(summary.getFinalTotalInCents()));
+  }
+}
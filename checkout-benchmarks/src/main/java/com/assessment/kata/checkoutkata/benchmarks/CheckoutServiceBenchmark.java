@@ -0,0 +1,55 @@
+package com.assessment.kata.checkoutkata.benchmarks;
+
+import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.assessment.kata.checkoutkata.benchmarks.CheckoutBenchmarkState.CART_ID;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutServiceBenchmark {
+
+  /**
+   * Scans one unit; the line is trimmed back to its starting size whenever it has
+   * doubled so the cart stays at roughly {@code cartSize} for the whole iteration.
+   */
+  @Benchmark
+  public ScanResponseDTO scanItems(CheckoutBenchmarkState state) {
+    int index = state.nextItemIndex();
+    ScanResponseDTO response = state.checkoutService.scanItems(CART_ID, state.singleUnitRequests[index]);
+    if (response.getCurrentQuantity() > 2 * state.cartSize) {
+      state.checkoutService.removeItems(CART_ID, state.refillRequests[index]);
+    }
+    return response;
+  }
+
+  /**
+   * Removes one unit; the line is topped up again before it can run empty.
+   */
+  @Benchmark
+  public ScanResponseDTO removeItems(CheckoutBenchmarkState state) {
+    int index = state.nextItemIndex();
+    ScanResponseDTO response = state.checkoutService.removeItems(CART_ID, state.singleUnitRequests[index]);
+    if (response.getCurrentQuantity() <= 1) {
+      state.checkoutService.scanItems(CART_ID, state.refillRequests[index]);
+    }
+    return response;
+  }
+
+  @Benchmark
+  public CheckoutSummaryResponseDTO getCurrentTotal(CheckoutBenchmarkState state) {
+    return state.checkoutService.getCurrentTotal(CART_ID);
+  }
+}
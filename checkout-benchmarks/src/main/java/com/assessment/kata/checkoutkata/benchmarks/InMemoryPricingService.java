@@ -0,0 +1,80 @@
+package com.assessment.kata.checkoutkata.benchmarks;
+
+import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.SchedulePromotionRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import com.assessment.kata.checkoutkata.service.PricingService;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only PricingService backed by a fixed price book, so benchmarks measure
+ * the checkout code and not the database.
+ */
+public class InMemoryPricingService implements PricingService {
+
+  private final PriceBookSnapshot priceBook;
+
+  public InMemoryPricingService(PriceBookSnapshot priceBook) {
+    this.priceBook = priceBook;
+  }
+
+  @Override
+  public UpdatePricingResponseDTO updateItemPriceByName(String itemName, UpdatePriceRequestDTO request) {
+    throw new UnsupportedOperationException("Benchmark price book is read-only");
+  }
+
+  @Override
+  public UpdatePricingResponseDTO updateItemOfferByName(String itemName, UpdateOfferRequestDTO request) {
+    throw new UnsupportedOperationException("Benchmark price book is read-only");
+  }
+
+  @Override
+  public UpdatePricingResponseDTO removeItemOfferByName(String itemName) {
+    throw new UnsupportedOperationException("Benchmark price book is read-only");
+  }
+
+  @Override
+  public UpdatePricingResponseDTO schedulePromotionByName(String itemName, SchedulePromotionRequestDTO request) {
+    throw new UnsupportedOperationException("Benchmark price book is read-only");
+  }
+
+  @Override
+  public Map<String, FullPricingResponseDTO> getAllPricingResponses() {
+    throw new UnsupportedOperationException("Benchmark price book is read-only");
+  }
+
+  @Override
+  public FullPricingResponseDTO getPricingAt(String itemName, LocalDateTime at) {
+    throw new UnsupportedOperationException("Benchmark price book has no history");
+  }
+
+  @Override
+  public Optional<DiscountRule> getDiscountRule(Item item) {
+    ItemPricing itemPricing = priceBook.get(item);
+    return itemPricing == null ? Optional.empty() : itemPricing.findDiscountRule();
+  }
+
+  @Override
+  public int getItemPriceInCents(Item item) {
+    return priceBook.get(item).getPriceInCents();
+  }
+
+  @Override
+  public boolean hasItemConfiguration(Item item) {
+    return priceBook.contains(item);
+  }
+
+  @Override
+  public PriceBookSnapshot getPriceBook() {
+    return priceBook;
+  }
+}
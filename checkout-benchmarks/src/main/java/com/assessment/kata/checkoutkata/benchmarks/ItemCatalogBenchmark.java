@@ -0,0 +1,59 @@
+package com.assessment.kata.checkoutkata.benchmarks;
+
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves scanned keys against catalogs of growing size. Keys are looked up in
+ * upper case, as a till would send them, so the case-folding hash is exercised too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemCatalogBenchmark {
+
+  @Param({"4", "1000", "50000"})
+  public int catalogSize;
+
+  private ItemCatalog catalog;
+  private String[] scannedKeys;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    List<String> keys = new ArrayList<>(catalogSize);
+    for (int i = 0; i < catalogSize; i++) {
+      keys.add("sku-" + i);
+    }
+    catalog = ItemCatalog.of(keys);
+    scannedKeys = new String[Math.min(catalogSize, 1024)];
+    for (int i = 0; i < scannedKeys.length; i++) {
+      scannedKeys[i] = keys.get((int) ((long) i * catalogSize / scannedKeys.length)).toUpperCase();
+    }
+  }
+
+  @Benchmark
+  public Item resolve() {
+    String key = scannedKeys[next];
+    next = (next + 1) % scannedKeys.length;
+    return catalog.resolve(key);
+  }
+}
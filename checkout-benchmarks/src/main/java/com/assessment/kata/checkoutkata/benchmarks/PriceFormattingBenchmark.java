@@ -0,0 +1,53 @@
+package com.assessment.kata.checkoutkata.benchmarks;
+
+import com.assessment.kata.checkoutkata.util.CheckoutStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the integer price formatter with the String.format call it replaced.
+ * 255 cents is served from the price cache, 1234567 cents is formatted on demand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PriceFormattingBenchmark {
+
+  @Param({"255", "1234567"})
+  public int priceInCents;
+
+  @Benchmark
+  public String legacyStringFormat() {
+    return String.format("$%.2f", priceInCents / 100.0);
+  }
+
+  @Benchmark
+  public String formatPrice() {
+    return CheckoutStringUtils.formatPrice(priceInCents);
+  }
+
+  @Benchmark
+  public String legacyOfferDescription() {
+    return String.format("%d for %s (save %s)", 3,
+        String.format("$%.2f", (priceInCents * 3 - 20) / 100.0),
+        String.format("$%.2f", 20 / 100.0));
+  }
+
+  @Benchmark
+  public String formatOfferDescription() {
+    return CheckoutStringUtils.formatOfferDescription(3, priceInCents, 20);
+  }
+}
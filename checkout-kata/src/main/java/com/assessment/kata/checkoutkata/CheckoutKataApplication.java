@@ -1,13 +1,20 @@
 package com.assessment.kata.checkoutkata;
 
+import com.assessment.kata.checkoutkata.replay.InProcessReplayEnvironment;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 public class CheckoutKataApplication {
 
   public static void main(String[] args) {
-    SpringApplication.run(CheckoutKataApplication.class, args);
+    SpringApplication application = new SpringApplication(CheckoutKataApplication.class);
+    if (InProcessReplayEnvironment.isRequested(args)) {
+      application.setWebApplicationType(WebApplicationType.NONE);
+      application.addInitializers(new InProcessReplayEnvironment());
+    }
+    application.run(args);
   }
 
 }
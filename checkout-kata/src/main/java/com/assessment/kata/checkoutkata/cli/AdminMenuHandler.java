@@ -4,6 +4,7 @@ import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
 import com.assessment.kata.checkoutkata.model.Item;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.assessment.kata.checkoutkata.cli.CheckoutConstants.*;
@@ -66,17 +67,17 @@ public class AdminMenuHandler {
 
     private void updateItemPrice() {
         try {
-            displayService.displayAdminItemSelection(UPDATE_PRICE_HEADER);
+            Map<String, FullPricingResponseDTO> pricing = apiClient.getAllPricing();
+            List<String> itemKeys = displayService.displayAdminItemSelection(UPDATE_PRICE_HEADER, pricing);
 
             int itemChoice = inputHandler.getUserChoice();
-            Item item = validateAndGetItem(itemChoice);
-            if (item == null) return;
+            String itemKey = validateAndGetItemKey(itemChoice, itemKeys);
+            if (itemKey == null) return;
 
-            Map<String, FullPricingResponseDTO> pricing = apiClient.getAllPricing();
-            FullPricingResponseDTO currentPricing = validateAndGetItemPricing(pricing, item);
+            FullPricingResponseDTO currentPricing = validateAndGetItemPricing(pricing, itemKey);
             if (currentPricing == null) return;
 
-            displayService.displayCurrentItemPrice(item, currentPricing);
+            displayService.displayCurrentItemPrice(itemKey, currentPricing);
             displayService.displayPrompt(NEW_PRICE_PROMPT);
 
             int newPrice = inputHandler.getUserChoice();
@@ -86,7 +87,7 @@ public class AdminMenuHandler {
                 return;
             }
 
-            UpdatePricingResponseDTO response = apiClient.updatePrice(item.getKey(), newPrice);
+            UpdatePricingResponseDTO response = apiClient.updatePrice(itemKey, newPrice);
             displayService.displaySuccessMessage(response.getMessage());
         } catch (Exception e) {
             displayService.displayErrorMessage("Failed to update price: " + e.getMessage());
@@ -95,18 +96,18 @@ public class AdminMenuHandler {
 
     private void updateItemOffer() {
         try {
-            displayService.displayAdminItemSelection(UPDATE_OFFER_HEADER);
+            Map<String, FullPricingResponseDTO> pricing = apiClient.getAllPricing();
+            List<String> itemKeys = displayService.displayAdminItemSelection(UPDATE_OFFER_HEADER, pricing);
 
             int itemChoice = inputHandler.getUserChoice();
-            Item item = validateAndGetItem(itemChoice);
-            if (item == null) return;
+            String itemKey = validateAndGetItemKey(itemChoice, itemKeys);
+            if (itemKey == null) return;
 
-            Map<String, FullPricingResponseDTO> pricing = apiClient.getAllPricing();
-            FullPricingResponseDTO currentPricing = validateAndGetItemPricing(pricing, item);
+            FullPricingResponseDTO currentPricing = validateAndGetItemPricing(pricing, itemKey);
             if (currentPricing == null) return;
 
             int itemPrice = currentPricing.getPriceInCents();
-            displayService.displayItemForOffer(item, currentPricing);
+            displayService.displayItemForOffer(itemKey, currentPricing);
 
             displayService.displayPrompt(OFFER_QUANTITY_PROMPT);
             int quantity = inputHandler.getUserChoice();
@@ -127,7 +128,7 @@ public class AdminMenuHandler {
                 return;
             }
 
-            UpdatePricingResponseDTO response = apiClient.updateOffer(item.getKey(), quantity, savingsInCents);
+            UpdatePricingResponseDTO response = apiClient.updateOffer(itemKey, quantity, savingsInCents);
             displayService.displaySuccessMessage(response.getMessage());
         } catch (Exception e) {
             displayService.displayErrorMessage("Failed to update offer: " + e.getMessage());
@@ -136,39 +137,39 @@ public class AdminMenuHandler {
 
     private void removeItemOffer() {
         try {
-            displayService.displayAdminItemSelection(REMOVE_OFFER_HEADER);
+            Map<String, FullPricingResponseDTO> pricing = apiClient.getAllPricing();
+            List<String> itemKeys = displayService.displayAdminItemSelection(REMOVE_OFFER_HEADER, pricing);
 
             int itemChoice = inputHandler.getUserChoice();
-            Item item = validateAndGetItem(itemChoice);
-            if (item == null) return;
+            String itemKey = validateAndGetItemKey(itemChoice, itemKeys);
+            if (itemKey == null) return;
 
-            Map<String, FullPricingResponseDTO> pricing = apiClient.getAllPricing();
-            FullPricingResponseDTO currentPricing = validateAndGetItemPricing(pricing, item);
+            FullPricingResponseDTO currentPricing = validateAndGetItemPricing(pricing, itemKey);
             if (currentPricing == null) return;
 
             if (currentPricing.getOfferDescription() == null) {
-                displayService.displayMessage(String.format(NO_OFFER_TO_REMOVE_FORMAT, item.getDisplayName()));
+                displayService.displayMessage(String.format(NO_OFFER_TO_REMOVE_FORMAT, Item.displayNameOf(itemKey)));
                 return;
             }
 
-            apiClient.removeOffer(item.getKey());
-            displayService.displayOfferRemoved(item.getDisplayName());
+            apiClient.removeOffer(itemKey);
+            displayService.displayOfferRemoved(Item.displayNameOf(itemKey));
         } catch (Exception e) {
             displayService.displayErrorMessage("Failed to remove offer: " + e.getMessage());
         }
     }
 
-    private Item validateAndGetItem(int itemChoice) {
-        UserInputHandler.ValidationResult validation = inputHandler.validateItemSelection(itemChoice);
+    private String validateAndGetItemKey(int itemChoice, List<String> itemKeys) {
+        UserInputHandler.ValidationResult validation = inputHandler.validateItemSelection(itemChoice, itemKeys.size());
         if (validation != UserInputHandler.ValidationResult.VALID) {
             displayService.displayMessage(inputHandler.getValidationError(validation));
             return null;
         }
-        return inputHandler.mapToItem(itemChoice);
+        return inputHandler.mapToItemKey(itemChoice, itemKeys);
     }
 
-    private FullPricingResponseDTO validateAndGetItemPricing(Map<String, FullPricingResponseDTO> pricing, Item item) {
-        FullPricingResponseDTO currentPricing = pricing.get(item.getKey());
+    private FullPricingResponseDTO validateAndGetItemPricing(Map<String, FullPricingResponseDTO> pricing, String itemKey) {
+        FullPricingResponseDTO currentPricing = pricing.get(itemKey);
         if (currentPricing == null) {
             displayService.displayMessage(ITEM_NOT_FOUND_ERROR);
             return null;
@@ -3,6 +3,7 @@ package com.assessment.kata.checkoutkata.cli;
 import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
@@ -97,6 +98,18 @@ public class CheckoutApiClient {
         }
     }
 
+    public ReceiptResponseDTO completeCheckout() {
+        try {
+            return webClient.post()
+                .uri(CHECKOUT_COMPLETE_ENDPOINT)
+                .retrieve()
+                .bodyToMono(ReceiptResponseDTO.class)
+                .block();
+        } catch (WebClientResponseException e) {
+            throw new RuntimeException("Failed to complete checkout: " + e.getMessage());
+        }
+    }
+
     public UpdatePricingResponseDTO updatePrice(String itemName, int newPriceInCents) {
         try {
             UpdatePriceRequestDTO request = new UpdatePriceRequestDTO();
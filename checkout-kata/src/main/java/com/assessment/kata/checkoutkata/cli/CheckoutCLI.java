@@ -2,12 +2,16 @@ package com.assessment.kata.checkoutkata.cli;
 
 import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
-import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.replay.JournalReplay;
+import com.assessment.kata.checkoutkata.replay.ReplayReport;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import static com.assessment.kata.checkoutkata.cli.CheckoutConstants.*;
@@ -20,10 +24,12 @@ public class CheckoutCLI implements CommandLineRunner {
     private final MenuDisplayService displayService;
     private final UserInputHandler inputHandler;
     private final AdminMenuHandler adminHandler;
+    private final JournalReplay journalReplay;
 
-    public CheckoutCLI(CheckoutApiClient apiClient, MenuDisplayService displayService) {
+    public CheckoutCLI(CheckoutApiClient apiClient, MenuDisplayService displayService, JournalReplay journalReplay) {
         this.apiClient = apiClient;
         this.displayService = displayService;
+        this.journalReplay = journalReplay;
         this.inputHandler = new UserInputHandler();
         this.adminHandler = new AdminMenuHandler(apiClient, displayService, inputHandler);
     }
@@ -31,10 +37,22 @@ public class CheckoutCLI implements CommandLineRunner {
     public void run(String... args) {
         if (args.length > 0 && "cli".equals(args[0])) {
             runInteractiveCLI();
+        } else if (args.length > 0 && "replay".equals(args[0])) {
+            runReplay(Arrays.copyOfRange(args, 1, args.length));
         } else if (args.length == 0) {
             displayService.displayStartupMessage();
         }
     }
+    private void runReplay(String[] args) {
+        try {
+            ReplayReport report = journalReplay.replay(journalReplay.options(args));
+            displayService.displayMessage(report.format());
+            System.exit(report.hasFailures() ? 1 : 0);
+        } catch (Exception e) {
+            displayService.displayErrorMessage("replaying the transaction journal: " + e.getMessage());
+            System.exit(1);
+        }
+    }
     private void runInteractiveCLI() {
         displayWelcomeMessage();
 
@@ -100,17 +118,17 @@ public class CheckoutCLI implements CommandLineRunner {
     private void handleScanItem() {
         try {
             Map<String, FullPricingResponseDTO> pricing = apiClient.getAllPricing();
-            displayService.displayItemSelectionMenu(pricing);
+            List<String> itemKeys = displayService.displayItemSelectionMenu(pricing);
 
             int itemChoice = inputHandler.getUserChoice();
-            Item item = validateAndGetItem(itemChoice);
-            if (item == null) return;
+            String itemKey = validateAndGetItemKey(itemChoice, itemKeys);
+            if (itemKey == null) return;
 
             displayService.displayPrompt(QUANTITY_PROMPT);
             int quantity = inputHandler.getUserChoice();
             if (!validateQuantity(quantity)) return;
 
-            ScanResponseDTO response = apiClient.scanItems(item.getKey(), quantity);
+            ScanResponseDTO response = apiClient.scanItems(itemKey, quantity);
             displayService.displayScanResult(response);
         } catch (Exception e) {
             displayService.displayErrorMessage(e.getMessage());
@@ -129,7 +147,6 @@ public class CheckoutCLI implements CommandLineRunner {
     }
     private void handlePayAndClear() {
         try {
-            CheckoutSummaryResponseDTO summary = apiClient.getCurrentTotal();
             CurrentItemsResponseDTO items = apiClient.getCurrentItems();
 
             if (items.getItems().isEmpty()) {
@@ -137,8 +154,8 @@ public class CheckoutCLI implements CommandLineRunner {
                 return;
             }
 
-            displayService.displayPaymentComplete(summary);
-            apiClient.clearCart();
+            ReceiptResponseDTO receipt = apiClient.completeCheckout();
+            displayService.displayPaymentComplete(receipt);
         } catch (Exception e) {
             displayService.displayErrorMessage("processing payment: " + e.getMessage());
         }
@@ -165,13 +182,13 @@ public class CheckoutCLI implements CommandLineRunner {
         System.exit(0);
     }
 
-    private Item validateAndGetItem(int itemChoice) {
-        UserInputHandler.ValidationResult validation = inputHandler.validateItemSelection(itemChoice);
+    private String validateAndGetItemKey(int itemChoice, List<String> itemKeys) {
+        UserInputHandler.ValidationResult validation = inputHandler.validateItemSelection(itemChoice, itemKeys.size());
         if (validation != UserInputHandler.ValidationResult.VALID) {
             displayService.displayMessage(inputHandler.getValidationError(validation));
             return null;
         }
-        return inputHandler.mapToItem(itemChoice);
+        return inputHandler.mapToItemKey(itemChoice, itemKeys);
     }
 
     private boolean validateQuantity(int quantity) {
@@ -15,6 +15,7 @@ public final class CheckoutConstants {
     public static final String CHECKOUT_ITEMS_ENDPOINT = "/api/checkout/items";
     public static final String CHECKOUT_SCAN_ENDPOINT = "/api/checkout/scan";
     public static final String CHECKOUT_CLEAR_ENDPOINT = "/api/checkout/clear";
+    public static final String CHECKOUT_COMPLETE_ENDPOINT = "/api/checkout/complete";
     public static final String PRICING_PRICE_ENDPOINT = "/admin/pricing/%s/price";
     public static final String PRICING_OFFER_ENDPOINT = "/admin/pricing/%s/offer";
 
@@ -51,11 +52,8 @@ public final class CheckoutConstants {
 
     // Item Selection
     public static final String AVAILABLE_ITEMS_MENU = "\nAvailable items:";
-    public static final String APPLE_OPTION = "1. Apple - ";
-    public static final String BANANA_OPTION = "2. Banana - ";
-    public static final String PEACH_OPTION = "3. Peach - ";
-    public static final String KIWI_OPTION = "4. Kiwi - ";
-    public static final String ITEM_SELECTION_PROMPT = "Select item (1-4): ";
+    public static final String ITEM_OPTION_FORMAT = "%d. %s - %s%n";
+    public static final String ITEM_SELECTION_PROMPT_FORMAT = "Select item (1-%d): ";
     public static final String QUANTITY_PROMPT = "Enter quantity: ";
 
     // Admin Menu
@@ -71,7 +69,7 @@ public final class CheckoutConstants {
     public static final String UPDATE_PRICE_HEADER = "\nUpdate Item Price:";
     public static final String UPDATE_OFFER_HEADER = "\nUpdate Item Offer:";
     public static final String REMOVE_OFFER_HEADER = "\nRemove Item Offer:";
-    public static final String ITEM_CHOICES = "1. Apple  2. Banana  3. Peach  4. Kiwi";
+    public static final String ITEM_CHOICE_FORMAT = "%d. %s  ";
     public static final String CURRENT_PRICE_FORMAT = "Current price for %s: %s\n";
     public static final String NEW_PRICE_PROMPT = "Enter new price in cents: ";
     public static final String OFFER_QUANTITY_PROMPT = "Enter quantity for offer (e.g., 2 for '2 for X'): ";
@@ -89,6 +87,7 @@ public final class CheckoutConstants {
     // Payment
     public static final String PAYMENT_SEPARATOR = "=" + "=".repeat(39);
     public static final String PAYMENT_COMPLETE = "PAYMENT COMPLETE";
+    public static final String RECEIPT_PREFIX = "Receipt: ";
     public static final String AMOUNT_PAID_PREFIX = "Amount paid: ";
     public static final String YOU_SAVED_PREFIX = "You saved: ";
     public static final String THANK_YOU_MESSAGE = "Thank you for your purchase!";
@@ -106,7 +105,7 @@ public final class CheckoutConstants {
     public static final String INVALID_ITEM_SELECTION = "Invalid item selection!";
     public static final String POSITIVE_QUANTITY_ERROR = "Quantity must be positive!";
     public static final String POSITIVE_PRICE_ERROR = "Price must be positive!";
-    public static final String MIN_OFFER_QUANTITY_ERROR = "Offer quantity must be at least 2!";
+    public static final String OFFER_QUANTITY_ERROR = "Offer quantity must be between 2 and 1000!";
     public static final String INVALID_SAVINGS_ERROR = "Savings must be positive and less than regular total!";
     public static final String ITEM_NOT_FOUND_ERROR = "Item not found in pricing!";
     public static final String NO_OFFER_TO_REMOVE_FORMAT = "%s has no offer to remove.\n";
@@ -137,10 +136,7 @@ public final class CheckoutConstants {
 
     // Magic Numbers
     public static final int MIN_OFFER_QUANTITY = 2;
+    public static final int MAX_OFFER_QUANTITY = 1000;
     public static final int INVALID_CHOICE = -1;
     public static final int REFRESH_OPTION = 0;
-    public static final int APPLE_CHOICE = 1;
-    public static final int BANANA_CHOICE = 2;
-    public static final int PEACH_CHOICE = 3;
-    public static final int KIWI_CHOICE = 4;
 }
\ No newline at end of file
@@ -3,11 +3,15 @@ package com.assessment.kata.checkoutkata.cli;
 import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
 import com.assessment.kata.checkoutkata.model.Item;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static com.assessment.kata.checkoutkata.cli.CheckoutConstants.*;
@@ -66,13 +70,19 @@ public class MenuDisplayService {
         System.out.println(MENU_EXIT);
     }
 
-    public void displayItemSelectionMenu(Map<String, FullPricingResponseDTO> pricing) {
+    /**
+     * Lists the catalog as numbered options and returns the item keys in the order shown.
+     */
+    public List<String> displayItemSelectionMenu(Map<String, FullPricingResponseDTO> pricing) {
+        List<String> itemKeys = sortedItemKeys(pricing);
         System.out.println(AVAILABLE_ITEMS_MENU);
-        System.out.println(APPLE_OPTION + pricing.get("apple").getPriceFormatted());
-        System.out.println(BANANA_OPTION + pricing.get("banana").getPriceFormatted());
-        System.out.println(PEACH_OPTION + pricing.get("peach").getPriceFormatted());
-        System.out.println(KIWI_OPTION + pricing.get("kiwi").getPriceFormatted());
-        System.out.print(ITEM_SELECTION_PROMPT);
+        for (int i = 0; i < itemKeys.size(); i++) {
+            String itemKey = itemKeys.get(i);
+            System.out.printf(ITEM_OPTION_FORMAT, i + 1, Item.displayNameOf(itemKey),
+                pricing.get(itemKey).getPriceFormatted());
+        }
+        System.out.printf(ITEM_SELECTION_PROMPT_FORMAT, itemKeys.size());
+        return itemKeys;
     }
 
     public void displayScanResult(ScanResponseDTO response) {
@@ -106,24 +116,24 @@ public class MenuDisplayService {
         System.out.println("CURRENT PRICING");
         System.out.println(CHECKOUT_SUMMARY_SEPARATOR);
 
-        for (Item item : Item.values()) {
-            FullPricingResponseDTO itemPricing = pricing.get(item.getKey());
-            if (itemPricing != null) {
-                System.out.printf(PRICING_FORMAT, item.getDisplayName(), itemPricing.getPriceFormatted());
+        for (String itemKey : sortedItemKeys(pricing)) {
+            FullPricingResponseDTO itemPricing = pricing.get(itemKey);
+            System.out.printf(PRICING_FORMAT, Item.displayNameOf(itemKey), itemPricing.getPriceFormatted());
 
-                if (itemPricing.getOfferDescription() != null) {
-                    System.out.printf(PRICING_WITH_OFFER_FORMAT, itemPricing.getOfferDescription());
-                } else {
-                    System.out.print(PRICING_NO_OFFER);
-                }
+            if (itemPricing.getOfferDescription() != null) {
+                System.out.printf(PRICING_WITH_OFFER_FORMAT, itemPricing.getOfferDescription());
+            } else {
+                System.out.print(PRICING_NO_OFFER);
             }
         }
         System.out.println(CHECKOUT_SUMMARY_SEPARATOR);
     }
 
-    public void displayPaymentComplete(CheckoutSummaryResponseDTO summary) {
+    public void displayPaymentComplete(ReceiptResponseDTO receipt) {
+        CheckoutSummaryResponseDTO summary = receipt.getSummary();
         System.out.println(NEWLINE + PAYMENT_SEPARATOR);
         System.out.println(PAYMENT_COMPLETE);
+        System.out.printf(RECEIPT_PREFIX + "%s" + NEWLINE, receipt.getReceiptId());
         System.out.printf(AMOUNT_PAID_PREFIX + "%s" + NEWLINE, summary.getFinalTotal());
 
         if (!EMPTY_TOTAL.equals(summary.getTotalDiscount())) {
@@ -147,18 +157,26 @@ public class MenuDisplayService {
         System.out.print(ADMIN_PROMPT);
     }
 
-    public void displayAdminItemSelection(String header) {
+    /**
+     * Prints the catalog on one line of numbered choices and returns the item keys in the order shown.
+     */
+    public List<String> displayAdminItemSelection(String header, Map<String, FullPricingResponseDTO> pricing) {
+        List<String> itemKeys = sortedItemKeys(pricing);
         System.out.println(header);
-        System.out.println(ITEM_CHOICES);
-        System.out.print(ITEM_SELECTION_PROMPT);
+        for (int i = 0; i < itemKeys.size(); i++) {
+            System.out.printf(ITEM_CHOICE_FORMAT, i + 1, Item.displayNameOf(itemKeys.get(i)));
+        }
+        System.out.println();
+        System.out.printf(ITEM_SELECTION_PROMPT_FORMAT, itemKeys.size());
+        return itemKeys;
     }
 
-    public void displayCurrentItemPrice(Item item, FullPricingResponseDTO pricing) {
-        System.out.printf(CURRENT_PRICE_FORMAT, item.getDisplayName(), pricing.getPriceFormatted());
+    public void displayCurrentItemPrice(String itemKey, FullPricingResponseDTO pricing) {
+        System.out.printf(CURRENT_PRICE_FORMAT, Item.displayNameOf(itemKey), pricing.getPriceFormatted());
     }
 
-    public void displayItemForOffer(Item item, FullPricingResponseDTO pricing) {
-        System.out.printf(ITEM_INFO_FORMAT, item.getDisplayName(), pricing.getPriceFormatted());
+    public void displayItemForOffer(String itemKey, FullPricingResponseDTO pricing) {
+        System.out.printf(ITEM_INFO_FORMAT, Item.displayNameOf(itemKey), pricing.getPriceFormatted());
     }
 
     public void displayRegularTotal(int quantity, int regularTotal) {
@@ -191,13 +209,10 @@ public class MenuDisplayService {
 
     private void displayAvailableItems(Map<String, FullPricingResponseDTO> pricing) {
         System.out.println(AVAILABLE_ITEMS_HEADER);
-        for (Item item : Item.values()) {
-            FullPricingResponseDTO itemPricing = pricing.get(item.getKey());
-            if (itemPricing != null) {
-                System.out.printf(ITEM_PRICE_FORMAT,
-                    item.getDisplayName(),
-                    itemPricing.getPriceFormatted());
-            }
+        for (String itemKey : sortedItemKeys(pricing)) {
+            System.out.printf(ITEM_PRICE_FORMAT,
+                Item.displayNameOf(itemKey),
+                pricing.get(itemKey).getPriceFormatted());
         }
         System.out.println();
     }
@@ -205,10 +220,10 @@ public class MenuDisplayService {
     private void displaySpecialOffers(Map<String, FullPricingResponseDTO> pricing) {
         System.out.println(SPECIAL_OFFERS_HEADER);
         boolean hasOffers = false;
-        for (Item item : Item.values()) {
-            FullPricingResponseDTO itemPricing = pricing.get(item.getKey());
-            if (itemPricing != null && itemPricing.getOfferDescription() != null) {
-                System.out.printf(OFFER_FORMAT, item.getDisplayName(), itemPricing.getOfferDescription());
+        for (String itemKey : sortedItemKeys(pricing)) {
+            FullPricingResponseDTO itemPricing = pricing.get(itemKey);
+            if (itemPricing.getOfferDescription() != null) {
+                System.out.printf(OFFER_FORMAT, Item.displayNameOf(itemKey), itemPricing.getOfferDescription());
                 hasOffers = true;
             }
         }
@@ -233,7 +248,7 @@ public class MenuDisplayService {
             if (itemPricing != null) {
                 int itemTotal = itemDto.getQuantity() * itemPricing.getPriceInCents();
                 System.out.printf(CHECKOUT_ITEM_FORMAT,
-                    Item.fromKey(itemDto.getItemName()).getDisplayName(),
+                    Item.displayNameOf(itemDto.getItemName()),
                     itemDto.getQuantity(),
                     formatPrice(itemTotal));
             }
@@ -253,6 +268,12 @@ public class MenuDisplayService {
         }
     }
 
+    private static List<String> sortedItemKeys(Map<String, FullPricingResponseDTO> pricing) {
+        List<String> itemKeys = new ArrayList<>(pricing.keySet());
+        Collections.sort(itemKeys);
+        return itemKeys;
+    }
+
     private void displayFinalTotal(CheckoutSummaryResponseDTO summary) {
         System.out.println(SUBTOTAL_SEPARATOR);
         System.out.printf(TOTAL_PREFIX + "%s" + NEWLINE, summary.getFinalTotal());
@@ -1,7 +1,6 @@
 package com.assessment.kata.checkoutkata.cli;
 
-import com.assessment.kata.checkoutkata.model.Item;
-
+import java.util.List;
 import java.util.Scanner;
 
 import static com.assessment.kata.checkoutkata.cli.CheckoutConstants.*;
@@ -18,14 +17,8 @@ public class UserInputHandler {
         }
     }
 
-    public Item mapToItem(int choice) {
-        return switch (choice) {
-            case APPLE_CHOICE -> Item.APPLE;
-            case BANANA_CHOICE -> Item.BANANA;
-            case PEACH_CHOICE -> Item.PEACH;
-            case KIWI_CHOICE -> Item.KIWI;
-            default -> null;
-        };
+    public String mapToItemKey(int choice, List<String> itemKeys) {
+        return isValidItemChoice(choice, itemKeys.size()) ? itemKeys.get(choice - 1) : null;
     }
 
     public boolean isValidMainMenuChoice(int choice) {
@@ -36,8 +29,8 @@ public class UserInputHandler {
         return choice >= 1 && choice <= 5;
     }
 
-    public boolean isValidItemChoice(int choice) {
-        return choice >= APPLE_CHOICE && choice <= KIWI_CHOICE;
+    public boolean isValidItemChoice(int choice, int itemCount) {
+        return choice >= 1 && choice <= itemCount;
     }
 
     public boolean isPositiveQuantity(int quantity) {
@@ -49,7 +42,7 @@ public class UserInputHandler {
     }
 
     public boolean isValidOfferQuantity(int quantity) {
-        return quantity >= MIN_OFFER_QUANTITY;
+        return quantity >= MIN_OFFER_QUANTITY && quantity <= MAX_OFFER_QUANTITY;
     }
 
     public boolean isValidSavings(int savingsInCents, int regularTotal) {
@@ -69,7 +62,7 @@ public class UserInputHandler {
             case INVALID_ITEM_SELECTION -> INVALID_ITEM_SELECTION;
             case POSITIVE_QUANTITY_REQUIRED -> POSITIVE_QUANTITY_ERROR;
             case POSITIVE_PRICE_REQUIRED -> POSITIVE_PRICE_ERROR;
-            case MIN_OFFER_QUANTITY_REQUIRED -> MIN_OFFER_QUANTITY_ERROR;
+            case OFFER_QUANTITY_OUT_OF_RANGE -> OFFER_QUANTITY_ERROR;
             case INVALID_SAVINGS -> INVALID_SAVINGS_ERROR;
             case INVALID_MAIN_MENU_OPTION -> INVALID_OPTION;
             case INVALID_ADMIN_MENU_OPTION -> INVALID_ADMIN_OPTION;
@@ -77,8 +70,8 @@ public class UserInputHandler {
         };
     }
 
-    public ValidationResult validateItemSelection(int choice) {
-        if (!isValidItemChoice(choice)) {
+    public ValidationResult validateItemSelection(int choice, int itemCount) {
+        if (!isValidItemChoice(choice, itemCount)) {
             return ValidationResult.INVALID_ITEM_SELECTION;
         }
         return ValidationResult.VALID;
@@ -100,7 +93,7 @@ public class UserInputHandler {
 
     public ValidationResult validateOfferQuantity(int quantity) {
         if (!isValidOfferQuantity(quantity)) {
-            return ValidationResult.MIN_OFFER_QUANTITY_REQUIRED;
+            return ValidationResult.OFFER_QUANTITY_OUT_OF_RANGE;
         }
         return ValidationResult.VALID;
     }
@@ -131,7 +124,7 @@ public class UserInputHandler {
         INVALID_ITEM_SELECTION,
         POSITIVE_QUANTITY_REQUIRED,
         POSITIVE_PRICE_REQUIRED,
-        MIN_OFFER_QUANTITY_REQUIRED,
+        OFFER_QUANTITY_OUT_OF_RANGE,
         INVALID_SAVINGS,
         INVALID_MAIN_MENU_OPTION,
         INVALID_ADMIN_MENU_OPTION
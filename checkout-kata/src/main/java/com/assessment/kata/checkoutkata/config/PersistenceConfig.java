@@ -0,0 +1,59 @@
+package com.assessment.kata.checkoutkata.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.assessment.kata.checkoutkata.service.OrderLedger;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * JPA and R2DBC both talk to the pricing tables. Auto-configuration backs the JDBC
+ * {@code DataSource} off as soon as an R2DBC connection factory exists, and would keep only
+ * one transaction manager, so the JDBC side is declared here explicitly.
+ * {@code @Transactional} keeps resolving to JPA; reactive writes go through
+ * {@link #transactionalOperator}.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class PersistenceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource dataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @Primary
+  public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+    return new JpaTransactionManager(entityManagerFactory);
+  }
+
+  @Bean
+  public ReactiveTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+    return new R2dbcTransactionManager(connectionFactory);
+  }
+
+  @Bean
+  public TransactionalOperator transactionalOperator(ReactiveTransactionManager reactiveTransactionManager) {
+    return TransactionalOperator.create(reactiveTransactionManager);
+  }
+
+  // Completed checkouts are not stored, e.g. while replaying a journal into this process
+  @Bean
+  @ConditionalOnProperty(name = "checkout.orders.enabled", havingValue = "false")
+  public OrderLedger orderLedger() {
+    return OrderLedger.NONE;
+  }
+}
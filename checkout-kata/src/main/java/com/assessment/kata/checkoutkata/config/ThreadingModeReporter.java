@@ -0,0 +1,40 @@
+package com.assessment.kata.checkoutkata.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs which request execution mode the service started with. Virtual threads are
+ * requested with spring.threads.virtual.enabled (see the virtual-threads profile) and
+ * only take effect on Java 21 or later; on older runtimes Boot silently keeps the
+ * platform thread pool, so that case is reported as a warning.
+ */
+@Slf4j
+@Component
+public class ThreadingModeReporter {
+
+  static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+  private final Environment environment;
+
+  public ThreadingModeReporter(Environment environment) {
+    this.environment = environment;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void reportThreadingMode() {
+    boolean requested = environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false);
+    if (Threading.VIRTUAL.isActive(environment)) {
+      log.info("Request handling, transactions and event listeners run on virtual threads");
+    } else if (requested) {
+      log.warn("{} is set but Java {} has no virtual threads; using the platform thread pool",
+          VIRTUAL_THREADS_PROPERTY, Runtime.version().feature());
+    } else {
+      log.info("Request handling runs on the platform thread pool");
+    }
+  }
+}
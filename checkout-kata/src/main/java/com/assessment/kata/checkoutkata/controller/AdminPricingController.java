@@ -1,20 +1,33 @@
 package com.assessment.kata.checkoutkata.controller;
 
 import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.PricingImportResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.SchedulePromotionRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
+import com.assessment.kata.checkoutkata.service.PricingExportService;
+import com.assessment.kata.checkoutkata.service.PricingImportService;
 import com.assessment.kata.checkoutkata.service.PricingService;
+import com.assessment.kata.checkoutkata.util.ETags;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -22,17 +35,43 @@ import java.util.Map;
 public class AdminPricingController {
 
   private final PricingService pricingService;
+  private final PricingImportService pricingImportService;
+  private final PricingExportService pricingExportService;
 
-  public AdminPricingController(PricingService pricingService) {
+  public AdminPricingController(PricingService pricingService, PricingImportService pricingImportService,
+                                PricingExportService pricingExportService) {
     this.pricingService = pricingService;
+    this.pricingImportService = pricingImportService;
+    this.pricingExportService = pricingExportService;
   }
 
   @GetMapping
-  public ResponseEntity<Map<String, FullPricingResponseDTO>> getAllPricing() {
+  public ResponseEntity<Map<String, FullPricingResponseDTO>> getAllPricing(WebRequest webRequest) {
+    // Every committed pricing change moves the price book to a new version
+    if (webRequest.checkNotModified(ETags.forPriceBook(pricingService.getPriceBook().getVersion()))) {
+      return null;
+    }
     Map<String, FullPricingResponseDTO> response = pricingService.getAllPricingResponses();
     return ResponseEntity.ok(response);
   }
 
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportPricing(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+
+    StreamingResponseBody body = output -> pricingExportService.exportNdjson(since, output);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  @GetMapping("/{itemName}/history")
+  public ResponseEntity<FullPricingResponseDTO> getPricingAt(
+      @PathVariable String itemName,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+
+    FullPricingResponseDTO response = pricingService.getPricingAt(itemName, at);
+    return ResponseEntity.ok(response);
+  }
+
   @PatchMapping("/{itemName}/price")
   public ResponseEntity<UpdatePricingResponseDTO> updateItemPrice(
       @PathVariable String itemName,
@@ -56,4 +95,25 @@ public class AdminPricingController {
     UpdatePricingResponseDTO response = pricingService.removeItemOfferByName(itemName);
     return ResponseEntity.ok(response);
   }
+
+  @PostMapping("/{itemName}/promotions")
+  public ResponseEntity<UpdatePricingResponseDTO> schedulePromotion(
+      @PathVariable String itemName,
+      @RequestBody @Valid SchedulePromotionRequestDTO request) {
+
+    UpdatePricingResponseDTO response = pricingService.schedulePromotionByName(itemName, request);
+    return ResponseEntity.ok(response);
+  }
+
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ResponseEntity<PricingImportResponseDTO> importPricingCsv(InputStream body) {
+    PricingImportResponseDTO response = pricingImportService.importCsv(body);
+    return ResponseEntity.ok(response);
+  }
+
+  @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<PricingImportResponseDTO> importPricingJson(InputStream body) {
+    PricingImportResponseDTO response = pricingImportService.importJson(body);
+    return ResponseEntity.ok(response);
+  }
 }
\ No newline at end of file
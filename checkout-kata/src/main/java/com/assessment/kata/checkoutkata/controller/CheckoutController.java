@@ -1,54 +1,134 @@
 package com.assessment.kata.checkoutkata.controller;
 
+import com.assessment.kata.checkoutkata.dto.checkout.BarcodeScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
 import com.assessment.kata.checkoutkata.service.CheckoutService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Every endpoint is available both on the shared default cart (/api/checkout/scan)
+ * and on a named cart (/api/checkout/{cartId}/scan).
+ */
 @RestController
 @RequestMapping("/api/checkout")
 public class CheckoutController {
+
+  private static final String CART_PATH = "/{cartId:[A-Za-z0-9_-]{1,36}}";
+
   private final CheckoutService checkoutService;
+  private final Duration eventHeartbeat;
 
-  public CheckoutController(CheckoutService checkoutService) {
+  public CheckoutController(CheckoutService checkoutService,
+                            @Value("${checkout.cart-events.heartbeat:15s}") Duration eventHeartbeat) {
     this.checkoutService = checkoutService;
+    this.eventHeartbeat = eventHeartbeat;
+  }
+
+  @PostMapping({"/scan", CART_PATH + "/scan"})
+  public ResponseEntity<ScanResponseDTO> scanItems(
+      @PathVariable(required = false) String cartId,
+      @RequestBody @Valid ItemQuantityRequestDTO request) {
+    ScanResponseDTO response = checkoutService.scanItems(resolveCartId(cartId), request);
+    return ResponseEntity.ok(response);
+  }
+
+  @PostMapping({"/scan/barcode", CART_PATH + "/scan/barcode"})
+  public ResponseEntity<ScanResponseDTO> scanBarcode(
+      @PathVariable(required = false) String cartId,
+      @RequestBody @Valid BarcodeScanRequestDTO request) {
+    ScanResponseDTO response = checkoutService.scanBarcode(resolveCartId(cartId), request);
+    return ResponseEntity.ok(response);
   }
 
-  @PostMapping("/scan")
-  public ResponseEntity<ScanResponseDTO> scanItems(@RequestBody @Valid ItemQuantityRequestDTO request) {
-    ScanResponseDTO response = checkoutService.scanItems(request);
+  @PostMapping({"/scan/batch", CART_PATH + "/scan/batch"})
+  public ResponseEntity<BatchScanResponseDTO> scanBatch(
+      @PathVariable(required = false) String cartId,
+      @RequestBody @Valid BatchScanRequestDTO request) {
+    BatchScanResponseDTO response = checkoutService.scanBatch(resolveCartId(cartId), request);
     return ResponseEntity.ok(response);
   }
 
-  @PostMapping("/remove")
-  public ResponseEntity<ScanResponseDTO> removeItems(@RequestBody @Valid ItemQuantityRequestDTO request) {
-    ScanResponseDTO response = checkoutService.removeItems(request);
+  @PostMapping({"/remove", CART_PATH + "/remove"})
+  public ResponseEntity<ScanResponseDTO> removeItems(
+      @PathVariable(required = false) String cartId,
+      @RequestBody @Valid ItemQuantityRequestDTO request) {
+    ScanResponseDTO response = checkoutService.removeItems(resolveCartId(cartId), request);
     return ResponseEntity.ok(response);
   }
 
-  @GetMapping("/total")
-  public ResponseEntity<CheckoutSummaryResponseDTO> getCurrentTotal() {
-    CheckoutSummaryResponseDTO response = checkoutService.getCurrentTotal();
+  @GetMapping({"/total", CART_PATH + "/total"})
+  public ResponseEntity<CheckoutSummaryResponseDTO> getCurrentTotal(@PathVariable(required = false) String cartId,
+                                                                    WebRequest webRequest) {
+    // The tag is taken before the body is built, so a concurrent change can only make it older than the body
+    if (webRequest.checkNotModified(checkoutService.getCartETag(resolveCartId(cartId)))) {
+      return null;
+    }
+    CheckoutSummaryResponseDTO response = checkoutService.getCurrentTotal(resolveCartId(cartId));
     return ResponseEntity.ok(response);
   }
 
-  @GetMapping("/items")
-  public ResponseEntity<CurrentItemsResponseDTO> getCurrentItems() {
-    CurrentItemsResponseDTO response = checkoutService.getCurrentItemsResponse();
+  @GetMapping({"/items", CART_PATH + "/items"})
+  public ResponseEntity<CurrentItemsResponseDTO> getCurrentItems(@PathVariable(required = false) String cartId,
+                                                                 WebRequest webRequest) {
+    if (webRequest.checkNotModified(checkoutService.getCartETag(resolveCartId(cartId)))) {
+      return null;
+    }
+    CurrentItemsResponseDTO response = checkoutService.getCurrentItemsResponse(resolveCartId(cartId));
     return ResponseEntity.ok(response);
   }
 
-  @PostMapping("/clear")
-  public ResponseEntity<Void> clearCart() {
-    checkoutService.clearCart();
+  /**
+   * Server-sent events with the cart's summary after every change. Idle streams hold no thread;
+   * a comment line is sent every heartbeat so proxies keep the connection open. Spring MVC opens a
+   * streamed Flux without an async request timeout, so the stream lasts until the client leaves.
+   */
+  @GetMapping(value = {"/events", CART_PATH + "/events"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<CartUpdateDTO>> streamCartUpdates(@PathVariable(required = false) String cartId) {
+    Flux<ServerSentEvent<CartUpdateDTO>> updates = checkoutService.streamCartUpdates(resolveCartId(cartId))
+        .map(update -> ServerSentEvent.builder(update)
+            .id(Long.toString(update.getCartVersion()))
+            .event(update.getType().name().toLowerCase(Locale.ROOT))
+            .build());
+    Flux<ServerSentEvent<CartUpdateDTO>> heartbeats = Flux.interval(eventHeartbeat)
+        .map(tick -> ServerSentEvent.<CartUpdateDTO>builder().comment("heartbeat").build());
+    return Flux.merge(updates, heartbeats).onBackpressureLatest();
+  }
+
+  @PostMapping({"/clear", CART_PATH + "/clear"})
+  public ResponseEntity<Void> clearCart(@PathVariable(required = false) String cartId) {
+    checkoutService.clearCart(resolveCartId(cartId));
     return ResponseEntity.ok().build();
   }
+
+  @PostMapping({"/complete", CART_PATH + "/complete"})
+  public ResponseEntity<ReceiptResponseDTO> completeCheckout(@PathVariable(required = false) String cartId) {
+    ReceiptResponseDTO response = checkoutService.completeCheckout(resolveCartId(cartId));
+    return ResponseEntity.ok(response);
+  }
+
+  private static String resolveCartId(String cartId) {
+    return cartId != null ? cartId : CheckoutService.DEFAULT_CART_ID;
+  }
 }
@@ -0,0 +1,56 @@
+package com.assessment.kata.checkoutkata.controller;
+
+import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
+import com.assessment.kata.checkoutkata.service.ReactivePricingService;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking mirror of {@link AdminPricingController}, served over R2DBC.
+ */
+@RestController
+@RequestMapping("/reactive/admin/pricing")
+public class ReactiveAdminPricingController {
+
+  private final ReactivePricingService pricingService;
+
+  public ReactiveAdminPricingController(ReactivePricingService pricingService) {
+    this.pricingService = pricingService;
+  }
+
+  @GetMapping
+  public Mono<Map<String, FullPricingResponseDTO>> getAllPricing() {
+    return pricingService.getAllPricingResponses();
+  }
+
+  @PatchMapping("/{itemName}/price")
+  public Mono<UpdatePricingResponseDTO> updateItemPrice(
+      @PathVariable String itemName,
+      @RequestBody @Valid UpdatePriceRequestDTO request) {
+    return pricingService.updateItemPriceByName(itemName, request);
+  }
+
+  @PatchMapping("/{itemName}/offer")
+  public Mono<UpdatePricingResponseDTO> updateItemOffer(
+      @PathVariable String itemName,
+      @RequestBody @Valid UpdateOfferRequestDTO request) {
+    return pricingService.updateItemOfferByName(itemName, request);
+  }
+
+  @DeleteMapping("/{itemName}/offer")
+  public Mono<UpdatePricingResponseDTO> removeItemOffer(@PathVariable String itemName) {
+    return pricingService.removeItemOfferByName(itemName);
+  }
+}
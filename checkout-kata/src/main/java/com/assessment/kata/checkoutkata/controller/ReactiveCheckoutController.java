@@ -0,0 +1,84 @@
+package com.assessment.kata.checkoutkata.controller;
+
+import com.assessment.kata.checkoutkata.dto.checkout.BarcodeScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
+import com.assessment.kata.checkoutkata.service.CheckoutService;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code Mono}-returning mirror of {@link CheckoutController}. Checkout only touches the in-memory
+ * cart store and price book and never waits, so each call runs on the thread that subscribes to it,
+ * which under Spring MVC is the request thread; moving it to another scheduler would only add a
+ * thread hop.
+ */
+@RestController
+@RequestMapping("/reactive/api/checkout")
+public class ReactiveCheckoutController {
+
+  private static final String CART_PATH = "/{cartId:[A-Za-z0-9_-]{1,36}}";
+
+  private final CheckoutService checkoutService;
+
+  public ReactiveCheckoutController(CheckoutService checkoutService) {
+    this.checkoutService = checkoutService;
+  }
+
+  @PostMapping({"/scan", CART_PATH + "/scan"})
+  public Mono<ScanResponseDTO> scanItems(
+      @PathVariable(required = false) String cartId,
+      @RequestBody @Valid ItemQuantityRequestDTO request) {
+    return Mono.fromSupplier(() -> checkoutService.scanItems(resolveCartId(cartId), request));
+  }
+
+  @PostMapping({"/scan/barcode", CART_PATH + "/scan/barcode"})
+  public Mono<ScanResponseDTO> scanBarcode(
+      @PathVariable(required = false) String cartId,
+      @RequestBody @Valid BarcodeScanRequestDTO request) {
+    return Mono.fromSupplier(() -> checkoutService.scanBarcode(resolveCartId(cartId), request));
+  }
+
+  @PostMapping({"/scan/batch", CART_PATH + "/scan/batch"})
+  public Mono<BatchScanResponseDTO> scanBatch(
+      @PathVariable(required = false) String cartId,
+      @RequestBody @Valid BatchScanRequestDTO request) {
+    return Mono.fromSupplier(() -> checkoutService.scanBatch(resolveCartId(cartId), request));
+  }
+
+  @PostMapping({"/remove", CART_PATH + "/remove"})
+  public Mono<ScanResponseDTO> removeItems(
+      @PathVariable(required = false) String cartId,
+      @RequestBody @Valid ItemQuantityRequestDTO request) {
+    return Mono.fromSupplier(() -> checkoutService.removeItems(resolveCartId(cartId), request));
+  }
+
+  @GetMapping({"/total", CART_PATH + "/total"})
+  public Mono<CheckoutSummaryResponseDTO> getCurrentTotal(@PathVariable(required = false) String cartId) {
+    return Mono.fromSupplier(() -> checkoutService.getCurrentTotal(resolveCartId(cartId)));
+  }
+
+  @GetMapping({"/items", CART_PATH + "/items"})
+  public Mono<CurrentItemsResponseDTO> getCurrentItems(@PathVariable(required = false) String cartId) {
+    return Mono.fromSupplier(() -> checkoutService.getCurrentItemsResponse(resolveCartId(cartId)));
+  }
+
+  @PostMapping({"/clear", CART_PATH + "/clear"})
+  public Mono<Void> clearCart(@PathVariable(required = false) String cartId) {
+    return Mono.fromRunnable(() -> checkoutService.clearCart(resolveCartId(cartId)));
+  }
+
+  private static String resolveCartId(String cartId) {
+    return cartId != null ? cartId : CheckoutService.DEFAULT_CART_ID;
+  }
+}
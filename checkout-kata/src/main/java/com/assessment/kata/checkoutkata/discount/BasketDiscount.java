@@ -0,0 +1,47 @@
+package com.assessment.kata.checkoutkata.discount;
+
+import com.assessment.kata.checkoutkata.model.DiscountBreakdown;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Discount a solver found for part of a basket, with one breakdown per offer and
+ * saving amount. Bundles filled from different items can save different amounts,
+ * so one bundle may appear in several breakdowns.
+ */
+@Getter
+public final class BasketDiscount {
+
+  public static final BasketDiscount NONE = new BasketDiscount(0, List.of());
+
+  private final int totalDiscountInCents;
+  private final List<DiscountBreakdown> breakdowns;
+
+  private BasketDiscount(int totalDiscountInCents, List<DiscountBreakdown> breakdowns) {
+    this.totalDiscountInCents = totalDiscountInCents;
+    this.breakdowns = breakdowns;
+  }
+
+  /**
+   * Collects applied offers as parallel lists of offer names and the saving of each application.
+   */
+  static BasketDiscount of(List<String> offerNames, List<Integer> savings) {
+    if (offerNames.isEmpty()) {
+      return NONE;
+    }
+    Map<String, Map<Integer, Integer>> counts = new LinkedHashMap<>();
+    int total = 0;
+    for (int i = 0; i < offerNames.size(); i++) {
+      counts.computeIfAbsent(offerNames.get(i), name -> new LinkedHashMap<>()).merge(savings.get(i), 1, Integer::sum);
+      total += savings.get(i);
+    }
+    List<DiscountBreakdown> breakdowns = new ArrayList<>();
+    counts.forEach((name, bySaving) -> bySaving.forEach((saving, sets) ->
+        breakdowns.add(new DiscountBreakdown(name, sets, saving, saving * sets))));
+    return new BasketDiscount(total, List.copyOf(breakdowns));
+  }
+}
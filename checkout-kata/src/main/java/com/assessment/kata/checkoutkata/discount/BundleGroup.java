@@ -0,0 +1,333 @@
+package com.assessment.kata.checkoutkata.discount;
+
+import com.assessment.kata.checkoutkata.model.BundleComponent;
+import com.assessment.kata.checkoutkata.model.BundleOffer;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Basket items linked by offers, together with those offers. Items in different groups
+ * never share an offer, so each group can be solved on its own.
+ *
+ * <p>Multi-buy rules of the group's items are included as single-item offers, so they
+ * compete with the bundles for the same units. A state of the group is the remaining
+ * quantity of each item packed into one long in item id order, with just enough bits per
+ * item for the largest quantity. Solvers use it as a primitive memo key, valid for as long
+ * as {@link #memoKey()} is unchanged.
+ */
+final class BundleGroup {
+
+  /**
+   * Receives one way of filling an offer. {@code remaining} holds the quantities left
+   * afterwards and is only valid during the call.
+   */
+  interface FillingVisitor {
+    int visit(int[] remaining, long next, int savings);
+  }
+
+  private final List<Item> items;
+  private final int[] quantities;
+  private final int[] unitPrices;
+  private final List<Offer> offers;
+  private final int bits;
+
+  private BundleGroup(List<Item> items, int[] quantities, int[] unitPrices, List<Offer> offers) {
+    this.items = items;
+    this.quantities = quantities;
+    this.unitPrices = unitPrices;
+    this.offers = offers;
+    int largest = 1;
+    for (int quantity : quantities) {
+      largest = Math.max(largest, quantity);
+    }
+    this.bits = 32 - Integer.numberOfLeadingZeros(largest);
+  }
+
+  /**
+   * Splits the basket into groups of items connected by offers that can be filled from it.
+   * Groups without any offer are left out.
+   */
+  static List<BundleGroup> split(PriceBookSnapshot priceBook, Item[] items, int[] quantities, int count) {
+    Map<Item, Integer> basketIndex = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      basketIndex.put(items[i], i);
+    }
+    int[] parent = new int[count];
+    for (int i = 0; i < count; i++) {
+      parent[i] = i;
+    }
+
+    List<Offer> basketOffers = new ArrayList<>();
+    Map<BundleOffer, Boolean> seen = new IdentityHashMap<>();
+    for (int i = 0; i < count; i++) {
+      for (BundleOffer bundle : priceBook.bundlesFor(items[i])) {
+        if (seen.put(bundle, Boolean.TRUE) == null) {
+          Offer offer = Offer.of(bundle, basketIndex);
+          if (offer != null) {
+            basketOffers.add(offer);
+            offer.forEachItem(item -> union(parent, offer.eligible[0][0], item));
+          }
+        }
+      }
+      ItemPricing pricing = priceBook.get(items[i]);
+      for (DiscountRule rule : pricing.getDiscountRules()) {
+        basketOffers.add(Offer.multiBuy(items[i], pricing, rule, i));
+      }
+    }
+
+    Map<Integer, List<Offer>> offersByRoot = new LinkedHashMap<>();
+    for (Offer offer : basketOffers) {
+      offersByRoot.computeIfAbsent(find(parent, offer.eligible[0][0]), root -> new ArrayList<>()).add(offer);
+    }
+    List<BundleGroup> groups = new ArrayList<>(offersByRoot.size());
+    offersByRoot.forEach((root, offers) -> groups.add(of(root, offers, parent, priceBook, items, quantities, count)));
+    return groups;
+  }
+
+  private static BundleGroup of(int root, List<Offer> basketOffers, int[] parent, PriceBookSnapshot priceBook,
+                                Item[] items, int[] quantities, int count) {
+    List<Integer> members = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      if (find(parent, i) == root) {
+        members.add(i);
+      }
+    }
+    members.sort(Comparator.comparingInt(i -> items[i].getId()));
+
+    int[] localIndex = new int[count];
+    Item[] groupItems = new Item[members.size()];
+    int[] groupQuantities = new int[members.size()];
+    int[] unitPrices = new int[members.size()];
+    for (int local = 0; local < members.size(); local++) {
+      int basket = members.get(local);
+      localIndex[basket] = local;
+      groupItems[local] = items[basket];
+      groupQuantities[local] = quantities[basket];
+      unitPrices[local] = priceBook.get(items[basket]).getPriceInCents();
+    }
+    List<Offer> offers = new ArrayList<>(basketOffers.size());
+    for (Offer offer : basketOffers) {
+      offers.add(offer.remap(localIndex));
+    }
+    return new BundleGroup(Collections.unmodifiableList(Arrays.asList(groupItems)), groupQuantities, unitPrices,
+        offers);
+  }
+
+  /**
+   * Identifies the packing of this group's states: packed states of two groups with equal
+   * keys describe the same quantities.
+   */
+  List<Object> memoKey() {
+    return List.of(items, bits);
+  }
+
+  int[] quantities() {
+    return quantities.clone();
+  }
+
+  int unitCount() {
+    int units = 0;
+    for (int quantity : quantities) {
+      units += quantity;
+    }
+    return units;
+  }
+
+  int offerCount() {
+    return offers.size();
+  }
+
+  String offerName(int offer) {
+    return offers.get(offer).name;
+  }
+
+  /**
+   * Returns true when the quantities of every item fit in one long.
+   */
+  boolean isPackable() {
+    return items.size() * bits <= 63;
+  }
+
+  /**
+   * Returns the state with every unit of the item removed.
+   */
+  long without(long state, int item) {
+    long mask = (1L << bits) - 1;
+    return state & ~(mask << (item * bits));
+  }
+
+  long initialState() {
+    long state = 0;
+    for (int i = 0; i < quantities.length; i++) {
+      state += (long) quantities[i] << (i * bits);
+    }
+    return state;
+  }
+
+  int[] unpack(long state) {
+    int[] remaining = new int[quantities.length];
+    long mask = (1L << bits) - 1;
+    for (int i = 0; i < remaining.length; i++) {
+      remaining[i] = (int) ((state >>> (i * bits)) & mask);
+    }
+    return remaining;
+  }
+
+  /**
+   * Visits every way to fill one application of the offer from {@code remaining} that saves
+   * money, and returns the largest value the visitor returned, or 0 if there was none.
+   * Applications that save nothing are skipped: removing units never raises the best
+   * discount of what is left.
+   */
+  int fillings(int offer, int[] remaining, long state, FillingVisitor visitor) {
+    return fillings(offer, remaining, state, -1, visitor);
+  }
+
+  /**
+   * Like {@link #fillings(int, int[], long, FillingVisitor)}, but only visits applications
+   * that take at least one unit of item {@code mustUse}.
+   */
+  int fillings(int offer, int[] remaining, long state, int mustUse, FillingVisitor visitor) {
+    Offer target = offers.get(offer);
+    if (mustUse >= 0 && !target.contains(mustUse)) {
+      return 0;
+    }
+    int mustUseQuantity = mustUse >= 0 ? remaining[mustUse] : 0;
+    return fill(target, 0, 0, target.required[0], remaining, state, 0, mustUse, mustUseQuantity, visitor);
+  }
+
+  private int fill(Offer offer, int component, int position, int needed, int[] remaining, long next,
+                   int unitTotal, int mustUse, int mustUseQuantity, FillingVisitor visitor) {
+    if (needed == 0) {
+      if (component + 1 < offer.required.length) {
+        return fill(offer, component + 1, 0, offer.required[component + 1], remaining, next, unitTotal,
+            mustUse, mustUseQuantity, visitor);
+      }
+      int savings = unitTotal - offer.priceInCents;
+      boolean usesItem = mustUse < 0 || remaining[mustUse] < mustUseQuantity;
+      return savings > 0 && usesItem ? visitor.visit(remaining, next, savings) : 0;
+    }
+    int[] eligible = offer.eligible[component];
+    if (position == eligible.length) {
+      return 0;
+    }
+    int item = eligible[position];
+    int most = Math.min(needed, remaining[item]);
+    // The last eligible item has to cover whatever the others did not
+    int least = position == eligible.length - 1 ? needed : 0;
+    long unit = 1L << (item * bits);
+    int best = 0;
+    for (int taken = most; taken >= least; taken--) {
+      remaining[item] -= taken;
+      best = Math.max(best, fill(offer, component, position + 1, needed - taken, remaining,
+          next - taken * unit, unitTotal + taken * unitPrices[item], mustUse, mustUseQuantity, visitor));
+      remaining[item] += taken;
+    }
+    return best;
+  }
+
+  private static int find(int[] parent, int i) {
+    while (parent[i] != i) {
+      parent[i] = parent[parent[i]];
+      i = parent[i];
+    }
+    return i;
+  }
+
+  private static void union(int[] parent, int a, int b) {
+    parent[find(parent, a)] = find(parent, b);
+  }
+
+  /**
+   * An offer restricted to the items present: per component, the required quantity
+   * and the indices of the eligible items.
+   */
+  private static final class Offer {
+    private final String name;
+    private final int priceInCents;
+    private final int[] required;
+    private final int[][] eligible;
+
+    private Offer(String name, int priceInCents, int[] required, int[][] eligible) {
+      this.name = name;
+      this.priceInCents = priceInCents;
+      this.required = required;
+      this.eligible = eligible;
+    }
+
+    /**
+     * Returns the bundle restricted to the basket, or null if a component has no item in it.
+     */
+    static Offer of(BundleOffer bundle, Map<Item, Integer> basketIndex) {
+      List<BundleComponent> components = bundle.getComponents();
+      int[] required = new int[components.size()];
+      int[][] eligible = new int[components.size()][];
+      for (int c = 0; c < required.length; c++) {
+        BundleComponent component = components.get(c);
+        required[c] = component.getRequiredQuantity();
+        int[] present = new int[component.getItems().size()];
+        int found = 0;
+        for (Item item : component.getItems()) {
+          Integer index = basketIndex.get(item);
+          if (index != null) {
+            present[found++] = index;
+          }
+        }
+        if (found == 0) {
+          return null;
+        }
+        eligible[c] = Arrays.copyOf(present, found);
+      }
+      return new Offer(bundle.getName(), bundle.getPriceInCents(), required, eligible);
+    }
+
+    static Offer multiBuy(Item item, ItemPricing pricing, DiscountRule rule, int index) {
+      int setPrice = rule.getRequiredQuantity() * pricing.getPriceInCents() - rule.getSavingsInCents();
+      return new Offer(item.getDisplayName(), setPrice, new int[] {rule.getRequiredQuantity()},
+          new int[][] {{index}});
+    }
+
+    boolean contains(int item) {
+      for (int[] items : eligible) {
+        for (int candidate : items) {
+          if (candidate == item) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    void forEachItem(IntConsumer action) {
+      for (int[] items : eligible) {
+        for (int item : items) {
+          action.accept(item);
+        }
+      }
+    }
+
+    Offer remap(int[] localIndex) {
+      int[][] local = new int[eligible.length][];
+      for (int c = 0; c < eligible.length; c++) {
+        local[c] = new int[eligible[c].length];
+        for (int i = 0; i < eligible[c].length; i++) {
+          local[c][i] = localIndex[eligible[c][i]];
+        }
+      }
+      return new Offer(name, priceInCents, required, local);
+    }
+  }
+}
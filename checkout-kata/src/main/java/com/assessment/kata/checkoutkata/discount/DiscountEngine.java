@@ -0,0 +1,14 @@
+package com.assessment.kata.checkoutkata.discount;
+
+/**
+ * Strategy that prices the discount of the bundle-eligible lines of a cart. Select the
+ * implementation with {@code checkout.discount.engine} ({@code optimal} or {@code greedy}).
+ */
+public interface DiscountEngine {
+
+  /**
+   * Creates the solver for one cart. A solver may keep state between calls and is
+   * only ever used under its cart's lock.
+   */
+  DiscountSolver newSolver();
+}
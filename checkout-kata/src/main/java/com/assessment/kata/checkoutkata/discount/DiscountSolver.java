@@ -0,0 +1,14 @@
+package com.assessment.kata.checkoutkata.discount;
+
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+
+public interface DiscountSolver {
+
+  /**
+   * Works out the discount for {@code quantities[i]} units of {@code items[i]}, for the first
+   * {@code count} entries. Every item must be priced and bundled in the given price book;
+   * its multi-buy tiers are weighed against the bundles it belongs to.
+   */
+  BasketDiscount solve(PriceBookSnapshot priceBook, Item[] items, int[] quantities, int count);
+}
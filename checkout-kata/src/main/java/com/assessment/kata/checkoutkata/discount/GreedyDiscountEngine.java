@@ -0,0 +1,74 @@
+package com.assessment.kata.checkoutkata.discount;
+
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repeatedly applies whichever single offer application saves the most until none saves
+ * anything. Linear in the number of applications and stateless, but with overlapping
+ * bundles it can miss the cheapest assignment; {@link OptimalDiscountEngine} also uses it
+ * as a fallback for groups too large to search exhaustively.
+ */
+@Component
+@ConditionalOnProperty(name = "checkout.discount.engine", havingValue = "greedy")
+public class GreedyDiscountEngine implements DiscountEngine {
+
+  @Override
+  public DiscountSolver newSolver() {
+    return GreedyDiscountEngine::solve;
+  }
+
+  private static BasketDiscount solve(PriceBookSnapshot priceBook, Item[] items, int[] quantities, int count) {
+    List<String> offerNames = new ArrayList<>();
+    List<Integer> savings = new ArrayList<>();
+    for (BundleGroup group : BundleGroup.split(priceBook, items, quantities, count)) {
+      solve(group, offerNames, savings);
+    }
+    return BasketDiscount.of(offerNames, savings);
+  }
+
+  static void solve(BundleGroup group, List<String> offerNames, List<Integer> savings) {
+    BestApplication best = new BestApplication(group.quantities().length);
+    int[] remaining = group.quantities();
+    while (true) {
+      best.savings = 0;
+      for (int offer = 0; offer < group.offerCount(); offer++) {
+        best.offer = offer;
+        group.fillings(offer, remaining, 0, best);
+      }
+      if (best.savings == 0) {
+        return;
+      }
+      offerNames.add(group.offerName(best.bestOffer));
+      savings.add(best.savings);
+      System.arraycopy(best.remaining, 0, remaining, 0, remaining.length);
+    }
+  }
+
+  private static final class BestApplication implements BundleGroup.FillingVisitor {
+
+    private final int[] remaining;
+    private int offer;
+    private int bestOffer;
+    private int savings;
+
+    private BestApplication(int items) {
+      this.remaining = new int[items];
+    }
+
+    @Override
+    public int visit(int[] remaining, long next, int savings) {
+      if (savings > this.savings) {
+        this.savings = savings;
+        this.bestOffer = offer;
+        System.arraycopy(remaining, 0, this.remaining, 0, remaining.length);
+      }
+      return savings;
+    }
+  }
+}
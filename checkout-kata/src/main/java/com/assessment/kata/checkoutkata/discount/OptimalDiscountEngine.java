@@ -0,0 +1,169 @@
+package com.assessment.kata.checkoutkata.discount;
+
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the cheapest assignment of units to offers for the customer.
+ *
+ * <p>For each {@link BundleGroup} the search looks at the first item left in a state: in the
+ * best assignment either no offer uses its remaining units, or some application does and can
+ * be taken first. So the best discount of a state is the larger of the best discount without
+ * that item and, over every application that uses it, its saving plus the best discount of
+ * what is left. Results are memoized per packed state. A cart keeps its memo between scans
+ * while the price book version and the group's packing are unchanged, so a scan mostly explores
+ * the states its new units make reachable.
+ *
+ * <p>A group whose quantities do not fit a packed state, whose search would visit more than
+ * {@link #MAX_STATES_PER_SOLVE} new states, or that holds more than {@link #MAX_SEARCH_UNITS}
+ * units, is priced by {@link GreedyDiscountEngine} instead. The search recurses once per offer
+ * application, so the unit cap keeps a single large scan from exhausting the thread's stack.
+ * States finished before the cut-off stay memoized, so later scans carry on from them.
+ */
+@Component
+@ConditionalOnProperty(name = "checkout.discount.engine", havingValue = "optimal", matchIfMissing = true)
+public class OptimalDiscountEngine implements DiscountEngine {
+
+  static final int MAX_STATES_PER_SOLVE = 20_000;
+  static final int MAX_SEARCH_UNITS = 1_000;
+  // A memo that grows past this is dropped rather than kept for the next scan
+  static final int MAX_RETAINED_STATES = 200_000;
+
+  @Override
+  public DiscountSolver newSolver() {
+    return new Solver();
+  }
+
+  private static final class Solver implements DiscountSolver {
+
+    private long version = -1;
+    private Map<List<Object>, Map<Long, Integer>> memos = new HashMap<>();
+
+    @Override
+    public BasketDiscount solve(PriceBookSnapshot priceBook, Item[] items, int[] quantities, int count) {
+      if (priceBook.getVersion() != version) {
+        memos = new HashMap<>();
+        version = priceBook.getVersion();
+      }
+      Map<List<Object>, Map<Long, Integer>> retained = new HashMap<>();
+      List<String> offerNames = new ArrayList<>();
+      List<Integer> savings = new ArrayList<>();
+      for (BundleGroup group : BundleGroup.split(priceBook, items, quantities, count)) {
+        Map<Long, Integer> memo = memos.getOrDefault(group.memoKey(), new HashMap<>());
+        if (!group.isPackable() || group.unitCount() > MAX_SEARCH_UNITS
+            || !new GroupSearch(group, memo).solve(offerNames, savings)) {
+          GreedyDiscountEngine.solve(group, offerNames, savings);
+        }
+        if (group.isPackable() && memo.size() <= MAX_RETAINED_STATES) {
+          retained.put(group.memoKey(), memo);
+        }
+      }
+      memos = retained;
+      return BasketDiscount.of(offerNames, savings);
+    }
+  }
+
+  private static final class GroupSearch {
+
+    private final BundleGroup group;
+    private final Map<Long, Integer> memo;
+    private final BundleGroup.FillingVisitor recurse = (remaining, next, savings) -> savings + best(next);
+    private final BundleGroup.FillingVisitor trace = this::trace;
+    private int explored;
+    private boolean exhausted;
+    private int target;
+    private boolean found;
+    private long foundNext;
+    private int foundSavings;
+
+    private GroupSearch(BundleGroup group, Map<Long, Integer> memo) {
+      this.group = group;
+      this.memo = memo;
+    }
+
+    /**
+     * Adds the applications of the best assignment to the lists, or returns false without
+     * adding anything if the search ran out of states.
+     */
+    boolean solve(List<String> offerNames, List<Integer> savings) {
+      long state = group.initialState();
+      int remainingDiscount = best(state);
+      if (exhausted) {
+        return false;
+      }
+      // Every state reachable from the start is memoized now; walk one best path through them
+      while (remainingDiscount > 0) {
+        int[] remaining = group.unpack(state);
+        int first = firstItemLeft(remaining);
+        long dropped = group.without(state, first);
+        if (best(dropped) == remainingDiscount) {
+          state = dropped;
+          continue;
+        }
+        found = false;
+        target = remainingDiscount;
+        for (int offer = 0; offer < group.offerCount() && !found; offer++) {
+          group.fillings(offer, remaining, state, first, trace);
+          if (found) {
+            offerNames.add(group.offerName(offer));
+            savings.add(foundSavings);
+          }
+        }
+        if (!found) {
+          throw new IllegalStateException("Memoized discount " + remainingDiscount + " has no matching offer");
+        }
+        state = foundNext;
+        remainingDiscount -= foundSavings;
+      }
+      return true;
+    }
+
+    private int best(long state) {
+      if (state == 0) {
+        return 0;
+      }
+      Integer known = memo.get(state);
+      if (known != null) {
+        return known;
+      }
+      if (exhausted || ++explored > MAX_STATES_PER_SOLVE) {
+        exhausted = true;
+        return 0;
+      }
+      int[] remaining = group.unpack(state);
+      int first = firstItemLeft(remaining);
+      int best = best(group.without(state, first));
+      for (int offer = 0; offer < group.offerCount(); offer++) {
+        best = Math.max(best, group.fillings(offer, remaining, state, first, recurse));
+      }
+      if (!exhausted) {
+        memo.put(state, best);
+      }
+      return best;
+    }
+
+    private int trace(int[] remaining, long next, int savings) {
+      if (!found && savings + best(next) == target) {
+        found = true;
+        foundNext = next;
+        foundSavings = savings;
+      }
+      return 0;
+    }
+
+    private static int firstItemLeft(int[] remaining) {
+      int item = 0;
+      while (remaining[item] == 0) {
+        item++;
+      }
+      return item;
+    }
+  }
+}
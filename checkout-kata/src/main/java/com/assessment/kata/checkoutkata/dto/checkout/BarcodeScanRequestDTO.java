@@ -0,0 +1,24 @@
+package com.assessment.kata.checkoutkata.dto.checkout;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BarcodeScanRequestDTO {
+
+    @NotNull(message = "Barcode is required")
+    @Pattern(regexp = "\\d{8,14}", message = "Barcode must be 8 to 14 digits")
+    private String barcode;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Builder.Default
+    private int quantity = 1;
+}
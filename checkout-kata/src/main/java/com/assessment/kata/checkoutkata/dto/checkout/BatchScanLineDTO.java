@@ -0,0 +1,16 @@
+package com.assessment.kata.checkoutkata.dto.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchScanLineDTO {
+    private String itemScanned;
+    private int quantityAdded;
+    private int currentQuantity;
+}
@@ -0,0 +1,22 @@
+package com.assessment.kata.checkoutkata.dto.checkout;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchScanRequestDTO {
+
+    @NotEmpty(message = "Batch must contain at least one item")
+    @Size(max = 1000, message = "Batch cannot contain more than 1000 lines")
+    private List<@Valid ItemQuantityRequestDTO> items;
+}
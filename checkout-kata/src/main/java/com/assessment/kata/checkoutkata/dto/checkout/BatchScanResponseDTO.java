@@ -0,0 +1,18 @@
+package com.assessment.kata.checkoutkata.dto.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchScanResponseDTO {
+    private List<BatchScanLineDTO> lines;
+    private CheckoutSummaryResponseDTO summary;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.assessment.kata.checkoutkata.dto.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A cart's recalculated summary, pushed to its subscribers whenever the total may have changed.
+ * {@code totalChangeInCents} is the difference from the previous update sent on the stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartUpdateDTO {
+    private CartUpdateType type;
+    private long cartVersion;
+    private String message;
+    private int totalChangeInCents;
+    private CheckoutSummaryResponseDTO summary;
+}
@@ -0,0 +1,9 @@
+package com.assessment.kata.checkoutkata.dto.checkout;
+
+public enum CartUpdateType {
+    CURRENT,
+    SCANNED,
+    REMOVED,
+    CLEARED,
+    PRICES_CHANGED
+}
@@ -13,8 +13,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ItemQuantityRequestDTO {
 
-    @Pattern(regexp = "apple|banana|peach|kiwi",
-             message = "Item must be one of: apple, banana, peach, kiwi")
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,20}",
+             message = "Item must be a catalog key of up to 20 letters, digits, '_' or '-'")
     private String itemName;
 
     @Min(value = 1, message = "Quantity must be at least 1")
@@ -0,0 +1,22 @@
+package com.assessment.kata.checkoutkata.dto.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptResponseDTO {
+    private String receiptId;
+    private String cartId;
+    private LocalDateTime completedAt;
+    private CheckoutSummaryResponseDTO summary;
+    // False while the order is only queued to be written
+    private boolean recorded;
+    private String message;
+}
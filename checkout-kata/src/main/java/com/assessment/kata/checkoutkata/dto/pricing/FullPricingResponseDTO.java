@@ -5,6 +5,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,4 +19,6 @@ public class FullPricingResponseDTO {
   private Integer offerQuantity;
   private Integer offerSavingsInCents;
   private String offerDescription;
+  private List<String> offerTierDescriptions;
+  private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.assessment.kata.checkoutkata.dto.pricing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingImportResponseDTO {
+  private String message;
+
+  private int rowsImported;
+  private int itemsAdded;
+  private int itemsChanged;
+}
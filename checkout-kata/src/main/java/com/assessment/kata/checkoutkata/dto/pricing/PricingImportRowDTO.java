@@ -0,0 +1,21 @@
+package com.assessment.kata.checkoutkata.dto.pricing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a price file: the item's unit price and, optionally, its headline offer.
+ * Rows without an offer remove the item's current one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingImportRowDTO {
+  private String itemKey;
+  private Integer priceInCents;
+  private Integer offerQuantity;
+  private Integer offerSavingsInCents;
+}
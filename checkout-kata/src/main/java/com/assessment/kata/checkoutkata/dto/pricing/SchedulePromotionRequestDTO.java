@@ -0,0 +1,31 @@
+package com.assessment.kata.checkoutkata.dto.pricing;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulePromotionRequestDTO {
+
+    @Min(value = 2, message = "Offer quantity must be at least 2")
+    @Max(value = 1000, message = "Offer quantity must be at most 1000")
+    private int quantity;
+
+    @Min(value = 1, message = "Savings must be positive")
+    private int savingsInCents;
+
+    @NotNull(message = "validFrom is required")
+    private LocalDateTime validFrom;
+
+    // Open-ended when null
+    private LocalDateTime validTo;
+}
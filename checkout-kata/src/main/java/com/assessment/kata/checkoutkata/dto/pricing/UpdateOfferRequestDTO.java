@@ -1,5 +1,6 @@
 package com.assessment.kata.checkoutkata.dto.pricing;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +14,7 @@ import lombok.NoArgsConstructor;
 public class UpdateOfferRequestDTO {
 
     @Min(value = 2, message = "Offer quantity must be at least 2")
+    @Max(value = 1000, message = "Offer quantity must be at most 1000")
     private int quantity;
 
     @Min(value = 1, message = "Savings must be positive")
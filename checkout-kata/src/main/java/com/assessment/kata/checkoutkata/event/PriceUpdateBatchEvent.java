@@ -0,0 +1,22 @@
+package com.assessment.kata.checkoutkata.event;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Committed price updates delivered together, with at most one update per item.
+ */
+@Getter
+@ToString
+public class PriceUpdateBatchEvent extends ApplicationEvent {
+
+  private final List<PriceUpdateEvent> updates;
+
+  public PriceUpdateBatchEvent(Object source, List<PriceUpdateEvent> updates) {
+    super(source);
+    this.updates = List.copyOf(updates);
+  }
+}
@@ -0,0 +1,142 @@
+package com.assessment.kata.checkoutkata.event;
+
+import com.assessment.kata.checkoutkata.model.Item;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPriceUpdateSummary;
+
+/**
+ * Turns committed {@link PriceUpdateEvent}s into {@link PriceUpdateBatchEvent}s off the admin thread.
+ *
+ * <p>The admin thread only merges the event into a map holding one pending event per item and
+ * update type. A single dispatch thread drains the map once per coalescing window, so a burst of
+ * updates of one type to the same item reaches listeners as one event, updates of different types
+ * reach them side by side in the order they came, and a bulk refresh reaches them as one batch.
+ * At most one flush is queued at a time, so the executor never backs up.
+ *
+ * <p>Bulk changes such as price file imports hand their whole follow-up to the dispatch thread with
+ * {@link #dispatch(Supplier)}, so the request that committed them never waits for the price book to reload.
+ */
+@Slf4j
+@Component
+public class PriceUpdateDispatcher {
+
+  private final ApplicationEventPublisher eventPublisher;
+  private final long coalesceWindowMillis;
+  private final ConcurrentMap<PendingKey, Pending> pending = new ConcurrentHashMap<>();
+  private final AtomicLong arrivals = new AtomicLong();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "price-update-dispatch");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public PriceUpdateDispatcher(ApplicationEventPublisher eventPublisher,
+                               @Value("${checkout.events.coalesce-window:20ms}") Duration coalesceWindow) {
+    this.eventPublisher = eventPublisher;
+    this.coalesceWindowMillis = coalesceWindow.toMillis();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onPriceUpdate(PriceUpdateEvent event) {
+    pending.merge(new PendingKey(event.getItem(), event.getUpdateType()),
+        new Pending(event, arrivals.incrementAndGet()), PriceUpdateDispatcher::coalesce);
+    if (flushScheduled.compareAndSet(false, true)) {
+      executor.schedule(this::flush, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Runs a committed bulk change's follow-up on the dispatch thread. The follow-up reloads whatever
+   * the change wrote and returns its updates, which are then coalesced like committed single updates.
+   */
+  public void dispatch(Supplier<List<PriceUpdateEvent>> followUp) {
+    executor.execute(() -> {
+      try {
+        followUp.get().forEach(this::onPriceUpdate);
+      } catch (RuntimeException e) {
+        log.error("Price update follow-up failed", e);
+      }
+    });
+  }
+
+  private void flush() {
+    // Reset first: an update merged from here on schedules its own flush
+    flushScheduled.set(false);
+    List<Pending> drained = new ArrayList<>(pending.size());
+    for (PendingKey key : pending.keySet()) {
+      Pending update = pending.remove(key);
+      if (update != null) {
+        drained.add(update);
+      }
+    }
+    if (drained.isEmpty()) {
+      return;
+    }
+    drained.sort(Comparator.comparingLong(Pending::arrival));
+    List<PriceUpdateEvent> updates = new ArrayList<>(drained.size());
+    for (Pending update : drained) {
+      updates.add(update.event());
+    }
+    try {
+      eventPublisher.publishEvent(new PriceUpdateBatchEvent(this, updates));
+    } catch (RuntimeException e) {
+      log.error("Price update listener failed for batch of {} updates", updates.size(), e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Merges two updates of the same type to the same item. The later one supersedes the earlier,
+   * except that price changes collapse into one change from the first old price to the last new price.
+   */
+  private static Pending coalesce(Pending earlier, Pending later) {
+    if (later.event().getUpdateType() != UpdateType.PRICE_CHANGED) {
+      return later;
+    }
+    PriceUpdateEvent first = earlier.event();
+    PriceUpdateEvent last = later.event();
+    return new Pending(PriceUpdateEvent.builder()
+        .source(last.getSource())
+        .item(last.getItem())
+        .updateType(UpdateType.PRICE_CHANGED)
+        .oldPriceInCents(first.getOldPriceInCents())
+        .newPriceInCents(last.getNewPriceInCents())
+        .description(toPriceUpdateSummary(last.getItem(), first.getOldPriceInCents(), last.getNewPriceInCents()))
+        .build(), later.arrival());
+  }
+
+  private record PendingKey(Item item, UpdateType updateType) {
+  }
+
+  /**
+   * A pending update and when its latest part arrived, so a flush keeps the order of the updates.
+   */
+  private record Pending(PriceUpdateEvent event, long arrival) {
+  }
+}
@@ -16,16 +16,22 @@ public class PriceUpdateEvent extends ApplicationEvent {
   private final UpdateType updateType;
   private final Integer oldPriceInCents;
   private final Integer newPriceInCents;
+  // The new offer of an OFFER_CHANGED update
+  private final Integer offerQuantity;
+  private final Integer offerSavingsInCents;
   private final String description;
 
   @Builder
   public PriceUpdateEvent(Object source, Item item, UpdateType updateType,
-                          Integer oldPriceInCents, Integer newPriceInCents, String description) {
+                          Integer oldPriceInCents, Integer newPriceInCents, Integer offerQuantity,
+                          Integer offerSavingsInCents, String description) {
     super(source);
     this.item = item;
     this.updateType = updateType;
     this.oldPriceInCents = oldPriceInCents;
     this.newPriceInCents = newPriceInCents;
+    this.offerQuantity = offerQuantity;
+    this.offerSavingsInCents = offerSavingsInCents;
     this.description = description;
   }
 }
\ No newline at end of file
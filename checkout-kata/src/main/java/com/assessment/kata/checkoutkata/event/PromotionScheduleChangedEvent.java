@@ -0,0 +1,20 @@
+package com.assessment.kata.checkoutkata.event;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when the price book compiles a new promotion schedule, so the next transition can be re-armed.
+ */
+@Getter
+@ToString
+public class PromotionScheduleChangedEvent extends ApplicationEvent {
+
+  private final long nextTransitionMillis;
+
+  public PromotionScheduleChangedEvent(Object source, long nextTransitionMillis) {
+    super(source);
+    this.nextTransitionMillis = nextTransitionMillis;
+  }
+}
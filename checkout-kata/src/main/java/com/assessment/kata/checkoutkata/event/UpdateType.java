@@ -3,5 +3,7 @@ package com.assessment.kata.checkoutkata.event;
 public enum UpdateType {
   PRICE_CHANGED,
   OFFER_CHANGED,
-  OFFER_REMOVED
+  OFFER_REMOVED,
+  PROMOTION_STARTED,
+  PROMOTION_ENDED
 }
\ No newline at end of file
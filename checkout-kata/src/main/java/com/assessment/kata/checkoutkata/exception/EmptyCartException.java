@@ -0,0 +1,7 @@
+package com.assessment.kata.checkoutkata.exception;
+
+public class EmptyCartException extends RuntimeException {
+    public EmptyCartException(String message) {
+        super(message);
+    }
+}
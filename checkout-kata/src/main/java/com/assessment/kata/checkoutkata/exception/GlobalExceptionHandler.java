@@ -3,6 +3,7 @@ package com.assessment.kata.checkoutkata.exception;
 import com.assessment.kata.checkoutkata.dto.error.ErrorResponseDTO;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -44,6 +45,25 @@ public class GlobalExceptionHandler {
     return ResponseEntity.badRequest().body(errors);
   }
 
+  @ExceptionHandler(EmptyCartException.class)
+  public ResponseEntity<Map<String, String>> handleEmptyCart(EmptyCartException ex) {
+    log.error("Checkout not completed: {}", ex.getMessage());
+    Map<String, String> errors = new HashMap<>();
+    errors.put("message", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
+  }
+
+  @ExceptionHandler(OrderLedgerUnavailableException.class)
+  public ResponseEntity<ErrorResponseDTO> handleOrderLedgerUnavailable(OrderLedgerUnavailableException ex) {
+    log.error("Order ledger unavailable: {}", ex.getMessage());
+    ErrorResponseDTO error = new ErrorResponseDTO(
+        "ORDERS_UNAVAILABLE",
+        ex.getMessage(),
+        LocalDateTime.now()
+    );
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<Map<String, String>> handleInvalidArgument(IllegalArgumentException ex) {
     log.error("Invalid argument: {}", ex.getMessage());
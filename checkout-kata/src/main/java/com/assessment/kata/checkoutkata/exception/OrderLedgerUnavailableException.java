@@ -0,0 +1,7 @@
+package com.assessment.kata.checkoutkata.exception;
+
+public class OrderLedgerUnavailableException extends RuntimeException {
+    public OrderLedgerUnavailableException(String message) {
+        super(message);
+    }
+}
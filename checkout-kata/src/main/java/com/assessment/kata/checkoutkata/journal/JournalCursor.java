@@ -0,0 +1,62 @@
+package com.assessment.kata.checkoutkata.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Reads the transaction journal in sequence order straight from its mapped segments. The record
+ * returned by {@link #record()} is a view over the segment that the next call to {@link #next()}
+ * moves on, so scanning allocates nothing per record.
+ *
+ * <p>{@link #next()} returns false at the first slot not yet published. Calling it again later picks
+ * up the records appended since, which is how a reader tails the journal.
+ */
+public final class JournalCursor {
+
+  private final Path directory;
+  private final JournalRecord record = new JournalRecord();
+  private JournalSegment segment;
+  private long sequence;
+
+  public JournalCursor(Path directory, long fromSequence) {
+    this.directory = directory;
+    this.sequence = fromSequence;
+  }
+
+  public boolean next() throws IOException {
+    if (segment == null || !segment.contains(sequence)) {
+      segment = JournalSegment.openForRead(directory, firstAvailable());
+      if (segment == null) {
+        return false;
+      }
+    }
+    int offset = segment.offset(sequence);
+    if (JournalRecord.type(segment.buffer, offset) == 0) {
+      return false;
+    }
+    record.wrap(segment.buffer, offset);
+    sequence++;
+    return true;
+  }
+
+  public JournalRecord record() {
+    return record;
+  }
+
+  /**
+   * The sequence of the next record to read.
+   */
+  public long position() {
+    return sequence;
+  }
+
+  private long firstAvailable() throws IOException {
+    // Start at the oldest record when asked for one from before the journal began
+    List<Path> files = JournalSegment.list(directory);
+    if (!files.isEmpty()) {
+      sequence = Math.max(sequence, JournalSegment.firstSequence(files.get(0)));
+    }
+    return sequence;
+  }
+}
@@ -0,0 +1,138 @@
+package com.assessment.kata.checkoutkata.journal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A view of one transaction journal record in place, inside a segment's mapped buffer. Reading a field
+ * decodes it from the buffer; nothing is copied out until it is asked for, and the same view moves from
+ * record to record.
+ *
+ * <p>Every record takes {@link #SIZE} bytes, little-endian:
+ * <pre>
+ *   0  int    type, 0 while the record is not yet published
+ *   4  int    quantity, or the offer quantity of an offer change (0 when removed)
+ *   8  long   sequence
+ *  16  long   timestamp, microseconds since the epoch
+ *  24  int    cart total in cents after the event, or {@link #TOTAL_UNKNOWN};
+ *               the new price, or the offer savings, of a pricing change
+ *  28  byte   cart id length
+ *  29  byte   key length
+ *  32  byte[36] cart id, ASCII
+ *  68  byte[24] key, ASCII: the item key, or the receipt id of a completion
+ * </pre>
+ * Pricing changes have no cart id.
+ * The type is written last, with release semantics, so a reader that sees it also sees the rest.
+ */
+public final class JournalRecord {
+
+  public static final int SIZE = 128;
+  public static final int SCAN = 1;
+  public static final int REMOVE = 2;
+  public static final int CLEAR = 3;
+  public static final int COMPLETE = 4;
+  public static final int PRICE = 5;
+  public static final int OFFER = 6;
+  public static final int TOTAL_UNKNOWN = -1;
+
+  static final int TYPE = 0;
+  static final int QUANTITY = 4;
+  static final int SEQUENCE = 8;
+  static final int TIMESTAMP = 16;
+  static final int TOTAL = 24;
+  static final int CART_ID_LENGTH = 28;
+  static final int KEY_LENGTH = 29;
+  static final int CART_ID = 32;
+  static final int KEY = 68;
+  static final int MAX_CART_ID = 36;
+  static final int MAX_KEY = 24;
+
+  private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private ByteBuffer buffer;
+  private int offset;
+
+  JournalRecord wrap(ByteBuffer buffer, int offset) {
+    this.buffer = buffer;
+    this.offset = offset;
+    return this;
+  }
+
+  public int type() {
+    return type(buffer, offset);
+  }
+
+  public long sequence() {
+    return buffer.getLong(offset + SEQUENCE);
+  }
+
+  public long timestampMicros() {
+    return buffer.getLong(offset + TIMESTAMP);
+  }
+
+  public int quantity() {
+    return buffer.getInt(offset + QUANTITY);
+  }
+
+  public int totalInCents() {
+    return buffer.getInt(offset + TOTAL);
+  }
+
+  public String cartId() {
+    return ascii(offset + CART_ID, buffer.get(offset + CART_ID_LENGTH));
+  }
+
+  /**
+   * The item key of a scan, removal or pricing change, the receipt id of a completion, or an empty string.
+   */
+  public String key() {
+    return ascii(offset + KEY, buffer.get(offset + KEY_LENGTH));
+  }
+
+  static int type(ByteBuffer buffer, int offset) {
+    return (int) INT.getAcquire(buffer, offset + TYPE);
+  }
+
+  static void publish(ByteBuffer buffer, int offset, int type) {
+    INT.setRelease(buffer, offset + TYPE, type);
+  }
+
+  static void write(ByteBuffer buffer, int offset, long sequence, long timestampMicros, String cartId, String key,
+                    int quantity, int totalInCents) {
+    buffer.putInt(offset + QUANTITY, quantity);
+    buffer.putLong(offset + SEQUENCE, sequence);
+    buffer.putLong(offset + TIMESTAMP, timestampMicros);
+    buffer.putInt(offset + TOTAL, totalInCents);
+    buffer.put(offset + CART_ID_LENGTH, putAscii(buffer, offset + CART_ID, cartId, MAX_CART_ID));
+    buffer.put(offset + KEY_LENGTH, putAscii(buffer, offset + KEY, key, MAX_KEY));
+  }
+
+  private static byte putAscii(ByteBuffer buffer, int index, String value, int max) {
+    if (value == null) {
+      return 0;
+    }
+    // Longer values are cut; cart ids and item keys are bounded well within these fields
+    int length = Math.min(value.length(), max);
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      buffer.put(index + i, c < 0x80 ? (byte) c : (byte) '?');
+    }
+    return (byte) length;
+  }
+
+  private String ascii(int index, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) buffer.get(index + i);
+    }
+    return new String(chars);
+  }
+
+  @Override
+  public String toString() {
+    return "JournalRecord{sequence=" + sequence() + ", type=" + type() + ", cartId=" + cartId() + ", key=" + key()
+        + ", quantity=" + quantity() + ", totalInCents=" + totalInCents() + "}";
+  }
+}
@@ -0,0 +1,123 @@
+package com.assessment.kata.checkoutkata.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * One memory-mapped segment file of the transaction journal, holding a fixed number of record slots.
+ * The file is named after the sequence of its first slot and sized to hold all of them, so a segment's
+ * range is known from its name and size alone.
+ */
+final class JournalSegment {
+
+  private static final String PREFIX = "txn-";
+  private static final String SUFFIX = ".journal";
+
+  final long firstSequence;
+  final int capacity;
+  final MappedByteBuffer buffer;
+  // Slots published so far, and how many of them the last force covered
+  final AtomicInteger published = new AtomicInteger();
+  volatile int forced;
+
+  private JournalSegment(long firstSequence, MappedByteBuffer buffer) {
+    this.firstSequence = firstSequence;
+    this.capacity = buffer.capacity() / JournalRecord.SIZE;
+    this.buffer = buffer;
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  static JournalSegment create(Path directory, long firstSequence, int capacity) throws IOException {
+    Path file = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      return new JournalSegment(firstSequence,
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * JournalRecord.SIZE));
+    }
+  }
+
+  /**
+   * Maps an existing segment for writing and returns it with its published slots counted. A crash can
+   * leave a slot claimed but never published; any records after that gap are dropped, so the gap is
+   * where appending resumes.
+   */
+  static JournalSegment recover(Path file) throws IOException {
+    JournalSegment segment;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      segment = new JournalSegment(firstSequence(file), channel.map(FileChannel.MapMode.READ_WRITE, 0,
+          channel.size() - channel.size() % JournalRecord.SIZE));
+    }
+    int used = 0;
+    while (used < segment.capacity && JournalRecord.type(segment.buffer, segment.slotOffset(used)) != 0) {
+      used++;
+    }
+    for (int slot = used + 1; slot < segment.capacity; slot++) {
+      JournalRecord.publish(segment.buffer, segment.slotOffset(slot), 0);
+    }
+    segment.buffer.force();
+    segment.published.set(used);
+    segment.forced = used;
+    return segment;
+  }
+
+  /**
+   * Maps the segment holding the sequence for reading, or returns null when no segment holds it yet.
+   */
+  static JournalSegment openForRead(Path directory, long sequence) throws IOException {
+    for (Path file : list(directory)) {
+      long first = firstSequence(file);
+      long size = Files.size(file);
+      if (sequence >= first && sequence < first + size / JournalRecord.SIZE) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+          return new JournalSegment(first, channel.map(FileChannel.MapMode.READ_ONLY, 0,
+              size - size % JournalRecord.SIZE));
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Segment files in sequence order.
+   */
+  static List<Path> list(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().startsWith(PREFIX))
+          .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+          .sorted()
+          .toList();
+    }
+  }
+
+  static long firstSequence(Path file) {
+    String name = file.getFileName().toString();
+    return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+  }
+
+  boolean contains(long sequence) {
+    return sequence >= firstSequence && sequence < end();
+  }
+
+  long end() {
+    return firstSequence + capacity;
+  }
+
+  int offset(long sequence) {
+    return (int) (sequence - firstSequence) * JournalRecord.SIZE;
+  }
+
+  private int slotOffset(int slot) {
+    return slot * JournalRecord.SIZE;
+  }
+}
@@ -0,0 +1,215 @@
+package com.assessment.kata.checkoutkata.journal;
+
+import com.assessment.kata.checkoutkata.event.PriceUpdateEvent;
+import com.assessment.kata.checkoutkata.model.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transaction journal of fixed-size binary records in memory-mapped segment files.
+ *
+ * <p>An append claims the next sequence with one atomic increment, which also fixes the slot the record
+ * goes to, then writes the record straight into the mapped segment and publishes it by writing its type
+ * last. Each slot has a single writer and no lock is taken; only moving on to a new segment, once per
+ * segment, is serialized. Appends cost a few memory writes and no system call: the page cache takes the
+ * records, and {@link #force()} flushes them to disk every {@code checkout.journal.fsync-interval}, which
+ * bounds what a machine crash can lose.
+ *
+ * <p>Segments are kept for audit. {@link JournalCursor} reads or tails them, in this process or another.
+ */
+@Slf4j
+@Component
+public class MappedTransactionJournal implements TransactionJournal {
+
+  private final Clock clock;
+  private final boolean enabled;
+  private final Path directory;
+  private final int recordsPerSegment;
+  private final AtomicLong nextSequence = new AtomicLong();
+  // Segments still being written or not yet forced since their last record, by first sequence
+  private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+  private volatile JournalSegment current;
+  private volatile boolean open;
+
+  public MappedTransactionJournal(Clock clock, @Value("${checkout.journal.enabled:true}") boolean enabled,
+                                  @Value("${checkout.journal.dir:data/transaction-journal}") Path directory,
+                                  @Value("${checkout.journal.segment-size:64MB}") DataSize segmentSize) {
+    this.clock = clock;
+    this.enabled = enabled;
+    this.directory = directory;
+    this.recordsPerSegment = (int) Math.max(1, segmentSize.toBytes() / JournalRecord.SIZE);
+  }
+
+  /**
+   * Maps the last segment and resumes after its last published record, or starts the first segment.
+   */
+  @PostConstruct
+  public void open() throws IOException {
+    if (!enabled) {
+      return;
+    }
+    Files.createDirectories(directory);
+    List<Path> files = JournalSegment.list(directory);
+    JournalSegment last = files.isEmpty() ?
+        JournalSegment.create(directory, 0, recordsPerSegment) :
+        JournalSegment.recover(files.get(files.size() - 1));
+    segments.put(last.firstSequence, last);
+    current = last;
+    nextSequence.set(last.firstSequence + last.published.get());
+    open = true;
+    log.debug("Transaction journal resumes at sequence {}", nextSequence.get());
+  }
+
+  @Override
+  public void scanned(String cartId, Item item, int quantity, int totalInCents) {
+    append(JournalRecord.SCAN, cartId, item.getKey(), quantity, totalInCents);
+  }
+
+  @Override
+  public void removed(String cartId, Item item, int quantity, int totalInCents) {
+    append(JournalRecord.REMOVE, cartId, item.getKey(), quantity, totalInCents);
+  }
+
+  @Override
+  public void cleared(String cartId) {
+    append(JournalRecord.CLEAR, cartId, null, 0, 0);
+  }
+
+  @Override
+  public void completed(String cartId, String receiptId, int totalInCents) {
+    append(JournalRecord.COMPLETE, cartId, receiptId, 0, totalInCents);
+  }
+
+  /**
+   * Records committed admin price and offer changes, so replayed traffic sees the pricing the tills saw.
+   * Promotions follow their schedule and bulk imports are not recorded.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onPriceUpdate(PriceUpdateEvent event) {
+    String itemKey = event.getItem().getKey();
+    switch (event.getUpdateType()) {
+      case PRICE_CHANGED -> {
+        if (event.getNewPriceInCents() == null) {
+          skipped(event);
+        } else {
+          append(JournalRecord.PRICE, null, itemKey, 0, event.getNewPriceInCents());
+        }
+      }
+      case OFFER_CHANGED -> {
+        if (event.getOfferQuantity() == null || event.getOfferSavingsInCents() == null) {
+          skipped(event);
+        } else {
+          append(JournalRecord.OFFER, null, itemKey, event.getOfferQuantity(), event.getOfferSavingsInCents());
+        }
+      }
+      case OFFER_REMOVED -> append(JournalRecord.OFFER, null, itemKey, 0, 0);
+      default -> {
+      }
+    }
+  }
+
+  /**
+   * A cursor over this journal's records from the given sequence.
+   */
+  public JournalCursor cursor(long fromSequence) {
+    return new JournalCursor(directory, fromSequence);
+  }
+
+  /**
+   * The sequence the next record will get.
+   */
+  public long nextSequence() {
+    return nextSequence.get();
+  }
+
+  /**
+   * Flushes the records published since the last run to disk and lets go of full segments once they
+   * are flushed.
+   */
+  @Scheduled(fixedDelayString = "${checkout.journal.fsync-interval:200ms}",
+      initialDelayString = "${checkout.journal.fsync-interval:200ms}")
+  public void force() {
+    for (JournalSegment segment : segments.values()) {
+      int published = segment.published.get();
+      if (published != segment.forced) {
+        segment.buffer.force();
+        segment.forced = published;
+      }
+      if (published == segment.capacity && segment != current) {
+        segments.remove(segment.firstSequence);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    if (open) {
+      open = false;
+      force();
+    }
+  }
+
+  private void append(int type, String cartId, String key, int quantity, int totalInCents) {
+    if (!open) {
+      return;
+    }
+    long sequence = nextSequence.getAndIncrement();
+    JournalSegment segment = segmentFor(sequence);
+    if (!segment.contains(sequence)) {
+      // The segment for it could not be created
+      return;
+    }
+    Instant now = clock.instant();
+    int offset = segment.offset(sequence);
+    JournalRecord.write(segment.buffer, offset, sequence, now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000,
+        cartId, key, quantity, totalInCents);
+    JournalRecord.publish(segment.buffer, offset, type);
+    segment.published.incrementAndGet();
+  }
+
+  private JournalSegment segmentFor(long sequence) {
+    JournalSegment segment = current;
+    if (segment.contains(sequence)) {
+      return segment;
+    }
+    if (sequence >= segment.end()) {
+      roll(sequence);
+    }
+    // A slow appender's slot can be in an earlier segment, which stays mapped until all its slots are published
+    return segments.floorEntry(sequence).getValue();
+  }
+
+  private synchronized void roll(long sequence) {
+    try {
+      while (current.end() <= sequence) {
+        JournalSegment next = JournalSegment.create(directory, current.end(), recordsPerSegment);
+        segments.put(next.firstSequence, next);
+        current = next;
+      }
+    } catch (IOException e) {
+      log.error("Could not start a transaction journal segment for record {}", sequence, e);
+    }
+  }
+
+  private void skipped(PriceUpdateEvent event) {
+    // A listener that throws would fail the request that already committed and skip the listeners after it
+    log.warn("Not journaling {} for {}: the event does not carry the new pricing", event.getUpdateType(),
+        event.getItem());
+  }
+}
@@ -0,0 +1,39 @@
+package com.assessment.kata.checkoutkata.journal;
+
+import com.assessment.kata.checkoutkata.model.Item;
+
+/**
+ * Audit trail of what happened at the tills, kept for audit and for replaying traffic. Callers hold the
+ * cart's lock, so one cart's records are in the order its changes were made.
+ */
+public interface TransactionJournal {
+
+  TransactionJournal NONE = new TransactionJournal() {
+    @Override
+    public void scanned(String cartId, Item item, int quantity, int totalInCents) {
+    }
+
+    @Override
+    public void removed(String cartId, Item item, int quantity, int totalInCents) {
+    }
+
+    @Override
+    public void cleared(String cartId) {
+    }
+
+    @Override
+    public void completed(String cartId, String receiptId, int totalInCents) {
+    }
+  };
+
+  /**
+   * @param totalInCents the cart's total after the scan, or {@link JournalRecord#TOTAL_UNKNOWN}
+   */
+  void scanned(String cartId, Item item, int quantity, int totalInCents);
+
+  void removed(String cartId, Item item, int quantity, int totalInCents);
+
+  void cleared(String cartId);
+
+  void completed(String cartId, String receiptId, int totalInCents);
+}
@@ -2,12 +2,12 @@ package com.assessment.kata.checkoutkata.mapper;
 
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
 import com.assessment.kata.checkoutkata.model.Item;
-import org.springframework.stereotype.Component;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
 
 public class AdminRequestMapper {
 
-    public static Item toItem(String itemName) {
-        return Item.fromKey(itemName);
+    public static Item toItem(ItemCatalog catalog, String itemName) {
+        return catalog.resolve(itemName);
     }
 
     public static int toPriceInCents(UpdatePriceRequestDTO request) {
@@ -1,11 +1,19 @@
 package com.assessment.kata.checkoutkata.mapper;
 
 import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.PricingImportResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.SchedulePromotionRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
 import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
 import com.assessment.kata.checkoutkata.model.PricingConfig;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.formatOfferDescription;
@@ -13,6 +21,52 @@ import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.formatPr
 
 public class AdminResponseMapper {
 
+    public static String toPriceUpdateSummary(Item item, int oldPriceInCents, int newPriceInCents) {
+        return String.format("Price updated: %s %s → %s",
+            item.getDisplayName(),
+            formatPrice(oldPriceInCents),
+            formatPrice(newPriceInCents));
+    }
+
+    public static String toOfferUpdateDescription(Item item, int itemPriceInCents, Optional<DiscountRule> oldRule,
+                                                  int quantity, int savingsInCents) {
+        if (oldRule.isPresent()) {
+            return String.format("Offer updated: %s %d for %s → %d for %s (save %s)",
+                item.getDisplayName(),
+                oldRule.get().getRequiredQuantity(),
+                formatPrice(itemPriceInCents * oldRule.get().getRequiredQuantity() - oldRule.get().getSavingsInCents()),
+                quantity,
+                formatPrice(itemPriceInCents * quantity - savingsInCents),
+                formatPrice(savingsInCents));
+        }
+        return String.format("New offer: %s %d for %s (save %s)",
+            item.getDisplayName(),
+            quantity,
+            formatPrice(itemPriceInCents * quantity - savingsInCents),
+            formatPrice(savingsInCents));
+    }
+
+    public static String toOfferRemovalDescription(Item item, int itemPriceInCents, DiscountRule oldRule) {
+        return String.format("Offer removed: %s (was %d for %s)",
+            item.getDisplayName(),
+            oldRule.getRequiredQuantity(),
+            formatPrice(itemPriceInCents * oldRule.getRequiredQuantity() - oldRule.getSavingsInCents()));
+    }
+
+    public static String toItemAddedDescription(Item item, int itemPriceInCents) {
+        return String.format("New item: %s %s", item.getDisplayName(), formatPrice(itemPriceInCents));
+    }
+
+    public static String toPromotionChangeDescription(Item item, int itemPriceInCents, List<DiscountRule> before,
+                                                      List<DiscountRule> after) {
+        List<String> changes = new ArrayList<>();
+        after.stream().filter(rule -> !before.contains(rule)).forEach(rule -> changes.add("started " +
+            formatOfferDescription(rule.getRequiredQuantity(), itemPriceInCents, rule.getSavingsInCents())));
+        before.stream().filter(rule -> !after.contains(rule)).forEach(rule -> changes.add("ended " +
+            formatOfferDescription(rule.getRequiredQuantity(), itemPriceInCents, rule.getSavingsInCents())));
+        return String.format("Promotion %s: %s", item.getDisplayName(), String.join(", ", changes));
+    }
+
     public static UpdatePricingResponseDTO toPriceUpdateResponseDTO(Item item, int oldPriceInCents, int newPriceInCents, String updateSummary) {
 
         return UpdatePricingResponseDTO.builder()
@@ -39,6 +93,32 @@ public class AdminResponseMapper {
             .build();
     }
 
+    public static UpdatePricingResponseDTO toPromotionScheduledResponseDTO(Item item, int itemPriceInCents,
+                                                                           SchedulePromotionRequestDTO request) {
+        String offerDescription = formatOfferDescription(request.getQuantity(), itemPriceInCents,
+            request.getSavingsInCents());
+        String message = String.format("Scheduled %s promotion %s from %s %s", item.getDisplayName(),
+            offerDescription, request.getValidFrom(),
+            request.getValidTo() != null ? "until " + request.getValidTo() : "with no end");
+
+        return UpdatePricingResponseDTO.builder()
+            .message(message)
+            .itemName(item.getDisplayName())
+            .newOfferDescription(offerDescription)
+            .build();
+    }
+
+    public static PricingImportResponseDTO toPricingImportResponseDTO(int rowsImported, int itemsAdded,
+                                                                      int itemsChanged) {
+        return PricingImportResponseDTO.builder()
+            .message(String.format("Imported %d rows: %d new items, %d items changed",
+                rowsImported, itemsAdded, itemsChanged))
+            .rowsImported(rowsImported)
+            .itemsAdded(itemsAdded)
+            .itemsChanged(itemsChanged)
+            .build();
+    }
+
     public static UpdatePricingResponseDTO toOfferRemovalResponseDTO(Item item, String oldOfferDescription) {
         String message = String.format("Removed %s offer: %s", item.getDisplayName(),
             oldOfferDescription != null ? oldOfferDescription : "no offer found");
@@ -62,20 +142,44 @@ public class AdminResponseMapper {
         if (config.hasOffer()) {
             offerQuantity = config.getOfferQuantity();
             savingsInCents = config.getOfferSavingsInCents();
-            int effectivePriceForSet = config.getPriceInCents() * offerQuantity - savingsInCents;
-            offerDescription = String.format("%d for %s (save %s)",
-                offerQuantity,
-                formatPrice(effectivePriceForSet),
-                formatPrice(savingsInCents));
+            offerDescription = formatOfferDescription(offerQuantity, config.getPriceInCents(), savingsInCents);
         }
 
+        List<String> offerTierDescriptions = config.getOfferTiers().stream()
+            .map(tier -> formatOfferDescription(tier.getOfferQuantity(), config.getPriceInCents(),
+                tier.getOfferSavingsInCents()))
+            .toList();
+
         return new FullPricingResponseDTO(
             itemKey,
             config.getPriceInCents(),
             formatPrice(config.getPriceInCents()),
             offerQuantity,
             savingsInCents,
-            offerDescription
+            offerDescription,
+            offerTierDescriptions,
+            config.getUpdatedAt()
+        );
+    }
+
+    public static FullPricingResponseDTO toFullPricingResponseDTO(String itemKey, ItemPricing pricing,
+                                                                  LocalDateTime validFrom) {
+        DiscountRule rule = pricing.getDiscountRule();
+        List<String> offerTierDescriptions = pricing.getOfferTiers().stream()
+            .map(tier -> formatOfferDescription(tier.getRequiredQuantity(), pricing.getPriceInCents(),
+                tier.getSavingsInCents()))
+            .toList();
+
+        return new FullPricingResponseDTO(
+            itemKey,
+            pricing.getPriceInCents(),
+            formatPrice(pricing.getPriceInCents()),
+            rule != null ? rule.getRequiredQuantity() : null,
+            rule != null ? rule.getSavingsInCents() : null,
+            rule != null ? formatOfferDescription(rule.getRequiredQuantity(), pricing.getPriceInCents(),
+                rule.getSavingsInCents()) : null,
+            offerTierDescriptions,
+            validFrom
         );
     }
 
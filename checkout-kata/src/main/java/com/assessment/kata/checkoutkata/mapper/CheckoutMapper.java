@@ -1,18 +1,25 @@
 package com.assessment.kata.checkoutkata.mapper;
 
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanLineDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateType;
 import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
 import com.assessment.kata.checkoutkata.model.CheckoutSummary;
 import com.assessment.kata.checkoutkata.model.DiscountBreakdown;
 import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.Receipt;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.appendPrice;
 import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.formatPrice;
 
 public class CheckoutMapper {
@@ -21,7 +28,7 @@ public class CheckoutMapper {
      * Builds the user-facing scan message including discount and price change info.
      */
     public static String buildScanMessage(Item item, int quantity, CheckoutSummary summary, String priceChangeMsg) {
-        StringBuilder message = new StringBuilder();
+        StringBuilder message = new StringBuilder(64);
 
         if (priceChangeMsg != null && !priceChangeMsg.isBlank()) {
             message.append(priceChangeMsg).append(" ");
@@ -31,20 +38,11 @@ public class CheckoutMapper {
             .filter(d -> d.getItemName().equals(item.getDisplayName()))
             .findFirst();
 
+        message.append("Added ").append(quantity).append(' ').append(item.getDisplayName()).append(" - ");
         if (breakdown.isPresent() && breakdown.get().getDiscountSets() > 0) {
-            message.append(String.format("Added %d %s - %s discount applied! Running total: %s",
-                quantity,
-                item.getDisplayName(),
-                breakdown.get().getTotalSavings(),
-                formatPrice(summary.getFinalTotalInCents())
-            ));
-        } else {
-            message.append(String.format("Added %d %s - Running total: %s",
-                quantity,
-                item.getDisplayName(),
-                formatPrice(summary.getFinalTotalInCents())
-            ));
+            message.append(breakdown.get().getTotalSavings()).append(" discount applied! ");
         }
+        appendPrice(message.append("Running total: "), summary.getFinalTotalInCents());
 
         return message.toString();
     }
@@ -53,10 +51,7 @@ public class CheckoutMapper {
      * Builds the user-facing removal message for when items are removed from the cart.
      */
     public static String buildRemovalMessage(Item item, int quantityRemoved, CheckoutSummary summary) {
-        if (quantityRemoved == 1) {
-            return String.format("Removed 1 %s", item.getDisplayName());
-        }
-        return String.format("Removed %d %s", quantityRemoved, item.getDisplayName());
+        return "Removed " + quantityRemoved + " " + item.getDisplayName();
     }
 
     /**
@@ -114,4 +109,52 @@ public class CheckoutMapper {
             formatPrice(summary.getFinalTotalInCents())
         );
     }
+
+    public static BatchScanLineDTO toBatchScanLineDTO(Item item, int quantityAdded, int currentQuantity) {
+        return new BatchScanLineDTO(item.getDisplayName(), quantityAdded, currentQuantity);
+    }
+
+    /**
+     * Maps a whole applied basket to one response carrying the per-line results and the final summary.
+     */
+    public static BatchScanResponseDTO toBatchScanResponseDTO(List<BatchScanLineDTO> lines, CheckoutSummary summary, String priceChangeMsg) {
+        StringBuilder message = new StringBuilder(64);
+        if (priceChangeMsg != null && !priceChangeMsg.isBlank()) {
+            message.append(priceChangeMsg).append(" ");
+        }
+        message.append("Added ").append(lines.size()).append(lines.size() == 1 ? " line" : " lines");
+        appendPrice(message.append(" - Running total: "), summary.getFinalTotalInCents());
+
+        return new BatchScanResponseDTO(
+            lines,
+            toCheckoutSummaryResponseDTO(summary),
+            message.toString()
+        );
+    }
+
+    public static CartUpdateDTO toCartUpdateDTO(CartUpdateType type, long cartVersion, String message,
+                                                int totalChangeInCents, CheckoutSummary summary) {
+        return new CartUpdateDTO(
+            type,
+            cartVersion,
+            message,
+            totalChangeInCents,
+            toCheckoutSummaryResponseDTO(summary)
+        );
+    }
+
+    public static ReceiptResponseDTO toReceiptResponseDTO(Receipt receipt, boolean recorded) {
+        StringBuilder message = new StringBuilder(64);
+        message.append("Receipt ").append(receipt.getReceiptId()).append(" - Paid: ");
+        appendPrice(message, receipt.getSummary().getFinalTotalInCents());
+
+        return new ReceiptResponseDTO(
+            receipt.getReceiptId(),
+            receipt.getCartId(),
+            receipt.getCompletedAt(),
+            toCheckoutSummaryResponseDTO(receipt.getSummary()),
+            recorded,
+            message.toString()
+        );
+    }
 }
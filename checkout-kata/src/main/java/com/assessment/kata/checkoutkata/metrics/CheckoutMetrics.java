@@ -0,0 +1,80 @@
+package com.assessment.kata.checkoutkata.metrics;
+
+import com.assessment.kata.checkoutkata.event.PriceUpdateEvent;
+import com.assessment.kata.checkoutkata.event.UpdateType;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.OfferTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Business counters for the checkout. Per-item meters are registered the first time an
+ * item is scanned and cached, so later scans only increment a counter they already hold.
+ */
+@Component
+public class CheckoutMetrics {
+
+  private final MeterRegistry registry;
+  private final Map<Item, Counter> itemsScanned = new ConcurrentHashMap<>();
+  private final Map<Item, Counter> discountSetsApplied = new ConcurrentHashMap<>();
+  private final Map<UpdateType, Counter> priceUpdateEvents = new EnumMap<>(UpdateType.class);
+  private final DistributionSummary cartSize;
+
+  public CheckoutMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    for (UpdateType updateType : UpdateType.values()) {
+      priceUpdateEvents.put(updateType, Counter.builder("pricing.update.events")
+          .description("PriceUpdateEvents published")
+          .tag("type", updateType.name())
+          .register(registry));
+    }
+    cartSize = DistributionSummary.builder("checkout.cart.size")
+        .description("Units in a cart when it is cleared")
+        .baseUnit("items")
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /**
+   * Records a scan that took a line to {@code newQuantity}, counting any offer sets it completed.
+   */
+  public void recordScan(Item item, int quantity, int newQuantity, ItemPricing pricing) {
+    counterFor(itemsScanned, "checkout.items.scanned", "Units scanned into carts", item).increment(quantity);
+    OfferTable offers = pricing.getOfferTable();
+    if (!offers.isEmpty()) {
+      int setsCompleted = offers.setsFor(newQuantity) - offers.setsFor(newQuantity - quantity);
+      if (setsCompleted > 0) {
+        counterFor(discountSetsApplied, "checkout.discount.sets.applied", "Offer sets completed by a scan", item)
+            .increment(setsCompleted);
+      }
+    }
+  }
+
+  public void recordCartSize(int units) {
+    cartSize.record(units);
+  }
+
+  private Counter counterFor(Map<Item, Counter> counters, String name, String description, Item item) {
+    Counter counter = counters.get(item);
+    if (counter == null) {
+      counter = counters.computeIfAbsent(item, key -> Counter.builder(name)
+          .description(description)
+          .tag("item", key.getKey())
+          .register(registry));
+    }
+    return counter;
+  }
+
+  @EventListener
+  public void onPriceUpdate(PriceUpdateEvent event) {
+    priceUpdateEvents.get(event.getUpdateType()).increment();
+  }
+}
@@ -0,0 +1,88 @@
+package com.assessment.kata.checkoutkata.model;
+
+/**
+ * Immutable map from a numeric barcode (EAN-8, UPC-A, EAN-13 or GTIN-14) to an item id.
+ *
+ * <p>Codes and ids live in two parallel primitive arrays probed with linear probing and
+ * a Fibonacci hash, at most three quarters full. That is 12 bytes per slot, roughly
+ * 16 to 24 bytes per code, so millions of codes fit in tens of megabytes and a lookup
+ * never boxes. Barcodes are positive, so 0 marks an empty slot.
+ */
+public final class BarcodeIndex {
+
+  public static final int NOT_FOUND = -1;
+
+  private static final long FIBONACCI = 0x9E3779B97F4A7C15L;
+  private static final BarcodeIndex EMPTY = new BarcodeIndex(0);
+
+  private final long[] codes;
+  private final int[] itemIds;
+  private final int shift;
+  private final int mask;
+  private int size;
+
+  private BarcodeIndex(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(8, expectedSize + expectedSize / 3) - 1) << 1;
+    this.codes = new long[capacity];
+    this.itemIds = new int[capacity];
+    this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    this.mask = capacity - 1;
+  }
+
+  public static BarcodeIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds an index from parallel arrays of codes and item ids. A code listed twice
+   * maps to the item given last.
+   */
+  public static BarcodeIndex of(long[] codes, int[] itemIds, int count) {
+    BarcodeIndex index = new BarcodeIndex(count);
+    for (int i = 0; i < count; i++) {
+      index.put(codes[i], itemIds[i]);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the item id for the barcode, or {@link #NOT_FOUND}.
+   */
+  public int find(long barcode) {
+    if (barcode <= 0) {
+      return NOT_FOUND;
+    }
+    int slot = slotOf(barcode);
+    long code;
+    while ((code = codes[slot]) != 0) {
+      if (code == barcode) {
+        return itemIds[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return NOT_FOUND;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private void put(long barcode, int itemId) {
+    if (barcode <= 0) {
+      throw new IllegalArgumentException("Barcode must be positive: " + barcode);
+    }
+    int slot = slotOf(barcode);
+    while (codes[slot] != 0 && codes[slot] != barcode) {
+      slot = (slot + 1) & mask;
+    }
+    if (codes[slot] == 0) {
+      codes[slot] = barcode;
+      size++;
+    }
+    itemIds[slot] = itemId;
+  }
+
+  private int slotOf(long barcode) {
+    return (int) ((barcode * FIBONACCI) >>> shift);
+  }
+}
@@ -0,0 +1,14 @@
+package com.assessment.kata.checkoutkata.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One slot of a {@link BundleOffer}: {@code requiredQuantity} units taken from any of {@code items}.
+ */
+@Data
+public class BundleComponent {
+  private final int requiredQuantity;
+  private final List<Item> items;
+}
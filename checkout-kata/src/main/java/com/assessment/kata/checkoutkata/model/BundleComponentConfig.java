@@ -0,0 +1,38 @@
+package com.assessment.kata.checkoutkata.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BundleComponentConfig {
+
+  @Min(1)
+  @Column(name = "required_quantity", nullable = false)
+  private int requiredQuantity;
+
+  // Comma-separated item keys, any of which fills the component
+  @NotBlank
+  @Column(name = "item_keys", nullable = false, length = 1000)
+  private String itemKeys;
+
+  public List<String> itemKeyList() {
+    List<String> keys = new ArrayList<>();
+    for (String key : itemKeys.split(",")) {
+      if (!key.isBlank()) {
+        keys.add(key.trim());
+      }
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,56 @@
+package com.assessment.kata.checkoutkata.model;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A fixed-price offer across one or more components, e.g. "any 3 of apple, kiwi or peach
+ * for $1.00" (one component) or a meal deal of one main, one snack and one drink
+ * (three components). Items may appear in several offers; the discount engine decides
+ * which units go into which offer.
+ */
+@Getter
+@ToString
+public final class BundleOffer {
+
+  private final String key;
+  private final String name;
+  private final int priceInCents;
+  private final List<BundleComponent> components;
+
+  public BundleOffer(String key, String name, int priceInCents, List<BundleComponent> components) {
+    this.key = key;
+    this.name = name;
+    this.priceInCents = priceInCents;
+    this.components = List.copyOf(components);
+  }
+
+  /**
+   * Resolves a stored offer against the catalog. Unknown item keys are dropped; an offer
+   * with a component left without items can never be completed and is not returned.
+   */
+  public static Optional<BundleOffer> from(BundleOfferConfig config, ItemCatalog catalog) {
+    List<BundleComponent> components = new ArrayList<>(config.getComponents().size());
+    for (BundleComponentConfig componentConfig : config.getComponents()) {
+      List<Item> items = new ArrayList<>();
+      for (String itemKey : componentConfig.itemKeyList()) {
+        Item item = catalog.find(itemKey);
+        if (item != null && !items.contains(item)) {
+          items.add(item);
+        }
+      }
+      if (items.isEmpty()) {
+        return Optional.empty();
+      }
+      components.add(new BundleComponent(componentConfig.getRequiredQuantity(), List.copyOf(items)));
+    }
+    if (components.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(new BundleOffer(config.getBundleKey(), config.getName(), config.getPriceInCents(), components));
+  }
+}
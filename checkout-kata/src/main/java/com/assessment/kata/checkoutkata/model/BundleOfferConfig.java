@@ -0,0 +1,56 @@
+package com.assessment.kata.checkoutkata.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Data
+@Table(name = "bundle_offer")
+public class BundleOfferConfig {
+
+  @Id
+  @NotNull
+  @Size(min = 1, max = 40)
+  @Column(name = "bundle_key", nullable = false, length = 40)
+  private String bundleKey;
+
+  @NotNull
+  @Size(min = 1, max = 100)
+  @Column(name = "name", nullable = false, length = 100)
+  private String name;
+
+  @NotNull
+  @Min(1)
+  @Column(name = "price_in_cents", nullable = false)
+  private Integer priceInCents;
+
+  @ElementCollection(fetch = FetchType.EAGER)
+  @CollectionTable(name = "bundle_offer_component", joinColumns = @JoinColumn(name = "bundle_key"))
+  @OrderColumn(name = "position")
+  private List<BundleComponentConfig> components = new ArrayList<>();
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,272 @@
+package com.assessment.kata.checkoutkata.model;
+
+import com.assessment.kata.checkoutkata.discount.BasketDiscount;
+import com.assessment.kata.checkoutkata.discount.DiscountSolver;
+import com.assessment.kata.checkoutkata.exception.ItemNotFoundException;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable state of a single checkout lane. Callers synchronize on the cart
+ * so that a mutation and the total computed from it are seen together.
+ *
+ * <p>The subtotal and discount are maintained incrementally: changing the quantity of
+ * one line only replaces that line's contribution. Lines are repriced when the cart is
+ * used with a newer {@link PriceBookSnapshot}, and only if their item's pricing changed. A line's
+ * discount is the best combination of its item's offer tiers, read from the {@link OfferTable}.
+ *
+ * <p>Lines whose item belongs to a {@link BundleOffer} carry no discount of their own. Their
+ * discount is worked out together by the cart's {@link DiscountSolver}, lazily when the cart is
+ * summarized after one of them changed.
+ */
+public class Cart {
+
+  @Getter
+  private final String cartId;
+  private final DiscountSolver discountSolver;
+  private final Map<Item, Line> lines = new LinkedHashMap<>();
+  // Bumped by every change to the lines, so unchanged carts can be recognized without summarizing them
+  @Getter
+  private volatile long version;
+  // Last journal record of this cart, so a replay skips the records its snapshot already holds
+  @Getter
+  @Setter
+  private long journalSequence;
+  private long pricedAtVersion = -1;
+  private int subtotalInCents;
+  private int totalDiscountInCents;
+  private String pendingPriceChangeMessage;
+  private BasketDiscount bundleDiscount = BasketDiscount.NONE;
+  private boolean bundleDiscountStale;
+  // Set once the cart store has dropped the cart; a caller still holding it has to look the cart up again
+  private boolean removed;
+
+  public Cart(String cartId, DiscountSolver discountSolver) {
+    this(cartId, discountSolver, 0);
+  }
+
+  /**
+   * Starts the cart at the given version, so it never reuses a version of a dropped cart with the same id.
+   */
+  public Cart(String cartId, DiscountSolver discountSolver, long version) {
+    this.cartId = cartId;
+    this.discountSolver = discountSolver;
+    this.version = version;
+  }
+
+  public synchronized int add(Item item, int quantity, PriceBookSnapshot priceBook) {
+    syncPricing(priceBook);
+    Line line = lines.get(item);
+    if (line == null) {
+      line = new Line(item, pricingFor(item, priceBook), priceBook.isBundled(item));
+      lines.put(item, line);
+    }
+    updateLine(line, line.quantity + quantity);
+    version++;
+    return line.quantity;
+  }
+
+  /**
+   * Removes up to the given quantity and returns what is left of the line.
+   */
+  public synchronized int remove(Item item, int quantity, PriceBookSnapshot priceBook) {
+    syncPricing(priceBook);
+    Line line = lines.get(item);
+    if (line == null) {
+      return 0;
+    }
+    version++;
+    int remaining = line.quantity - quantity;
+    if (remaining > 0) {
+      updateLine(line, remaining);
+      return remaining;
+    }
+    retract(line);
+    lines.remove(item);
+    bundleDiscountStale |= line.bundled;
+    return 0;
+  }
+
+  public synchronized CheckoutSummary summarize(PriceBookSnapshot priceBook) {
+    syncPricing(priceBook);
+    BasketDiscount bundles = bundleDiscount(priceBook);
+    List<DiscountBreakdown> breakdowns = new ArrayList<>();
+    for (Line line : lines.values()) {
+      if (line.discountSets > 0) {
+        addTierBreakdowns(breakdowns, line);
+      }
+    }
+    breakdowns.addAll(bundles.getBreakdowns());
+    int discountInCents = totalDiscountInCents + bundles.getTotalDiscountInCents();
+    return new CheckoutSummary(
+        getItems(),
+        subtotalInCents,
+        discountInCents,
+        subtotalInCents - discountInCents,
+        breakdowns
+    );
+  }
+
+  public synchronized boolean contains(Item item) {
+    return lines.containsKey(item);
+  }
+
+  public synchronized int getQuantity(Item item) {
+    Line line = lines.get(item);
+    return line != null ? line.quantity : 0;
+  }
+
+  public synchronized int getTotalQuantity() {
+    int total = 0;
+    for (Line line : lines.values()) {
+      total += line.quantity;
+    }
+    return total;
+  }
+
+  public synchronized Map<Item, Integer> getItems() {
+    Map<Item, Integer> items = new LinkedHashMap<>();
+    lines.forEach((item, line) -> items.put(item, line.quantity));
+    return items;
+  }
+
+  public synchronized boolean isEmpty() {
+    return lines.isEmpty();
+  }
+
+  public synchronized void clear() {
+    version++;
+    lines.clear();
+    subtotalInCents = 0;
+    totalDiscountInCents = 0;
+    pendingPriceChangeMessage = null;
+    bundleDiscount = BasketDiscount.NONE;
+    bundleDiscountStale = false;
+  }
+
+  public synchronized boolean isRemoved() {
+    return removed;
+  }
+
+  public synchronized void markRemoved() {
+    removed = true;
+  }
+
+  public synchronized void setPendingPriceChangeMessage(String message) {
+    this.pendingPriceChangeMessage = message;
+  }
+
+  public synchronized String takePendingPriceChangeMessage() {
+    String message = pendingPriceChangeMessage;
+    pendingPriceChangeMessage = null;
+    return message;
+  }
+
+  private void syncPricing(PriceBookSnapshot priceBook) {
+    if (priceBook.getVersion() == pricedAtVersion) {
+      return;
+    }
+    for (Line line : lines.values()) {
+      ItemPricing pricing = pricingFor(line.item, priceBook);
+      boolean bundled = priceBook.isBundled(line.item);
+      if (!pricing.equals(line.pricing) || bundled != line.bundled) {
+        retract(line);
+        line.pricing = pricing;
+        line.bundled = bundled;
+        line.recalculate();
+        contribute(line);
+      }
+    }
+    // Bundles may have changed along with prices
+    bundleDiscountStale = true;
+    pricedAtVersion = priceBook.getVersion();
+  }
+
+  private void updateLine(Line line, int newQuantity) {
+    retract(line);
+    line.quantity = newQuantity;
+    line.recalculate();
+    contribute(line);
+    bundleDiscountStale |= line.bundled;
+  }
+
+  private BasketDiscount bundleDiscount(PriceBookSnapshot priceBook) {
+    if (!bundleDiscountStale) {
+      return bundleDiscount;
+    }
+    Item[] items = new Item[lines.size()];
+    int[] quantities = new int[lines.size()];
+    int count = 0;
+    for (Line line : lines.values()) {
+      if (line.bundled) {
+        items[count] = line.item;
+        quantities[count++] = line.quantity;
+      }
+    }
+    bundleDiscount = count == 0 ? BasketDiscount.NONE : discountSolver.solve(priceBook, items, quantities, count);
+    bundleDiscountStale = false;
+    return bundleDiscount;
+  }
+
+  private void retract(Line line) {
+    subtotalInCents -= line.subtotalInCents;
+    totalDiscountInCents -= line.discountInCents;
+  }
+
+  private void contribute(Line line) {
+    subtotalInCents += line.subtotalInCents;
+    totalDiscountInCents += line.discountInCents;
+  }
+
+  private static void addTierBreakdowns(List<DiscountBreakdown> breakdowns, Line line) {
+    OfferTable offers = line.pricing.getOfferTable();
+    int[] setsPerTier = offers.setsPerTier(line.quantity);
+    for (int tier = 0; tier < setsPerTier.length; tier++) {
+      if (setsPerTier[tier] > 0) {
+        int savingsInCents = offers.getTiers().get(tier).getSavingsInCents();
+        breakdowns.add(new DiscountBreakdown(
+            line.item.getDisplayName(),
+            setsPerTier[tier],
+            savingsInCents,
+            setsPerTier[tier] * savingsInCents
+        ));
+      }
+    }
+  }
+
+  private static ItemPricing pricingFor(Item item, PriceBookSnapshot priceBook) {
+    ItemPricing pricing = priceBook.get(item);
+    if (pricing == null) {
+      throw new ItemNotFoundException(String.format("No pricing configuration for item %s", item));
+    }
+    return pricing;
+  }
+
+  private static final class Line {
+    private final Item item;
+    private ItemPricing pricing;
+    private boolean bundled;
+    private int quantity;
+    private int subtotalInCents;
+    private int discountSets;
+    private int discountInCents;
+
+    private Line(Item item, ItemPricing pricing, boolean bundled) {
+      this.item = item;
+      this.pricing = pricing;
+      this.bundled = bundled;
+    }
+
+    private void recalculate() {
+      subtotalInCents = quantity * pricing.getPriceInCents();
+      OfferTable offers = bundled ? OfferTable.NONE : pricing.getOfferTable();
+      discountSets = offers.setsFor(quantity);
+      discountInCents = offers.savingsFor(quantity);
+    }
+  }
+}
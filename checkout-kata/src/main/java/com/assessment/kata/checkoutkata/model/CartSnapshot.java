@@ -0,0 +1,33 @@
+package com.assessment.kata.checkoutkata.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * The persisted lines of an open cart as quantities per item key, written behind the cart's
+ * changes. {@code journalSequence} is the last journal record the lines include.
+ */
+@Entity
+@Data
+@Table(name = "cart_snapshot")
+public class CartSnapshot {
+
+  @Id
+  @Column(name = "cart_id", nullable = false, length = 36)
+  private String cartId;
+
+  // JSON object of item key to quantity
+  @Column(name = "items", nullable = false, length = 100000)
+  private String items;
+
+  @Column(name = "journal_sequence", nullable = false)
+  private long journalSequence;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
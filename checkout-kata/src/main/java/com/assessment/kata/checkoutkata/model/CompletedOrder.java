@@ -0,0 +1,45 @@
+package com.assessment.kata.checkoutkata.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * The stored copy of a {@link Receipt}, written behind the checkout by the order ledger.
+ */
+@Entity
+@Data
+@Table(name = "orders")
+public class CompletedOrder {
+
+  @Id
+  @Column(name = "receipt_id", nullable = false, length = 40)
+  private String receiptId;
+
+  @Column(name = "cart_id", nullable = false, length = 36)
+  private String cartId;
+
+  @Column(name = "completed_at", nullable = false)
+  private LocalDateTime completedAt;
+
+  @Column(name = "subtotal_in_cents", nullable = false)
+  private int subtotalInCents;
+
+  @Column(name = "discount_in_cents", nullable = false)
+  private int discountInCents;
+
+  @Column(name = "total_in_cents", nullable = false)
+  private int totalInCents;
+
+  // JSON object of item key to quantity
+  @Column(name = "items", nullable = false, length = 100000)
+  private String items;
+
+  // JSON array of the applied discount breakdowns
+  @Column(name = "discounts", nullable = false, length = 100000)
+  private String discounts;
+}
@@ -1,33 +1,60 @@
 package com.assessment.kata.checkoutkata.model;
 
-public enum Item {
-  APPLE("apple", "Apple"),
-  BANANA("banana", "Banana"),
-  PEACH("peach", "Peach"),
-  KIWI("kiwi", "Kiwi");
+import lombok.Getter;
 
+import java.util.Locale;
+
+/**
+ * A sellable item. Items are only created by {@link ItemCatalog}, which gives every key a
+ * dense id that stays the same for the lifetime of the application, so ids can index arrays.
+ */
+@Getter
+public final class Item {
+
+  private final int id;
   private final String key;
   private final String displayName;
 
-  Item(String key, String displayName) {
+  Item(int id, String key) {
+    this.id = id;
     this.key = key;
-    this.displayName = displayName;
+    this.displayName = displayNameOf(key);
   }
 
-  public String getKey() {
-    return key;
+  /**
+   * Derives a display name from an item key, e.g. {@code granny_smith} becomes {@code Granny Smith}.
+   */
+  public static String displayNameOf(String key) {
+    StringBuilder displayName = new StringBuilder(key.length());
+    boolean startOfWord = true;
+    for (int i = 0; i < key.length(); i++) {
+      char c = key.charAt(i);
+      if (c == '_' || c == '-') {
+        displayName.append(' ');
+        startOfWord = true;
+      } else {
+        displayName.append(startOfWord ? Character.toUpperCase(c) : Character.toLowerCase(c));
+        startOfWord = false;
+      }
+    }
+    return displayName.toString();
   }
 
-  public String getDisplayName() {
-    return displayName;
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return o instanceof Item other && id == other.id && key.equals(other.key);
   }
 
-  public static Item fromKey(String key) {
-    for (Item item : Item.values()) {
-      if (item.key.equalsIgnoreCase(key)) {
-        return item;
-      }
-    }
-    throw new IllegalArgumentException("No item found with key: " + key);
+  @Override
+  public int hashCode() {
+    return id;
+  }
+
+  @Override
+  public String toString() {
+    return key.toUpperCase(Locale.ROOT);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.assessment.kata.checkoutkata.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "item_barcode")
+public class ItemBarcode {
+
+  @Id
+  @Positive
+  @Column(name = "barcode", nullable = false)
+  private Long barcode;
+
+  @NotNull
+  @Size(min = 1, max = 20)
+  @Column(name = "item_key", nullable = false, length = 20)
+  private String itemKey;
+
+  public ItemBarcode(long barcode, String itemKey) {
+    this.barcode = barcode;
+    this.itemKey = itemKey;
+  }
+}
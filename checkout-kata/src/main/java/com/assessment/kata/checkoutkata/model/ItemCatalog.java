@@ -0,0 +1,136 @@
+package com.assessment.kata.checkoutkata.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable index of every item key the application has seen.
+ *
+ * <p>Keys are matched case-insensitively through an open-addressing table that is sized
+ * to at most half full. The hash folds case character by character, so a lookup neither
+ * lower-cases nor allocates, and costs the same at four items or fifty thousand.
+ *
+ * <p>The catalog only grows: an item that disappears from the pricing table keeps its id
+ * and simply has no pricing, so ids held by carts never point at a different item.
+ */
+public final class ItemCatalog {
+
+  private static final ItemCatalog EMPTY = new ItemCatalog(new Item[0]);
+
+  private final Item[] items;
+  // Slot value is item id + 1, so 0 marks an empty slot
+  private final int[] slots;
+  private final int mask;
+
+  private ItemCatalog(Item[] items) {
+    this.items = items;
+    int capacity = Integer.highestOneBit(Math.max(8, items.length * 2) - 1) << 1;
+    this.slots = new int[capacity];
+    this.mask = capacity - 1;
+    for (Item item : items) {
+      int slot = hash(item.getKey()) & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = item.getId() + 1;
+    }
+  }
+
+  public static ItemCatalog empty() {
+    return EMPTY;
+  }
+
+  public static ItemCatalog of(Collection<String> keys) {
+    return EMPTY.withKeys(keys);
+  }
+
+  /**
+   * Returns a catalog that also contains the given keys. Known items keep their ids and
+   * instances; if every key is already known this catalog is returned unchanged.
+   */
+  public ItemCatalog withKeys(Collection<String> keys) {
+    List<Item> added = new ArrayList<>();
+    Set<String> addedKeys = new HashSet<>();
+    for (String key : keys) {
+      if (find(key) == null && addedKeys.add(foldCase(key))) {
+        added.add(new Item(items.length + added.size(), key));
+      }
+    }
+    if (added.isEmpty()) {
+      return this;
+    }
+    Item[] grown = Arrays.copyOf(items, items.length + added.size());
+    for (int i = 0; i < added.size(); i++) {
+      grown[items.length + i] = added.get(i);
+    }
+    return new ItemCatalog(grown);
+  }
+
+  /**
+   * Returns the item for the key, ignoring case, or null when the key is unknown.
+   */
+  public Item find(String key) {
+    if (key == null) {
+      return null;
+    }
+    int slot = hash(key) & mask;
+    int entry;
+    while ((entry = slots[slot]) != 0) {
+      Item item = items[entry - 1];
+      if (item.getKey().equalsIgnoreCase(key)) {
+        return item;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  public Item resolve(String key) {
+    Item item = find(key);
+    if (item == null) {
+      throw new IllegalArgumentException("No item found with key: " + key);
+    }
+    return item;
+  }
+
+  public Item get(int id) {
+    return id >= 0 && id < items.length ? items[id] : null;
+  }
+
+  public int size() {
+    return items.length;
+  }
+
+  public List<Item> items() {
+    return Collections.unmodifiableList(Arrays.asList(items));
+  }
+
+  private static int hash(String key) {
+    int h = 0;
+    for (int i = 0; i < key.length(); i++) {
+      h = 31 * h + foldCase(key.charAt(i));
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private static String foldCase(String key) {
+    char[] folded = new char[key.length()];
+    for (int i = 0; i < folded.length; i++) {
+      folded[i] = foldCase(key.charAt(i));
+    }
+    return new String(folded);
+  }
+
+  // Consistent with String.equalsIgnoreCase, with a branch-only fast path for ASCII
+  private static char foldCase(char c) {
+    if (c < 128) {
+      return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+}
@@ -0,0 +1,88 @@
+package com.assessment.kata.checkoutkata.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Price of one item with its offers: the headline offer managed through the admin API, any
+ * further tiers from the pricing_offer table and the promotions active right now. The
+ * {@link OfferTable} combining them is built here, so it is ready as soon as the price book
+ * holds this pricing.
+ */
+@Data
+public class ItemPricing {
+  private final int priceInCents;
+  private final DiscountRule discountRule;
+  private final List<DiscountRule> offerTiers;
+  private final List<DiscountRule> promotionTiers;
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private final OfferTable offerTable;
+
+  public ItemPricing(int priceInCents, DiscountRule discountRule) {
+    this(priceInCents, discountRule, List.of());
+  }
+
+  public ItemPricing(int priceInCents, DiscountRule discountRule, List<DiscountRule> offerTiers) {
+    this(priceInCents, discountRule, offerTiers, List.of());
+  }
+
+  public ItemPricing(int priceInCents, DiscountRule discountRule, List<DiscountRule> offerTiers,
+                     List<DiscountRule> promotionTiers) {
+    this.priceInCents = priceInCents;
+    this.discountRule = discountRule;
+    this.offerTiers = List.copyOf(offerTiers);
+    this.promotionTiers = List.copyOf(promotionTiers);
+    List<DiscountRule> rules = new ArrayList<>(offerTiers.size() + promotionTiers.size() + 1);
+    if (discountRule != null) {
+      rules.add(discountRule);
+    }
+    rules.addAll(offerTiers);
+    rules.addAll(promotionTiers);
+    this.offerTable = OfferTable.of(rules);
+  }
+
+  public static ItemPricing from(PricingConfig config) {
+    DiscountRule discountRule = config.hasOffer() ?
+        new DiscountRule(config.getOfferQuantity(), config.getOfferSavingsInCents()) :
+        null;
+    List<DiscountRule> offerTiers = new ArrayList<>(config.getOfferTiers().size());
+    for (PricingOffer tier : config.getOfferTiers()) {
+      offerTiers.add(new DiscountRule(tier.getOfferQuantity(), tier.getOfferSavingsInCents()));
+    }
+    return new ItemPricing(config.getPriceInCents(), discountRule, offerTiers);
+  }
+
+  public Optional<DiscountRule> findDiscountRule() {
+    return Optional.ofNullable(discountRule);
+  }
+
+  /**
+   * The headline offer followed by the further tiers and the active promotions.
+   */
+  public List<DiscountRule> getDiscountRules() {
+    return offerTable.getTiers();
+  }
+
+  public boolean hasOffers() {
+    return !offerTable.isEmpty();
+  }
+
+  public ItemPricing withPriceInCents(int newPriceInCents) {
+    return new ItemPricing(newPriceInCents, discountRule, offerTiers, promotionTiers);
+  }
+
+  public ItemPricing withDiscountRule(DiscountRule newDiscountRule) {
+    return new ItemPricing(priceInCents, newDiscountRule, offerTiers, promotionTiers);
+  }
+
+  public ItemPricing withPromotionTiers(List<DiscountRule> newPromotionTiers) {
+    return newPromotionTiers.equals(promotionTiers) ? this :
+        new ItemPricing(priceInCents, discountRule, offerTiers, newPromotionTiers);
+  }
+}
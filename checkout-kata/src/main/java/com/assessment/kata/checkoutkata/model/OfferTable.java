@@ -0,0 +1,156 @@
+package com.assessment.kata.checkoutkata.model;
+
+import java.util.List;
+
+/**
+ * Best total saving for any quantity of one item under all of its multi-buy tiers, e.g.
+ * "2 for 45" together with "5 for 100". Built once per {@link ItemPricing} with an
+ * unbounded-knapsack pass, so pricing a line is an array lookup rather than a search.
+ *
+ * <p>Call the tier with the highest saving per unit the anchor, taking {@code a} units. An optimal
+ * choice never needs {@code a} or more applications of other tiers (some of them add up to a
+ * multiple of {@code a} and can be swapped for anchors), nor {@code a} or more units left over
+ * (another anchor would fit). So from {@code (a - 1) * largestOther + a} units on, an optimal choice
+ * always contains an anchor. The table stops there and larger quantities take whole anchors until
+ * they fall back into it.
+ */
+public final class OfferTable {
+
+  public static final OfferTable NONE = new OfferTable(List.of(), -1, new int[] {0}, new int[] {-1}, new int[] {0});
+
+  // Bounds memory per item; with tier quantities of at most 1000 the table stays below this
+  static final int MAX_LENGTH = 1 << 20;
+
+  private final List<DiscountRule> tiers;
+  private final int anchor;
+  // For q below the table length: best saving, the tier of one application in that choice
+  // (-1 when a unit is left over) and how many applications the choice makes
+  private final int[] savings;
+  private final int[] lastTier;
+  private final int[] sets;
+
+  private OfferTable(List<DiscountRule> tiers, int anchor, int[] savings, int[] lastTier, int[] sets) {
+    this.tiers = tiers;
+    this.anchor = anchor;
+    this.savings = savings;
+    this.lastTier = lastTier;
+    this.sets = sets;
+  }
+
+  public static OfferTable of(List<DiscountRule> tiers) {
+    if (tiers.isEmpty()) {
+      return NONE;
+    }
+    int anchor = 0;
+    for (int t = 0; t < tiers.size(); t++) {
+      DiscountRule tier = tiers.get(t);
+      if (tier.getRequiredQuantity() < 1 || tier.getSavingsInCents() < 1) {
+        throw new IllegalArgumentException("Offer tier needs a positive quantity and saving: " + tier);
+      }
+      if (savesMorePerUnit(tier, tiers.get(anchor))) {
+        anchor = t;
+      }
+    }
+    int anchorQuantity = tiers.get(anchor).getRequiredQuantity();
+    long largestOther = 0;
+    for (int t = 0; t < tiers.size(); t++) {
+      if (t != anchor) {
+        largestOther = Math.max(largestOther, tiers.get(t).getRequiredQuantity());
+      }
+    }
+    long length = (anchorQuantity - 1) * largestOther + anchorQuantity;
+    if (length > MAX_LENGTH) {
+      throw new IllegalArgumentException("Offer tiers " + tiers + " need a table of " + length + " entries");
+    }
+
+    int[] savings = new int[(int) length];
+    int[] lastTier = new int[(int) length];
+    int[] sets = new int[(int) length];
+    lastTier[0] = -1;
+    for (int q = 1; q < length; q++) {
+      savings[q] = savings[q - 1];
+      lastTier[q] = -1;
+      sets[q] = sets[q - 1];
+      for (int t = 0; t < tiers.size(); t++) {
+        int required = tiers.get(t).getRequiredQuantity();
+        if (required <= q && savings[q - required] + tiers.get(t).getSavingsInCents() > savings[q]) {
+          savings[q] = savings[q - required] + tiers.get(t).getSavingsInCents();
+          lastTier[q] = t;
+          sets[q] = sets[q - required] + 1;
+        }
+      }
+    }
+    return new OfferTable(List.copyOf(tiers), anchor, savings, lastTier, sets);
+  }
+
+  public List<DiscountRule> getTiers() {
+    return tiers;
+  }
+
+  public boolean isEmpty() {
+    return tiers.isEmpty();
+  }
+
+  public int savingsFor(int quantity) {
+    if (isEmpty()) {
+      return 0;
+    }
+    if (quantity < savings.length) {
+      return savings[quantity];
+    }
+    int anchors = anchorsBeyondTable(quantity);
+    return anchors * tiers.get(anchor).getSavingsInCents()
+        + savings[quantity - anchors * tiers.get(anchor).getRequiredQuantity()];
+  }
+
+  /**
+   * Number of tier applications in the best choice for the quantity.
+   */
+  public int setsFor(int quantity) {
+    if (isEmpty()) {
+      return 0;
+    }
+    if (quantity < sets.length) {
+      return sets[quantity];
+    }
+    int anchors = anchorsBeyondTable(quantity);
+    return anchors + sets[quantity - anchors * tiers.get(anchor).getRequiredQuantity()];
+  }
+
+  /**
+   * Applications of each tier, indexed like {@link #getTiers()}, in the best choice for the quantity.
+   */
+  public int[] setsPerTier(int quantity) {
+    int[] counts = new int[tiers.size()];
+    if (isEmpty()) {
+      return counts;
+    }
+    int q = quantity;
+    if (q >= savings.length) {
+      int anchors = anchorsBeyondTable(q);
+      counts[anchor] = anchors;
+      q -= anchors * tiers.get(anchor).getRequiredQuantity();
+    }
+    while (q > 0) {
+      int tier = lastTier[q];
+      if (tier < 0) {
+        q--;
+      } else {
+        counts[tier]++;
+        q -= tiers.get(tier).getRequiredQuantity();
+      }
+    }
+    return counts;
+  }
+
+  private int anchorsBeyondTable(int quantity) {
+    // Enough anchors to bring the quantity just below the table length
+    return (quantity - savings.length) / tiers.get(anchor).getRequiredQuantity() + 1;
+  }
+
+  private static boolean savesMorePerUnit(DiscountRule tier, DiscountRule other) {
+    long lhs = (long) tier.getSavingsInCents() * other.getRequiredQuantity();
+    long rhs = (long) other.getSavingsInCents() * tier.getRequiredQuantity();
+    return lhs > rhs || (lhs == rhs && tier.getRequiredQuantity() < other.getRequiredQuantity());
+  }
+}
@@ -0,0 +1,133 @@
+package com.assessment.kata.checkoutkata.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the price of every configured item at a given version.
+ * Pricing is held in an array indexed by {@link Item#getId()}, so a lookup is a bounds
+ * check and a load. Updates never mutate a snapshot; they produce a copy with the next version.
+ * The snapshot also carries the {@link BarcodeIndex} and {@link BundleOffer}s resolved against its catalog.
+ */
+public final class PriceBookSnapshot {
+
+  private static final PriceBookSnapshot EMPTY = new PriceBookSnapshot(
+      0, ItemCatalog.empty(), BarcodeIndex.empty(), List.of(), Map.of(), new ItemPricing[0]);
+
+  @Getter
+  private final long version;
+  @Getter
+  private final ItemCatalog catalog;
+  @Getter
+  private final BarcodeIndex barcodes;
+  @Getter
+  private final List<BundleOffer> bundles;
+  private final ItemPricing[] pricing;
+  private final Map<Item, List<BundleOffer>> bundlesByItem;
+
+  private PriceBookSnapshot(long version, ItemCatalog catalog, BarcodeIndex barcodes,
+                            List<BundleOffer> bundles, Map<Item, List<BundleOffer>> bundlesByItem,
+                            ItemPricing[] pricing) {
+    this.version = version;
+    this.catalog = catalog;
+    this.barcodes = barcodes;
+    this.bundles = bundles;
+    this.pricing = pricing;
+    this.bundlesByItem = bundlesByItem;
+  }
+
+  public static PriceBookSnapshot empty() {
+    return EMPTY;
+  }
+
+  public static PriceBookSnapshot of(long version, ItemCatalog catalog, Map<Item, ItemPricing> pricing) {
+    return of(version, catalog, BarcodeIndex.empty(), List.of(), pricing);
+  }
+
+  public static PriceBookSnapshot of(long version, ItemCatalog catalog, BarcodeIndex barcodes,
+                                     List<BundleOffer> bundles, Map<Item, ItemPricing> pricing) {
+    ItemPricing[] byId = new ItemPricing[catalog.size()];
+    pricing.forEach((item, itemPricing) -> byId[item.getId()] = itemPricing);
+    return new PriceBookSnapshot(version, catalog, barcodes, List.copyOf(bundles), indexBundles(bundles), byId);
+  }
+
+  /**
+   * Returns the pricing for the item, or null when the item is not configured.
+   */
+  public ItemPricing get(Item item) {
+    int id = item.getId();
+    return id < pricing.length ? pricing[id] : null;
+  }
+
+  /**
+   * Returns the item registered for the barcode, or null when the code is unknown.
+   */
+  public Item findByBarcode(long barcode) {
+    return catalog.get(barcodes.find(barcode));
+  }
+
+  /**
+   * Returns true when the item takes part in a bundle, so its discount has to be
+   * worked out together with the other items of the basket.
+   */
+  public boolean isBundled(Item item) {
+    return bundlesByItem.containsKey(item);
+  }
+
+  public List<BundleOffer> bundlesFor(Item item) {
+    return bundlesByItem.getOrDefault(item, List.of());
+  }
+
+  public boolean contains(Item item) {
+    return get(item) != null;
+  }
+
+  public int size() {
+    int configured = 0;
+    for (ItemPricing itemPricing : pricing) {
+      if (itemPricing != null) {
+        configured++;
+      }
+    }
+    return configured;
+  }
+
+  public PriceBookSnapshot with(Item item, ItemPricing itemPricing) {
+    ItemPricing[] copy = Arrays.copyOf(pricing, Math.max(pricing.length, item.getId() + 1));
+    copy[item.getId()] = itemPricing;
+    return new PriceBookSnapshot(version + 1, catalog, barcodes, bundles, bundlesByItem, copy);
+  }
+
+  /**
+   * Replaces the pricing of several items at once, under a single new version.
+   */
+  public PriceBookSnapshot with(Map<Item, ItemPricing> changes) {
+    int length = pricing.length;
+    for (Item item : changes.keySet()) {
+      length = Math.max(length, item.getId() + 1);
+    }
+    ItemPricing[] copy = Arrays.copyOf(pricing, length);
+    changes.forEach((item, itemPricing) -> copy[item.getId()] = itemPricing);
+    return new PriceBookSnapshot(version + 1, catalog, barcodes, bundles, bundlesByItem, copy);
+  }
+
+  private static Map<Item, List<BundleOffer>> indexBundles(List<BundleOffer> bundles) {
+    Map<Item, List<BundleOffer>> byItem = new HashMap<>();
+    for (BundleOffer bundle : bundles) {
+      for (BundleComponent component : bundle.getComponents()) {
+        for (Item item : component.getItems()) {
+          List<BundleOffer> offers = byItem.computeIfAbsent(item, key -> new ArrayList<>());
+          if (!offers.contains(bundle)) {
+            offers.add(bundle);
+          }
+        }
+      }
+    }
+    return byItem;
+  }
+}
@@ -1,9 +1,15 @@
 package com.assessment.kata.checkoutkata.model;
 
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -12,6 +18,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Data
@@ -30,6 +38,7 @@ public class PricingConfig {
   private Integer priceInCents;
 
   @Min(2)
+  @Max(1000)
   @Column(name = "offer_quantity")
   private Integer offerQuantity;
 
@@ -37,6 +46,12 @@ public class PricingConfig {
   @Column(name = "offer_savings_in_cents")
   private Integer offerSavingsInCents;
 
+  // Further tiers combined with the offer above, e.g. "5 for 100" next to "2 for 45"
+  @Valid
+  @ElementCollection(fetch = FetchType.EAGER)
+  @CollectionTable(name = "pricing_offer", joinColumns = @JoinColumn(name = "item_key"))
+  private List<PricingOffer> offerTiers = new ArrayList<>();
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false)
   private LocalDateTime createdAt;
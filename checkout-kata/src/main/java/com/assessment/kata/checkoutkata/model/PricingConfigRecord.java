@@ -0,0 +1,47 @@
+package com.assessment.kata.checkoutkata.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC view of a pricing_config row. Mirrors {@link PricingConfig}, which stays the
+ * JPA mapping of the same table.
+ */
+@Data
+@Table("pricing_config")
+public class PricingConfigRecord {
+
+  @Id
+  @Column("item_key")
+  private String itemKey;
+
+  @Column("price_in_cents")
+  private Integer priceInCents;
+
+  @Column("offer_quantity")
+  private Integer offerQuantity;
+
+  @Column("offer_savings_in_cents")
+  private Integer offerSavingsInCents;
+
+  @Column("updated_at")
+  private LocalDateTime updatedAt;
+
+  public boolean hasOffer() {
+    return offerQuantity != null && offerSavingsInCents != null;
+  }
+
+  public PricingConfig toPricingConfig() {
+    PricingConfig config = new PricingConfig();
+    config.setItemKey(itemKey);
+    config.setPriceInCents(priceInCents);
+    config.setOfferQuantity(offerQuantity);
+    config.setOfferSavingsInCents(offerSavingsInCents);
+    config.setUpdatedAt(updatedAt);
+    return config;
+  }
+}
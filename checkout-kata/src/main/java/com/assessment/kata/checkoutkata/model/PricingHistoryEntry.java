@@ -0,0 +1,69 @@
+package com.assessment.kata.checkoutkata.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * One version of an item's regular pricing, in force from {@code validFrom} until the item's next
+ * entry. Rows are only ever appended. Promotions are not part of it; scheduled_offer keeps their windows.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "pricing_history")
+public class PricingHistoryEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id")
+  private Long id;
+
+  @Column(name = "item_key", nullable = false, length = 20)
+  private String itemKey;
+
+  @Column(name = "valid_from", nullable = false)
+  private LocalDateTime validFrom;
+
+  @Column(name = "price_in_cents", nullable = false)
+  private int priceInCents;
+
+  @Column(name = "offer_quantity")
+  private Integer offerQuantity;
+
+  @Column(name = "offer_savings_in_cents")
+  private Integer offerSavingsInCents;
+
+  // Further tiers as comma-separated quantity:savings pairs, e.g. "5:40,10:100"
+  @Column(name = "offer_tiers", nullable = false, length = 1000)
+  private String offerTiers = "";
+
+  public static String formatOfferTiers(List<DiscountRule> tiers) {
+    StringJoiner joined = new StringJoiner(",");
+    for (DiscountRule tier : tiers) {
+      joined.add(tier.getRequiredQuantity() + ":" + tier.getSavingsInCents());
+    }
+    return joined.toString();
+  }
+
+  public static List<DiscountRule> parseOfferTiers(String offerTiers) {
+    List<DiscountRule> tiers = new ArrayList<>();
+    for (String tier : offerTiers.split(",")) {
+      if (!tier.isBlank()) {
+        String[] parts = tier.split(":");
+        tiers.add(new DiscountRule(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())));
+      }
+    }
+    return tiers;
+  }
+}
@@ -0,0 +1,122 @@
+package com.assessment.kata.checkoutkata.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of every item's pricing history for point-in-time lookups.
+ *
+ * <p>Each item's versions are kept as a sorted array of start instants next to the pricing in force
+ * from each of them, so finding the version in force at an instant is one binary search. Adding
+ * versions copies only the timelines of the items they belong to.
+ */
+public final class PricingHistoryIndex {
+
+  private static final PricingHistoryIndex EMPTY = new PricingHistoryIndex(Map.of());
+
+  /**
+   * The pricing of an item from {@code validFrom} until its next version.
+   */
+  public record Version(String itemKey, LocalDateTime validFrom, long validFromMillis, ItemPricing pricing) {
+  }
+
+  private final Map<String, Timeline> timelines;
+
+  private PricingHistoryIndex(Map<String, Timeline> timelines) {
+    this.timelines = timelines;
+  }
+
+  public static PricingHistoryIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds the index from versions grouped by item key.
+   */
+  public static PricingHistoryIndex of(List<Version> versions) {
+    return EMPTY.with(versions);
+  }
+
+  /**
+   * Returns the version of the item's pricing in force at the instant, or null when the item
+   * had no pricing yet.
+   */
+  public Version at(String itemKey, long millis) {
+    Timeline timeline = timelines.get(itemKey);
+    return timeline != null ? timeline.at(millis) : null;
+  }
+
+  /**
+   * Returns an index that also holds the given versions, grouped by item key.
+   */
+  public PricingHistoryIndex with(List<Version> versions) {
+    if (versions.isEmpty()) {
+      return this;
+    }
+    Map<String, Timeline> grown = new HashMap<>(timelines);
+    int start = 0;
+    for (int i = 1; i <= versions.size(); i++) {
+      if (i == versions.size() || !versions.get(i).itemKey().equals(versions.get(start).itemKey())) {
+        String itemKey = versions.get(start).itemKey();
+        grown.put(itemKey, Timeline.append(grown.get(itemKey), versions.subList(start, i)));
+        start = i;
+      }
+    }
+    return new PricingHistoryIndex(grown);
+  }
+
+  public int itemCount() {
+    return timelines.size();
+  }
+
+  private static final class Timeline {
+
+    private final long[] starts;
+    private final Version[] versions;
+
+    private Timeline(long[] starts, Version[] versions) {
+      this.starts = starts;
+      this.versions = versions;
+    }
+
+    private static Timeline append(Timeline existing, List<Version> added) {
+      int held = existing != null ? existing.starts.length : 0;
+      long[] starts = existing != null ? Arrays.copyOf(existing.starts, held + added.size()) : new long[added.size()];
+      Version[] versions = existing != null ?
+          Arrays.copyOf(existing.versions, held + added.size()) :
+          new Version[added.size()];
+      boolean sorted = true;
+      for (int i = 0; i < added.size(); i++) {
+        starts[held + i] = added.get(i).validFromMillis();
+        versions[held + i] = added.get(i);
+        sorted &= held + i == 0 || starts[held + i - 1] <= starts[held + i];
+      }
+      if (!sorted) {
+        // Transactions can commit out of order; a stable sort keeps equal starts in commit order
+        Arrays.sort(versions, Comparator.comparingLong(Version::validFromMillis));
+        for (int i = 0; i < versions.length; i++) {
+          starts[i] = versions[i].validFromMillis();
+        }
+      }
+      return new Timeline(starts, versions);
+    }
+
+    private Version at(long millis) {
+      int index = Arrays.binarySearch(starts, millis);
+      if (index < 0) {
+        // The insertion point is the first version starting after the instant
+        index = -index - 2;
+      } else {
+        // Versions with the same start: the last one written wins
+        while (index + 1 < starts.length && starts[index + 1] == millis) {
+          index++;
+        }
+      }
+      return index >= 0 ? versions[index] : null;
+    }
+  }
+}
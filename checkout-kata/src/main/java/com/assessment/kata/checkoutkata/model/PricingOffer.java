@@ -0,0 +1,29 @@
+package com.assessment.kata.checkoutkata.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A further "N for ..." tier of an item, stored in pricing_offer next to the headline offer
+ * on pricing_config.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingOffer {
+
+  @Min(2)
+  @Max(1000)
+  @Column(name = "offer_quantity", nullable = false)
+  private int offerQuantity;
+
+  @Min(1)
+  @Column(name = "offer_savings_in_cents", nullable = false)
+  private int offerSavingsInCents;
+}
@@ -0,0 +1,134 @@
+package com.assessment.kata.checkoutkata.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Promotion windows compiled into the instants at which some item's active promotions change.
+ * For each such transition the promotional tiers of every affected item are worked out up front,
+ * so applying it is a lookup and nothing on the scan path ever compares dates.
+ */
+public final class PromotionSchedule {
+
+  public static final long NO_TRANSITION = Long.MAX_VALUE;
+
+  private static final PromotionSchedule EMPTY = new PromotionSchedule(new long[0], List.of(), Map.of());
+
+  /**
+   * A promotion for an item, active from {@code fromMillis} (inclusive) to {@code toMillis} (exclusive).
+   */
+  public record Window(Item item, DiscountRule rule, long fromMillis, long toMillis) {
+
+    boolean isActiveAt(long millis) {
+      return fromMillis <= millis && millis < toMillis;
+    }
+  }
+
+  // Sorted instants; changes.get(i) holds the promotional tiers of each affected item from transitions[i] on
+  private final long[] transitions;
+  private final List<Map<Item, List<DiscountRule>>> changes;
+  private final Map<Item, List<Window>> windowsByItem;
+
+  private PromotionSchedule(long[] transitions, List<Map<Item, List<DiscountRule>>> changes,
+                            Map<Item, List<Window>> windowsByItem) {
+    this.transitions = transitions;
+    this.changes = changes;
+    this.windowsByItem = windowsByItem;
+  }
+
+  public static PromotionSchedule empty() {
+    return EMPTY;
+  }
+
+  public static PromotionSchedule of(List<Window> windows) {
+    Map<Item, List<Window>> windowsByItem = new HashMap<>();
+    TreeMap<Long, List<Item>> itemsByInstant = new TreeMap<>();
+    for (Window window : windows) {
+      if (window.toMillis() <= window.fromMillis()) {
+        continue;
+      }
+      windowsByItem.computeIfAbsent(window.item(), item -> new ArrayList<>()).add(window);
+      itemsByInstant.computeIfAbsent(window.fromMillis(), at -> new ArrayList<>()).add(window.item());
+      if (window.toMillis() != NO_TRANSITION) {
+        itemsByInstant.computeIfAbsent(window.toMillis(), at -> new ArrayList<>()).add(window.item());
+      }
+    }
+    if (windowsByItem.isEmpty()) {
+      return EMPTY;
+    }
+
+    long[] transitions = new long[itemsByInstant.size()];
+    List<Map<Item, List<DiscountRule>>> changes = new ArrayList<>(itemsByInstant.size());
+    int index = 0;
+    for (Map.Entry<Long, List<Item>> entry : itemsByInstant.entrySet()) {
+      long at = entry.getKey();
+      Map<Item, List<DiscountRule>> tiers = new LinkedHashMap<>();
+      for (Item item : entry.getValue()) {
+        tiers.computeIfAbsent(item, key -> activeTiers(windowsByItem.get(key), at));
+      }
+      transitions[index++] = at;
+      changes.add(tiers);
+    }
+    return new PromotionSchedule(transitions, changes, windowsByItem);
+  }
+
+  public boolean isEmpty() {
+    return windowsByItem.isEmpty();
+  }
+
+  /**
+   * Returns the first transition strictly after the given instant, or {@link #NO_TRANSITION}.
+   */
+  public long nextTransitionAfter(long millis) {
+    int index = firstTransitionAfter(millis);
+    return index < transitions.length ? transitions[index] : NO_TRANSITION;
+  }
+
+  /**
+   * Promotional tiers of the items whose promotions change after {@code afterMillis} and up to
+   * {@code untilMillis}, as they stand at {@code untilMillis}. An item with no promotion left maps
+   * to an empty list.
+   */
+  public Map<Item, List<DiscountRule>> changesBetween(long afterMillis, long untilMillis) {
+    Map<Item, List<DiscountRule>> merged = new LinkedHashMap<>();
+    for (int index = firstTransitionAfter(afterMillis);
+         index < transitions.length && transitions[index] <= untilMillis; index++) {
+      merged.putAll(changes.get(index));
+    }
+    return merged;
+  }
+
+  /**
+   * Promotional tiers of every item with a promotion active at the instant.
+   */
+  public Map<Item, List<DiscountRule>> activeAt(long millis) {
+    Map<Item, List<DiscountRule>> active = new HashMap<>();
+    windowsByItem.forEach((item, windows) -> {
+      List<DiscountRule> tiers = activeTiers(windows, millis);
+      if (!tiers.isEmpty()) {
+        active.put(item, tiers);
+      }
+    });
+    return active;
+  }
+
+  private int firstTransitionAfter(long millis) {
+    int index = Arrays.binarySearch(transitions, millis);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  private static List<DiscountRule> activeTiers(List<Window> windows, long millis) {
+    List<DiscountRule> tiers = new ArrayList<>(1);
+    for (Window window : windows) {
+      if (window.isActiveAt(millis)) {
+        tiers.add(window.rule());
+      }
+    }
+    return List.copyOf(tiers);
+  }
+}
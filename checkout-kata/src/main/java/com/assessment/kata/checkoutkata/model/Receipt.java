@@ -0,0 +1,16 @@
+package com.assessment.kata.checkoutkata.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed checkout: the cart's summary frozen at completion under the receipt id it was paid with.
+ */
+@Data
+public class Receipt {
+  private final String receiptId;
+  private final String cartId;
+  private final LocalDateTime completedAt;
+  private final CheckoutSummary summary;
+}
@@ -0,0 +1,73 @@
+package com.assessment.kata.checkoutkata.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A promotional "N for ..." tier that applies to an item from {@code validFrom} until
+ * {@code validTo} (exclusive, open-ended when null), on top of the item's regular offers.
+ * Times are local to the application's clock zone.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "scheduled_offer")
+public class ScheduledOffer {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id")
+  private Long id;
+
+  @NotNull
+  @Size(min = 1, max = 20)
+  @Column(name = "item_key", nullable = false, length = 20)
+  private String itemKey;
+
+  @Min(2)
+  @Max(1000)
+  @Column(name = "offer_quantity", nullable = false)
+  private int offerQuantity;
+
+  @Min(1)
+  @Column(name = "offer_savings_in_cents", nullable = false)
+  private int offerSavingsInCents;
+
+  @NotNull
+  @Column(name = "valid_from", nullable = false)
+  private LocalDateTime validFrom;
+
+  @Column(name = "valid_to")
+  private LocalDateTime validTo;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  public ScheduledOffer(String itemKey, int offerQuantity, int offerSavingsInCents,
+                        LocalDateTime validFrom, LocalDateTime validTo) {
+    this.itemKey = itemKey;
+    this.offerQuantity = offerQuantity;
+    this.offerSavingsInCents = offerSavingsInCents;
+    this.validFrom = validFrom;
+    this.validTo = validTo;
+  }
+}
@@ -0,0 +1,82 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
+import com.assessment.kata.checkoutkata.journal.JournalRecord;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Replays over HTTP against a running instance, through the same endpoints the tills and the admin use.
+ */
+public class HttpReplayTarget implements ReplayTarget {
+
+  private final String baseUrl;
+  private final WebClient webClient;
+
+  public HttpReplayTarget(String baseUrl) {
+    this.baseUrl = baseUrl;
+    this.webClient = WebClient.builder()
+        .baseUrl(baseUrl)
+        .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .build();
+  }
+
+  @Override
+  public String send(ReplayRequest request) {
+    ItemQuantityRequestDTO line = new ItemQuantityRequestDTO(request.key(), request.quantity());
+    switch (request.type()) {
+      case JournalRecord.SCAN -> {
+        return post("/api/checkout/{cartId}/scan", request.cartId(), line, ScanResponseDTO.class).getRunningTotal();
+      }
+      case JournalRecord.REMOVE -> {
+        return post("/api/checkout/{cartId}/remove", request.cartId(), line, ScanResponseDTO.class).getRunningTotal();
+      }
+      case JournalRecord.CLEAR -> post("/api/checkout/{cartId}/clear", request.cartId(), null, Void.class);
+      case JournalRecord.COMPLETE -> {
+        return post("/api/checkout/{cartId}/complete", request.cartId(), null, ReceiptResponseDTO.class)
+            .getSummary().getFinalTotal();
+      }
+      case JournalRecord.PRICE -> patch("/admin/pricing/{item}/price", request.key(),
+          new UpdatePriceRequestDTO(request.amountInCents()));
+      case JournalRecord.OFFER -> {
+        if (request.quantity() > 0) {
+          patch("/admin/pricing/{item}/offer", request.key(),
+              new UpdateOfferRequestDTO(request.quantity(), request.amountInCents()));
+        } else {
+          webClient.delete().uri("/admin/pricing/{item}/offer", request.key())
+              .retrieve()
+              .toBodilessEntity()
+              .block();
+        }
+      }
+      default -> throw new IllegalArgumentException("Unknown journal record type " + request.type());
+    }
+    return null;
+  }
+
+  @Override
+  public String describe() {
+    return baseUrl;
+  }
+
+  private <T> T post(String path, String cartId, Object body, Class<T> responseType) {
+    WebClient.RequestBodySpec spec = webClient.post().uri(path, cartId);
+    return (body != null ? spec.bodyValue(body) : spec)
+        .retrieve()
+        .bodyToMono(responseType)
+        .block();
+  }
+
+  private void patch(String path, String itemKey, Object body) {
+    webClient.patch().uri(path, itemKey)
+        .bodyValue(body)
+        .retrieve()
+        .toBodilessEntity()
+        .block();
+  }
+}
@@ -0,0 +1,70 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.ClassUtils;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sets up an instance started to replay a journal into itself so the replay leaves nothing behind: an
+ * in-memory database of its own, no transaction journal to append the replayed records to, no cart
+ * journal to restore carts from, and no order ledger. These settings go ahead of every other property
+ * source, command line and environment included.
+ *
+ * <p>The configured database stays readable as the pricing source, so {@link ReplayPricing} can start
+ * the replay from the pricing in force when the journal begins.
+ *
+ * <p>H2 only ships in jars built with the {@code replay} Maven profile.
+ */
+public class InProcessReplayEnvironment implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+  static final String PRICING_SOURCE = "checkout.replay.pricing-source.";
+
+  private static final String H2_DRIVER = "org.h2.Driver";
+  private static final String[] DATASOURCE_PROPERTIES = {"url", "username", "password"};
+
+  /**
+   * Whether the arguments ask for a replay into this process.
+   */
+  public static boolean isRequested(String[] args) {
+    return args.length > 0 && "replay".equals(args[0])
+        && ReplayOptions.parse(Arrays.copyOfRange(args, 1, args.length), Path.of("")).isInProcess();
+  }
+
+  @Override
+  public void initialize(ConfigurableApplicationContext context) {
+    if (!ClassUtils.isPresent(H2_DRIVER, context.getClassLoader())) {
+      throw new IllegalStateException("In-process replays need H2, which this jar was built without: "
+          + "build it with -Preplay");
+    }
+    ConfigurableEnvironment environment = context.getEnvironment();
+    Map<String, Object> properties = new HashMap<>();
+    for (String name : DATASOURCE_PROPERTIES) {
+      String value = environment.getProperty("spring.datasource." + name);
+      if (value != null) {
+        properties.put(PRICING_SOURCE + name, value);
+      }
+    }
+    properties.put("spring.datasource.url", "jdbc:h2:mem:replay;DB_CLOSE_DELAY=-1");
+    properties.put("spring.datasource.username", "sa");
+    properties.put("spring.datasource.password", "");
+    properties.put("spring.datasource.driver-class-name", H2_DRIVER);
+    properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///replay");
+    properties.put("spring.r2dbc.username", "sa");
+    properties.put("spring.r2dbc.password", "");
+    properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+    properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+    properties.put("spring.sql.init.mode", "never");
+    properties.put("checkout.journal.enabled", "false");
+    properties.put("checkout.carts.durable", "false");
+    properties.put("checkout.orders.enabled", "false");
+    properties.put("checkout.catalog.auto-refresh", "false");
+    environment.getPropertySources().addFirst(new MapPropertySource("inProcessReplay", properties));
+  }
+}
@@ -0,0 +1,56 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
+import com.assessment.kata.checkoutkata.journal.JournalRecord;
+import com.assessment.kata.checkoutkata.service.CheckoutService;
+import com.assessment.kata.checkoutkata.service.PricingService;
+
+/**
+ * Replays into the services of this instance, the calls the controllers would make, without HTTP.
+ */
+public class InProcessReplayTarget implements ReplayTarget {
+
+  private final CheckoutService checkoutService;
+  private final PricingService pricingService;
+
+  public InProcessReplayTarget(CheckoutService checkoutService, PricingService pricingService) {
+    this.checkoutService = checkoutService;
+    this.pricingService = pricingService;
+  }
+
+  @Override
+  public String send(ReplayRequest request) {
+    ItemQuantityRequestDTO line = new ItemQuantityRequestDTO(request.key(), request.quantity());
+    switch (request.type()) {
+      case JournalRecord.SCAN -> {
+        return checkoutService.scanItems(request.cartId(), line).getRunningTotal();
+      }
+      case JournalRecord.REMOVE -> {
+        return checkoutService.removeItems(request.cartId(), line).getRunningTotal();
+      }
+      case JournalRecord.CLEAR -> checkoutService.clearCart(request.cartId());
+      case JournalRecord.COMPLETE -> {
+        return checkoutService.completeCheckout(request.cartId()).getSummary().getFinalTotal();
+      }
+      case JournalRecord.PRICE -> pricingService.updateItemPriceByName(request.key(),
+          new UpdatePriceRequestDTO(request.amountInCents()));
+      case JournalRecord.OFFER -> {
+        if (request.quantity() > 0) {
+          pricingService.updateItemOfferByName(request.key(),
+              new UpdateOfferRequestDTO(request.quantity(), request.amountInCents()));
+        } else {
+          pricingService.removeItemOfferByName(request.key());
+        }
+      }
+      default -> throw new IllegalArgumentException("Unknown journal record type " + request.type());
+    }
+    return null;
+  }
+
+  @Override
+  public String describe() {
+    return "in-process";
+  }
+}
@@ -0,0 +1,191 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import com.assessment.kata.checkoutkata.journal.JournalCursor;
+import com.assessment.kata.checkoutkata.journal.JournalRecord;
+import com.assessment.kata.checkoutkata.service.CheckoutService;
+import com.assessment.kata.checkoutkata.service.PricingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.formatPrice;
+
+/**
+ * Sends the traffic recorded in a transaction journal again, in this process or against another
+ * instance, and reports how it performed.
+ *
+ * <p>Records are read up to the end of the journal when the replay starts. A replay into this process
+ * runs on an in-memory database stocked with the pricing in force at the first record, with fresh carts
+ * and nothing journaled or recorded as orders. Each cart goes to one worker, and pricing
+ * changes all to one, so every cart sees its own requests in journal order; with one worker the whole
+ * journal is replayed in order and every recorded total can be expected back, except those of carts
+ * holding an item whose promotions {@link ReplayPricing} cannot reproduce. Those are counted as not
+ * compared rather than as mismatches.
+ *
+ * <p>Paced replays send each request when it is due, at the recorded gaps divided by the speed, and
+ * measure its latency from then rather than from when it was actually sent: a request held up behind a
+ * slow one counts the wait too, which a load tester that only times what it sends would leave out.
+ * Unpaced replays send back to back and measure service time.
+ */
+@Slf4j
+@Component
+public class JournalReplay {
+
+  private static final int LOGGED_MISMATCHES = 10;
+
+  private final CheckoutService checkoutService;
+  private final PricingService pricingService;
+  private final ReplayPricing replayPricing;
+  private final Path defaultJournal;
+
+  public JournalReplay(CheckoutService checkoutService, PricingService pricingService, ReplayPricing replayPricing,
+                       @Value("${checkout.journal.dir:data/transaction-journal}") Path defaultJournal) {
+    this.checkoutService = checkoutService;
+    this.pricingService = pricingService;
+    this.replayPricing = replayPricing;
+    this.defaultJournal = defaultJournal;
+  }
+
+  public ReplayOptions options(String[] args) {
+    return ReplayOptions.parse(args, defaultJournal);
+  }
+
+  /**
+   * Replays into this process only when it was started for it, see {@link InProcessReplayEnvironment}.
+   */
+  public ReplayReport replay(ReplayOptions options) throws IOException, InterruptedException {
+    List<ReplayRequest> requests = read(options);
+    ReplayTarget target;
+    Set<String> uncomparable = Set.of();
+    if (options.isInProcess()) {
+      if (!requests.isEmpty()) {
+        uncomparable = replayPricing.seed(requests.get(0).timestampMicros());
+      }
+      target = new InProcessReplayTarget(checkoutService, pricingService);
+    } else {
+      target = new HttpReplayTarget(options.target());
+    }
+    return replay(requests, target, options, uncomparable);
+  }
+
+  ReplayReport replay(List<ReplayRequest> requests, ReplayTarget target, ReplayOptions options)
+      throws InterruptedException {
+    return replay(requests, target, options, Set.of());
+  }
+
+  /**
+   * @param uncomparable keys of items whose totals cannot be expected back; carts holding one are not compared
+   */
+  ReplayReport replay(List<ReplayRequest> requests, ReplayTarget target, ReplayOptions options,
+                      Set<String> uncomparable) throws InterruptedException {
+    List<List<ReplayRequest>> lanes = new ArrayList<>(options.workers());
+    for (int i = 0; i < options.workers(); i++) {
+      lanes.add(new ArrayList<>());
+    }
+    for (ReplayRequest request : requests) {
+      String lane = request.isPricing() ? "admin" : request.cartId();
+      lanes.get(Math.floorMod(lane.hashCode(), options.workers())).add(request);
+    }
+
+    long firstMicros = requests.isEmpty() ? 0 : requests.get(0).timestampMicros();
+    AtomicInteger loggedMismatches = new AtomicInteger();
+    ExecutorService workers = Executors.newFixedThreadPool(options.workers());
+    long start = System.nanoTime();
+    List<Future<Map<String, ReplayReport.EndpointStats>>> results = new ArrayList<>(lanes.size());
+    for (List<ReplayRequest> lane : lanes) {
+      results.add(workers.submit(() -> send(lane, target, options, uncomparable, start, firstMicros,
+          loggedMismatches)));
+    }
+    Map<String, ReplayReport.EndpointStats> endpoints = new HashMap<>();
+    try {
+      for (Future<Map<String, ReplayReport.EndpointStats>> result : results) {
+        result.get().forEach((endpoint, stats) ->
+            endpoints.computeIfAbsent(endpoint, e -> new ReplayReport.EndpointStats()).add(stats));
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Replay worker failed", e.getCause());
+    } finally {
+      workers.shutdownNow();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    String description = String.format("from %s into %s at %s with %d workers", options.journal(),
+        target.describe(), options.describeSpeed(), options.workers());
+    return new ReplayReport(description, elapsed, endpoints);
+  }
+
+  List<ReplayRequest> read(ReplayOptions options) throws IOException {
+    List<ReplayRequest> requests = new ArrayList<>();
+    JournalCursor cursor = new JournalCursor(options.journal(), options.fromSequence());
+    while (cursor.next()) {
+      requests.add(ReplayRequest.of(cursor.record()));
+    }
+    log.info("Read {} journal records from {}", requests.size(), options.journal());
+    return requests;
+  }
+
+  private Map<String, ReplayReport.EndpointStats> send(List<ReplayRequest> lane, ReplayTarget target,
+                                                       ReplayOptions options, Set<String> uncomparable, long start,
+                                                       long firstMicros, AtomicInteger loggedMismatches) {
+    Map<String, ReplayReport.EndpointStats> endpoints = new HashMap<>();
+    // A cart stays on one lane, so the lane knows every item it was given since it was last emptied
+    Set<String> uncomparableCarts = new HashSet<>();
+    for (ReplayRequest request : lane) {
+      if (request.type() == JournalRecord.SCAN && uncomparable.contains(request.key())) {
+        uncomparableCarts.add(request.cartId());
+      }
+      long intended;
+      if (options.isPaced()) {
+        intended = start + (long) ((request.timestampMicros() - firstMicros) * 1_000 / options.speed());
+        parkUntil(intended);
+      } else {
+        intended = System.nanoTime();
+      }
+      ReplayReport.EndpointStats stats =
+          endpoints.computeIfAbsent(request.endpoint(), e -> new ReplayReport.EndpointStats());
+      try {
+        String total = target.send(request);
+        if (request.hasExpectedTotal() && uncomparableCarts.contains(request.cartId())) {
+          stats.skipComparison();
+        } else if (request.hasExpectedTotal() && total != null
+            && !formatPrice(request.amountInCents()).equals(total)) {
+          stats.mismatch();
+          if (loggedMismatches.getAndIncrement() < LOGGED_MISMATCHES) {
+            log.warn("Record {} for cart {} came to {}, the journal has {}", request.sequence(), request.cartId(),
+                total, formatPrice(request.amountInCents()));
+          }
+        }
+      } catch (RuntimeException e) {
+        stats.error();
+        log.debug("Record {} failed: {}", request.sequence(), e.getMessage());
+      }
+      stats.record(System.nanoTime() - intended);
+      if (request.type() == JournalRecord.CLEAR || request.type() == JournalRecord.COMPLETE) {
+        uncomparableCarts.remove(request.cartId());
+      }
+    }
+    return endpoints;
+  }
+
+  private static void parkUntil(long deadline) {
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
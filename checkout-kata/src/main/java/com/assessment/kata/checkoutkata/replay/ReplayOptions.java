@@ -0,0 +1,76 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import java.nio.file.Path;
+
+/**
+ * How to replay a journal, parsed from the arguments after {@code replay}:
+ * <pre>
+ *   replay [journal-dir] [--target=in-process|http://host:8080] [--speed=original|max|&lt;factor&gt;]
+ *          [--from=&lt;sequence&gt;] [--workers=&lt;n&gt;]
+ * </pre>
+ * Other {@code --} arguments are left to Spring, e.g. {@code --server.port=0}.
+ *
+ * @param speed how many times faster than recorded to send, or 0 to send as fast as possible
+ */
+public record ReplayOptions(Path journal, String target, double speed, long fromSequence, int workers) {
+
+  public static final String IN_PROCESS = "in-process";
+
+  public static ReplayOptions parse(String[] args, Path defaultJournal) {
+    Path journal = defaultJournal;
+    String target = IN_PROCESS;
+    double speed = 1;
+    long fromSequence = 0;
+    int workers = 8;
+    for (String arg : args) {
+      if (!arg.startsWith("--")) {
+        journal = Path.of(arg);
+      } else if (arg.startsWith("--target=")) {
+        target = value(arg);
+      } else if (arg.startsWith("--speed=")) {
+        speed = parseSpeed(value(arg));
+      } else if (arg.startsWith("--from=")) {
+        fromSequence = Long.parseLong(value(arg));
+      } else if (arg.startsWith("--workers=")) {
+        workers = Integer.parseInt(value(arg));
+        if (workers < 1) {
+          throw new IllegalArgumentException("--workers must be at least 1");
+        }
+      }
+    }
+    return new ReplayOptions(journal, target, speed, fromSequence, workers);
+  }
+
+  public boolean isInProcess() {
+    return IN_PROCESS.equals(target);
+  }
+
+  public boolean isPaced() {
+    return speed > 0;
+  }
+
+  public String describeSpeed() {
+    if (!isPaced()) {
+      return "max speed";
+    }
+    return speed == 1 ? "original speed" : speed + "x speed";
+  }
+
+  private static double parseSpeed(String speed) {
+    if ("original".equals(speed)) {
+      return 1;
+    }
+    if ("max".equals(speed)) {
+      return 0;
+    }
+    double factor = Double.parseDouble(speed);
+    if (factor <= 0) {
+      throw new IllegalArgumentException("--speed must be original, max or a positive factor");
+    }
+    return factor;
+  }
+
+  private static String value(String arg) {
+    return arg.substring(arg.indexOf('=') + 1);
+  }
+}
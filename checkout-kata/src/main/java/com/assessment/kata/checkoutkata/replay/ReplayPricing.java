@@ -0,0 +1,168 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.model.PricingHistoryEntry;
+import com.assessment.kata.checkoutkata.model.PricingOffer;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import com.assessment.kata.checkoutkata.service.PriceBook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Stocks an in-process replay with the pricing in force when its first record was written, read from
+ * the pricing_history of the database the journal's instance used. The pricing changes after that are
+ * in the journal and replayed with it.
+ *
+ * <p>Bundles, scheduled promotions and barcodes keep no history, so they are copied as the source holds
+ * them now. Promotions start and end by this instance's clock rather than at the recorded times, so the
+ * items of a promotion whose window overlaps the journal are reported back: totals of carts holding them
+ * cannot be compared.
+ */
+@Slf4j
+@Component
+public class ReplayPricing {
+
+  private static final String PRICING_AT_SQL = """
+      SELECT item_key, price_in_cents, offer_quantity, offer_savings_in_cents, offer_tiers
+      FROM pricing_history
+      WHERE valid_from <= ?
+      ORDER BY item_key, valid_from, id
+      """;
+
+  // Parents before children; deleted in reverse
+  private static final List<String> COPIED_TABLES =
+      List.of("bundle_offer", "bundle_offer_component", "scheduled_offer", "item_barcode");
+
+  private final PricingRepository pricingRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final PriceBook priceBook;
+  private final Clock clock;
+  private final String sourceUrl;
+  private final String sourceUsername;
+  private final String sourcePassword;
+
+  public ReplayPricing(PricingRepository pricingRepository, JdbcTemplate jdbcTemplate, PriceBook priceBook,
+                       Clock clock,
+                       @Value("${" + InProcessReplayEnvironment.PRICING_SOURCE + "url:}") String sourceUrl,
+                       @Value("${" + InProcessReplayEnvironment.PRICING_SOURCE + "username:}") String sourceUsername,
+                       @Value("${" + InProcessReplayEnvironment.PRICING_SOURCE + "password:}") String sourcePassword) {
+    this.pricingRepository = pricingRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.priceBook = priceBook;
+    this.clock = clock;
+    this.sourceUrl = sourceUrl;
+    this.sourceUsername = sourceUsername;
+    this.sourcePassword = sourcePassword;
+  }
+
+  /**
+   * Replaces this instance's pricing with the source's pricing at the given time, and returns the keys of
+   * items whose promotions the replay cannot reproduce.
+   */
+  public Set<String> seed(long timestampMicros) {
+    if (sourceUrl.isEmpty()) {
+      throw new IllegalStateException("No pricing source: in-process replays read the pricing history from "
+          + "spring.datasource.url");
+    }
+    LocalDateTime at = LocalDateTime.ofInstant(Instant.EPOCH.plus(timestampMicros, ChronoUnit.MICROS),
+        clock.getZone());
+    JdbcTemplate source = new JdbcTemplate(new DriverManagerDataSource(sourceUrl, sourceUsername, sourcePassword));
+    List<PricingConfig> pricing = pricingAt(source, at);
+    // Everything is read before anything is deleted, in case the source is this instance's own database
+    Map<String, List<Map<String, Object>>> copied = new LinkedHashMap<>();
+    for (String table : COPIED_TABLES) {
+      copied.put(table, source.queryForList("SELECT * FROM " + table));
+    }
+    for (int i = COPIED_TABLES.size() - 1; i >= 0; i--) {
+      jdbcTemplate.update("DELETE FROM " + COPIED_TABLES.get(i));
+    }
+    pricingRepository.deleteAll();
+    pricingRepository.saveAll(pricing);
+    copied.forEach(this::insert);
+    priceBook.reload();
+    Set<String> uncomparable = promotedSince(copied.get("scheduled_offer"), at, LocalDateTime.now(clock));
+    log.info("Replay starts from the pricing of {} items at {}, with {} bundles, {} promotions and {} barcodes as "
+            + "they are now", pricing.size(), at, copied.get("bundle_offer").size(),
+        copied.get("scheduled_offer").size(), copied.get("item_barcode").size());
+    if (!uncomparable.isEmpty()) {
+      log.warn("Totals of carts holding {} are not compared: their promotions run by the replay's clock",
+          uncomparable);
+    }
+    return uncomparable;
+  }
+
+  private void insert(String table, List<Map<String, Object>> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    // Only the columns this instance's schema has; the source may carry more
+    Set<String> targetColumns = new HashSet<>();
+    for (String column : jdbcTemplate.queryForRowSet("SELECT * FROM " + table + " WHERE 1 = 0").getMetaData()
+        .getColumnNames()) {
+      targetColumns.add(column.toLowerCase(Locale.ROOT));
+    }
+    List<String> columns = new ArrayList<>();
+    for (String column : rows.get(0).keySet()) {
+      if (targetColumns.contains(column.toLowerCase(Locale.ROOT))) {
+        columns.add(column);
+      }
+    }
+    String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+        + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    List<Object[]> values = new ArrayList<>(rows.size());
+    for (Map<String, Object> row : rows) {
+      values.add(columns.stream().map(row::get).toArray());
+    }
+    jdbcTemplate.batchUpdate(sql, values);
+  }
+
+  static Set<String> promotedSince(List<Map<String, Object>> promotions, LocalDateTime from, LocalDateTime to) {
+    Set<String> items = new TreeSet<>();
+    for (Map<String, Object> promotion : promotions) {
+      LocalDateTime validFrom = ((Timestamp) promotion.get("valid_from")).toLocalDateTime();
+      Timestamp validTo = (Timestamp) promotion.get("valid_to");
+      if (validFrom.isBefore(to) && (validTo == null || validTo.toLocalDateTime().isAfter(from))) {
+        items.add((String) promotion.get("item_key"));
+      }
+    }
+    return items;
+  }
+
+  static List<PricingConfig> pricingAt(JdbcTemplate source, LocalDateTime at) {
+    // Rows come oldest first, so each item ends up with its last version by then
+    Map<String, PricingConfig> pricing = new LinkedHashMap<>();
+    source.query(PRICING_AT_SQL, row -> {
+      PricingConfig config = new PricingConfig();
+      config.setItemKey(row.getString("item_key"));
+      config.setPriceInCents(row.getInt("price_in_cents"));
+      config.setOfferQuantity(row.getObject("offer_quantity", Integer.class));
+      config.setOfferSavingsInCents(row.getObject("offer_savings_in_cents", Integer.class));
+      List<PricingOffer> tiers = new ArrayList<>();
+      for (DiscountRule tier : PricingHistoryEntry.parseOfferTiers(row.getString("offer_tiers"))) {
+        tiers.add(new PricingOffer(tier.getRequiredQuantity(), tier.getSavingsInCents()));
+      }
+      config.setOfferTiers(tiers);
+      pricing.put(config.getItemKey(), config);
+    }, Timestamp.valueOf(at));
+    return new ArrayList<>(pricing.values());
+  }
+}
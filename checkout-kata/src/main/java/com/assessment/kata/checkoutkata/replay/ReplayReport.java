@@ -0,0 +1,118 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint outcome of a replay: latency percentiles, throughput, errors, totals that differ
+ * from the recorded ones and totals that could not be compared.
+ */
+public class ReplayReport {
+
+  private static final String ROW = "%-38s %8s %7s %9s %9s %9s %9s %9s %9s%n";
+
+  private final String description;
+  private final long elapsedNanos;
+  private final Map<String, EndpointStats> endpoints;
+
+  public ReplayReport(String description, long elapsedNanos, Map<String, EndpointStats> endpoints) {
+    this.description = description;
+    this.elapsedNanos = elapsedNanos;
+    this.endpoints = new TreeMap<>(endpoints);
+  }
+
+  public EndpointStats get(String endpoint) {
+    return endpoints.get(endpoint);
+  }
+
+  public long requests() {
+    return endpoints.values().stream().mapToLong(EndpointStats::count).sum();
+  }
+
+  public boolean hasFailures() {
+    return endpoints.values().stream().anyMatch(stats -> stats.errors > 0 || stats.mismatches > 0);
+  }
+
+  public String format() {
+    double seconds = elapsedNanos / 1e9;
+    StringBuilder report = new StringBuilder(512);
+    report.append(String.format("Replayed %d requests %s in %.2f s (%.1f req/s)%n", requests(), description,
+        seconds, requests() / seconds));
+    report.append(String.format(ROW, "Endpoint", "Count", "Errors", "Mismatch", "Req/s", "p50 ms", "p99 ms",
+        "p99.9 ms", "max ms"));
+    endpoints.forEach((endpoint, stats) -> {
+      Histogram latency = stats.latency;
+      report.append(String.format(ROW, endpoint, stats.count(), stats.errors, stats.mismatches,
+          String.format("%.1f", stats.count() / seconds), millis(latency.getValueAtPercentile(50)),
+          millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+          millis(latency.getMaxValue())));
+    });
+    long notCompared = endpoints.values().stream().mapToLong(EndpointStats::notCompared).sum();
+    if (notCompared > 0) {
+      report.append(String.format("%d totals not compared: their carts held items on promotion%n", notCompared));
+    }
+    return report.toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format("%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  /**
+   * Latencies in nanoseconds, measured from when each request was due to be sent, plus error,
+   * mismatch and not compared counts. Each replay worker keeps its own and they are merged at the end.
+   */
+  public static final class EndpointStats {
+
+    private final Histogram latency = new Histogram(3);
+    private long errors;
+    private long mismatches;
+    private long notCompared;
+
+    void record(long latencyNanos) {
+      latency.recordValue(latencyNanos);
+    }
+
+    void error() {
+      errors++;
+    }
+
+    void mismatch() {
+      mismatches++;
+    }
+
+    void skipComparison() {
+      notCompared++;
+    }
+
+    void add(EndpointStats other) {
+      latency.add(other.latency);
+      errors += other.errors;
+      mismatches += other.mismatches;
+      notCompared += other.notCompared;
+    }
+
+    public long count() {
+      return latency.getTotalCount();
+    }
+
+    public long errors() {
+      return errors;
+    }
+
+    public long mismatches() {
+      return mismatches;
+    }
+
+    public long notCompared() {
+      return notCompared;
+    }
+
+    public long percentileNanos(double percentile) {
+      return latency.getValueAtPercentile(percentile);
+    }
+  }
+}
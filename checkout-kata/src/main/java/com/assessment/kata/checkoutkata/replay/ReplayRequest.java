@@ -0,0 +1,45 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import com.assessment.kata.checkoutkata.journal.JournalRecord;
+
+/**
+ * A journal record copied out of the journal, to be sent again.
+ *
+ * @param amountInCents the cart total the journal recorded after it, or {@link JournalRecord#TOTAL_UNKNOWN};
+ *                      the new price, or the offer savings, of a pricing change
+ */
+public record ReplayRequest(long sequence, int type, long timestampMicros, String cartId, String key, int quantity,
+                            int amountInCents) {
+
+  public static ReplayRequest of(JournalRecord record) {
+    return new ReplayRequest(record.sequence(), record.type(), record.timestampMicros(), record.cartId(), record.key(),
+        record.quantity(), record.totalInCents());
+  }
+
+  public boolean isPricing() {
+    return type == JournalRecord.PRICE || type == JournalRecord.OFFER;
+  }
+
+  /**
+   * The endpoint the request goes to, as it is reported.
+   */
+  public String endpoint() {
+    return switch (type) {
+      case JournalRecord.SCAN -> "POST /api/checkout/{cartId}/scan";
+      case JournalRecord.REMOVE -> "POST /api/checkout/{cartId}/remove";
+      case JournalRecord.CLEAR -> "POST /api/checkout/{cartId}/clear";
+      case JournalRecord.COMPLETE -> "POST /api/checkout/{cartId}/complete";
+      case JournalRecord.PRICE -> "PATCH /admin/pricing/{item}/price";
+      case JournalRecord.OFFER -> quantity > 0 ? "PATCH /admin/pricing/{item}/offer" : "DELETE /admin/pricing/{item}/offer";
+      default -> throw new IllegalArgumentException("Unknown journal record type " + type);
+    };
+  }
+
+  /**
+   * The cart total a replay should arrive at, when the journal knows it. Clears and pricing changes
+   * have none to compare.
+   */
+  public boolean hasExpectedTotal() {
+    return amountInCents != JournalRecord.TOTAL_UNKNOWN && !isPricing() && type != JournalRecord.CLEAR;
+  }
+}
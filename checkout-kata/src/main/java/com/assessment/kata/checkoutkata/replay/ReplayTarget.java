@@ -0,0 +1,16 @@
+package com.assessment.kata.checkoutkata.replay;
+
+/**
+ * Where replayed requests are sent.
+ */
+public interface ReplayTarget {
+
+  /**
+   * Sends the request and waits for its response.
+   *
+   * @return the cart's total after it as the API formats it, e.g. "$0.45", or null when the response has none
+   */
+  String send(ReplayRequest request);
+
+  String describe();
+}
@@ -0,0 +1,14 @@
+package com.assessment.kata.checkoutkata.repository;
+
+import com.assessment.kata.checkoutkata.model.BundleOfferConfig;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BundleOfferRepository extends JpaRepository<BundleOfferConfig, String> {
+
+  @Query("SELECT new com.assessment.kata.checkoutkata.repository.PricingFingerprint(COUNT(b), MAX(b.updatedAt)) "
+      + "FROM BundleOfferConfig b")
+  PricingFingerprint findFingerprint();
+}
@@ -0,0 +1,9 @@
+package com.assessment.kata.checkoutkata.repository;
+
+import com.assessment.kata.checkoutkata.model.CartSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CartSnapshotRepository extends JpaRepository<CartSnapshot, String> {
+}
@@ -0,0 +1,9 @@
+package com.assessment.kata.checkoutkata.repository;
+
+import com.assessment.kata.checkoutkata.model.ItemBarcode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ItemBarcodeRepository extends JpaRepository<ItemBarcode, Long> {
+}
@@ -0,0 +1,9 @@
+package com.assessment.kata.checkoutkata.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap summary of the pricing_config table, used to notice changes made outside this application.
+ */
+public record PricingFingerprint(long itemCount, LocalDateTime lastUpdated) {
+}
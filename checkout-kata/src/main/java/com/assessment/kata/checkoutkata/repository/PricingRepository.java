@@ -15,10 +15,26 @@ public interface PricingRepository extends JpaRepository<PricingConfig, String>
   @Query("SELECT p FROM PricingConfig p WHERE p.offerQuantity IS NOT NULL AND p.offerSavingsInCents IS NOT NULL")
   List<PricingConfig> findAllWithOffers();
 
+  /**
+   * Bulk updates bypass {@code @UpdateTimestamp}, so this sets updatedAt itself for incremental exports to see.
+   */
   @Modifying
-  @Query("UPDATE PricingConfig p SET p.offerQuantity = null, p.offerSavingsInCents = null WHERE p.itemKey = :itemKey")
+  @Query("UPDATE PricingConfig p SET p.offerQuantity = null, p.offerSavingsInCents = null, "
+      + "p.updatedAt = CURRENT_TIMESTAMP WHERE p.itemKey = :itemKey")
   void removeOfferByItemKey(String itemKey);
 
+  @Query("SELECT new com.assessment.kata.checkoutkata.repository.PricingFingerprint(COUNT(p), MAX(p.updatedAt)) "
+      + "FROM PricingConfig p")
+  PricingFingerprint findFingerprint();
+
+  /**
+   * Changes whenever pricing_offer rows are added, removed or edited; those rows carry no timestamp
+   * of their own for {@link #findFingerprint()} to see.
+   */
+  @Query(value = "SELECT COUNT(*) * 1000003 + COALESCE(SUM(offer_quantity * 65537 + offer_savings_in_cents), 0) "
+      + "FROM pricing_offer", nativeQuery = true)
+  long findOfferTierChecksum();
+
   Optional<PricingConfig> findByItemKey(String itemKey);
 
   boolean existsByItemKey(String itemKey);
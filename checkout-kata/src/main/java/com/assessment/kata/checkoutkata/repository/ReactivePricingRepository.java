@@ -0,0 +1,28 @@
+package com.assessment.kata.checkoutkata.repository;
+
+import com.assessment.kata.checkoutkata.model.PricingConfigRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactivePricingRepository extends R2dbcRepository<PricingConfigRecord, String> {
+
+  Mono<PricingConfigRecord> findByItemKey(String itemKey);
+
+  @Modifying
+  @Query("UPDATE pricing_config SET price_in_cents = :priceInCents, updated_at = CURRENT_TIMESTAMP WHERE item_key = :itemKey")
+  Mono<Integer> updatePriceByItemKey(String itemKey, int priceInCents);
+
+  @Modifying
+  @Query("UPDATE pricing_config SET offer_quantity = :quantity, offer_savings_in_cents = :savingsInCents, "
+      + "updated_at = CURRENT_TIMESTAMP WHERE item_key = :itemKey")
+  Mono<Integer> updateOfferByItemKey(String itemKey, int quantity, int savingsInCents);
+
+  @Modifying
+  @Query("UPDATE pricing_config SET offer_quantity = NULL, offer_savings_in_cents = NULL, "
+      + "updated_at = CURRENT_TIMESTAMP WHERE item_key = :itemKey")
+  Mono<Integer> removeOfferByItemKey(String itemKey);
+}
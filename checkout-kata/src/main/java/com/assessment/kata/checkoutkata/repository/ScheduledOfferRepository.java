@@ -0,0 +1,20 @@
+package com.assessment.kata.checkoutkata.repository;
+
+import com.assessment.kata.checkoutkata.model.ScheduledOffer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledOfferRepository extends JpaRepository<ScheduledOffer, Long> {
+
+  @Query("SELECT s FROM ScheduledOffer s WHERE s.validTo IS NULL OR s.validTo > :now")
+  List<ScheduledOffer> findNotExpired(LocalDateTime now);
+
+  @Query("SELECT new com.assessment.kata.checkoutkata.repository.PricingFingerprint(COUNT(s), MAX(s.updatedAt)) "
+      + "FROM ScheduledOffer s")
+  PricingFingerprint findFingerprint();
+}
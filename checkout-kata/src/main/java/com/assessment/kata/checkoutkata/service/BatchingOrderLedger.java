@@ -0,0 +1,250 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.exception.OrderLedgerUnavailableException;
+import com.assessment.kata.checkoutkata.model.CheckoutSummary;
+import com.assessment.kata.checkoutkata.model.Receipt;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Writes the orders of completed checkouts behind the checkout, so completing one never waits for a
+ * database commit unless the configured durability asks for it.
+ *
+ * <p>Receipts go into a bounded queue. A single writer thread takes whatever has queued up, up to one
+ * batch, and writes it to the orders table in one JDBC batch and one transaction: while a batch
+ * commits the next one gathers, so the commit cost is shared by every checkout that completed
+ * meanwhile. A batch that fails is retried until it commits; the upsert makes a retry after an
+ * unacknowledged commit harmless. It matches on receipt id and cart id, so a receipt id already held by
+ * another cart's order is a key violation rather than a skipped row: that order is logged and failed,
+ * and the rest of its batch is written without it.
+ *
+ * <p>With {@code ASYNC} durability a checkout returns once its receipt is queued. With {@code COMMIT}
+ * it waits, up to the commit timeout, for the batch holding its receipt to commit.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "checkout.orders.enabled", havingValue = "true", matchIfMissing = true)
+public class BatchingOrderLedger implements OrderLedger {
+
+  public enum Durability {
+    ASYNC,
+    COMMIT
+  }
+
+  // Standard MERGE, so the same statement runs on PostgreSQL 15+ and H2
+  private static final String UPSERT_SQL = """
+      MERGE INTO orders AS o
+      USING (VALUES (CAST(? AS VARCHAR(40)), CAST(? AS VARCHAR(36)), CAST(? AS TIMESTAMP), CAST(? AS INTEGER),
+                     CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS VARCHAR), CAST(? AS VARCHAR)))
+          AS r (receipt_id, cart_id, completed_at, subtotal_in_cents, discount_in_cents, total_in_cents, items,
+                discounts)
+      ON o.receipt_id = r.receipt_id AND o.cart_id = r.cart_id
+      WHEN NOT MATCHED THEN INSERT (receipt_id, cart_id, completed_at, subtotal_in_cents, discount_in_cents,
+                                    total_in_cents, items, discounts)
+          VALUES (r.receipt_id, r.cart_id, r.completed_at, r.subtotal_in_cents, r.discount_in_cents,
+                  r.total_in_cents, r.items, r.discounts)
+      """;
+  private static final long POLL_MILLIS = 100;
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final Durability durability;
+  private final int batchSize;
+  private final Duration enqueueTimeout;
+  private final Duration commitTimeout;
+  private final Duration retryDelay;
+  private final BlockingQueue<PendingOrder> queue;
+  private final DistributionSummary batchSizes;
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  public BatchingOrderLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, MeterRegistry registry,
+                             @Value("${checkout.orders.durability:ASYNC}") Durability durability,
+                             @Value("${checkout.orders.queue-capacity:10000}") int queueCapacity,
+                             @Value("${checkout.orders.batch-size:500}") int batchSize,
+                             @Value("${checkout.orders.enqueue-timeout:100ms}") Duration enqueueTimeout,
+                             @Value("${checkout.orders.commit-timeout:2s}") Duration commitTimeout,
+                             @Value("${checkout.orders.retry-delay:1s}") Duration retryDelay) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.durability = durability;
+    this.batchSize = batchSize;
+    this.enqueueTimeout = enqueueTimeout;
+    this.commitTimeout = commitTimeout;
+    this.retryDelay = retryDelay;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    Gauge.builder("checkout.orders.queued", queue, BlockingQueue::size)
+        .description("Completed checkouts waiting to be written to the orders table")
+        .register(registry);
+    this.batchSizes = DistributionSummary.builder("checkout.orders.batch.size")
+        .description("Orders written per commit")
+        .baseUnit("orders")
+        .register(registry);
+    this.writer = new Thread(this::writeOrders, "order-ledger");
+    this.writer.setDaemon(true);
+  }
+
+  @PostConstruct
+  public void start() {
+    writer.start();
+  }
+
+  @Override
+  public boolean record(Receipt receipt) {
+    if (!running) {
+      throw new OrderLedgerUnavailableException("The order ledger is shut down");
+    }
+    PendingOrder order = new PendingOrder(receipt, new CompletableFuture<>());
+    try {
+      if (!queue.offer(order, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new OrderLedgerUnavailableException(
+            String.format("Too many orders waiting to be written, receipt %s was not taken", receipt.getReceiptId()));
+      }
+      if (durability == Durability.ASYNC) {
+        return false;
+      }
+      // The order is queued and will be written even if this wait gives up
+      order.committed().get(commitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (TimeoutException e) {
+      log.warn("Order {} not committed within {}, it stays queued", receipt.getReceiptId(), commitTimeout);
+      return false;
+    } catch (ExecutionException e) {
+      // Only an order whose receipt id is taken fails; other failed batches are retried
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Stops taking receipts and waits for the writer to commit the ones already queued.
+   */
+  @PreDestroy
+  public void close() throws InterruptedException {
+    running = false;
+    writer.join(SHUTDOWN_TIMEOUT.toMillis());
+    if (!queue.isEmpty()) {
+      log.error("Shut down with {} orders still unwritten", queue.size());
+    }
+  }
+
+  private void writeOrders() {
+    List<PendingOrder> batch = new ArrayList<>(batchSize);
+    try {
+      while (running || !queue.isEmpty()) {
+        PendingOrder first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        commitWithRetry(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void commitWithRetry(List<PendingOrder> batch) throws InterruptedException {
+    while (true) {
+      try {
+        write(batch);
+        break;
+      } catch (DataIntegrityViolationException e) {
+        failTakenReceipts(batch, e);
+        return;
+      } catch (RuntimeException e) {
+        if (!running) {
+          log.error("Could not write {} orders while shutting down, first receipt {}", batch.size(),
+              batch.get(0).receipt().getReceiptId(), e);
+          return;
+        }
+        log.warn("Could not write {} orders, retrying in {}", batch.size(), retryDelay, e);
+        Thread.sleep(retryDelay.toMillis());
+      }
+    }
+    batchSizes.record(batch.size());
+    for (PendingOrder order : batch) {
+      order.committed().complete(null);
+    }
+  }
+
+  // Retrying cannot free a receipt id, so the batch is written order by order to single out the taken ones
+  private void failTakenReceipts(List<PendingOrder> batch, DataIntegrityViolationException e)
+      throws InterruptedException {
+    if (batch.size() > 1) {
+      for (PendingOrder order : batch) {
+        commitWithRetry(List.of(order));
+      }
+      return;
+    }
+    Receipt receipt = batch.get(0).receipt();
+    log.error("Receipt {} of cart {} is already taken by another order, the order is not recorded",
+        receipt.getReceiptId(), receipt.getCartId(), e);
+    batch.get(0).committed().completeExceptionally(e);
+  }
+
+  private void write(List<PendingOrder> batch) {
+    List<Object[]> rows = new ArrayList<>(batch.size());
+    for (PendingOrder order : batch) {
+      Receipt receipt = order.receipt();
+      CheckoutSummary summary = receipt.getSummary();
+      rows.add(new Object[] {receipt.getReceiptId(), receipt.getCartId(), Timestamp.valueOf(receipt.getCompletedAt()),
+          summary.getSubtotalInCents(), summary.getTotalDiscountInCents(), summary.getFinalTotalInCents(),
+          writeItems(summary), toJson(summary.getAppliedDiscounts())});
+    }
+    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows));
+    log.debug("Wrote {} orders in one commit", rows.size());
+  }
+
+  private String writeItems(CheckoutSummary summary) {
+    Map<String, Integer> items = new LinkedHashMap<>();
+    summary.getItems().forEach((item, quantity) -> items.put(item.getKey(), quantity));
+    return toJson(items);
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private record PendingOrder(Receipt receipt, CompletableFuture<Void> committed) {
+  }
+}
@@ -0,0 +1,31 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.model.Cart;
+import com.assessment.kata.checkoutkata.model.Item;
+
+/**
+ * Records cart mutations after they were applied, so carts can be rebuilt after a restart.
+ * Callers hold the cart's lock, which keeps a cart's records in the order its changes were made.
+ */
+public interface CartJournal {
+
+  CartJournal NONE = new CartJournal() {
+    @Override
+    public void added(Cart cart, Item item, int quantity) {
+    }
+
+    @Override
+    public void removed(Cart cart, Item item, int quantity) {
+    }
+
+    @Override
+    public void cleared(Cart cart) {
+    }
+  };
+
+  void added(Cart cart, Item item, int quantity);
+
+  void removed(Cart cart, Item item, int quantity);
+
+  void cleared(Cart cart);
+}
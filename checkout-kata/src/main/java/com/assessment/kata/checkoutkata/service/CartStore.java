@@ -0,0 +1,84 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.discount.DiscountEngine;
+import com.assessment.kata.checkoutkata.model.Cart;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Holds every open cart keyed by cart id. Carts are spread over independent
+ * shards so that lanes working on different carts never contend on one map.
+ *
+ * <p>A cart is dropped once it is emptied and nobody streams it, so the store only grows with the
+ * carts in use. A caller that looked a cart up before it was dropped sees it marked removed once it
+ * holds the cart's lock, and looks it up again.
+ */
+@Component
+public class CartStore {
+
+  private static final int SHARDS_PER_CORE = 4;
+
+  private final ConcurrentHashMap<String, Cart>[] shards;
+  private final int shardMask;
+  private final Function<String, Cart> newCart;
+  // Highest version of any dropped cart; new carts start from it, so a cart id never repeats a version
+  private final AtomicLong droppedVersion = new AtomicLong();
+
+  @Autowired
+  public CartStore(DiscountEngine discountEngine) {
+    this(Runtime.getRuntime().availableProcessors() * SHARDS_PER_CORE, discountEngine);
+  }
+
+  @SuppressWarnings("unchecked")
+  CartStore(int minimumShards, DiscountEngine discountEngine) {
+    int shardCount = Integer.highestOneBit(Math.max(1, minimumShards - 1)) << 1;
+    this.shards = new ConcurrentHashMap[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new ConcurrentHashMap<>();
+    }
+    this.shardMask = shardCount - 1;
+    this.newCart = cartId -> new Cart(cartId, discountEngine.newSolver(), droppedVersion.get());
+  }
+
+  public Cart getOrCreate(String cartId) {
+    return shardFor(cartId).computeIfAbsent(cartId, newCart);
+  }
+
+  public Optional<Cart> find(String cartId) {
+    return Optional.ofNullable(shardFor(cartId).get(cartId));
+  }
+
+  /**
+   * Drops the cart, unless another one has taken its id since. Callers hold the cart's lock.
+   */
+  public void remove(Cart cart) {
+    cart.markRemoved();
+    droppedVersion.accumulateAndGet(cart.getVersion(), Math::max);
+    shardFor(cart.getCartId()).remove(cart.getCartId(), cart);
+  }
+
+  public void forEach(Consumer<Cart> action) {
+    for (ConcurrentHashMap<String, Cart> shard : shards) {
+      shard.values().forEach(action);
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (ConcurrentHashMap<String, Cart> shard : shards) {
+      size += shard.size();
+    }
+    return size;
+  }
+
+  private ConcurrentHashMap<String, Cart> shardFor(String cartId) {
+    int hash = cartId.hashCode();
+    return shards[(hash ^ (hash >>> 16)) & shardMask];
+  }
+}
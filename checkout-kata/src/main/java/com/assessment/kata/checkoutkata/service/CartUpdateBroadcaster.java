@@ -0,0 +1,100 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateType;
+import com.assessment.kata.checkoutkata.model.Cart;
+import com.assessment.kata.checkoutkata.model.CheckoutSummary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.assessment.kata.checkoutkata.mapper.CheckoutMapper.toCartUpdateDTO;
+
+/**
+ * Fans cart updates out to the clients streaming them.
+ *
+ * <p>Each watched cart has one replay-latest sink, created with its first subscriber and dropped
+ * with its last, so carts nobody watches cost a map lookup per change. Updates are emitted while
+ * the caller holds the cart's lock, which keeps them in cart order; the channel's own lock only
+ * orders them against the empty summary a subscriber gets for a cart that is not open yet.
+ * Every subscriber buffers only the latest update: one that reads slowly skips intermediate totals
+ * instead of holding memory or a thread.
+ */
+@Component
+public class CartUpdateBroadcaster {
+
+  private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+
+  public boolean isWatched(String cartId) {
+    return !channels.isEmpty() && channels.containsKey(cartId);
+  }
+
+  /**
+   * Streams the cart's updates, starting with its current summary. The summary is only computed
+   * for a cart that has no subscriber yet; later ones replay the latest update. A cart that is not
+   * open yet starts with the empty summary, and the stream picks it up once it is created.
+   */
+  public Flux<CartUpdateDTO> updates(String cartId, Supplier<Optional<Cart>> cart,
+                                     Function<Cart, CheckoutSummary> summarize, Supplier<CheckoutSummary> empty) {
+    return Flux.defer(() -> {
+      Channel channel = channels.compute(cartId, (id, existing) -> {
+        Channel opened = existing != null ? existing : new Channel();
+        opened.subscribers++;
+        return opened;
+      });
+      // Looked up after the channel is open, so a cart created from here on publishes to it
+      Optional<Cart> open = cart.get();
+      if (open.isPresent()) {
+        synchronized (open.get()) {
+          publishCurrent(channel, open.get().getVersion(), () -> summarize.apply(open.get()));
+        }
+      } else {
+        publishCurrent(channel, 0, empty);
+      }
+      return channel.sink.asFlux()
+          .onBackpressureLatest()
+          .doFinally(signal -> channels.computeIfPresent(cartId,
+              (id, opened) -> --opened.subscribers == 0 ? null : opened));
+    });
+  }
+
+  /**
+   * Pushes the cart's new summary to its subscribers. Callers hold the cart's lock.
+   */
+  public void publish(Cart cart, CartUpdateType type, String message, CheckoutSummary summary) {
+    Channel channel = channels.get(cart.getCartId());
+    if (channel != null) {
+      publish(channel, cart.getVersion(), type, message, summary);
+    }
+  }
+
+  private static void publishCurrent(Channel channel, long version, Supplier<CheckoutSummary> current) {
+    synchronized (channel) {
+      if (channel.sent == null) {
+        publish(channel, version, CartUpdateType.CURRENT, null, current.get());
+      }
+    }
+  }
+
+  private static void publish(Channel channel, long version, CartUpdateType type, String message,
+                              CheckoutSummary summary) {
+    synchronized (channel) {
+      int change = channel.sent == null ? 0 : summary.getFinalTotalInCents() - channel.sent.getFinalTotalInCents();
+      channel.sent = summary;
+      channel.sink.tryEmitNext(toCartUpdateDTO(type, version, message, change, summary));
+    }
+  }
+
+  private static final class Channel {
+    private final Sinks.Many<CartUpdateDTO> sink = Sinks.many().replay().latest();
+    // Guarded by the channels map
+    private int subscribers;
+    // Guarded by the channel, as the first summary may be sent before the cart exists
+    private CheckoutSummary sent;
+  }
+}
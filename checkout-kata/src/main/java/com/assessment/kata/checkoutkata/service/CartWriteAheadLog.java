@@ -0,0 +1,196 @@
+package com.assessment.kata.checkoutkata.service;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of cart mutations, kept in segment files named after their first sequence number.
+ *
+ * <p>Each record is written to the file as soon as it is appended, so it survives the process
+ * dying; {@link #force()} makes the written records survive the machine too. A record is framed
+ * by its length and CRC, and replay stops reading a segment at the first record that does not
+ * check out, which is where a crash cut the segment short.
+ */
+final class CartWriteAheadLog implements Closeable {
+
+  static final byte ADD = 1;
+  static final byte REMOVE = 2;
+  static final byte CLEAR = 3;
+
+  private static final String SEGMENT_PREFIX = "cart-wal-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  // Cart ids and item keys are short; this leaves ample room for both in UTF-8
+  private static final int MAX_BODY = 512;
+  private static final int HEADER = Integer.BYTES * 2;
+
+  record Entry(long sequence, byte operation, String cartId, String itemKey, int quantity) {
+  }
+
+  private final Path directory;
+  private final List<Path> sealed;
+  private final ByteBuffer buffer = ByteBuffer.allocate(HEADER + MAX_BODY);
+  private final CRC32 crc = new CRC32();
+  private FileChannel channel;
+  private long startedAt;
+  private long nextSequence;
+
+  private CartWriteAheadLog(Path directory, List<Path> sealed, long nextSequence) {
+    this.directory = directory;
+    this.sealed = sealed;
+    this.nextSequence = nextSequence;
+  }
+
+  /**
+   * Starts a new segment after the existing ones, which stay on disk until they are released.
+   */
+  static CartWriteAheadLog open(Path directory, long nextSequence) throws IOException {
+    Files.createDirectories(directory);
+    CartWriteAheadLog log = new CartWriteAheadLog(directory, new ArrayList<>(segments(directory)), nextSequence);
+    log.startSegment();
+    return log;
+  }
+
+  /**
+   * Reads every record in sequence order and returns the highest sequence seen, or 0 when there is none.
+   */
+  static long replay(Path directory, Consumer<Entry> consumer) throws IOException {
+    long lastSequence = 0;
+    for (Path segment : segments(directory)) {
+      try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+        Entry entry;
+        while ((entry = read(input)) != null) {
+          consumer.accept(entry);
+          lastSequence = Math.max(lastSequence, entry.sequence());
+        }
+      }
+    }
+    return lastSequence;
+  }
+
+  synchronized long append(byte operation, String cartId, String itemKey, int quantity) throws IOException {
+    long sequence = nextSequence;
+    byte[] cart = cartId.getBytes(StandardCharsets.UTF_8);
+    byte[] item = itemKey == null ? new byte[0] : itemKey.getBytes(StandardCharsets.UTF_8);
+    buffer.clear();
+    buffer.position(HEADER);
+    buffer.putLong(sequence).put(operation)
+        .putShort((short) cart.length).put(cart)
+        .putShort((short) item.length).put(item)
+        .putInt(quantity);
+    int bodyLength = buffer.position() - HEADER;
+    crc.reset();
+    crc.update(buffer.array(), HEADER, bodyLength);
+    buffer.putInt(0, bodyLength).putInt(Integer.BYTES, (int) crc.getValue());
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    nextSequence++;
+    return sequence;
+  }
+
+  synchronized void force() throws IOException {
+    channel.force(false);
+  }
+
+  /**
+   * Seals the current segment, unless it is still empty, and returns every sealed segment not yet
+   * released. Each of them only holds records appended before this call.
+   */
+  synchronized List<Path> rotate() throws IOException {
+    if (channel.position() > 0) {
+      channel.force(false);
+      channel.close();
+      sealed.add(segmentPath(directory, startedAt));
+      startSegment();
+    }
+    return List.copyOf(sealed);
+  }
+
+  /**
+   * Deletes sealed segments whose records are all held elsewhere now.
+   */
+  synchronized void release(List<Path> segments) throws IOException {
+    for (Path segment : segments) {
+      Files.deleteIfExists(segment);
+      sealed.remove(segment);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    channel.force(false);
+    channel.close();
+  }
+
+  private void startSegment() throws IOException {
+    startedAt = nextSequence;
+    Path path = segmentPath(directory, startedAt);
+    // A file by this name can only hold a record that was cut short, as every complete one is older
+    sealed.remove(path);
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  private static Entry read(DataInputStream input) throws IOException {
+    try {
+      int bodyLength = input.readInt();
+      int checksum = input.readInt();
+      if (bodyLength <= 0 || bodyLength > MAX_BODY) {
+        return null;
+      }
+      byte[] body = new byte[bodyLength];
+      input.readFully(body);
+      CRC32 crc = new CRC32();
+      crc.update(body);
+      if ((int) crc.getValue() != checksum) {
+        return null;
+      }
+      ByteBuffer record = ByteBuffer.wrap(body);
+      long sequence = record.getLong();
+      byte operation = record.get();
+      String cartId = readString(record);
+      String itemKey = readString(record);
+      return new Entry(sequence, operation, cartId, itemKey.isEmpty() ? null : itemKey, record.getInt());
+    } catch (EOFException e) {
+      return null;
+    }
+  }
+
+  private static String readString(ByteBuffer record) {
+    byte[] bytes = new byte[record.getShort()];
+    record.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static List<Path> segments(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      // Zero-padded names sort in sequence order
+      return files.filter(file -> {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+      }).sorted().toList();
+    }
+  }
+
+  private static Path segmentPath(Path directory, long firstSequence) {
+    return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+  }
+}
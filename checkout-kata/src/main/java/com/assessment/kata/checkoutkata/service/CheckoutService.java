@@ -1,15 +1,82 @@
 package com.assessment.kata.checkoutkata.service;
 
+import com.assessment.kata.checkoutkata.dto.checkout.BarcodeScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
+import com.assessment.kata.checkoutkata.exception.EmptyCartException;
 import com.assessment.kata.checkoutkata.exception.ItemNotFoundException;
+import reactor.core.publisher.Flux;
 
 public interface CheckoutService {
-  ScanResponseDTO scanItems(ItemQuantityRequestDTO request) throws ItemNotFoundException;
-  ScanResponseDTO removeItems(ItemQuantityRequestDTO request) throws ItemNotFoundException;
-  CheckoutSummaryResponseDTO getCurrentTotal();
-  CurrentItemsResponseDTO getCurrentItemsResponse();
-  void clearCart();
+
+  String DEFAULT_CART_ID = "default";
+
+  ScanResponseDTO scanItems(String cartId, ItemQuantityRequestDTO request) throws ItemNotFoundException;
+  ScanResponseDTO scanBarcode(String cartId, BarcodeScanRequestDTO request) throws ItemNotFoundException;
+  BatchScanResponseDTO scanBatch(String cartId, BatchScanRequestDTO request) throws ItemNotFoundException;
+  ScanResponseDTO removeItems(String cartId, ItemQuantityRequestDTO request) throws ItemNotFoundException;
+  CheckoutSummaryResponseDTO getCurrentTotal(String cartId);
+  CurrentItemsResponseDTO getCurrentItemsResponse(String cartId);
+  void clearCart(String cartId);
+
+  /**
+   * Pays for the cart: freezes its summary under a new receipt id, hands the order to the order ledger
+   * and clears the cart. Returns without waiting for the order to be written unless the ledger is
+   * configured to wait for its commit.
+   */
+  ReceiptResponseDTO completeCheckout(String cartId) throws EmptyCartException;
+
+  /**
+   * Entity tag for the cart's total and items. It changes whenever the cart or the price
+   * book changes, and is computed without pricing the cart.
+   */
+  String getCartETag(String cartId);
+
+  /**
+   * Streams the cart's summary: its current state first, then a new one after every scan, removal,
+   * clear or price change that affects it. A slow reader only receives the latest summary.
+   */
+  Flux<CartUpdateDTO> streamCartUpdates(String cartId);
+
+  default ScanResponseDTO scanItems(ItemQuantityRequestDTO request) throws ItemNotFoundException {
+    return scanItems(DEFAULT_CART_ID, request);
+  }
+
+  default ScanResponseDTO scanBarcode(BarcodeScanRequestDTO request) throws ItemNotFoundException {
+    return scanBarcode(DEFAULT_CART_ID, request);
+  }
+
+  default BatchScanResponseDTO scanBatch(BatchScanRequestDTO request) throws ItemNotFoundException {
+    return scanBatch(DEFAULT_CART_ID, request);
+  }
+
+  default ScanResponseDTO removeItems(ItemQuantityRequestDTO request) throws ItemNotFoundException {
+    return removeItems(DEFAULT_CART_ID, request);
+  }
+
+  default CheckoutSummaryResponseDTO getCurrentTotal() {
+    return getCurrentTotal(DEFAULT_CART_ID);
+  }
+
+  default CurrentItemsResponseDTO getCurrentItemsResponse() {
+    return getCurrentItemsResponse(DEFAULT_CART_ID);
+  }
+
+  default String getCartETag() {
+    return getCartETag(DEFAULT_CART_ID);
+  }
+
+  default void clearCart() {
+    clearCart(DEFAULT_CART_ID);
+  }
+
+  default ReceiptResponseDTO completeCheckout() throws EmptyCartException {
+    return completeCheckout(DEFAULT_CART_ID);
+  }
 }
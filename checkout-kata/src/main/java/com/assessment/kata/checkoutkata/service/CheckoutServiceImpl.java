@@ -1,194 +1,311 @@
 package com.assessment.kata.checkoutkata.service;
 
+import com.assessment.kata.checkoutkata.dto.checkout.BarcodeScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanLineDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateType;
 import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
+import com.assessment.kata.checkoutkata.event.PriceUpdateBatchEvent;
 import com.assessment.kata.checkoutkata.event.PriceUpdateEvent;
+import com.assessment.kata.checkoutkata.exception.EmptyCartException;
 import com.assessment.kata.checkoutkata.exception.ItemNotFoundException;
+import com.assessment.kata.checkoutkata.journal.JournalRecord;
+import com.assessment.kata.checkoutkata.journal.TransactionJournal;
+import com.assessment.kata.checkoutkata.metrics.CheckoutMetrics;
+import com.assessment.kata.checkoutkata.model.Cart;
 import com.assessment.kata.checkoutkata.model.CheckoutSummary;
-import com.assessment.kata.checkoutkata.model.DiscountBreakdown;
-import com.assessment.kata.checkoutkata.model.DiscountRule;
 import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import com.assessment.kata.checkoutkata.model.Receipt;
+import com.assessment.kata.checkoutkata.util.ETags;
+import com.assessment.kata.checkoutkata.util.ReceiptIds;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.StringJoiner;
 
+import static com.assessment.kata.checkoutkata.mapper.CheckoutMapper.toBatchScanLineDTO;
+import static com.assessment.kata.checkoutkata.mapper.CheckoutMapper.toBatchScanResponseDTO;
 import static com.assessment.kata.checkoutkata.mapper.CheckoutMapper.toCheckoutSummaryResponseDTO;
 import static com.assessment.kata.checkoutkata.mapper.CheckoutMapper.toCurrentItemsResponse;
+import static com.assessment.kata.checkoutkata.mapper.CheckoutMapper.toReceiptResponseDTO;
 import static com.assessment.kata.checkoutkata.mapper.CheckoutMapper.toRemovalScanResponse;
 import static com.assessment.kata.checkoutkata.mapper.CheckoutMapper.toScanResponseDTO;
 
 @Service
+@Timed(value = "checkout.service", histogram = true)
 public class CheckoutServiceImpl implements CheckoutService {
 
   private final PricingService pricingService;
-  private final Map<Item, Integer> currentCart = new ConcurrentHashMap<>();
-  private volatile String lastPriceChangeMessage = null;
+  private final CartStore cartStore;
+  private final CheckoutMetrics checkoutMetrics;
+  private final CartUpdateBroadcaster cartUpdates;
+  private final CartJournal cartJournal;
+  private final TransactionJournal transactionJournal;
+  private final OrderLedger orderLedger;
+  private final Clock clock;
 
-  public CheckoutServiceImpl(PricingService pricingService) {
+  public CheckoutServiceImpl(PricingService pricingService, CartStore cartStore, CheckoutMetrics checkoutMetrics,
+                             CartUpdateBroadcaster cartUpdates, CartJournal cartJournal,
+                             TransactionJournal transactionJournal, OrderLedger orderLedger, Clock clock) {
     this.pricingService = pricingService;
+    this.cartStore = cartStore;
+    this.checkoutMetrics = checkoutMetrics;
+    this.cartUpdates = cartUpdates;
+    this.cartJournal = cartJournal;
+    this.transactionJournal = transactionJournal;
+    this.orderLedger = orderLedger;
+    this.clock = clock;
   }
 
   @Override
-  public ScanResponseDTO scanItems(ItemQuantityRequestDTO request) throws ItemNotFoundException {
-    Item item = Item.fromKey(request.getItemName());
-    int quantity = request.getQuantity();
+  public ScanResponseDTO scanItems(String cartId, ItemQuantityRequestDTO request) throws ItemNotFoundException {
+    PriceBookSnapshot priceBook = pricingService.getPriceBook();
+    Item item = priceBook.getCatalog().resolve(request.getItemName());
+    return scan(cartId, item, request.getQuantity(), priceBook);
+  }
 
-    if (!isValidItem(item)) {
-      throw new ItemNotFoundException(String.format("Item %s not found", item));
+  @Override
+  public ScanResponseDTO scanBarcode(String cartId, BarcodeScanRequestDTO request) throws ItemNotFoundException {
+    PriceBookSnapshot priceBook = pricingService.getPriceBook();
+    Item item = priceBook.findByBarcode(Long.parseLong(request.getBarcode()));
+    if (item == null) {
+      throw new ItemNotFoundException(String.format("No item found for barcode %s", request.getBarcode()));
     }
-    currentCart.merge(item, quantity, Integer::sum);
-    CheckoutSummary summary = calculateTotal();
-    String priceChangeMsg = getAndClearLastPriceChangeMessage();
-
-    return toScanResponseDTO(
-        item,
-        quantity,
-        summary,
-        getCurrentItems(),
-        priceChangeMsg
-    );
+    return scan(cartId, item, request.getQuantity(), priceBook);
   }
 
   @Override
-  public ScanResponseDTO removeItems(ItemQuantityRequestDTO request) throws ItemNotFoundException {
-    Item item = Item.fromKey(request.getItemName());
-    int quantity = request.getQuantity();
-    if (!currentCart.containsKey(item)) {
-      throw new ItemNotFoundException(String.format("Item %s not in cart", item));
+  public BatchScanResponseDTO scanBatch(String cartId, BatchScanRequestDTO request) throws ItemNotFoundException {
+    // Resolve every line before touching the cart so an invalid line leaves it unchanged
+    List<ItemQuantityRequestDTO> lines = request.getItems();
+    Item[] items = new Item[lines.size()];
+    PriceBookSnapshot priceBook = pricingService.getPriceBook();
+    for (int i = 0; i < items.length; i++) {
+      items[i] = priceBook.getCatalog().resolve(lines.get(i).getItemName());
+      if (!priceBook.contains(items[i])) {
+        throw new ItemNotFoundException(String.format("Item %s not found", items[i]));
+      }
     }
+    return scanBatch(cartId, lines, items, priceBook);
+  }
 
-    currentCart.computeIfPresent(item, (cartItem, currentQuantity) -> {
-      int newQuantity = currentQuantity - quantity;
-      return newQuantity > 0 ? newQuantity : null;
-    });
+  private BatchScanResponseDTO scanBatch(String cartId, List<ItemQuantityRequestDTO> lines, Item[] items,
+                                         PriceBookSnapshot priceBook) {
+    Cart cart = cartStore.getOrCreate(cartId);
+    synchronized (cart) {
+      if (cart.isRemoved()) {
+        return scanBatch(cartId, lines, items, priceBook);
+      }
+      List<BatchScanLineDTO> results = new ArrayList<>(items.length);
+      for (int i = 0; i < items.length; i++) {
+        int quantity = lines.get(i).getQuantity();
+        int currentQuantity = cart.add(items[i], quantity, priceBook);
+        cartJournal.added(cart, items[i], quantity);
+        checkoutMetrics.recordScan(items[i], quantity, currentQuantity, priceBook.get(items[i]));
+        results.add(toBatchScanLineDTO(items[i], quantity, currentQuantity));
+      }
+      CheckoutSummary summary = cart.summarize(priceBook);
+      // The cart is only priced once per batch, so only its last line carries the total
+      for (int i = 0; i < items.length; i++) {
+        transactionJournal.scanned(cartId, items[i], lines.get(i).getQuantity(),
+            i == items.length - 1 ? summary.getFinalTotalInCents() : JournalRecord.TOTAL_UNKNOWN);
+      }
+      cartUpdates.publish(cart, CartUpdateType.SCANNED, null, summary);
+      return toBatchScanResponseDTO(results, summary, cart.takePendingPriceChangeMessage());
+    }
+  }
 
-    CheckoutSummary summary = calculateTotal();
+  @Override
+  public ScanResponseDTO removeItems(String cartId, ItemQuantityRequestDTO request) throws ItemNotFoundException {
+    PriceBookSnapshot priceBook = pricingService.getPriceBook();
+    Item item = priceBook.getCatalog().resolve(request.getItemName());
+    int quantity = request.getQuantity();
+    Cart cart = cartStore.find(cartId)
+        .orElseThrow(() -> new ItemNotFoundException(String.format("Item %s not in cart", item)));
+
+    synchronized (cart) {
+      if (!cart.contains(item)) {
+        throw new ItemNotFoundException(String.format("Item %s not in cart", item));
+      }
+      cart.remove(item, quantity, priceBook);
+      cartJournal.removed(cart, item, quantity);
+      CheckoutSummary summary = cart.summarize(priceBook);
+      transactionJournal.removed(cartId, item, quantity, summary.getFinalTotalInCents());
+      cartUpdates.publish(cart, CartUpdateType.REMOVED, null, summary);
+      dropIfIdle(cart);
 
-    return toRemovalScanResponse(
-        item,
-        quantity,
-        summary,
-        getCurrentItems()
-    );
+      return toRemovalScanResponse(
+          item,
+          quantity,
+          summary,
+          summary.getItems()
+      );
+    }
   }
 
   @Override
-  public CheckoutSummaryResponseDTO getCurrentTotal() {
-    CheckoutSummary checkoutSummary = calculateTotal();
+  public CheckoutSummaryResponseDTO getCurrentTotal(String cartId) {
+    CheckoutSummary checkoutSummary = cartStore.find(cartId)
+        .map(cart -> cart.summarize(pricingService.getPriceBook()))
+        .orElseGet(this::emptySummary);
     return toCheckoutSummaryResponseDTO(checkoutSummary);
   }
 
   @Override
-  public CurrentItemsResponseDTO getCurrentItemsResponse() {
-    return toCurrentItemsResponse(getCurrentItems());
+  public CurrentItemsResponseDTO getCurrentItemsResponse(String cartId) {
+    Map<Item, Integer> items = cartStore.find(cartId)
+        .map(Cart::getItems)
+        .orElseGet(Map::of);
+    return toCurrentItemsResponse(items);
   }
 
   @Override
-  public void clearCart() {
-    currentCart.clear();
+  public String getCartETag(String cartId) {
+    long cartVersion = cartStore.find(cartId).map(Cart::getVersion).orElse(0L);
+    return ETags.forCart(cartVersion, pricingService.getPriceBook().getVersion());
   }
 
-  @EventListener
-  public void onPriceUpdate(PriceUpdateEvent event) {
-    // Check if this price change affects current cart
-    if (currentCart.containsKey(event.getItem())) {
-
-      // Calculate new total with updated prices and create notification
-      lastPriceChangeMessage = String.format(
-          "🔄 %s Your cart has been recalculated.",
-          event.getDescription()
-      );
-    }
+  @Override
+  public Flux<CartUpdateDTO> streamCartUpdates(String cartId) {
+    return cartUpdates.updates(cartId, () -> cartStore.find(cartId),
+            cart -> cart.summarize(pricingService.getPriceBook()), this::emptySummary)
+        // A cart emptied while it was watched is kept for its stream, and dropped once that closes
+        .doFinally(signal -> cartStore.find(cartId).ifPresent(cart -> {
+          synchronized (cart) {
+            dropIfIdle(cart);
+          }
+        }));
   }
 
-  private String getAndClearLastPriceChangeMessage() {
-    String message = lastPriceChangeMessage;
-    lastPriceChangeMessage = null;
-    return message;
+  @Override
+  public void clearCart(String cartId) {
+    cartStore.find(cartId).ifPresent(cart -> {
+      synchronized (cart) {
+        boolean hadItems = !cart.isEmpty();
+        if (hadItems) {
+          checkoutMetrics.recordCartSize(cart.getTotalQuantity());
+        }
+        cart.clear();
+        if (hadItems) {
+          cartJournal.cleared(cart);
+          transactionJournal.cleared(cartId);
+        }
+        if (cartUpdates.isWatched(cartId)) {
+          cartUpdates.publish(cart, CartUpdateType.CLEARED, null, emptySummary());
+        }
+        dropIfIdle(cart);
+      }
+    });
   }
 
-  private boolean isValidItem(Item item) {
-    return pricingService.hasItemConfiguration(item);
+  @Override
+  public ReceiptResponseDTO completeCheckout(String cartId) {
+    Cart cart = cartStore.find(cartId)
+        .orElseThrow(() -> new EmptyCartException(String.format("Cart %s is empty", cartId)));
+    synchronized (cart) {
+      if (cart.isEmpty()) {
+        throw new EmptyCartException(String.format("Cart %s is empty", cartId));
+      }
+      Receipt receipt = new Receipt(ReceiptIds.next(), cartId, LocalDateTime.now(clock),
+          cart.summarize(pricingService.getPriceBook()));
+      // Throws before the cart is touched when the order cannot be taken
+      boolean recorded = orderLedger.record(receipt);
+      checkoutMetrics.recordCartSize(cart.getTotalQuantity());
+      cart.clear();
+      cartJournal.cleared(cart);
+      transactionJournal.completed(cartId, receipt.getReceiptId(), receipt.getSummary().getFinalTotalInCents());
+      if (cartUpdates.isWatched(cartId)) {
+        cartUpdates.publish(cart, CartUpdateType.CLEARED, "Paid with receipt " + receipt.getReceiptId(),
+            emptySummary());
+      }
+      dropIfIdle(cart);
+      return toReceiptResponseDTO(receipt, recorded);
+    }
   }
 
-  private CheckoutSummary calculateTotal() {
-    int subtotal = calculateSubtotal();
-    int totalDiscount = calculateTotalDiscount();
-    int finalTotal = subtotal - totalDiscount;
-    List<DiscountBreakdown> breakdowns = calculateDiscountBreakdowns();
-
-    return new CheckoutSummary(
-        new HashMap<>(currentCart),
-        subtotal,
-        totalDiscount,
-        finalTotal,
-        breakdowns
-    );
+  @EventListener
+  public void onPriceUpdates(PriceUpdateBatchEvent batch) {
+    // Notify every cart holding a changed item on its next scan; the cart
+    // reprices the affected lines itself once it sees the newer price book
+    Map<Item, String> descriptions = new HashMap<>();
+    for (PriceUpdateEvent update : batch.getUpdates()) {
+      // An item can change in several ways at once, e.g. its price and its offer
+      descriptions.merge(update.getItem(), update.getDescription(), (earlier, later) -> earlier + "; " + later);
+    }
+    cartStore.forEach(cart -> {
+      StringJoiner changes = new StringJoiner("; ");
+      for (Item item : cart.getItems().keySet()) {
+        String description = descriptions.get(item);
+        if (description != null) {
+          changes.add(description);
+        }
+      }
+      if (changes.length() > 0) {
+        String message = String.format("🔄 %s Your cart has been recalculated.", changes);
+        cart.setPendingPriceChangeMessage(message);
+        if (cartUpdates.isWatched(cart.getCartId())) {
+          synchronized (cart) {
+            CheckoutSummary summary = cart.summarize(pricingService.getPriceBook());
+            cartUpdates.publish(cart, CartUpdateType.PRICES_CHANGED, message, summary);
+          }
+        }
+      }
+    });
   }
 
-  private List<DiscountBreakdown> calculateDiscountBreakdowns() {
-    return currentCart.entrySet().stream()
-        .map(entry -> {
-          Item item = entry.getKey();
-          int quantity = entry.getValue();
-          Optional<DiscountRule> discountRule = pricingService.getDiscountRule(item);
-
-          if (discountRule.isEmpty()) {
-            return null;
-          }
+  private ScanResponseDTO scan(String cartId, Item item, int quantity, PriceBookSnapshot priceBook) {
+    if (!priceBook.contains(item)) {
+      throw new ItemNotFoundException(String.format("Item %s not found", item));
+    }
+    Cart cart = cartStore.getOrCreate(cartId);
+    synchronized (cart) {
+      if (cart.isRemoved()) {
+        // Emptied and dropped since the lookup; looking it up again opens a new cart
+        return scan(cartId, item, quantity, priceBook);
+      }
+      int currentQuantity = cart.add(item, quantity, priceBook);
+      cartJournal.added(cart, item, quantity);
+      checkoutMetrics.recordScan(item, quantity, currentQuantity, priceBook.get(item));
+      CheckoutSummary summary = cart.summarize(priceBook);
+      transactionJournal.scanned(cartId, item, quantity, summary.getFinalTotalInCents());
+      cartUpdates.publish(cart, CartUpdateType.SCANNED, null, summary);
+      String priceChangeMsg = cart.takePendingPriceChangeMessage();
 
-          int discountSets = quantity / discountRule.get().getRequiredQuantity();
-          if (discountSets > 0) {
-            return new DiscountBreakdown(
-                item.getDisplayName(),
-                discountSets,
-                discountRule.get().getSavingsInCents(),
-                discountSets * discountRule.get().getSavingsInCents()
-            );
-          }
-          return null;
-        })
-        .filter(Objects::nonNull)
-        .collect(Collectors.toList());
-  }
-
-  private int calculateSubtotal() {
-    return currentCart.entrySet().stream()
-        .mapToInt(entry -> {
-          int quantity = entry.getValue();
-          int priceInCents = pricingService.getItemPriceInCents(entry.getKey());
-          return quantity * priceInCents;
-        })
-        .sum();
-  }
-
-  private int calculateTotalDiscount() {
-    return currentCart.entrySet().stream()
-        .mapToInt(entry -> {
-          Item item = entry.getKey();
-          int quantity = entry.getValue();
-          Optional<DiscountRule> discountRule = pricingService.getDiscountRule(item);
-
-          if (discountRule.isEmpty()) {
-            return 0;
-          }
+      return toScanResponseDTO(
+          item,
+          quantity,
+          summary,
+          summary.getItems(),
+          priceChangeMsg
+      );
+    }
+  }
 
-          int discountSets = quantity / discountRule.get().getRequiredQuantity();
-          return discountSets * discountRule.get().getSavingsInCents();
-        })
-        .sum();
+  /**
+   * Drops an emptied cart nobody streams, so the store only holds carts in use. Callers hold the cart's lock.
+   */
+  private void dropIfIdle(Cart cart) {
+    if (cart.isEmpty() && !cart.isRemoved() && !cartUpdates.isWatched(cart.getCartId())) {
+      cartStore.remove(cart);
+    }
   }
 
-  private Map<Item, Integer> getCurrentItems() {
-    return new HashMap<>(currentCart);
+  private CheckoutSummary emptySummary() {
+    return new CheckoutSummary(Map.of(), 0, 0, 0, List.of());
   }
 }
@@ -0,0 +1,272 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.model.Cart;
+import com.assessment.kata.checkoutkata.model.CartSnapshot;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import com.assessment.kata.checkoutkata.repository.CartSnapshotRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps carts across restarts without putting the database on the scan path.
+ *
+ * <p>Every mutation is appended to a local {@link CartWriteAheadLog} while the cart's lock is held,
+ * which costs one file write. A background flusher periodically writes the carts changed since its
+ * last run to cart_snapshot in one JDBC batch and then deletes the log segments those snapshots
+ * cover. On startup the carts are rebuilt from their snapshots plus the log records that came after.
+ *
+ * <p>The flusher seals the current segment before it collects the changed carts, and a cart is marked
+ * changed before its record is appended, so every record in a sealed segment belongs to a cart whose
+ * snapshot is written in that same run.
+ */
+@Slf4j
+@Component
+public class DurableCartJournal implements CartJournal {
+
+  // Standard MERGE, so the same statement runs on PostgreSQL 15+ and H2
+  private static final String UPSERT_SQL = """
+      MERGE INTO cart_snapshot AS c
+      USING (VALUES (CAST(? AS VARCHAR(36)), CAST(? AS VARCHAR), CAST(? AS BIGINT), CAST(? AS TIMESTAMP)))
+          AS s (cart_id, items, journal_sequence, saved_at)
+      ON c.cart_id = s.cart_id
+      WHEN MATCHED THEN UPDATE SET items = s.items, journal_sequence = s.journal_sequence, updated_at = s.saved_at
+      WHEN NOT MATCHED THEN INSERT (cart_id, items, journal_sequence, updated_at)
+          VALUES (s.cart_id, s.items, s.journal_sequence, s.saved_at)
+      """;
+  private static final String DELETE_SQL = "DELETE FROM cart_snapshot WHERE cart_id = ?";
+  private static final TypeReference<LinkedHashMap<String, Integer>> ITEMS_TYPE = new TypeReference<>() {
+  };
+
+  private final CartStore cartStore;
+  private final PriceBook priceBook;
+  private final CartSnapshotRepository cartSnapshotRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+  private final boolean enabled;
+  private final Path directory;
+  private final Set<Cart> changed = ConcurrentHashMap.newKeySet();
+  private CartWriteAheadLog journal;
+
+  public DurableCartJournal(CartStore cartStore, PriceBook priceBook, CartSnapshotRepository cartSnapshotRepository,
+                            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper, Clock clock,
+                            @Value("${checkout.carts.durable:true}") boolean enabled,
+                            @Value("${checkout.carts.journal-dir:data/cart-journal}") Path directory) {
+    this.cartStore = cartStore;
+    this.priceBook = priceBook;
+    this.cartSnapshotRepository = cartSnapshotRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.directory = directory;
+  }
+
+  /**
+   * Rebuilds the carts from their snapshots and the log records after them, then opens a new segment.
+   * The recovered carts are written again by the first flush, which lets it release the old segments.
+   */
+  @PostConstruct
+  public void recover() throws IOException {
+    if (!enabled) {
+      return;
+    }
+    PriceBookSnapshot prices = priceBook.snapshot();
+    long lastSequence = 0;
+    for (CartSnapshot snapshot : cartSnapshotRepository.findAll()) {
+      Cart cart = cartStore.getOrCreate(snapshot.getCartId());
+      synchronized (cart) {
+        readItems(snapshot).forEach((key, quantity) -> restore(cart, CartWriteAheadLog.ADD, key, quantity, prices));
+        cart.setJournalSequence(snapshot.getJournalSequence());
+        changed.add(cart);
+      }
+      lastSequence = Math.max(lastSequence, snapshot.getJournalSequence());
+    }
+    int snapshots = changed.size();
+
+    long[] replayed = new long[1];
+    lastSequence = Math.max(lastSequence, CartWriteAheadLog.replay(directory, entry -> {
+      Cart cart = cartStore.getOrCreate(entry.cartId());
+      synchronized (cart) {
+        if (entry.sequence() <= cart.getJournalSequence()) {
+          return;
+        }
+        if (entry.operation() == CartWriteAheadLog.CLEAR) {
+          cart.clear();
+        } else {
+          restore(cart, entry.operation(), entry.itemKey(), entry.quantity(), prices);
+        }
+        cart.setJournalSequence(entry.sequence());
+        changed.add(cart);
+        replayed[0]++;
+      }
+    }));
+
+    // Emptied carts stay marked, so the first flush deletes their snapshots, but leave the store
+    for (Cart cart : changed) {
+      synchronized (cart) {
+        if (cart.isEmpty()) {
+          cartStore.remove(cart);
+        }
+      }
+    }
+
+    journal = CartWriteAheadLog.open(directory, lastSequence + 1);
+    if (!changed.isEmpty()) {
+      log.info("Recovered {} carts from {} snapshots and {} journal records", changed.size(), snapshots,
+          replayed[0]);
+    }
+  }
+
+  @Override
+  public void added(Cart cart, Item item, int quantity) {
+    append(cart, CartWriteAheadLog.ADD, item.getKey(), quantity);
+  }
+
+  @Override
+  public void removed(Cart cart, Item item, int quantity) {
+    append(cart, CartWriteAheadLog.REMOVE, item.getKey(), quantity);
+  }
+
+  @Override
+  public void cleared(Cart cart) {
+    append(cart, CartWriteAheadLog.CLEAR, null, 0);
+  }
+
+  /**
+   * Writes the carts changed since the last run and releases the log segments they cover. When the
+   * database is unavailable the carts stay marked and their segments stay on disk for the next run.
+   */
+  @Scheduled(fixedDelayString = "${checkout.carts.snapshot-interval:1s}",
+      initialDelayString = "${checkout.carts.snapshot-interval:1s}")
+  public synchronized void flush() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      if (changed.isEmpty()) {
+        journal.force();
+        return;
+      }
+      List<Path> covered = journal.rotate();
+      List<Cart> carts = new ArrayList<>(changed.size());
+      for (Cart cart : changed) {
+        changed.remove(cart);
+        carts.add(cart);
+      }
+      try {
+        write(carts);
+      } catch (RuntimeException e) {
+        changed.addAll(carts);
+        throw e;
+      }
+      journal.release(covered);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Cart snapshot failed, keeping the journal for the next run", e);
+    }
+  }
+
+  @PreDestroy
+  public synchronized void close() throws IOException {
+    if (journal != null) {
+      flush();
+      journal.close();
+    }
+  }
+
+  private void write(List<Cart> carts) {
+    Timestamp savedAt = Timestamp.valueOf(LocalDateTime.now(clock));
+    List<Object[]> upserts = new ArrayList<>(carts.size());
+    List<Object[]> deletes = new ArrayList<>();
+    for (Cart cart : carts) {
+      synchronized (cart) {
+        if (cart.isEmpty()) {
+          deletes.add(new Object[] {cart.getCartId()});
+        } else {
+          upserts.add(new Object[] {cart.getCartId(), writeItems(cart), cart.getJournalSequence(), savedAt});
+        }
+      }
+    }
+    // Deletes first: a dropped cart and the one that took its id since can be written in the same run
+    transactionTemplate.executeWithoutResult(status -> {
+      if (!deletes.isEmpty()) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+      }
+      if (!upserts.isEmpty()) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+      }
+    });
+    log.debug("Wrote {} cart snapshots and removed {}", upserts.size(), deletes.size());
+  }
+
+  private void append(Cart cart, byte operation, String itemKey, int quantity) {
+    if (!enabled) {
+      return;
+    }
+    changed.add(cart);
+    try {
+      cart.setJournalSequence(journal.append(operation, cart.getCartId(), itemKey, quantity));
+    } catch (IOException e) {
+      // The cart is still marked, so the next snapshot holds this change
+      log.error("Could not journal a change to cart {}", cart.getCartId(), e);
+    }
+  }
+
+  private void restore(Cart cart, byte operation, String itemKey, int quantity, PriceBookSnapshot prices) {
+    Item item = prices.getCatalog().find(itemKey);
+    if (item == null || !prices.contains(item)) {
+      log.warn("Dropping {} of item {} from cart {}: it is no longer priced", quantity, itemKey, cart.getCartId());
+      return;
+    }
+    if (operation == CartWriteAheadLog.ADD) {
+      cart.add(item, quantity, prices);
+    } else {
+      cart.remove(item, quantity, prices);
+    }
+  }
+
+  private Map<String, Integer> readItems(CartSnapshot snapshot) {
+    try {
+      return objectMapper.readValue(snapshot.getItems(), ITEMS_TYPE);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private String writeItems(Cart cart) {
+    Map<String, Integer> items = new LinkedHashMap<>();
+    cart.getItems().forEach((item, quantity) -> items.put(item.getKey(), quantity));
+    try {
+      return objectMapper.writeValueAsString(items);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.exception.OrderLedgerUnavailableException;
+import com.assessment.kata.checkoutkata.model.Receipt;
+
+/**
+ * Stores the orders of completed checkouts. Callers hold the cart's lock, so a cart is only cleared
+ * once its receipt was accepted.
+ */
+public interface OrderLedger {
+
+  OrderLedger NONE = receipt -> true;
+
+  /**
+   * Accepts the receipt's order for storage.
+   *
+   * @return true when the order is already committed, false when it is queued to be written
+   * @throws OrderLedgerUnavailableException when the order cannot be accepted; nothing was stored
+   */
+  boolean record(Receipt receipt);
+}
@@ -0,0 +1,316 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.event.PromotionScheduleChangedEvent;
+import com.assessment.kata.checkoutkata.model.BarcodeIndex;
+import com.assessment.kata.checkoutkata.model.BundleOffer;
+import com.assessment.kata.checkoutkata.model.BundleOfferConfig;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemBarcode;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.model.PromotionSchedule;
+import com.assessment.kata.checkoutkata.model.ScheduledOffer;
+import com.assessment.kata.checkoutkata.repository.BundleOfferRepository;
+import com.assessment.kata.checkoutkata.repository.ItemBarcodeRepository;
+import com.assessment.kata.checkoutkata.repository.PricingFingerprint;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import com.assessment.kata.checkoutkata.repository.ScheduledOfferRepository;
+import com.assessment.kata.checkoutkata.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link PriceBookSnapshot} used for all item and price lookups.
+ * The snapshot is loaded once at startup and replaced atomically after admin updates commit,
+ * so readers never lock and never reach the database.
+ *
+ * <p>Promotions are compiled into a {@link PromotionSchedule}; the snapshot always holds the
+ * promotions active at the last applied transition, and {@link #advancePromotions(long)} swaps
+ * in the next ones when their boundary is reached.
+ */
+@Slf4j
+@Component
+public class PriceBook {
+
+  private final PricingRepository pricingRepository;
+  private final ItemBarcodeRepository itemBarcodeRepository;
+  private final BundleOfferRepository bundleOfferRepository;
+  private final ScheduledOfferRepository scheduledOfferRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
+  private final AtomicReference<PriceBookSnapshot> current = new AtomicReference<>(PriceBookSnapshot.empty());
+  private PricingFingerprint loadedFingerprint;
+  private PricingFingerprint loadedBundleFingerprint;
+  private long loadedBarcodeCount = -1;
+  private long loadedOfferTierChecksum = -1;
+  private PricingFingerprint loadedPromotionFingerprint;
+  private PromotionSchedule promotions = PromotionSchedule.empty();
+  private long promotionsAppliedUntil;
+
+  public PriceBook(PricingRepository pricingRepository, ItemBarcodeRepository itemBarcodeRepository,
+                   BundleOfferRepository bundleOfferRepository, ScheduledOfferRepository scheduledOfferRepository,
+                   ApplicationEventPublisher eventPublisher, Clock clock) {
+    this.pricingRepository = pricingRepository;
+    this.itemBarcodeRepository = itemBarcodeRepository;
+    this.bundleOfferRepository = bundleOfferRepository;
+    this.scheduledOfferRepository = scheduledOfferRepository;
+    this.eventPublisher = eventPublisher;
+    this.clock = clock;
+  }
+
+  public PriceBookSnapshot snapshot() {
+    return current.get();
+  }
+
+  public ItemCatalog catalog() {
+    return current.get().getCatalog();
+  }
+
+  /**
+   * Rebuilds the catalog and snapshot from the pricing, barcode, bundle and promotion tables. New keys
+   * are added to the catalog; items that are no longer in the table keep their id but lose their pricing.
+   */
+  @PostConstruct
+  public void reload() {
+    announceSchedule(load());
+  }
+
+  private synchronized long load() {
+    PriceBookSnapshot base = current.get();
+    PricingFingerprint fingerprint = pricingRepository.findFingerprint();
+    PricingFingerprint bundleFingerprint = bundleOfferRepository.findFingerprint();
+    long offerTierChecksum = pricingRepository.findOfferTierChecksum();
+    PricingFingerprint promotionFingerprint = scheduledOfferRepository.findFingerprint();
+    List<PricingConfig> configs = pricingRepository.findAll();
+
+    List<String> keys = new ArrayList<>(configs.size());
+    for (PricingConfig config : configs) {
+      keys.add(config.getItemKey());
+    }
+    ItemCatalog catalog = base.getCatalog().withKeys(keys);
+
+    long now = clock.millis();
+    PromotionSchedule schedule = compilePromotions(catalog);
+    Map<Item, List<DiscountRule>> activePromotions = schedule.activeAt(now);
+    Map<Item, ItemPricing> pricing = new HashMap<>(configs.size() * 2);
+    for (PricingConfig config : configs) {
+      Item item = catalog.resolve(config.getItemKey());
+      try {
+        pricing.put(item, ItemPricing.from(config).withPromotionTiers(activePromotions.getOrDefault(item, List.of())));
+      } catch (IllegalArgumentException e) {
+        // Offers written around the admin API's bounds, e.g. by hand; one bad row must not take the rest off sale
+        ItemPricing previous = base.get(item);
+        log.warn("Cannot price item {}, {}: {}", config.getItemKey(),
+            previous != null ? "keeping its previous pricing" : "leaving it off sale", e.getMessage());
+        if (previous != null) {
+          pricing.put(item, previous);
+        }
+      }
+    }
+    List<ItemBarcode> barcodeRows = itemBarcodeRepository.findAll();
+    BarcodeIndex barcodes = indexBarcodes(barcodeRows, catalog);
+    List<BundleOffer> bundles = resolveBundles(bundleOfferRepository.findAll(), catalog);
+
+    PriceBookSnapshot snapshot = PriceBookSnapshot.of(base.getVersion() + 1, catalog, barcodes, bundles, pricing);
+    if (!current.compareAndSet(base, snapshot)) {
+      // An admin change was applied meanwhile and may have committed after the tables were read
+      log.debug("Price book changed while loading version {}, reading it again", snapshot.getVersion());
+      return load();
+    }
+    loadedFingerprint = fingerprint;
+    loadedBundleFingerprint = bundleFingerprint;
+    loadedBarcodeCount = barcodeRows.size();
+    loadedOfferTierChecksum = offerTierChecksum;
+    loadedPromotionFingerprint = promotionFingerprint;
+    log.debug("Loaded price book version {} with {} items ({} in catalog), {} barcodes, {} bundles and {} "
+            + "active promotions", snapshot.getVersion(), pricing.size(), catalog.size(), barcodes.size(),
+        bundles.size(), activePromotions.size());
+    return usePromotions(schedule, now);
+  }
+
+  /**
+   * Recompiles only the promotion schedule, e.g. after a promotion was added, and applies the
+   * promotions active now.
+   */
+  public void reloadPromotions() {
+    announceSchedule(loadPromotions());
+  }
+
+  private synchronized long loadPromotions() {
+    long now = clock.millis();
+    PricingFingerprint promotionFingerprint = scheduledOfferRepository.findFingerprint();
+    PromotionSchedule schedule = compilePromotions(catalog());
+    Map<Item, List<DiscountRule>> activePromotions = schedule.activeAt(now);
+    PriceBookSnapshot snapshot = current.updateAndGet(previous -> {
+      Map<Item, ItemPricing> changes = new HashMap<>();
+      for (Item item : previous.getCatalog().items()) {
+        ItemPricing pricing = previous.get(item);
+        if (pricing != null) {
+          ItemPricing promoted = pricing.withPromotionTiers(activePromotions.getOrDefault(item, List.of()));
+          if (promoted != pricing) {
+            changes.put(item, promoted);
+          }
+        }
+      }
+      return changes.isEmpty() ? previous : previous.with(changes);
+    });
+    loadedPromotionFingerprint = promotionFingerprint;
+    log.debug("Price book version {}: {} active promotions", snapshot.getVersion(), activePromotions.size());
+    return usePromotions(schedule, now);
+  }
+
+  /**
+   * Applies every promotion transition up to the given instant in one snapshot swap and returns
+   * each item whose pricing changed, with its pricing before and after.
+   */
+  public synchronized List<PromotionChange> advancePromotions(long untilMillis) {
+    Map<Item, List<DiscountRule>> transitions = promotions.changesBetween(promotionsAppliedUntil, untilMillis);
+    promotionsAppliedUntil = Math.max(promotionsAppliedUntil, untilMillis);
+    if (transitions.isEmpty()) {
+      return List.of();
+    }
+    List<PromotionChange> applied = new ArrayList<>(transitions.size());
+    PriceBookSnapshot snapshot = current.updateAndGet(previous -> {
+      applied.clear();
+      Map<Item, ItemPricing> changes = new HashMap<>(transitions.size() * 2);
+      transitions.forEach((item, promotionTiers) -> {
+        ItemPricing before = previous.get(item);
+        if (before != null && !before.getPromotionTiers().equals(promotionTiers)) {
+          ItemPricing after = before.withPromotionTiers(promotionTiers);
+          changes.put(item, after);
+          applied.add(new PromotionChange(item, before, after));
+        }
+      });
+      return changes.isEmpty() ? previous : previous.with(changes);
+    });
+    log.debug("Price book version {}: promotions changed for {} items", snapshot.getVersion(), applied.size());
+    return applied;
+  }
+
+  /**
+   * The next instant at which some promotion starts or ends, or {@link PromotionSchedule#NO_TRANSITION}.
+   */
+  public synchronized long nextPromotionTransition() {
+    return promotions.nextTransitionAfter(promotionsAppliedUntil);
+  }
+
+  /**
+   * An item whose active promotions changed at a transition.
+   */
+  public record PromotionChange(Item item, ItemPricing before, ItemPricing after) {
+  }
+
+  /**
+   * Reloads only if the tables changed since the last load, e.g. rows added or edited by hand.
+   * Barcode changes are detected by row count, offer tier changes by a checksum.
+   */
+  public void reloadIfChanged() {
+    if (changedSinceLoad()) {
+      reload();
+    }
+  }
+
+  private synchronized boolean changedSinceLoad() {
+    return !Objects.equals(pricingRepository.findFingerprint(), loadedFingerprint)
+        || pricingRepository.findOfferTierChecksum() != loadedOfferTierChecksum
+        || !Objects.equals(scheduledOfferRepository.findFingerprint(), loadedPromotionFingerprint)
+        || !Objects.equals(bundleOfferRepository.findFingerprint(), loadedBundleFingerprint)
+        || itemBarcodeRepository.count() != loadedBarcodeCount;
+  }
+
+  /**
+   * Publishes new pricing for an item once the surrounding transaction commits.
+   * Without an active transaction the change is applied immediately. The item keeps the
+   * promotions it currently has.
+   */
+  public void applyAfterCommit(Item item, ItemPricing itemPricing) {
+    AfterCommit.run(() -> apply(item, itemPricing));
+  }
+
+  /**
+   * Runs {@link #reloadPromotions()} once the surrounding transaction commits.
+   */
+  public void reloadPromotionsAfterCommit() {
+    AfterCommit.run(this::reloadPromotions);
+  }
+
+  private PromotionSchedule compilePromotions(ItemCatalog catalog) {
+    ZoneId zone = clock.getZone();
+    List<PromotionSchedule.Window> windows = new ArrayList<>();
+    for (ScheduledOffer offer : scheduledOfferRepository.findNotExpired(LocalDateTime.now(clock))) {
+      Item item = catalog.find(offer.getItemKey());
+      if (item == null) {
+        log.warn("Ignoring promotion {} for unknown item {}", offer.getId(), offer.getItemKey());
+        continue;
+      }
+      long from = offer.getValidFrom().atZone(zone).toInstant().toEpochMilli();
+      long to = offer.getValidTo() == null ? PromotionSchedule.NO_TRANSITION :
+          offer.getValidTo().atZone(zone).toInstant().toEpochMilli();
+      windows.add(new PromotionSchedule.Window(item,
+          new DiscountRule(offer.getOfferQuantity(), offer.getOfferSavingsInCents()), from, to));
+    }
+    return PromotionSchedule.of(windows);
+  }
+
+  private long usePromotions(PromotionSchedule schedule, long appliedUntil) {
+    promotions = schedule;
+    promotionsAppliedUntil = appliedUntil;
+    return schedule.nextTransitionAfter(appliedUntil);
+  }
+
+  // Published only once this price book's lock is released: the scheduler re-arms under its own lock and
+  // then asks for the next transition, so publishing while locked would take the two locks in opposite orders
+  private void announceSchedule(long nextTransition) {
+    eventPublisher.publishEvent(new PromotionScheduleChangedEvent(this, nextTransition));
+  }
+
+  private static BarcodeIndex indexBarcodes(List<ItemBarcode> rows, ItemCatalog catalog) {
+    long[] codes = new long[rows.size()];
+    int[] itemIds = new int[rows.size()];
+    int count = 0;
+    for (ItemBarcode row : rows) {
+      Item item = catalog.find(row.getItemKey());
+      if (item == null) {
+        log.warn("Ignoring barcode {} for unknown item {}", row.getBarcode(), row.getItemKey());
+        continue;
+      }
+      codes[count] = row.getBarcode();
+      itemIds[count] = item.getId();
+      count++;
+    }
+    return BarcodeIndex.of(codes, itemIds, count);
+  }
+
+  private static List<BundleOffer> resolveBundles(List<BundleOfferConfig> configs, ItemCatalog catalog) {
+    List<BundleOffer> bundles = new ArrayList<>(configs.size());
+    for (BundleOfferConfig config : configs) {
+      BundleOffer.from(config, catalog).ifPresentOrElse(bundles::add,
+          () -> log.warn("Ignoring bundle {}: a component has no known items", config.getBundleKey()));
+    }
+    return bundles;
+  }
+
+  private void apply(Item item, ItemPricing itemPricing) {
+    PriceBookSnapshot snapshot = current.updateAndGet(previous -> {
+      ItemPricing loaded = previous.get(item);
+      List<DiscountRule> promotionTiers = loaded != null ? loaded.getPromotionTiers() : List.of();
+      return previous.with(item, itemPricing.withPromotionTiers(promotionTiers));
+    });
+    log.debug("Price book version {}: {} -> {}", snapshot.getVersion(), item, itemPricing);
+  }
+}
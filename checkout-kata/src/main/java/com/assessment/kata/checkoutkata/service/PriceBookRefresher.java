@@ -0,0 +1,33 @@
+package com.assessment.kata.checkoutkata.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks up catalog and pricing changes made directly in the database.
+ * Each run costs five small queries, for the fingerprints, offer tier checksum and barcode count,
+ * unless the tables actually changed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "checkout.catalog.auto-refresh", havingValue = "true", matchIfMissing = true)
+public class PriceBookRefresher {
+
+  private final PriceBook priceBook;
+
+  public PriceBookRefresher(PriceBook priceBook) {
+    this.priceBook = priceBook;
+  }
+
+  @Scheduled(fixedDelayString = "${checkout.catalog.refresh-interval:30s}",
+      initialDelayString = "${checkout.catalog.refresh-interval:30s}")
+  public void refresh() {
+    try {
+      priceBook.reloadIfChanged();
+    } catch (RuntimeException e) {
+      log.warn("Price book refresh failed, keeping the current snapshot", e);
+    }
+  }
+}
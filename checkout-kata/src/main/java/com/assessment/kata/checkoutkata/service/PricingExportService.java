@@ -0,0 +1,142 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.model.PricingOffer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toFullPricingResponseDTO;
+
+/**
+ * Streams pricing_config as newline-delimited JSON, one {@code FullPricingResponseDTO} per line.
+ *
+ * <p>Rows are read through a forward-only cursor with a bounded fetch size and written as soon as
+ * each item's offer tiers are complete, so memory does not grow with the catalog. The query runs
+ * in a read-only transaction because the PostgreSQL driver only honours the fetch size with
+ * auto-commit off.
+ */
+@Service
+@Timed(value = "pricing.export", histogram = true)
+public class PricingExportService {
+
+  private static final String EXPORT_SQL = """
+      SELECT c.item_key, c.price_in_cents, c.offer_quantity, c.offer_savings_in_cents, c.updated_at,
+             o.offer_quantity AS tier_quantity, o.offer_savings_in_cents AS tier_savings
+      FROM pricing_config c
+      LEFT JOIN pricing_offer o ON o.item_key = c.item_key
+      %s
+      ORDER BY c.item_key, o.offer_quantity
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ObjectWriter rowWriter;
+  private final int fetchSize;
+
+  public PricingExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${checkout.pricing.export.fetch-size:500}") int fetchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    // Flushing after every row would send each one as its own chunk
+    this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Writes every item, or only those updated at or after {@code since} when it is given, ordered by key.
+   * Returns the number of items written.
+   */
+  public int exportNdjson(LocalDateTime since, OutputStream output) {
+    String sql = EXPORT_SQL.formatted(since != null ? "WHERE c.updated_at >= ?" : "");
+    Integer written = readOnlyTransaction.execute(status -> {
+      try (JsonGenerator generator = rowWriter.createGenerator(output)) {
+        // The caller owns the response stream; each item ends its own line
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        ItemWriter items = new ItemWriter(rowWriter, generator);
+        jdbcTemplate.query(connection -> {
+          PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+              ResultSet.CONCUR_READ_ONLY);
+          statement.setFetchSize(fetchSize);
+          if (since != null) {
+            statement.setTimestamp(1, Timestamp.valueOf(since));
+          }
+          return statement;
+        }, items);
+        items.finish();
+        return items.count;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    return written != null ? written : 0;
+  }
+
+  /**
+   * Collects the joined tier rows of one item at a time and writes the item when the key changes.
+   */
+  private static final class ItemWriter implements RowCallbackHandler {
+
+    private final ObjectWriter rowWriter;
+    private final JsonGenerator generator;
+    private PricingConfig current;
+    private int count;
+
+    ItemWriter(ObjectWriter rowWriter, JsonGenerator generator) {
+      this.rowWriter = rowWriter;
+      this.generator = generator;
+    }
+
+    @Override
+    public void processRow(ResultSet row) throws SQLException {
+      String itemKey = row.getString("item_key");
+      if (current == null || !current.getItemKey().equals(itemKey)) {
+        finish();
+        current = new PricingConfig();
+        current.setItemKey(itemKey);
+        current.setPriceInCents(row.getInt("price_in_cents"));
+        current.setOfferQuantity(row.getObject("offer_quantity", Integer.class));
+        current.setOfferSavingsInCents(row.getObject("offer_savings_in_cents", Integer.class));
+        current.setUpdatedAt(row.getTimestamp("updated_at").toLocalDateTime());
+      }
+      Integer tierQuantity = row.getObject("tier_quantity", Integer.class);
+      if (tierQuantity != null) {
+        current.getOfferTiers().add(new PricingOffer(tierQuantity, row.getInt("tier_savings")));
+      }
+    }
+
+    void finish() {
+      if (current == null) {
+        return;
+      }
+      try {
+        rowWriter.writeValue(generator, toFullPricingResponseDTO(current.getItemKey(), current));
+        generator.writeRaw('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      current = null;
+      count++;
+    }
+  }
+}
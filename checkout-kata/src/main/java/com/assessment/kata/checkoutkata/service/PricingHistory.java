@@ -0,0 +1,160 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import com.assessment.kata.checkoutkata.model.PricingHistoryEntry;
+import com.assessment.kata.checkoutkata.model.PricingHistoryIndex;
+import com.assessment.kata.checkoutkata.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps every version of each item's regular pricing in the append-only pricing_history table and
+ * answers which version was in force at a given time from an in-memory {@link PricingHistoryIndex}.
+ *
+ * <p>Pricing changes record their new version in the transaction that makes them, so the history
+ * commits or rolls back with the change; the index picks the version up once it commits.
+ */
+@Slf4j
+@Component
+public class PricingHistory {
+
+  private static final String INSERT_SQL = """
+      INSERT INTO pricing_history (item_key, valid_from, price_in_cents, offer_quantity, offer_savings_in_cents,
+          offer_tiers)
+      VALUES (?, ?, ?, ?, ?, ?)
+      """;
+  private static final String LOAD_SQL = """
+      SELECT item_key, valid_from, price_in_cents, offer_quantity, offer_savings_in_cents, offer_tiers
+      FROM pricing_history
+      ORDER BY item_key, valid_from, id
+      """;
+  private static final String UNRECORDED_SQL = """
+      SELECT c.item_key, c.updated_at
+      FROM pricing_config c
+      WHERE NOT EXISTS (SELECT 1 FROM pricing_history h WHERE h.item_key = c.item_key)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PriceBook priceBook;
+  private final PricingHistoryPartitions partitions;
+  private final Clock clock;
+  private final int batchSize;
+  private final AtomicReference<PricingHistoryIndex> index = new AtomicReference<>(PricingHistoryIndex.empty());
+
+  public PricingHistory(JdbcTemplate jdbcTemplate, PriceBook priceBook, PricingHistoryPartitions partitions,
+                        Clock clock, @Value("${checkout.pricing.import.batch-size:1000}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.priceBook = priceBook;
+    this.partitions = partitions;
+    this.clock = clock;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Starts the history of items priced before it existed with their current pricing, from their last
+   * update, then loads the whole history into the index. The partitions are created first so that
+   * this month's versions do not land in the default partition.
+   */
+  @PostConstruct
+  public void load() {
+    partitions.createUpcoming();
+    ZoneId zone = clock.getZone();
+    PriceBookSnapshot prices = priceBook.snapshot();
+    List<PricingHistoryIndex.Version> unrecorded = new ArrayList<>();
+    jdbcTemplate.query(UNRECORDED_SQL, row -> {
+      Item item = prices.getCatalog().find(row.getString("item_key"));
+      ItemPricing pricing = item != null ? prices.get(item) : null;
+      if (pricing != null) {
+        unrecorded.add(version(item.getKey(), row.getTimestamp("updated_at").toLocalDateTime(), pricing, zone));
+      }
+    });
+    insert(unrecorded);
+
+    List<PricingHistoryIndex.Version> versions = new ArrayList<>();
+    jdbcTemplate.query(LOAD_SQL, row -> {
+      Integer offerQuantity = row.getObject("offer_quantity", Integer.class);
+      DiscountRule rule = offerQuantity != null ?
+          new DiscountRule(offerQuantity, row.getInt("offer_savings_in_cents")) :
+          null;
+      ItemPricing pricing = new ItemPricing(row.getInt("price_in_cents"), rule,
+          PricingHistoryEntry.parseOfferTiers(row.getString("offer_tiers")));
+      versions.add(version(row.getString("item_key"), row.getTimestamp("valid_from").toLocalDateTime(), pricing,
+          zone));
+    });
+    PricingHistoryIndex loaded = PricingHistoryIndex.of(versions);
+    index.set(loaded);
+    log.debug("Loaded {} pricing history versions for {} items", versions.size(), loaded.itemCount());
+  }
+
+  /**
+   * Records the item's new regular pricing, in force from now. Promotion tiers are not recorded.
+   */
+  public void record(String itemKey, ItemPricing pricing) {
+    recordAll(Map.of(itemKey, pricing));
+  }
+
+  /**
+   * Records the new regular pricing of several items at once, in JDBC batches.
+   */
+  public void recordAll(Map<String, ItemPricing> pricingByItemKey) {
+    if (pricingByItemKey.isEmpty()) {
+      return;
+    }
+    LocalDateTime validFrom = LocalDateTime.now(clock);
+    List<PricingHistoryIndex.Version> versions = new ArrayList<>(pricingByItemKey.size());
+    ZoneId zone = clock.getZone();
+    pricingByItemKey.forEach((itemKey, pricing) -> versions.add(version(itemKey, validFrom, pricing, zone)));
+    insert(versions);
+    AfterCommit.run(() -> index.updateAndGet(current -> current.with(versions)));
+  }
+
+  /**
+   * Returns the item's regular pricing in force at the given local time, if it had any by then.
+   */
+  public Optional<PricingHistoryIndex.Version> pricingAt(String itemKey, LocalDateTime at) {
+    return Optional.ofNullable(index.get().at(itemKey, at.atZone(clock.getZone()).toInstant().toEpochMilli()));
+  }
+
+  private void insert(List<PricingHistoryIndex.Version> versions) {
+    List<Object[]> rows = new ArrayList<>(Math.min(versions.size(), batchSize));
+    for (PricingHistoryIndex.Version version : versions) {
+      ItemPricing pricing = version.pricing();
+      DiscountRule rule = pricing.getDiscountRule();
+      rows.add(new Object[] {version.itemKey(), Timestamp.valueOf(version.validFrom()), pricing.getPriceInCents(),
+          rule != null ? rule.getRequiredQuantity() : null, rule != null ? rule.getSavingsInCents() : null,
+          PricingHistoryEntry.formatOfferTiers(pricing.getOfferTiers())});
+      if (rows.size() == batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        rows.clear();
+      }
+    }
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+  }
+
+  private static PricingHistoryIndex.Version version(String itemKey, LocalDateTime validFrom, ItemPricing pricing,
+                                                     ZoneId zone) {
+    // Promotions come and go on their own schedule, so only the regular pricing is kept
+    ItemPricing regular = new ItemPricing(pricing.getPriceInCents(), pricing.getDiscountRule(),
+        pricing.getOfferTiers());
+    return new PricingHistoryIndex.Version(itemKey, validFrom, validFrom.atZone(zone).toInstant().toEpochMilli(),
+        regular);
+  }
+}
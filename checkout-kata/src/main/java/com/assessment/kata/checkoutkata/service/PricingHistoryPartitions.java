@@ -0,0 +1,64 @@
+package com.assessment.kata.checkoutkata.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+
+/**
+ * Creates the monthly partitions of pricing_history ahead of time on PostgreSQL, where data.sql
+ * declares the table partitioned by valid_from. Rows for a month without a partition land in the
+ * default partition, which would then keep that month's partition from being created, so the
+ * current month and the next ones are created before {@link PricingHistory} first writes and
+ * checked daily.
+ */
+@Slf4j
+@Component
+public class PricingHistoryPartitions {
+
+  private static final int MONTHS_AHEAD = 2;
+  private static final String PARTITIONED_SQL = """
+      SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid
+                     WHERE c.relname = 'pricing_history')
+      """;
+  private static final String CREATE_SQL =
+      "CREATE TABLE IF NOT EXISTS pricing_history_%d_%02d PARTITION OF pricing_history FOR VALUES FROM ('%s') TO ('%s')";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Clock clock;
+
+  public PricingHistoryPartitions(JdbcTemplate jdbcTemplate, Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clock = clock;
+  }
+
+  @Scheduled(cron = "${checkout.pricing.history.partition-check:0 0 3 * * *}")
+  public void createUpcoming() {
+    if (!isPartitioned()) {
+      return;
+    }
+    YearMonth month = YearMonth.now(clock);
+    for (int i = 0; i <= MONTHS_AHEAD; i++) {
+      YearMonth partition = month.plusMonths(i);
+      try {
+        jdbcTemplate.execute(String.format(CREATE_SQL, partition.getYear(), partition.getMonthValue(),
+            partition.atDay(1), partition.plusMonths(1).atDay(1)));
+      } catch (DataAccessException e) {
+        log.warn("Could not create the pricing_history partition for {}", partition, e);
+      }
+    }
+  }
+
+  private boolean isPartitioned() {
+    try {
+      return Boolean.TRUE.equals(jdbcTemplate.queryForObject(PARTITIONED_SQL, Boolean.class));
+    } catch (DataAccessException e) {
+      // Not PostgreSQL, e.g. the in-memory test database
+      return false;
+    }
+  }
+}
@@ -0,0 +1,396 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.dto.pricing.PricingImportResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.PricingImportRowDTO;
+import com.assessment.kata.checkoutkata.event.PriceUpdateBatchEvent;
+import com.assessment.kata.checkoutkata.event.PriceUpdateDispatcher;
+import com.assessment.kata.checkoutkata.event.PriceUpdateEvent;
+import com.assessment.kata.checkoutkata.event.UpdateType;
+import com.assessment.kata.checkoutkata.exception.PricingValidationException;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import com.assessment.kata.checkoutkata.util.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toItemAddedDescription;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferRemovalDescription;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferUpdateDescription;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPriceUpdateSummary;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPricingImportResponseDTO;
+
+/**
+ * Imports a whole price file in one transaction.
+ *
+ * <p>Rows are streamed from the request body, validated with the same rules as the single item
+ * admin endpoints and written to pricing_config as batched JDBC upserts, so memory stays bounded
+ * by the batch size and the number of items that actually change. Any invalid row rejects the
+ * whole file. Once the import commits the {@link PriceUpdateDispatcher} reloads the price book on
+ * its own thread, and listeners receive every changed item in a single {@link PriceUpdateBatchEvent}.
+ */
+@Slf4j
+@Service
+@Timed(value = "pricing.import", histogram = true)
+public class PricingImportService {
+
+  static final String CSV_HEADER = "item_key,price_in_cents,offer_quantity,offer_savings_in_cents";
+  private static final int MAX_REPORTED_ERRORS = 20;
+
+  // Standard MERGE, so the same statement runs on PostgreSQL 15+ and H2
+  private static final String UPSERT_SQL = """
+      MERGE INTO pricing_config AS p
+      USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS INTEGER),
+                     CAST(? AS TIMESTAMP)))
+          AS s (item_key, price_in_cents, offer_quantity, offer_savings_in_cents, changed_at)
+      ON p.item_key = s.item_key
+      WHEN MATCHED THEN UPDATE SET price_in_cents = s.price_in_cents, offer_quantity = s.offer_quantity,
+          offer_savings_in_cents = s.offer_savings_in_cents, updated_at = s.changed_at
+      WHEN NOT MATCHED THEN INSERT (item_key, price_in_cents, offer_quantity, offer_savings_in_cents,
+          created_at, updated_at)
+          VALUES (s.item_key, s.price_in_cents, s.offer_quantity, s.offer_savings_in_cents, s.changed_at,
+              s.changed_at)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+  private final PriceBook priceBook;
+  private final PriceUpdateDispatcher priceUpdateDispatcher;
+  private final PricingHistory pricingHistory;
+  private final Clock clock;
+  private final int batchSize;
+
+  public PricingImportService(JdbcTemplate jdbcTemplate, EntityManager entityManager, ObjectMapper objectMapper,
+                              PriceBook priceBook, PriceUpdateDispatcher priceUpdateDispatcher,
+                              PricingHistory pricingHistory, Clock clock,
+                              @Value("${checkout.pricing.import.batch-size:1000}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+    this.priceBook = priceBook;
+    this.priceUpdateDispatcher = priceUpdateDispatcher;
+    this.pricingHistory = pricingHistory;
+    this.clock = clock;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Imports a CSV file with the header {@value #CSV_HEADER}. The offer columns may be left empty.
+   */
+  @Transactional
+  public PricingImportResponseDTO importCsv(InputStream input) {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    return importRows(new CsvRows(reader));
+  }
+
+  /**
+   * Imports either a JSON array of rows or newline-delimited JSON objects.
+   */
+  @Transactional
+  public PricingImportResponseDTO importJson(InputStream input) {
+    MappingIterator<PricingImportRowDTO> rows;
+    try {
+      rows = objectMapper.readerFor(PricingImportRowDTO.class).readValues(input);
+    } catch (JsonProcessingException e) {
+      throw new PricingValidationException("Malformed price file: " + e.getOriginalMessage());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return importRows(new JsonRows(rows));
+  }
+
+  private PricingImportResponseDTO importRows(Iterator<PricingImportRowDTO> rows) {
+    PriceBookSnapshot snapshot = priceBook.snapshot();
+    Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now(clock));
+    // JDBC writes bypass the persistence context, so push pending entity changes out first
+    entityManager.flush();
+
+    List<Object[]> batch = new ArrayList<>(batchSize);
+    Map<String, ImportedChange> changes = new LinkedHashMap<>();
+    List<String> errors = new ArrayList<>();
+    int rowNumber = 0;
+    while (rows.hasNext() && errors.size() < MAX_REPORTED_ERRORS) {
+      rowNumber++;
+      PricingImportRowDTO row;
+      try {
+        row = rows.next();
+      } catch (PricingValidationException e) {
+        errors.add(String.format("Row %d: %s", rowNumber, e.getMessage()));
+        continue;
+      }
+      String error = validate(row);
+      if (error != null) {
+        errors.add(String.format("Row %d: %s", rowNumber, error));
+        continue;
+      }
+      if (!errors.isEmpty()) {
+        // The file is rejected anyway; keep reading only to report further errors
+        continue;
+      }
+
+      Item item = snapshot.getCatalog().find(row.getItemKey().trim());
+      String key = item != null ? item.getKey() : row.getItemKey().trim().toLowerCase(Locale.ROOT);
+      DiscountRule rule = row.getOfferQuantity() != null ?
+          new DiscountRule(row.getOfferQuantity(), row.getOfferSavingsInCents()) :
+          null;
+      ItemPricing before = item != null ? snapshot.get(item) : null;
+      if (before == null || before.getPriceInCents() != row.getPriceInCents()
+          || !Objects.equals(before.getDiscountRule(), rule)) {
+        changes.put(key, new ImportedChange(key, before, row.getPriceInCents(), rule));
+      } else {
+        // A later row may set an item back to its current pricing
+        changes.remove(key);
+      }
+
+      batch.add(new Object[] {key, row.getPriceInCents(), row.getOfferQuantity(), row.getOfferSavingsInCents(),
+          changedAt});
+      if (batch.size() == batchSize) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        batch.clear();
+      }
+    }
+
+    if (!errors.isEmpty()) {
+      StringJoiner message = new StringJoiner("; ", "Price file rejected: ", errors.size() == MAX_REPORTED_ERRORS ? "; ..." : "");
+      errors.forEach(message::add);
+      throw new PricingValidationException(message.toString());
+    }
+    if (!batch.isEmpty()) {
+      jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+    entityManager.clear();
+
+    int rowsImported = rowNumber;
+    List<ImportedChange> changed = List.copyOf(changes.values());
+    Map<String, ItemPricing> newPricing = new LinkedHashMap<>(changed.size() * 2);
+    for (ImportedChange change : changed) {
+      newPricing.put(change.key(), change.after());
+    }
+    pricingHistory.recordAll(newPricing);
+    AfterCommit.run(() -> priceUpdateDispatcher.dispatch(() -> reload(changed)));
+    int itemsAdded = (int) changed.stream().filter(change -> change.before() == null).count();
+    log.info("Imported {} pricing rows: {} new items, {} changed", rowsImported, itemsAdded,
+        changed.size() - itemsAdded);
+    return toPricingImportResponseDTO(rowsImported, itemsAdded, changed.size() - itemsAdded);
+  }
+
+  private static String validate(PricingImportRowDTO row) {
+    String key = row.getItemKey() == null ? "" : row.getItemKey().trim();
+    if (key.isEmpty() || key.length() > 20) {
+      return "Item key must be 1 to 20 characters";
+    }
+    if (row.getPriceInCents() == null || row.getPriceInCents() < 1) {
+      return "Price must be at least 1 cent";
+    }
+    if ((row.getOfferQuantity() == null) != (row.getOfferSavingsInCents() == null)) {
+      return "Offer quantity and savings must be given together";
+    }
+    if (row.getOfferQuantity() == null) {
+      return null;
+    }
+    if (row.getOfferQuantity() < 2) {
+      return "Offer quantity must be at least 2";
+    }
+    if (row.getOfferQuantity() > 1000) {
+      return "Offer quantity must be at most 1000";
+    }
+    if (row.getOfferSavingsInCents() < 1) {
+      return "Savings must be positive";
+    }
+    if (row.getOfferSavingsInCents() >= (long) row.getPriceInCents() * row.getOfferQuantity()) {
+      return "Savings cannot exceed total price";
+    }
+    return null;
+  }
+
+  private List<PriceUpdateEvent> reload(List<ImportedChange> changes) {
+    priceBook.reload();
+    List<PriceUpdateEvent> updates = new ArrayList<>(changes.size());
+    for (ImportedChange change : changes) {
+      updates.add(change.toEvent(this, priceBook.catalog().resolve(change.key())));
+    }
+    return updates;
+  }
+
+  /**
+   * An item whose price or headline offer differs from the price book the import started from.
+   */
+  private record ImportedChange(String key, ItemPricing before, int priceInCents, DiscountRule rule) {
+
+    // Imports leave the further offer tiers alone
+    ItemPricing after() {
+      return new ItemPricing(priceInCents, rule, before != null ? before.getOfferTiers() : List.of());
+    }
+
+    PriceUpdateEvent toEvent(Object source, Item item) {
+      if (before == null) {
+        StringJoiner description = new StringJoiner("; ");
+        description.add(toItemAddedDescription(item, priceInCents));
+        if (rule != null) {
+          description.add(toOfferUpdateDescription(item, priceInCents, Optional.empty(),
+              rule.getRequiredQuantity(), rule.getSavingsInCents()));
+        }
+        return event(source, item, UpdateType.PRICE_CHANGED, null, priceInCents, description.toString());
+      }
+
+      StringJoiner description = new StringJoiner("; ");
+      boolean priceChanged = before.getPriceInCents() != priceInCents;
+      if (priceChanged) {
+        description.add(toPriceUpdateSummary(item, before.getPriceInCents(), priceInCents));
+      }
+      if (rule != null && !rule.equals(before.getDiscountRule())) {
+        description.add(toOfferUpdateDescription(item, priceInCents, before.findDiscountRule(),
+            rule.getRequiredQuantity(), rule.getSavingsInCents()));
+      } else if (rule == null && before.getDiscountRule() != null) {
+        description.add(toOfferRemovalDescription(item, before.getPriceInCents(), before.getDiscountRule()));
+      }
+      if (priceChanged) {
+        return event(source, item, UpdateType.PRICE_CHANGED, before.getPriceInCents(), priceInCents,
+            description.toString());
+      }
+      UpdateType updateType = rule != null ? UpdateType.OFFER_CHANGED : UpdateType.OFFER_REMOVED;
+      return event(source, item, updateType, null, null, description.toString());
+    }
+
+    private static PriceUpdateEvent event(Object source, Item item, UpdateType updateType, Integer oldPrice,
+                                          Integer newPrice, String description) {
+      return PriceUpdateEvent.builder()
+          .source(source)
+          .item(item)
+          .updateType(updateType)
+          .oldPriceInCents(oldPrice)
+          .newPriceInCents(newPrice)
+          .description(description)
+          .build();
+    }
+  }
+
+  /**
+   * Reads CSV rows one line at a time.
+   */
+  private static final class CsvRows implements Iterator<PricingImportRowDTO> {
+
+    private final BufferedReader reader;
+    private String nextLine;
+    private boolean headerRead;
+
+    CsvRows(BufferedReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextLine != null) {
+        return true;
+      }
+      try {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (line.isBlank()) {
+            continue;
+          }
+          if (!headerRead) {
+            headerRead = true;
+            if (!line.strip().replace(" ", "").equalsIgnoreCase(CSV_HEADER)) {
+              throw new PricingValidationException("Price file must start with the header " + CSV_HEADER);
+            }
+            continue;
+          }
+          nextLine = line;
+          return true;
+        }
+        return false;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public PricingImportRowDTO next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      String[] columns = nextLine.split(",", -1);
+      nextLine = null;
+      if (columns.length != 4) {
+        throw new PricingValidationException("Expected 4 columns but found " + columns.length);
+      }
+      return PricingImportRowDTO.builder()
+          .itemKey(columns[0].trim())
+          .priceInCents(parseCents(columns[1], "price_in_cents"))
+          .offerQuantity(parseCents(columns[2], "offer_quantity"))
+          .offerSavingsInCents(parseCents(columns[3], "offer_savings_in_cents"))
+          .build();
+    }
+
+    private static Integer parseCents(String column, String name) {
+      String value = column.trim();
+      if (value.isEmpty()) {
+        return null;
+      }
+      try {
+        return Integer.valueOf(value);
+      } catch (NumberFormatException e) {
+        throw new PricingValidationException(name + " must be a whole number, got '" + value + "'");
+      }
+    }
+  }
+
+  /**
+   * Adapts Jackson's streaming reader, turning malformed rows into validation errors.
+   */
+  private record JsonRows(MappingIterator<PricingImportRowDTO> rows) implements Iterator<PricingImportRowDTO> {
+
+    @Override
+    public boolean hasNext() {
+      try {
+        return rows.hasNextValue();
+      } catch (JsonProcessingException e) {
+        throw new PricingValidationException("Malformed price file: " + e.getOriginalMessage());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public PricingImportRowDTO next() {
+      try {
+        return rows.nextValue();
+      } catch (JsonProcessingException e) {
+        throw new PricingValidationException("Malformed row: " + e.getOriginalMessage());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
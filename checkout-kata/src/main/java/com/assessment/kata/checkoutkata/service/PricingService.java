@@ -1,12 +1,15 @@
 package com.assessment.kata.checkoutkata.service;
 
 import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.SchedulePromotionRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
 import com.assessment.kata.checkoutkata.model.DiscountRule;
 import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
 
@@ -15,9 +18,12 @@ public interface PricingService {
   UpdatePricingResponseDTO updateItemPriceByName(String itemName, UpdatePriceRequestDTO request);
   UpdatePricingResponseDTO updateItemOfferByName(String itemName, UpdateOfferRequestDTO request);
   UpdatePricingResponseDTO removeItemOfferByName(String itemName);
+  UpdatePricingResponseDTO schedulePromotionByName(String itemName, SchedulePromotionRequestDTO request);
   Map<String, FullPricingResponseDTO> getAllPricingResponses();
+  FullPricingResponseDTO getPricingAt(String itemName, LocalDateTime at);
 
   Optional<DiscountRule> getDiscountRule(Item item);
   int getItemPriceInCents(Item item);
   boolean hasItemConfiguration(Item item);
+  PriceBookSnapshot getPriceBook();
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.assessment.kata.checkoutkata.service;
 
 import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.SchedulePromotionRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
@@ -10,40 +11,63 @@ import com.assessment.kata.checkoutkata.exception.ItemNotFoundException;
 import com.assessment.kata.checkoutkata.exception.PricingValidationException;
 import com.assessment.kata.checkoutkata.model.DiscountRule;
 import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
 import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.model.PricingHistoryIndex;
+import com.assessment.kata.checkoutkata.model.ScheduledOffer;
 import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import com.assessment.kata.checkoutkata.repository.ScheduledOfferRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import static com.assessment.kata.checkoutkata.mapper.AdminRequestMapper.toItem;
 import static com.assessment.kata.checkoutkata.mapper.AdminRequestMapper.toPriceInCents;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferRemovalDescription;
 import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferRemovalResponseDTO;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferUpdateDescription;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toFullPricingResponseDTO;
 import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferUpdateResponseDTO;
 import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPriceUpdateResponseDTO;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPriceUpdateSummary;
 import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPricingResponseMap;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPromotionScheduledResponseDTO;
 import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.formatOldOfferDescription;
-import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.formatPrice;
 
 @Service
+@Timed(value = "pricing.service", histogram = true)
 public class PricingServiceImpl implements PricingService {
 
   private final PricingRepository pricingRepository;
+  private final ScheduledOfferRepository scheduledOfferRepository;
   private final ApplicationEventPublisher eventPublisher;
+  private final PriceBook priceBook;
+  private final PricingHistory pricingHistory;
+  private final Clock clock;
 
-  public PricingServiceImpl(PricingRepository pricingRepository, ApplicationEventPublisher eventPublisher) {
+  public PricingServiceImpl(PricingRepository pricingRepository, ScheduledOfferRepository scheduledOfferRepository,
+                            ApplicationEventPublisher eventPublisher, PriceBook priceBook,
+                            PricingHistory pricingHistory, Clock clock) {
     this.pricingRepository = pricingRepository;
+    this.scheduledOfferRepository = scheduledOfferRepository;
     this.eventPublisher = eventPublisher;
+    this.priceBook = priceBook;
+    this.pricingHistory = pricingHistory;
+    this.clock = clock;
   }
 
   @Override
   @Transactional
   public UpdatePricingResponseDTO updateItemPriceByName(String itemName, UpdatePriceRequestDTO request) {
-    Item item = toItem(itemName);
+    Item item = toItem(priceBook.catalog(), itemName);
     int newPrice = toPriceInCents(request);
 
     PricingConfig pricingConfig = pricingRepository.findByItemKey(item.getKey())
@@ -52,11 +76,11 @@ public class PricingServiceImpl implements PricingService {
     int oldPrice = pricingConfig.getPriceInCents();
     pricingConfig.setPriceInCents(newPrice);
     pricingRepository.save(pricingConfig);
+    ItemPricing pricing = ItemPricing.from(pricingConfig);
+    priceBook.applyAfterCommit(item, pricing);
+    pricingHistory.record(item.getKey(), pricing);
 
-    String updateSummary = String.format("Price updated: %s %s → %s",
-        item.getDisplayName(),
-        formatPrice(oldPrice),
-        formatPrice(newPrice));
+    String updateSummary = toPriceUpdateSummary(item, oldPrice, newPrice);
 
     eventPublisher.publishEvent(PriceUpdateEvent.builder()
         .source(this)
@@ -64,7 +88,8 @@ public class PricingServiceImpl implements PricingService {
         .updateType(UpdateType.PRICE_CHANGED)
         .oldPriceInCents(oldPrice)
         .newPriceInCents(newPrice)
-        .description(updateSummary));
+        .description(updateSummary)
+        .build());
 
     return toPriceUpdateResponseDTO(item, oldPrice, newPrice, updateSummary);
   }
@@ -72,7 +97,7 @@ public class PricingServiceImpl implements PricingService {
   @Override
   @Transactional
   public UpdatePricingResponseDTO updateItemOfferByName(String itemName, UpdateOfferRequestDTO request) {
-    Item item = toItem(itemName);
+    Item item = toItem(priceBook.catalog(), itemName);
 
     PricingConfig pricingConfig = pricingRepository.findByItemKey(item.getKey())
         .orElseThrow(() -> new ItemNotFoundException("Item not found: " + item));
@@ -91,13 +116,19 @@ public class PricingServiceImpl implements PricingService {
     pricingConfig.setOfferQuantity(request.getQuantity());
     pricingConfig.setOfferSavingsInCents(request.getSavingsInCents());
     pricingRepository.save(pricingConfig);
+    ItemPricing pricing = ItemPricing.from(pricingConfig);
+    priceBook.applyAfterCommit(item, pricing);
+    pricingHistory.record(item.getKey(), pricing);
 
-    String description = createOfferUpdateDescription(request, oldRule, item, itemPrice);
+    String description = toOfferUpdateDescription(item, itemPrice, oldRule, request.getQuantity(),
+        request.getSavingsInCents());
 
     eventPublisher.publishEvent(PriceUpdateEvent.builder()
         .source(this)
         .item(item)
         .updateType(UpdateType.OFFER_CHANGED)
+        .offerQuantity(request.getQuantity())
+        .offerSavingsInCents(request.getSavingsInCents())
         .description(description)
         .build());
 
@@ -112,7 +143,7 @@ public class PricingServiceImpl implements PricingService {
   @Override
   @Transactional
   public UpdatePricingResponseDTO removeItemOfferByName(String itemName) {
-    Item item = toItem(itemName);
+    Item item = toItem(priceBook.catalog(), itemName);
 
     PricingConfig pricingConfig = pricingRepository.findByItemKey(item.getKey())
         .orElseThrow(() -> new ItemNotFoundException("Item not found: " + item));
@@ -125,11 +156,11 @@ public class PricingServiceImpl implements PricingService {
     if (oldRule.isPresent()) {
       pricingRepository.removeOfferByItemKey(item.getKey());
       pricingRepository.save(pricingConfig);
+      ItemPricing pricing = ItemPricing.from(pricingConfig).withDiscountRule(null);
+      priceBook.applyAfterCommit(item, pricing);
+      pricingHistory.record(item.getKey(), pricing);
 
-      String description = String.format("Offer removed: %s (was %d for %s)",
-          item.getDisplayName(),
-          oldRule.get().getRequiredQuantity(),
-          formatPrice(getItemPriceInCents(item) * oldRule.get().getRequiredQuantity() - oldRule.get().getSavingsInCents()));
+      String description = toOfferRemovalDescription(item, pricingConfig.getPriceInCents(), oldRule.get());
 
       eventPublisher.publishEvent(PriceUpdateEvent.builder()
           .source(this)
@@ -148,6 +179,39 @@ public class PricingServiceImpl implements PricingService {
     return toOfferRemovalResponseDTO(item, oldOfferDescription);
   }
 
+  @Override
+  @Transactional
+  public UpdatePricingResponseDTO schedulePromotionByName(String itemName, SchedulePromotionRequestDTO request) {
+    Item item = toItem(priceBook.catalog(), itemName);
+
+    PricingConfig pricingConfig = pricingRepository.findByItemKey(item.getKey())
+        .orElseThrow(() -> new ItemNotFoundException("Item not found: " + item));
+
+    if (request.getSavingsInCents() >= pricingConfig.getPriceInCents() * request.getQuantity()) {
+      throw new PricingValidationException("Savings cannot exceed total price");
+    }
+    if (request.getValidTo() != null && !request.getValidTo().isAfter(request.getValidFrom())) {
+      throw new PricingValidationException("Promotion must end after it starts");
+    }
+
+    scheduledOfferRepository.save(new ScheduledOffer(item.getKey(), request.getQuantity(),
+        request.getSavingsInCents(), request.getValidFrom(), request.getValidTo()));
+    priceBook.reloadPromotionsAfterCommit();
+
+    UpdatePricingResponseDTO response = toPromotionScheduledResponseDTO(item, pricingConfig.getPriceInCents(), request);
+    // A promotion that is already running starts now; otherwise PromotionScheduler announces it at its start
+    LocalDateTime now = LocalDateTime.now(clock);
+    if (!request.getValidFrom().isAfter(now) && (request.getValidTo() == null || request.getValidTo().isAfter(now))) {
+      eventPublisher.publishEvent(PriceUpdateEvent.builder()
+          .source(this)
+          .item(item)
+          .updateType(UpdateType.PROMOTION_STARTED)
+          .description(response.getMessage())
+          .build());
+    }
+    return response;
+  }
+
   @Override
   @Transactional(readOnly = true)
   public Map<String, FullPricingResponseDTO> getAllPricingResponses() {
@@ -155,18 +219,17 @@ public class PricingServiceImpl implements PricingService {
   }
 
   @Override
-  @Transactional(readOnly = true)
-  public Optional<DiscountRule> getDiscountRule(Item item) {
-    Optional<PricingConfig> config = pricingRepository.findByItemKey(item.getKey());
-    if (config.isEmpty() || !config.get().hasOffer()) {
-      return Optional.empty();
-    }
+  public FullPricingResponseDTO getPricingAt(String itemName, LocalDateTime at) {
+    Item item = toItem(priceBook.catalog(), itemName);
+    PricingHistoryIndex.Version version = pricingHistory.pricingAt(item.getKey(), at)
+        .orElseThrow(() -> new ItemNotFoundException(String.format("No pricing for %s at %s", item, at)));
+    return toFullPricingResponseDTO(version.itemKey(), version.pricing(), version.validFrom());
+  }
 
-    PricingConfig pricingConfig = config.get();
-    return Optional.of(new DiscountRule(
-        pricingConfig.getOfferQuantity(),
-        pricingConfig.getOfferSavingsInCents()
-    ));
+  @Override
+  public Optional<DiscountRule> getDiscountRule(Item item) {
+    ItemPricing itemPricing = priceBook.snapshot().get(item);
+    return itemPricing == null ? Optional.empty() : itemPricing.findDiscountRule();
   }
 
   @Transactional(readOnly = true)
@@ -177,38 +240,21 @@ public class PricingServiceImpl implements PricingService {
   }
 
   @Override
-  @Transactional(readOnly = true)
   public int getItemPriceInCents(Item item) {
-    Optional<PricingConfig> config = pricingRepository.findByItemKey(item.getKey());
-    if (config.isEmpty()) {
+    ItemPricing itemPricing = priceBook.snapshot().get(item);
+    if (itemPricing == null) {
       throw new ItemNotFoundException(String.format("No pricing configuration for item %s", item));
     }
-    return config.get().getPriceInCents();
+    return itemPricing.getPriceInCents();
   }
 
   @Override
-  @Transactional(readOnly = true)
   public boolean hasItemConfiguration(Item item) {
-    return pricingRepository.existsByItemKey(item.getKey());
+    return priceBook.snapshot().contains(item);
   }
 
-  private String createOfferUpdateDescription(UpdateOfferRequestDTO request, Optional<DiscountRule> oldRule, Item item, int itemPrice) {
-    String description;
-    if (oldRule.isPresent()) {
-      description = String.format("Offer updated: %s %d for %s → %d for %s (save %s)",
-          item.getDisplayName(),
-          oldRule.get().getRequiredQuantity(),
-          formatPrice(itemPrice * oldRule.get().getRequiredQuantity() - oldRule.get().getSavingsInCents()),
-          request.getQuantity(),
-          formatPrice(itemPrice * request.getQuantity() - request.getSavingsInCents()),
-          formatPrice(request.getSavingsInCents()));
-    } else {
-      description = String.format("New offer: %s %d for %s (save %s)",
-          item.getDisplayName(),
-          request.getQuantity(),
-          formatPrice(itemPrice * request.getQuantity() - request.getSavingsInCents()),
-          formatPrice(request.getSavingsInCents()));
-    }
-    return description;
+  @Override
+  public PriceBookSnapshot getPriceBook() {
+    return priceBook.snapshot();
   }
 }
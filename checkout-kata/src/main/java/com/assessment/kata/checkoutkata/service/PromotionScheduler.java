@@ -0,0 +1,104 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.event.PriceUpdateEvent;
+import com.assessment.kata.checkoutkata.event.PromotionScheduleChangedEvent;
+import com.assessment.kata.checkoutkata.event.UpdateType;
+import com.assessment.kata.checkoutkata.model.PromotionSchedule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPromotionChangeDescription;
+
+/**
+ * Swaps promotions in and out of the price book at their boundaries. Only the next transition is
+ * ever armed, as a one-shot task at that instant; when it fires the price book applies it in one
+ * snapshot swap, a {@link PriceUpdateEvent} goes out for each affected item and the following
+ * transition is armed. A recompiled schedule re-arms it too.
+ */
+@Slf4j
+@Component
+public class PromotionScheduler {
+
+  private final PriceBook priceBook;
+  private final TaskScheduler taskScheduler;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
+  private ScheduledFuture<?> armed;
+  private long armedAt = PromotionSchedule.NO_TRANSITION;
+
+  public PromotionScheduler(PriceBook priceBook, TaskScheduler taskScheduler,
+                            ApplicationEventPublisher eventPublisher, Clock clock) {
+    this.priceBook = priceBook;
+    this.taskScheduler = taskScheduler;
+    this.eventPublisher = eventPublisher;
+    this.clock = clock;
+  }
+
+  // The price book loads before this bean exists, so its first schedule event is not seen here
+  @PostConstruct
+  public void start() {
+    arm();
+  }
+
+  @EventListener
+  public void onScheduleChanged(PromotionScheduleChangedEvent event) {
+    arm();
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    if (armed != null) {
+      armed.cancel(false);
+      armed = null;
+    }
+  }
+
+  private synchronized void arm() {
+    long next = priceBook.nextPromotionTransition();
+    if (armed != null && armedAt == next) {
+      return;
+    }
+    if (armed != null) {
+      armed.cancel(false);
+      armed = null;
+    }
+    armedAt = next;
+    if (next != PromotionSchedule.NO_TRANSITION) {
+      armed = taskScheduler.schedule(() -> fire(next), Instant.ofEpochMilli(next));
+      log.debug("Next promotion transition at {}", Instant.ofEpochMilli(next));
+    }
+  }
+
+  private void fire(long transition) {
+    try {
+      for (PriceBook.PromotionChange change : priceBook.advancePromotions(Math.max(transition, clock.millis()))) {
+        boolean started = !change.before().getPromotionTiers().containsAll(change.after().getPromotionTiers());
+        eventPublisher.publishEvent(PriceUpdateEvent.builder()
+            .source(this)
+            .item(change.item())
+            .updateType(started ? UpdateType.PROMOTION_STARTED : UpdateType.PROMOTION_ENDED)
+            .description(toPromotionChangeDescription(change.item(), change.after().getPriceInCents(),
+                change.before().getPromotionTiers(), change.after().getPromotionTiers()))
+            .build());
+      }
+    } catch (RuntimeException e) {
+      log.error("Applying promotion transition at {} failed", Instant.ofEpochMilli(transition), e);
+    } finally {
+      synchronized (this) {
+        if (armedAt == transition) {
+          armed = null;
+        }
+      }
+      arm();
+    }
+  }
+}
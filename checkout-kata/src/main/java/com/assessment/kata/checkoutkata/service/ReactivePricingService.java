@@ -0,0 +1,20 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of the admin half of {@link PricingService}, backed by R2DBC.
+ */
+public interface ReactivePricingService {
+
+  Mono<UpdatePricingResponseDTO> updateItemPriceByName(String itemName, UpdatePriceRequestDTO request);
+  Mono<UpdatePricingResponseDTO> updateItemOfferByName(String itemName, UpdateOfferRequestDTO request);
+  Mono<UpdatePricingResponseDTO> removeItemOfferByName(String itemName);
+  Mono<Map<String, FullPricingResponseDTO>> getAllPricingResponses();
+}
@@ -0,0 +1,201 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.dto.pricing.FullPricingResponseDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
+import com.assessment.kata.checkoutkata.event.PriceUpdateEvent;
+import com.assessment.kata.checkoutkata.event.UpdateType;
+import com.assessment.kata.checkoutkata.exception.ItemNotFoundException;
+import com.assessment.kata.checkoutkata.exception.PricingValidationException;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PricingConfigRecord;
+import com.assessment.kata.checkoutkata.repository.ReactivePricingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.assessment.kata.checkoutkata.mapper.AdminRequestMapper.toItem;
+import static com.assessment.kata.checkoutkata.mapper.AdminRequestMapper.toPriceInCents;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toFullPricingResponseDTO;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferRemovalDescription;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferRemovalResponseDTO;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferUpdateDescription;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toOfferUpdateResponseDTO;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPriceUpdateResponseDTO;
+import static com.assessment.kata.checkoutkata.mapper.AdminResponseMapper.toPriceUpdateSummary;
+import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.formatOldOfferDescription;
+
+/**
+ * Same behaviour as {@link PricingServiceImpl}, but the row is read and written over R2DBC.
+ * The price book swap, the {@link PriceUpdateEvent} and the {@link PricingHistory} version happen
+ * once the reactive transaction has committed, so checkout never sees a price that was rolled back.
+ */
+@Slf4j
+@Service
+public class ReactivePricingServiceImpl implements ReactivePricingService {
+
+  private final ReactivePricingRepository pricingRepository;
+  private final TransactionalOperator transactionalOperator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final PriceBook priceBook;
+  private final PricingHistory pricingHistory;
+
+  public ReactivePricingServiceImpl(ReactivePricingRepository pricingRepository,
+                                    TransactionalOperator transactionalOperator,
+                                    ApplicationEventPublisher eventPublisher, PriceBook priceBook,
+                                    PricingHistory pricingHistory) {
+    this.pricingRepository = pricingRepository;
+    this.transactionalOperator = transactionalOperator;
+    this.eventPublisher = eventPublisher;
+    this.priceBook = priceBook;
+    this.pricingHistory = pricingHistory;
+  }
+
+  @Override
+  public Mono<UpdatePricingResponseDTO> updateItemPriceByName(String itemName, UpdatePriceRequestDTO request) {
+    return Mono.fromCallable(() -> toItem(priceBook.catalog(), itemName)).flatMap(item -> {
+      int newPrice = toPriceInCents(request);
+
+      return findPricing(item)
+          .flatMap(config -> pricingRepository.updatePriceByItemKey(item.getKey(), newPrice).thenReturn(config))
+          .as(transactionalOperator::transactional)
+          .flatMap(config -> {
+            int oldPrice = config.getPriceInCents();
+            ItemPricing pricing = currentPricing(item, config).withPriceInCents(newPrice);
+            priceBook.applyAfterCommit(item, pricing);
+
+            String updateSummary = toPriceUpdateSummary(item, oldPrice, newPrice);
+            eventPublisher.publishEvent(PriceUpdateEvent.builder()
+                .source(this)
+                .item(item)
+                .updateType(UpdateType.PRICE_CHANGED)
+                .oldPriceInCents(oldPrice)
+                .newPriceInCents(newPrice)
+                .description(updateSummary)
+                .build());
+
+            return recordHistory(item, pricing)
+                .thenReturn(toPriceUpdateResponseDTO(item, oldPrice, newPrice, updateSummary));
+          });
+    });
+  }
+
+  @Override
+  public Mono<UpdatePricingResponseDTO> updateItemOfferByName(String itemName, UpdateOfferRequestDTO request) {
+    return Mono.fromCallable(() -> toItem(priceBook.catalog(), itemName)).flatMap(item -> findPricing(item)
+        .flatMap(config -> {
+          if (request.getSavingsInCents() >= config.getPriceInCents() * request.getQuantity()) {
+            return Mono.error(new PricingValidationException("Savings cannot exceed total price"));
+          }
+          return pricingRepository.updateOfferByItemKey(item.getKey(), request.getQuantity(),
+              request.getSavingsInCents()).thenReturn(config);
+        })
+        .as(transactionalOperator::transactional)
+        .flatMap(config -> {
+          int itemPrice = config.getPriceInCents();
+          Optional<DiscountRule> oldRule = discountRuleOf(config);
+          ItemPricing pricing = currentPricing(item, config).withDiscountRule(
+              new DiscountRule(request.getQuantity(), request.getSavingsInCents()));
+          priceBook.applyAfterCommit(item, pricing);
+
+          eventPublisher.publishEvent(PriceUpdateEvent.builder()
+              .source(this)
+              .item(item)
+              .updateType(UpdateType.OFFER_CHANGED)
+              .offerQuantity(request.getQuantity())
+              .offerSavingsInCents(request.getSavingsInCents())
+              .description(toOfferUpdateDescription(item, itemPrice, oldRule, request.getQuantity(),
+                  request.getSavingsInCents()))
+              .build());
+
+          String oldOfferDescription = oldRule.map(rule ->
+              formatOldOfferDescription(rule.getRequiredQuantity(), itemPrice, rule.getSavingsInCents())
+          ).orElse(null);
+
+          return recordHistory(item, pricing).thenReturn(toOfferUpdateResponseDTO(item, request.getQuantity(),
+              itemPrice, request.getSavingsInCents(), oldOfferDescription));
+        }));
+  }
+
+  @Override
+  public Mono<UpdatePricingResponseDTO> removeItemOfferByName(String itemName) {
+    return Mono.fromCallable(() -> toItem(priceBook.catalog(), itemName)).flatMap(item -> findPricing(item)
+        .flatMap(config -> config.hasOffer() ?
+            pricingRepository.removeOfferByItemKey(item.getKey()).thenReturn(config) :
+            Mono.just(config))
+        .as(transactionalOperator::transactional)
+        .flatMap(config -> {
+          int itemPrice = config.getPriceInCents();
+          Optional<DiscountRule> oldRule = discountRuleOf(config);
+          String oldOfferDescription = oldRule.map(rule ->
+              formatOldOfferDescription(rule.getRequiredQuantity(), itemPrice, rule.getSavingsInCents())
+          ).orElse(null);
+          if (oldRule.isEmpty()) {
+            return Mono.just(toOfferRemovalResponseDTO(item, null));
+          }
+
+          ItemPricing pricing = currentPricing(item, config).withDiscountRule(null);
+          priceBook.applyAfterCommit(item, pricing);
+          eventPublisher.publishEvent(PriceUpdateEvent.builder()
+              .source(this)
+              .item(item)
+              .updateType(UpdateType.OFFER_REMOVED)
+              .description(toOfferRemovalDescription(item, itemPrice, oldRule.get()))
+              .build());
+
+          return recordHistory(item, pricing).thenReturn(toOfferRemovalResponseDTO(item, oldOfferDescription));
+        }));
+  }
+
+  @Override
+  public Mono<Map<String, FullPricingResponseDTO>> getAllPricingResponses() {
+    return pricingRepository.findAll()
+        .collectMap(PricingConfigRecord::getItemKey,
+            config -> toFullPricingResponseDTO(config.getItemKey(), config.toPricingConfig()));
+  }
+
+  /**
+   * Records the committed pricing in pricing_history. The history is written over JDBC, so it cannot
+   * join the R2DBC transaction: it is written once that has committed, off the R2DBC threads. A failure
+   * is logged rather than reported, as the change itself has already been made.
+   */
+  private Mono<Void> recordHistory(Item item, ItemPricing pricing) {
+    return Mono.fromRunnable(() -> pricingHistory.record(item.getKey(), pricing))
+        .subscribeOn(Schedulers.boundedElastic())
+        .onErrorResume(e -> {
+          log.error("Could not record the new pricing of {} in the pricing history", item, e);
+          return Mono.empty();
+        })
+        .then();
+  }
+
+  private Mono<PricingConfigRecord> findPricing(Item item) {
+    return pricingRepository.findByItemKey(item.getKey())
+        .switchIfEmpty(Mono.error(() -> new ItemNotFoundException("Item not found: " + item)));
+  }
+
+  /**
+   * Pricing as last loaded, so the offer tiers this service does not manage carry over.
+   */
+  private ItemPricing currentPricing(Item item, PricingConfigRecord config) {
+    ItemPricing loaded = priceBook.snapshot().get(item);
+    List<DiscountRule> offerTiers = loaded != null ? loaded.getOfferTiers() : List.of();
+    return new ItemPricing(config.getPriceInCents(), discountRuleOf(config).orElse(null), offerTiers);
+  }
+
+  private static Optional<DiscountRule> discountRuleOf(PricingConfigRecord config) {
+    return config.hasOffer() ?
+        Optional.of(new DiscountRule(config.getOfferQuantity(), config.getOfferSavingsInCents())) :
+        Optional.empty();
+  }
+}
@@ -0,0 +1,24 @@
+package com.assessment.kata.checkoutkata.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work until the surrounding Spring-managed transaction commits, so nothing outside the
+ * database sees a change that is later rolled back. Without an active transaction the work runs at once.
+ */
+public class AfterCommit {
+
+  public static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -2,17 +2,51 @@ package com.assessment.kata.checkoutkata.util;
 
 public class CheckoutStringUtils {
 
+  // Prices from $0.00 to $99.99 are formatted once and then shared
+  private static final int CACHED_PRICE_LIMIT = 10_000;
+  private static final String[] PRICE_CACHE = new String[CACHED_PRICE_LIMIT];
+
   public static String formatPrice(int priceInCents) {
-    return String.format("$%.2f", priceInCents / 100.0);
+    if (priceInCents < 0 || priceInCents >= CACHED_PRICE_LIMIT) {
+      return appendPrice(new StringBuilder(16), priceInCents).toString();
+    }
+    String price = PRICE_CACHE[priceInCents];
+    if (price == null) {
+      // Racing threads may both format the value; either result is equal and safely published
+      price = appendPrice(new StringBuilder(8), priceInCents).toString();
+      PRICE_CACHE[priceInCents] = price;
+    }
+    return price;
+  }
+
+  /**
+   * Appends the price as dollars with two decimals (e.g. "$1.05") using integer arithmetic only.
+   * Negative amounts keep the legacy "$-0.05" layout.
+   */
+  public static StringBuilder appendPrice(StringBuilder target, int priceInCents) {
+    long cents = priceInCents;
+    target.append('$');
+    if (cents < 0) {
+      target.append('-');
+      cents = -cents;
+    }
+    int remainder = (int) (cents % 100);
+    target.append(cents / 100).append('.');
+    if (remainder < 10) {
+      target.append('0');
+    }
+    return target.append(remainder);
   }
+
   public static String formatOldOfferDescription(int oldQuantity, int itemPriceInCents, int oldSavingsInCents) {
     return formatOfferDescription(oldQuantity, itemPriceInCents, oldSavingsInCents);
   }
 
   public static String formatOfferDescription(int quantity, int itemPriceInCents, int savingsInCents) {
-    return String.format("%d for %s (save %s)",
-        quantity,
-        formatPrice(itemPriceInCents * quantity - savingsInCents),
-        formatPrice(savingsInCents));
+    StringBuilder description = new StringBuilder(32)
+        .append(quantity)
+        .append(" for ");
+    appendPrice(description, itemPriceInCents * quantity - savingsInCents).append(" (save ");
+    return appendPrice(description, savingsInCents).append(')').toString();
   }
 }
@@ -0,0 +1,19 @@
+package com.assessment.kata.checkoutkata.util;
+
+/**
+ * Strong entity tags built from the in-memory versions of the price book and of carts.
+ * Those versions restart with the application, so each tag also carries the time this
+ * instance started: a tag issued before a restart never matches a response from after it.
+ */
+public class ETags {
+
+  private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+  public static String forPriceBook(long priceBookVersion) {
+    return "\"p-" + EPOCH + "-" + priceBookVersion + "\"";
+  }
+
+  public static String forCart(long cartVersion, long priceBookVersion) {
+    return "\"c-" + EPOCH + "-" + cartVersion + "-" + priceBookVersion + "\"";
+  }
+}
@@ -0,0 +1,22 @@
+package com.assessment.kata.checkoutkata.util;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receipt ids handed out without a database round trip: the time this instance started and a random
+ * instance tag, followed by a counter. Ids stay unique across restarts and across instances started in
+ * the same millisecond, and sort in the order they were issued on one instance.
+ */
+public class ReceiptIds {
+
+  private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36).toUpperCase(Locale.ROOT);
+  private static final String INSTANCE =
+      Integer.toString(new SecureRandom().nextInt(Integer.MAX_VALUE), 36).toUpperCase(Locale.ROOT);
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+
+  public static String next() {
+    return "R" + EPOCH + "-" + INSTANCE + "-" + SEQUENCE.incrementAndGet();
+  }
+}
@@ -3,7 +3,7 @@ CREATE TABLE IF NOT EXISTS pricing_config
 (
     item_key                VARCHAR(20) PRIMARY KEY,
     price_in_cents          INTEGER NOT NULL CHECK (price_in_cents > 0),
-    offer_quantity          INTEGER CHECK (offer_quantity IS NULL OR offer_quantity >= 2),
+    offer_quantity          INTEGER CHECK (offer_quantity IS NULL OR offer_quantity BETWEEN 2 AND 1000),
     offer_savings_in_cents  INTEGER CHECK (offer_savings_in_cents IS NULL OR offer_savings_in_cents > 0),
     created_at              TIMESTAMP NOT NULL DEFAULT NOW(),
     updated_at              TIMESTAMP NOT NULL DEFAULT NOW(),
@@ -13,6 +13,9 @@ CREATE TABLE IF NOT EXISTS pricing_config
         )
 );
 
+-- Incremental exports (GET /admin/pricing?since=...) range-scan on updated_at
+CREATE INDEX IF NOT EXISTS idx_pricing_config_updated_at ON pricing_config (updated_at);
+
 -- Insert initial pricing data matching current application.properties configuration
 -- Apple: 30 cents each, 2 for 45 cents (savings: 2*30-45 = 15 cents)
 INSERT INTO pricing_config (item_key, price_in_cents, offer_quantity, offer_savings_in_cents)
@@ -32,4 +35,137 @@ WHERE NOT EXISTS (SELECT 1 FROM pricing_config WHERE item_key = 'peach');
 -- Kiwi: 20 cents each, no offer
 INSERT INTO pricing_config (item_key, price_in_cents, offer_quantity, offer_savings_in_cents)
 SELECT 'kiwi', 20, NULL, NULL
-WHERE NOT EXISTS (SELECT 1 FROM pricing_config WHERE item_key = 'kiwi');
\ No newline at end of file
+WHERE NOT EXISTS (SELECT 1 FROM pricing_config WHERE item_key = 'kiwi');
+
+-- Create the item_barcode table: each EAN/UPC code (stored as a number) maps to one item
+CREATE TABLE IF NOT EXISTS item_barcode
+(
+    barcode     BIGINT PRIMARY KEY CHECK (barcode > 0),
+    item_key    VARCHAR(20) NOT NULL REFERENCES pricing_config (item_key) ON DELETE CASCADE
+);
+
+INSERT INTO item_barcode (barcode, item_key)
+SELECT 5000000000012, 'apple'
+WHERE NOT EXISTS (SELECT 1 FROM item_barcode WHERE barcode = 5000000000012);
+
+INSERT INTO item_barcode (barcode, item_key)
+SELECT 5000000000029, 'banana'
+WHERE NOT EXISTS (SELECT 1 FROM item_barcode WHERE barcode = 5000000000029);
+
+INSERT INTO item_barcode (barcode, item_key)
+SELECT 5000000000036, 'peach'
+WHERE NOT EXISTS (SELECT 1 FROM item_barcode WHERE barcode = 5000000000036);
+
+INSERT INTO item_barcode (barcode, item_key)
+SELECT 5000000000043, 'kiwi'
+WHERE NOT EXISTS (SELECT 1 FROM item_barcode WHERE barcode = 5000000000043);
+
+-- Create the bundle tables: a bundle is priced as a whole once every component is filled,
+-- each component taking required_quantity units from any of its comma-separated item_keys
+CREATE TABLE IF NOT EXISTS bundle_offer
+(
+    bundle_key      VARCHAR(40) PRIMARY KEY,
+    name            VARCHAR(100) NOT NULL,
+    price_in_cents  INTEGER NOT NULL CHECK (price_in_cents > 0),
+    created_at      TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS bundle_offer_component
+(
+    bundle_key          VARCHAR(40) NOT NULL REFERENCES bundle_offer (bundle_key) ON DELETE CASCADE,
+    position            INTEGER NOT NULL,
+    required_quantity   INTEGER NOT NULL CHECK (required_quantity > 0),
+    item_keys           VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (bundle_key, position)
+);
+
+-- Create the pricing_offer table: further "N for ..." tiers per item, combined with the offer on
+-- pricing_config so that a basket gets the best mix of them (e.g. 2 for 45 and 5 for 100)
+CREATE TABLE IF NOT EXISTS pricing_offer
+(
+    item_key                VARCHAR(20) NOT NULL REFERENCES pricing_config (item_key) ON DELETE CASCADE,
+    offer_quantity          INTEGER NOT NULL CHECK (offer_quantity BETWEEN 2 AND 1000),
+    offer_savings_in_cents  INTEGER NOT NULL CHECK (offer_savings_in_cents > 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_pricing_offer_item_key ON pricing_offer (item_key);
+
+-- pricing_offer rows carry no timestamp, so any change to an item's tiers touches its pricing_config row,
+-- which incremental exports filter on. The body is single-quoted so the init script splits around it.
+CREATE OR REPLACE FUNCTION touch_pricing_config() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF TG_OP <> ''INSERT'' THEN
+        UPDATE pricing_config SET updated_at = NOW() WHERE item_key = OLD.item_key;
+    END IF;
+    IF TG_OP <> ''DELETE'' THEN
+        UPDATE pricing_config SET updated_at = NOW() WHERE item_key = NEW.item_key;
+    END IF;
+    RETURN NULL;
+END';
+
+CREATE OR REPLACE TRIGGER pricing_offer_touches_pricing_config
+    AFTER INSERT OR UPDATE OR DELETE ON pricing_offer
+    FOR EACH ROW EXECUTE FUNCTION touch_pricing_config();
+
+-- Create the scheduled_offer table: promotional tiers that apply to an item between valid_from
+-- and valid_to (exclusive; open-ended when NULL), on top of its regular offers
+CREATE TABLE IF NOT EXISTS scheduled_offer
+(
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_key                VARCHAR(20) NOT NULL REFERENCES pricing_config (item_key) ON DELETE CASCADE,
+    offer_quantity          INTEGER NOT NULL CHECK (offer_quantity BETWEEN 2 AND 1000),
+    offer_savings_in_cents  INTEGER NOT NULL CHECK (offer_savings_in_cents > 0),
+    valid_from              TIMESTAMP NOT NULL,
+    valid_to                TIMESTAMP,
+    created_at              TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at              TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT valid_window CHECK (valid_to IS NULL OR valid_to > valid_from)
+);
+
+-- Create the cart_snapshot table: open carts as item key to quantity (JSON), written behind their
+-- changes; journal_sequence is the last cart journal record each snapshot includes
+CREATE TABLE IF NOT EXISTS cart_snapshot
+(
+    cart_id             VARCHAR(36) PRIMARY KEY,
+    items               TEXT NOT NULL,
+    journal_sequence    BIGINT NOT NULL,
+    updated_at          TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Create the pricing_history table: every version of an item's regular pricing, appended by each
+-- change and in force from valid_from until the item's next row. Monthly range partitions on
+-- valid_from are created ahead by the application, which also starts the history of items priced
+-- before it existed; the default partition catches anything else
+CREATE TABLE IF NOT EXISTS pricing_history
+(
+    id                      BIGSERIAL,
+    item_key                VARCHAR(20) NOT NULL,
+    valid_from              TIMESTAMP NOT NULL,
+    price_in_cents          INTEGER NOT NULL CHECK (price_in_cents > 0),
+    offer_quantity          INTEGER,
+    offer_savings_in_cents  INTEGER,
+    offer_tiers             VARCHAR(1000) NOT NULL DEFAULT '',
+    PRIMARY KEY (id, valid_from)
+) PARTITION BY RANGE (valid_from);
+
+CREATE TABLE IF NOT EXISTS pricing_history_default PARTITION OF pricing_history DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_pricing_history_item_valid_from ON pricing_history (item_key, valid_from);
+
+
+-- Create the orders table: one row per completed checkout, written behind it in group commits.
+-- items holds item key to quantity and discounts the applied breakdowns, both as JSON
+CREATE TABLE IF NOT EXISTS orders
+(
+    receipt_id          VARCHAR(40) PRIMARY KEY,
+    cart_id             VARCHAR(36) NOT NULL,
+    completed_at        TIMESTAMP NOT NULL,
+    subtotal_in_cents   INTEGER NOT NULL,
+    discount_in_cents   INTEGER NOT NULL,
+    total_in_cents      INTEGER NOT NULL,
+    items               TEXT NOT NULL,
+    discounts           TEXT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_completed_at ON orders (completed_at);
@@ -0,0 +1,151 @@
+package com.assessment.kata.checkoutkata.discount;
+
+import com.assessment.kata.checkoutkata.model.BarcodeIndex;
+import com.assessment.kata.checkoutkata.model.BundleComponent;
+import com.assessment.kata.checkoutkata.model.BundleOffer;
+import com.assessment.kata.checkoutkata.model.DiscountBreakdown;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PriceBookSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Discount Engine Tests")
+class OptimalDiscountEngineTest {
+
+  private static final ItemCatalog CATALOG = ItemCatalog.of(List.of(
+      "apple", "banana", "peach", "kiwi", "sandwich", "wrap", "crisps", "water", "juice"));
+
+  private final DiscountEngine optimal = new OptimalDiscountEngine();
+  private final DiscountEngine greedy = new GreedyDiscountEngine();
+
+  @Test
+  @DisplayName("overlapping bundles should be assigned for the lowest total, where greedy is not")
+  void shouldFindCheapestAssignmentOfOverlappingBundles() {
+    PriceBookSnapshot priceBook = priceBook(
+        Map.of("apple", price(50), "banana", price(50), "peach", price(50), "kiwi", price(50)),
+        bundle("Apple and banana", 30, component(1, "apple"), component(1, "banana")),
+        bundle("Apple and peach", 50, component(1, "apple"), component(1, "peach")),
+        bundle("Banana and kiwi", 50, component(1, "banana"), component(1, "kiwi")));
+    Map<String, Integer> basket = Map.of("apple", 1, "banana", 1, "peach", 1, "kiwi", 1);
+
+    BasketDiscount best = solve(optimal.newSolver(), priceBook, basket);
+
+    assertEquals(100, best.getTotalDiscountInCents());
+    assertEquals(2, best.getBreakdowns().size());
+    assertEquals(70, solve(greedy.newSolver(), priceBook, basket).getTotalDiscountInCents());
+  }
+
+  @Test
+  @DisplayName("a multi-buy offer should compete with the bundles for the same units")
+  void shouldWeighMultiBuyAgainstBundles() {
+    PriceBookSnapshot priceBook = priceBook(
+        Map.of("apple", price(30, 2, 15), "peach", price(60), "kiwi", price(20)),
+        bundle("Any 3 of apple, kiwi or peach", 100, component(3, "apple", "kiwi", "peach")));
+
+    BasketDiscount bundled = solve(optimal.newSolver(), priceBook, Map.of("apple", 2, "peach", 1));
+    BasketDiscount multiBuy = solve(optimal.newSolver(), priceBook, Map.of("apple", 2, "kiwi", 1));
+
+    assertEquals(List.of(new DiscountBreakdown("Any 3 of apple, kiwi or peach", 1, 20, 20)), bundled.getBreakdowns());
+    assertEquals(List.of(new DiscountBreakdown("Apple", 1, 15, 15)), multiBuy.getBreakdowns());
+  }
+
+  @Test
+  @DisplayName("a meal deal should take one unit from each component")
+  void shouldFillEveryComponentOfMealDeal() {
+    PriceBookSnapshot priceBook = priceBook(
+        Map.of("sandwich", price(250), "wrap", price(300), "crisps", price(90), "water", price(100), "juice", price(150)),
+        bundle("Meal deal", 400, component(1, "sandwich", "wrap"), component(1, "crisps"),
+            component(1, "water", "juice")));
+
+    BasketDiscount discount = solve(optimal.newSolver(), priceBook,
+        Map.of("sandwich", 1, "wrap", 1, "crisps", 1, "water", 1, "juice", 1));
+
+    // Only one bag of crisps, so one deal, built from the dearer main and drink: 300 + 90 + 150 - 400
+    assertEquals(140, discount.getTotalDiscountInCents());
+  }
+
+  @Test
+  @DisplayName("a solver reused across scans should match a fresh solve and never lose to greedy")
+  void shouldMatchFreshSolveWhenReusedAcrossScans() {
+    PriceBookSnapshot priceBook = priceBook(
+        Map.of("apple", price(30, 2, 15), "banana", price(50, 3, 20), "peach", price(60), "kiwi", price(20)),
+        bundle("Any 3 of apple, kiwi or peach", 100, component(3, "apple", "kiwi", "peach")),
+        bundle("Banana split", 90, component(1, "banana"), component(1, "peach", "kiwi")));
+    List<String> keys = List.of("apple", "banana", "peach", "kiwi");
+    DiscountSolver reused = optimal.newSolver();
+    Map<String, Integer> basket = new LinkedHashMap<>();
+    Random random = new Random(13);
+
+    for (int scan = 0; scan < 120; scan++) {
+      basket.merge(keys.get(random.nextInt(keys.size())), 1, Integer::sum);
+
+      int incremental = solve(reused, priceBook, basket).getTotalDiscountInCents();
+      int fresh = solve(optimal.newSolver(), priceBook, basket).getTotalDiscountInCents();
+      int greedyDiscount = solve(greedy.newSolver(), priceBook, basket).getTotalDiscountInCents();
+      assertEquals(fresh, incremental, "After scan " + scan + " of " + basket);
+      assertTrue(incremental >= greedyDiscount, "Greedy beat optimal for " + basket);
+    }
+  }
+
+  @Test
+  @DisplayName("a bundled line of thousands of units should be priced without running out of stack")
+  void shouldPriceLargeBundledQuantity() {
+    PriceBookSnapshot priceBook = priceBook(
+        Map.of("apple", price(30, 2, 15), "banana", price(50)),
+        bundle("Apple and banana", 60, component(1, "apple"), component(1, "banana")));
+
+    for (int apples : new int[] {5_000, 30_000}) {
+      Map<String, Integer> basket = Map.of("apple", apples, "banana", 1);
+
+      BasketDiscount discount = solve(optimal.newSolver(), priceBook, basket);
+
+      assertEquals(solve(greedy.newSolver(), priceBook, basket).getTotalDiscountInCents(),
+          discount.getTotalDiscountInCents());
+    }
+  }
+
+  private static BasketDiscount solve(DiscountSolver solver, PriceBookSnapshot priceBook, Map<String, Integer> basket) {
+    Item[] items = new Item[basket.size()];
+    int[] quantities = new int[basket.size()];
+    int count = 0;
+    for (Map.Entry<String, Integer> line : basket.entrySet()) {
+      items[count] = CATALOG.resolve(line.getKey());
+      quantities[count++] = line.getValue();
+    }
+    return solver.solve(priceBook, items, quantities, count);
+  }
+
+  private static PriceBookSnapshot priceBook(Map<String, ItemPricing> prices, BundleOffer... bundles) {
+    Map<Item, ItemPricing> pricing = new HashMap<>();
+    prices.forEach((key, itemPricing) -> pricing.put(CATALOG.resolve(key), itemPricing));
+    return PriceBookSnapshot.of(1, CATALOG, BarcodeIndex.empty(), List.of(bundles), pricing);
+  }
+
+  private static ItemPricing price(int priceInCents) {
+    return new ItemPricing(priceInCents, null);
+  }
+
+  private static ItemPricing price(int priceInCents, int offerQuantity, int savingsInCents) {
+    return new ItemPricing(priceInCents, new DiscountRule(offerQuantity, savingsInCents));
+  }
+
+  private static BundleOffer bundle(String name, int priceInCents, BundleComponent... components) {
+    return new BundleOffer(name.toLowerCase().replace(' ', '-'), name, priceInCents, List.of(components));
+  }
+
+  private static BundleComponent component(int requiredQuantity, String... itemKeys) {
+    return new BundleComponent(requiredQuantity, List.of(itemKeys).stream().map(CATALOG::resolve).toList());
+  }
+}
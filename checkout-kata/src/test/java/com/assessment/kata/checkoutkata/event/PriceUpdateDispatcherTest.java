@@ -0,0 +1,205 @@
+package com.assessment.kata.checkoutkata.event;
+
+import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.SchedulePromotionRequestDTO;
+import com.assessment.kata.checkoutkata.model.Cart;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import com.assessment.kata.checkoutkata.repository.ScheduledOfferRepository;
+import com.assessment.kata.checkoutkata.service.CartStore;
+import com.assessment.kata.checkoutkata.service.CheckoutService;
+import com.assessment.kata.checkoutkata.service.PriceBook;
+import com.assessment.kata.checkoutkata.service.PricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: updates are only dispatched once a transaction commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("PriceUpdateDispatcher Tests")
+class PriceUpdateDispatcherTest {
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private BatchCollector batchCollector;
+  @Autowired private CheckoutService checkoutService;
+  @Autowired private CartStore cartStore;
+  @Autowired private PricingRepository pricingRepository;
+  @Autowired private PriceBook priceBook;
+  @Autowired private PricingService pricingService;
+  @Autowired private ScheduledOfferRepository scheduledOfferRepository;
+
+  private static final ItemCatalog CATALOG = ItemCatalog.of(List.of("apple", "banana", "peach"));
+  private static final Item APPLE = CATALOG.resolve("apple");
+  private static final Item BANANA = CATALOG.resolve("banana");
+  private static final Item PEACH = CATALOG.resolve("peach");
+
+  @BeforeEach
+  void setUp() {
+    batchCollector.batches.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduledOfferRepository.deleteAll();
+    pricingRepository.deleteAll();
+    checkoutService.clearCart("dispatch-lane");
+  }
+
+  @Test
+  @DisplayName("Updates to the same item should reach listeners as one merged event in one batch")
+  void shouldCoalesceUpdatesPerItem() throws InterruptedException {
+    transactionTemplate.executeWithoutResult(status -> {
+      eventPublisher.publishEvent(priceChange(APPLE, 30, 35));
+      eventPublisher.publishEvent(priceChange(BANANA, 50, 55));
+      eventPublisher.publishEvent(priceChange(APPLE, 35, 40));
+    });
+
+    PriceUpdateBatchEvent batch = batchCollector.batches.poll(5, TimeUnit.SECONDS);
+    assertNotNull(batch);
+    Map<Item, PriceUpdateEvent> updates = batch.getUpdates().stream()
+        .collect(Collectors.toMap(PriceUpdateEvent::getItem, Function.identity()));
+    assertEquals(2, updates.size());
+    assertEquals(30, updates.get(APPLE).getOldPriceInCents());
+    assertEquals(40, updates.get(APPLE).getNewPriceInCents());
+    assertEquals("Price updated: Apple $0.30 → $0.40", updates.get(APPLE).getDescription());
+    assertNull(batchCollector.batches.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  @DisplayName("Updates of different types to the same item should all be dispatched, in the order they came")
+  void shouldKeepUpdatesOfDifferentTypes() throws InterruptedException {
+    transactionTemplate.executeWithoutResult(status -> {
+      eventPublisher.publishEvent(priceChange(APPLE, 30, 35));
+      eventPublisher.publishEvent(PriceUpdateEvent.builder()
+          .source(this)
+          .item(APPLE)
+          .updateType(UpdateType.OFFER_CHANGED)
+          .offerQuantity(3)
+          .offerSavingsInCents(20)
+          .description("New offer: Apple")
+          .build());
+      eventPublisher.publishEvent(priceChange(APPLE, 35, 40));
+    });
+
+    PriceUpdateBatchEvent batch = batchCollector.batches.poll(5, TimeUnit.SECONDS);
+    assertNotNull(batch);
+    assertEquals(List.of(UpdateType.OFFER_CHANGED, UpdateType.PRICE_CHANGED),
+        batch.getUpdates().stream().map(PriceUpdateEvent::getUpdateType).toList());
+    assertEquals(30, batch.getUpdates().get(1).getOldPriceInCents());
+    assertEquals(40, batch.getUpdates().get(1).getNewPriceInCents());
+  }
+
+  @Test
+  @DisplayName("Updates from a rolled back transaction should never be dispatched")
+  void shouldDropUpdatesFromRolledBackTransaction() throws InterruptedException {
+    transactionTemplate.executeWithoutResult(status -> {
+      eventPublisher.publishEvent(priceChange(PEACH, 60, 70));
+      status.setRollbackOnly();
+    });
+
+    assertNull(batchCollector.batches.poll(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  @DisplayName("Carts holding an updated item should be notified once the batch is dispatched")
+  void shouldNotifyCartsAfterDispatch() throws InterruptedException {
+    PricingConfig config = new PricingConfig();
+    config.setItemKey("apple");
+    config.setPriceInCents(30);
+    pricingRepository.save(config);
+    priceBook.reload();
+    checkoutService.scanItems("dispatch-lane", new ItemQuantityRequestDTO("apple", 1));
+
+    eventPublisher.publishEvent(priceChange(priceBook.catalog().resolve("apple"), 30, 40));
+
+    Cart cart = cartStore.find("dispatch-lane").orElseThrow();
+    String message = null;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (message == null && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      message = cart.takePendingPriceChangeMessage();
+    }
+    assertEquals("🔄 Price updated: Apple Your cart has been recalculated.", message);
+  }
+
+  @Test
+  @DisplayName("A scheduled promotion should be swapped in and out at its boundaries and announced each time")
+  void shouldApplyPromotionAtItsBoundaries() throws InterruptedException {
+    PricingConfig config = new PricingConfig();
+    config.setItemKey("apple");
+    config.setPriceInCents(30);
+    pricingRepository.save(config);
+    priceBook.reload();
+    Item apple = priceBook.catalog().resolve("apple");
+    LocalDateTime start = LocalDateTime.now().plusSeconds(1);
+
+    pricingService.schedulePromotionByName("apple", new SchedulePromotionRequestDTO(2, 20, start, start.plusSeconds(1)));
+    assertEquals(0, priceBook.snapshot().get(apple).getOfferTable().savingsFor(2));
+
+    PriceUpdateEvent started = batchCollector.batches.poll(5, TimeUnit.SECONDS).getUpdates().get(0);
+    assertEquals(UpdateType.PROMOTION_STARTED, started.getUpdateType());
+    assertEquals("Promotion Apple: started 2 for $0.40 (save $0.20)", started.getDescription());
+    assertEquals(20, priceBook.snapshot().get(apple).getOfferTable().savingsFor(2));
+
+    PriceUpdateEvent ended = batchCollector.batches.poll(5, TimeUnit.SECONDS).getUpdates().get(0);
+    assertEquals(UpdateType.PROMOTION_ENDED, ended.getUpdateType());
+    assertEquals(0, priceBook.snapshot().get(apple).getOfferTable().savingsFor(2));
+    assertEquals(apple, ended.getItem());
+  }
+
+  private PriceUpdateEvent priceChange(Item item, int oldPrice, int newPrice) {
+    return PriceUpdateEvent.builder()
+        .source(this)
+        .item(item)
+        .updateType(UpdateType.PRICE_CHANGED)
+        .oldPriceInCents(oldPrice)
+        .newPriceInCents(newPrice)
+        .description("Price updated: " + item.getDisplayName())
+        .build();
+  }
+
+  @TestConfiguration
+  static class BatchCollectorConfig {
+
+    @Bean
+    BatchCollector batchCollector() {
+      return new BatchCollector();
+    }
+  }
+
+  static class BatchCollector {
+
+    private final BlockingQueue<PriceUpdateBatchEvent> batches = new LinkedBlockingQueue<>();
+
+    @EventListener
+    public void onBatch(PriceUpdateBatchEvent batch) {
+      batches.add(batch);
+    }
+  }
+}
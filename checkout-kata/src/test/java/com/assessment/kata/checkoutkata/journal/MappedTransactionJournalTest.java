@@ -0,0 +1,132 @@
+package com.assessment.kata.checkoutkata.journal;
+
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappedTransactionJournal Tests")
+class MappedTransactionJournalTest {
+
+  private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-17T12:00:00.000123Z"), ZoneOffset.UTC);
+  private static final Item APPLE = ItemCatalog.of(List.of("apple")).resolve("apple");
+  // 16 records per segment
+  private static final DataSize SEGMENT_SIZE = DataSize.ofBytes(16 * JournalRecord.SIZE);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("Concurrent appends should each get one slot and read back in sequence order across segments")
+  void shouldReadConcurrentAppendsInSequenceOrder() throws Exception {
+    MappedTransactionJournal journal = open();
+    int tills = 8;
+    int appendsPerTill = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(tills);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < tills; t++) {
+      String cartId = "lane-" + t;
+      futures.add(executor.submit(() -> {
+        for (int i = 1; i <= appendsPerTill; i++) {
+          journal.scanned(cartId, APPLE, 1, i);
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    journal.close();
+
+    JournalCursor cursor = journal.cursor(0);
+    Map<String, Integer> lastTotals = new HashMap<>();
+    long expectedSequence = 0;
+    while (cursor.next()) {
+      JournalRecord record = cursor.record();
+      assertEquals(expectedSequence++, record.sequence());
+      assertEquals(JournalRecord.SCAN, record.type());
+      assertEquals("apple", record.key());
+      // Each till's records keep the order it appended them in
+      int previous = lastTotals.getOrDefault(record.cartId(), 0);
+      assertEquals(previous + 1, record.totalInCents());
+      lastTotals.put(record.cartId(), record.totalInCents());
+    }
+    assertEquals(tills * appendsPerTill, expectedSequence);
+    assertEquals(tills * appendsPerTill / 16, segmentCount());
+  }
+
+  @Test
+  @DisplayName("A cursor at the end should pick up records appended later, fields intact")
+  void shouldTailNewRecords() throws IOException {
+    MappedTransactionJournal journal = open();
+    JournalCursor cursor = journal.cursor(0);
+    assertFalse(cursor.next());
+
+    journal.completed("lane-1", "R1A2B3C-42", 95);
+
+    assertTrue(cursor.next());
+    JournalRecord record = cursor.record();
+    assertEquals(JournalRecord.COMPLETE, record.type());
+    assertEquals("lane-1", record.cartId());
+    assertEquals("R1A2B3C-42", record.key());
+    assertEquals(95, record.totalInCents());
+    assertEquals(CLOCK.instant().toEpochMilli() * 1000 + 123, record.timestampMicros());
+    assertFalse(cursor.next());
+    assertEquals(1, cursor.position());
+  }
+
+  @Test
+  @DisplayName("Reopening should resume after the last published record")
+  void shouldResumeAfterRestart() throws IOException {
+    MappedTransactionJournal journal = open();
+    for (int i = 0; i < 20; i++) {
+      journal.scanned("lane-1", APPLE, 1, JournalRecord.TOTAL_UNKNOWN);
+    }
+    journal.close();
+
+    MappedTransactionJournal reopened = open();
+    assertEquals(20, reopened.nextSequence());
+    reopened.removed("lane-1", APPLE, 2, 0);
+    reopened.cleared("lane-1");
+
+    JournalCursor cursor = reopened.cursor(20);
+    assertTrue(cursor.next());
+    assertEquals(JournalRecord.REMOVE, cursor.record().type());
+    assertEquals(2, cursor.record().quantity());
+    assertTrue(cursor.next());
+    assertEquals(JournalRecord.CLEAR, cursor.record().type());
+    assertEquals("", cursor.record().key());
+    assertFalse(cursor.next());
+  }
+
+  private MappedTransactionJournal open() throws IOException {
+    MappedTransactionJournal journal = new MappedTransactionJournal(CLOCK, true, directory, SEGMENT_SIZE);
+    journal.open();
+    return journal;
+  }
+
+  private long segmentCount() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+}
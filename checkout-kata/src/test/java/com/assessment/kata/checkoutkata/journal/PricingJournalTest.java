@@ -0,0 +1,87 @@
+package com.assessment.kata.checkoutkata.journal;
+
+import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import com.assessment.kata.checkoutkata.service.PriceBook;
+import com.assessment.kata.checkoutkata.service.ReactivePricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Not {@code @Transactional}: pricing changes reach the journal once they have committed.
+ */
+@SpringBootTest(properties = "checkout.journal.enabled=true")
+@ActiveProfiles("test")
+@DisplayName("Pricing Journal Tests")
+class PricingJournalTest {
+
+  @TempDir
+  static Path journalDir;
+
+  @Autowired private ReactivePricingService reactivePricingService;
+  @Autowired private MappedTransactionJournal journal;
+  @Autowired private PricingRepository pricingRepository;
+  @Autowired private PriceBook priceBook;
+
+  @DynamicPropertySource
+  static void journalProperties(DynamicPropertyRegistry registry) {
+    registry.add("checkout.journal.dir", () -> journalDir.toString());
+  }
+
+  @BeforeEach
+  void setUp() {
+    PricingConfig apple = new PricingConfig();
+    apple.setItemKey("apple");
+    apple.setPriceInCents(30);
+    apple.setOfferQuantity(2);
+    apple.setOfferSavingsInCents(15);
+    pricingRepository.save(apple);
+    priceBook.reload();
+  }
+
+  @AfterEach
+  void tearDown() {
+    pricingRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Reactive offer changes should be journaled with their quantity and savings")
+  void shouldJournalReactiveOfferChanges() throws Exception {
+    long from = journal.nextSequence();
+    UpdateOfferRequestDTO request = UpdateOfferRequestDTO.builder().quantity(3).savingsInCents(20).build();
+
+    StepVerifier.create(reactivePricingService.updateItemOfferByName("apple", request))
+        .expectNextCount(1)
+        .verifyComplete();
+    StepVerifier.create(reactivePricingService.removeItemOfferByName("apple"))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    JournalCursor cursor = journal.cursor(from);
+    assertTrue(cursor.next());
+    assertEquals(JournalRecord.OFFER, cursor.record().type());
+    assertEquals("apple", cursor.record().key());
+    assertEquals(3, cursor.record().quantity());
+    assertEquals(20, cursor.record().totalInCents());
+    assertTrue(cursor.next());
+    assertEquals(JournalRecord.OFFER, cursor.record().type());
+    assertEquals(0, cursor.record().quantity());
+    assertFalse(cursor.next());
+  }
+}
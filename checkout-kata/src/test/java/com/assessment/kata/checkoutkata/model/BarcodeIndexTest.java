@@ -0,0 +1,58 @@
+package com.assessment.kata.checkoutkata.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("BarcodeIndex Lookup Tests")
+class BarcodeIndexTest {
+
+  @Test
+  @DisplayName("find should return the item id of a known code and NOT_FOUND otherwise")
+  void shouldFindKnownCodes() {
+    BarcodeIndex index = BarcodeIndex.of(new long[] {5000000000012L, 96385074L}, new int[] {3, 7}, 2);
+
+    assertEquals(3, index.find(5000000000012L));
+    assertEquals(7, index.find(96385074L));
+    assertEquals(BarcodeIndex.NOT_FOUND, index.find(4006381333931L));
+    assertEquals(BarcodeIndex.NOT_FOUND, index.find(0));
+    assertEquals(BarcodeIndex.NOT_FOUND, BarcodeIndex.empty().find(5000000000012L));
+  }
+
+  @Test
+  @DisplayName("a code listed twice should map to the item given last")
+  void shouldKeepLastMappingForDuplicateCodes() {
+    BarcodeIndex index = BarcodeIndex.of(new long[] {42L, 42L}, new int[] {1, 2}, 2);
+
+    assertEquals(1, index.size());
+    assertEquals(2, index.find(42L));
+  }
+
+  @Test
+  @DisplayName("non-positive codes should be rejected when building")
+  void shouldRejectNonPositiveCodes() {
+    assertThrows(IllegalArgumentException.class,
+        () -> BarcodeIndex.of(new long[] {-1L}, new int[] {0}, 1));
+  }
+
+  @Test
+  @DisplayName("a million sequential EAN-13 codes should all resolve")
+  void shouldIndexMillionsOfCodes() {
+    int count = 1_000_000;
+    long[] codes = new long[count];
+    int[] itemIds = new int[count];
+    for (int i = 0; i < count; i++) {
+      codes[i] = 4_000_000_000_000L + i * 10L;
+      itemIds[i] = i % 50_000;
+    }
+    BarcodeIndex index = BarcodeIndex.of(codes, itemIds, count);
+
+    assertEquals(count, index.size());
+    for (int i = 0; i < count; i++) {
+      assertEquals(i % 50_000, index.find(codes[i]));
+    }
+    assertEquals(BarcodeIndex.NOT_FOUND, index.find(4_000_000_000_001L));
+  }
+}
@@ -0,0 +1,68 @@
+package com.assessment.kata.checkoutkata.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("ItemCatalog Index Tests")
+class ItemCatalogTest {
+
+  @Test
+  @DisplayName("find should match keys case-insensitively")
+  void shouldFindKeysIgnoringCase() {
+    ItemCatalog catalog = ItemCatalog.of(List.of("apple", "dragon_fruit"));
+
+    assertSame(catalog.find("apple"), catalog.find("APPLE"));
+    assertSame(catalog.find("dragon_fruit"), catalog.find("Dragon_Fruit"));
+    assertEquals("Dragon Fruit", catalog.resolve("dragon_fruit").getDisplayName());
+    assertEquals(2, catalog.size());
+  }
+
+  @Test
+  @DisplayName("unknown keys should be absent and fail to resolve")
+  void shouldRejectUnknownKeys() {
+    ItemCatalog catalog = ItemCatalog.of(List.of("apple"));
+
+    assertNull(catalog.find("pear"));
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> catalog.resolve("pear"));
+    assertEquals("No item found with key: pear", exception.getMessage());
+  }
+
+  @Test
+  @DisplayName("withKeys should keep existing ids and ignore duplicates")
+  void shouldKeepIdsStableWhenExtended() {
+    ItemCatalog catalog = ItemCatalog.of(List.of("apple", "banana"));
+    Item apple = catalog.resolve("apple");
+
+    ItemCatalog extended = catalog.withKeys(List.of("BANANA", "kiwi", "kiwi"));
+
+    assertSame(catalog, catalog.withKeys(List.of("Apple")));
+    assertEquals(3, extended.size());
+    assertEquals(apple, extended.resolve("apple"));
+    assertEquals(2, extended.resolve("kiwi").getId());
+    assertSame(extended.get(2), extended.resolve("KIWI"));
+  }
+
+  @Test
+  @DisplayName("large catalogs should resolve every key to its own id")
+  void shouldIndexLargeCatalogs() {
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 50_000; i++) {
+      keys.add("sku-" + i);
+    }
+    ItemCatalog catalog = ItemCatalog.of(keys);
+
+    assertEquals(keys.size(), catalog.size());
+    for (int i = 0; i < keys.size(); i++) {
+      assertEquals(i, catalog.resolve(keys.get(i).toUpperCase()).getId());
+    }
+  }
+}
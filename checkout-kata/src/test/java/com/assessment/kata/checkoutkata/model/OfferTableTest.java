@@ -0,0 +1,91 @@
+package com.assessment.kata.checkoutkata.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("OfferTable Tier Combination Tests")
+class OfferTableTest {
+
+  @Test
+  @DisplayName("a single tier should discount every complete set")
+  void shouldMatchSingleRule() {
+    OfferTable table = OfferTable.of(List.of(new DiscountRule(3, 20)));
+
+    for (int quantity = 0; quantity < 50; quantity++) {
+      assertEquals(quantity / 3 * 20, table.savingsFor(quantity));
+      assertEquals(quantity / 3, table.setsFor(quantity));
+    }
+  }
+
+  @Test
+  @DisplayName("2 for 45 and 5 for 100 should be mixed for the largest saving")
+  void shouldMixTiers() {
+    // Apple at 30¢: 2 for 45 saves 15¢, 5 for 100 saves 50¢
+    OfferTable table = OfferTable.of(List.of(new DiscountRule(2, 15), new DiscountRule(5, 50)));
+
+    assertEquals(65, table.savingsFor(7));
+    assertArrayEquals(new int[] {1, 1}, table.setsPerTier(7));
+    assertEquals(2, table.setsFor(7));
+    assertArrayEquals(new int[] {0, 200_000}, table.setsPerTier(1_000_000));
+  }
+
+  @Test
+  @DisplayName("lookups, including past the end of the table, should equal an exhaustive search")
+  void shouldMatchExhaustiveSearch() {
+    Random random = new Random(7);
+    for (int round = 0; round < 200; round++) {
+      List<DiscountRule> tiers = new ArrayList<>();
+      for (int t = 0, count = 1 + random.nextInt(4); t < count; t++) {
+        tiers.add(new DiscountRule(2 + random.nextInt(9), 1 + random.nextInt(100)));
+      }
+      OfferTable table = OfferTable.of(tiers);
+
+      int[] best = exhaustive(tiers, 300);
+      for (int quantity = 0; quantity <= 300; quantity++) {
+        assertEquals(best[quantity], table.savingsFor(quantity), "Tiers " + tiers + ", quantity " + quantity);
+        int[] sets = table.setsPerTier(quantity);
+        int savings = 0;
+        int units = 0;
+        for (int t = 0; t < sets.length; t++) {
+          savings += sets[t] * tiers.get(t).getSavingsInCents();
+          units += sets[t] * tiers.get(t).getRequiredQuantity();
+        }
+        assertEquals(best[quantity], savings);
+        assertEquals(table.setsFor(quantity), Arrays.stream(sets).sum());
+        assertTrue(units <= quantity);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("tiers without a positive quantity and saving should be rejected")
+  void shouldRejectInvalidTiers() {
+    assertThrows(IllegalArgumentException.class, () -> OfferTable.of(List.of(new DiscountRule(0, 10))));
+    assertThrows(IllegalArgumentException.class, () -> OfferTable.of(List.of(new DiscountRule(2, 0))));
+    assertEquals(0, OfferTable.of(List.of()).savingsFor(1_000));
+  }
+
+  private static int[] exhaustive(List<DiscountRule> tiers, int maxQuantity) {
+    int[] best = new int[maxQuantity + 1];
+    for (int quantity = 1; quantity <= maxQuantity; quantity++) {
+      best[quantity] = best[quantity - 1];
+      for (DiscountRule tier : tiers) {
+        if (tier.getRequiredQuantity() <= quantity) {
+          best[quantity] = Math.max(best[quantity],
+              best[quantity - tier.getRequiredQuantity()] + tier.getSavingsInCents());
+        }
+      }
+    }
+    return best;
+  }
+}
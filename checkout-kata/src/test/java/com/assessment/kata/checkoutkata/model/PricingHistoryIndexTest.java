@@ -0,0 +1,70 @@
+package com.assessment.kata.checkoutkata.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("PricingHistoryIndex Point-in-Time Tests")
+class PricingHistoryIndexTest {
+
+  private static final ItemPricing REGULAR = new ItemPricing(30, new DiscountRule(2, 15));
+  private static final ItemPricing RAISED = new ItemPricing(35, new DiscountRule(2, 15));
+  private static final ItemPricing NO_OFFER = new ItemPricing(35, null);
+
+  @Test
+  @DisplayName("the version in force should be the last one starting at or before the instant")
+  void shouldFindVersionInForce() {
+    PricingHistoryIndex index = PricingHistoryIndex.of(List.of(
+        version("apple", 100, REGULAR),
+        version("apple", 200, RAISED),
+        version("apple", 300, NO_OFFER),
+        version("banana", 150, RAISED)));
+
+    assertNull(index.at("apple", 99));
+    assertEquals(REGULAR, index.at("apple", 100).pricing());
+    assertEquals(REGULAR, index.at("apple", 199).pricing());
+    assertEquals(RAISED, index.at("apple", 200).pricing());
+    assertEquals(NO_OFFER, index.at("apple", Long.MAX_VALUE).pricing());
+    assertEquals(RAISED, index.at("banana", 150).pricing());
+    assertNull(index.at("peach", 1_000));
+  }
+
+  @Test
+  @DisplayName("versions added later should extend only their items' timelines, in start order")
+  void shouldAddVersionsWithoutChangingTheOriginal() {
+    PricingHistoryIndex original = PricingHistoryIndex.of(List.of(version("apple", 100, REGULAR)));
+
+    PricingHistoryIndex grown = original.with(List.of(
+        version("apple", 300, NO_OFFER),
+        version("banana", 100, RAISED),
+        // Committed after the version above although it started first
+        version("apple", 200, RAISED)));
+
+    assertEquals(REGULAR, original.at("apple", 250).pricing());
+    assertNull(original.at("banana", 250));
+    assertEquals(RAISED, grown.at("apple", 250).pricing());
+    assertEquals(NO_OFFER, grown.at("apple", 300).pricing());
+    assertEquals(RAISED, grown.at("banana", 250).pricing());
+    assertEquals(2, grown.itemCount());
+  }
+
+  @Test
+  @DisplayName("of two versions starting at the same instant the later one should win")
+  void shouldPreferLaterVersionAtSameInstant() {
+    PricingHistoryIndex index = PricingHistoryIndex.of(List.of(
+        version("apple", 100, REGULAR),
+        version("apple", 100, RAISED),
+        version("apple", 100, NO_OFFER)));
+
+    assertEquals(NO_OFFER, index.at("apple", 100).pricing());
+  }
+
+  private static PricingHistoryIndex.Version version(String itemKey, long millis, ItemPricing pricing) {
+    return new PricingHistoryIndex.Version(itemKey, LocalDateTime.MIN, millis, pricing);
+  }
+}
@@ -0,0 +1,63 @@
+package com.assessment.kata.checkoutkata.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("PromotionSchedule Transition Tests")
+class PromotionScheduleTest {
+
+  private static final ItemCatalog CATALOG = ItemCatalog.of(List.of("apple", "banana"));
+  private static final Item APPLE = CATALOG.resolve("apple");
+  private static final Item BANANA = CATALOG.resolve("banana");
+  private static final DiscountRule WEEKEND = new DiscountRule(2, 20);
+  private static final DiscountRule FLASH = new DiscountRule(3, 40);
+
+  @Test
+  @DisplayName("transitions should be the distinct start and end instants in order")
+  void shouldListTransitionsInOrder() {
+    PromotionSchedule schedule = PromotionSchedule.of(List.of(
+        new PromotionSchedule.Window(APPLE, WEEKEND, 100, 300),
+        new PromotionSchedule.Window(BANANA, FLASH, 200, PromotionSchedule.NO_TRANSITION),
+        new PromotionSchedule.Window(APPLE, FLASH, 300, 400)));
+
+    assertEquals(100, schedule.nextTransitionAfter(0));
+    assertEquals(200, schedule.nextTransitionAfter(100));
+    assertEquals(300, schedule.nextTransitionAfter(250));
+    assertEquals(400, schedule.nextTransitionAfter(300));
+    assertEquals(PromotionSchedule.NO_TRANSITION, schedule.nextTransitionAfter(400));
+  }
+
+  @Test
+  @DisplayName("changes should carry each affected item's tiers as they stand at the end of the range")
+  void shouldPrecomputeTiersPerTransition() {
+    PromotionSchedule schedule = PromotionSchedule.of(List.of(
+        new PromotionSchedule.Window(APPLE, WEEKEND, 100, 300),
+        new PromotionSchedule.Window(APPLE, FLASH, 200, 250),
+        new PromotionSchedule.Window(BANANA, FLASH, 400, 500)));
+
+    assertEquals(Map.of(APPLE, List.of(WEEKEND)), schedule.changesBetween(0, 100));
+    assertEquals(Map.of(APPLE, List.of(WEEKEND, FLASH)), schedule.changesBetween(100, 200));
+    assertEquals(Map.of(APPLE, List.of()), schedule.changesBetween(200, 399));
+    assertEquals(Map.of(BANANA, List.of(FLASH)), schedule.changesBetween(399, 400));
+    assertTrue(schedule.changesBetween(400, 10_000).containsKey(BANANA));
+    assertTrue(schedule.changesBetween(400, 10_000).get(BANANA).isEmpty());
+  }
+
+  @Test
+  @DisplayName("activeAt should treat windows as starting inclusively and ending exclusively")
+  void shouldReportActiveWindows() {
+    PromotionSchedule schedule = PromotionSchedule.of(List.of(
+        new PromotionSchedule.Window(APPLE, WEEKEND, 100, 300),
+        new PromotionSchedule.Window(BANANA, FLASH, 300, 300)));
+
+    assertEquals(Map.of(), schedule.activeAt(99));
+    assertEquals(Map.of(APPLE, List.of(WEEKEND)), schedule.activeAt(100));
+    assertEquals(Map.of(), schedule.activeAt(300));
+  }
+}
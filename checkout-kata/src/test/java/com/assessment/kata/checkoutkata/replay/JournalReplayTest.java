@@ -0,0 +1,216 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import com.assessment.kata.checkoutkata.journal.JournalRecord;
+import com.assessment.kata.checkoutkata.journal.MappedTransactionJournal;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.assessment.kata.checkoutkata.util.CheckoutStringUtils.formatPrice;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JournalReplay Tests")
+class JournalReplayTest {
+
+  private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-17T12:00:00Z"), ZoneOffset.UTC);
+  private static final Item APPLE = ItemCatalog.of(List.of("apple")).resolve("apple");
+  private static final int APPLE_PRICE = 30;
+  private static final String SCAN = "POST /api/checkout/{cartId}/scan";
+
+  @TempDir
+  Path directory;
+
+  private final JournalReplay replay = new JournalReplay(null, null, null, Path.of("unused"));
+
+  @BeforeEach
+  void writeJournal() throws IOException {
+    MappedTransactionJournal journal = new MappedTransactionJournal(CLOCK, true, directory, DataSize.ofKilobytes(4));
+    journal.open();
+    for (int lane = 0; lane < 5; lane++) {
+      String cartId = "lane-" + lane;
+      int total = 0;
+      for (int i = 1; i <= 10; i++) {
+        total += APPLE_PRICE;
+        journal.scanned(cartId, APPLE, 1, total);
+      }
+      total -= APPLE_PRICE;
+      journal.removed(cartId, APPLE, 1, total);
+      journal.completed(cartId, "R" + lane, total);
+    }
+    journal.close();
+  }
+
+  @Test
+  @DisplayName("Replaying the journal should send each record once, per cart in order, and match every total")
+  void shouldReplayEveryRecordWithMatchingTotals() throws Exception {
+    ReplayOptions options = ReplayOptions.parse(new String[] {directory.toString(), "--speed=max", "--workers=4"},
+        Path.of("unused"));
+
+    ReplayReport report = replay.replay(replay.read(options), new Till(0), options);
+
+    assertEquals(60, report.requests());
+    assertEquals(50, report.get(SCAN).count());
+    assertEquals(5, report.get("POST /api/checkout/{cartId}/remove").count());
+    assertEquals(5, report.get("POST /api/checkout/{cartId}/complete").count());
+    assertEquals(0, report.get(SCAN).mismatches());
+    assertFalse(report.hasFailures());
+  }
+
+  @Test
+  @DisplayName("Totals that differ from the journal and failed requests should be reported as failures")
+  void shouldReportMismatchesAndErrors() throws Exception {
+    ReplayOptions options = ReplayOptions.parse(new String[] {directory.toString(), "--speed=max"}, Path.of("unused"));
+    Till pricierApples = new Till(1) {
+      @Override
+      public String send(ReplayRequest request) {
+        if (request.type() == JournalRecord.COMPLETE) {
+          throw new IllegalStateException("ledger down");
+        }
+        return super.send(request);
+      }
+    };
+
+    ReplayReport report = replay.replay(replay.read(options), pricierApples, options);
+
+    assertEquals(50, report.get(SCAN).mismatches());
+    assertEquals(5, report.get("POST /api/checkout/{cartId}/complete").errors());
+    assertTrue(report.hasFailures());
+    assertTrue(report.format().contains(SCAN));
+  }
+
+  @Test
+  @DisplayName("Totals of carts holding an uncomparable item should be counted apart from mismatches")
+  void shouldNotCompareCartsHoldingUncomparableItems() throws Exception {
+    ReplayOptions options = ReplayOptions.parse(new String[] {directory.toString(), "--speed=max"}, Path.of("unused"));
+
+    ReplayReport report = replay.replay(replay.read(options), new Till(1), options, Set.of("apple"));
+
+    assertEquals(0, report.get(SCAN).mismatches());
+    assertEquals(50, report.get(SCAN).notCompared());
+    assertFalse(report.hasFailures());
+    assertTrue(report.format().contains("60 totals not compared"));
+  }
+
+  @Test
+  @DisplayName("A paced replay should charge a stall to the requests that were due behind it")
+  void shouldMeasurePacedLatencyFromIntendedStart() throws Exception {
+    // Every record has the same timestamp, so with one worker all are due at once
+    ReplayOptions options = ReplayOptions.parse(new String[] {directory.toString(), "--speed=original",
+        "--workers=1"}, Path.of("unused"));
+    Till stallsOnce = new Till(0) {
+      @Override
+      public String send(ReplayRequest request) {
+        if (request.sequence() == 0) {
+          sleep(50);
+        }
+        return super.send(request);
+      }
+    };
+
+    ReplayReport report = replay.replay(replay.read(options), stallsOnce, options);
+
+    assertTrue(report.get(SCAN).percentileNanos(50) >= TimeUnit.MILLISECONDS.toNanos(50));
+    assertFalse(report.hasFailures());
+  }
+
+  @Test
+  @DisplayName("Options should take the journal, target, speed, start and workers and leave Spring arguments")
+  void shouldParseOptions() {
+    ReplayOptions options = ReplayOptions.parse(new String[] {"journal", "--target=http://host:8080", "--speed=2.5",
+        "--from=42", "--workers=3", "--server.port=0"}, Path.of("default"));
+
+    assertEquals(Path.of("journal"), options.journal());
+    assertFalse(options.isInProcess());
+    assertEquals(2.5, options.speed());
+    assertEquals(42, options.fromSequence());
+    assertEquals(3, options.workers());
+    assertEquals(Path.of("default"), ReplayOptions.parse(new String[0], Path.of("default")).journal());
+    assertFalse(ReplayOptions.parse(new String[] {"--speed=max"}, Path.of("default")).isPaced());
+    assertThrows(IllegalArgumentException.class,
+        () -> ReplayOptions.parse(new String[] {"--workers=0"}, Path.of("default")));
+  }
+
+  @Test
+  @DisplayName("An in-process replay should get its own database and side effects off, whatever was configured")
+  void shouldIsolateInProcessReplay() {
+    GenericApplicationContext context = new GenericApplicationContext();
+    context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("commandLine", Map.of(
+        "spring.datasource.url", "jdbc:postgresql://db:5432/checkout_db",
+        "spring.datasource.username", "checkout_user",
+        "checkout.journal.enabled", "true",
+        "checkout.carts.durable", "true")));
+
+    new InProcessReplayEnvironment().initialize(context);
+
+    ConfigurableEnvironment environment = context.getEnvironment();
+    assertEquals("jdbc:h2:mem:replay;DB_CLOSE_DELAY=-1", environment.getProperty("spring.datasource.url"));
+    assertEquals("false", environment.getProperty("checkout.journal.enabled"));
+    assertEquals("false", environment.getProperty("checkout.carts.durable"));
+    assertEquals("false", environment.getProperty("checkout.orders.enabled"));
+    assertEquals("jdbc:postgresql://db:5432/checkout_db",
+        environment.getProperty("checkout.replay.pricing-source.url"));
+    assertEquals("checkout_user", environment.getProperty("checkout.replay.pricing-source.username"));
+    assertTrue(InProcessReplayEnvironment.isRequested(new String[] {"replay", "journal", "--speed=max"}));
+    assertFalse(InProcessReplayEnvironment.isRequested(new String[] {"replay", "--target=http://host:8080"}));
+    assertFalse(InProcessReplayEnvironment.isRequested(new String[] {"cli"}));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Keeps apple-only carts, failing if a cart's records arrive out of order.
+   */
+  private static class Till implements ReplayTarget {
+
+    private final int surchargeInCents;
+    private final Map<String, Integer> totals = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastSequence = new ConcurrentHashMap<>();
+
+    Till(int surchargeInCents) {
+      this.surchargeInCents = surchargeInCents;
+    }
+
+    @Override
+    public String send(ReplayRequest request) {
+      Long previous = lastSequence.put(request.cartId(), request.sequence());
+      assertTrue(previous == null || previous < request.sequence(), "out of order for " + request.cartId());
+      int price = APPLE_PRICE + surchargeInCents;
+      int total = switch (request.type()) {
+        case JournalRecord.SCAN -> totals.merge(request.cartId(), price * request.quantity(), Integer::sum);
+        case JournalRecord.REMOVE -> totals.merge(request.cartId(), -price * request.quantity(), Integer::sum);
+        case JournalRecord.COMPLETE -> totals.remove(request.cartId());
+        default -> throw new IllegalArgumentException("Unexpected record " + request);
+      };
+      return formatPrice(total);
+    }
+
+    @Override
+    public String describe() {
+      return "till";
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.assessment.kata.checkoutkata.replay;
+
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import com.assessment.kata.checkoutkata.service.PriceBook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: the pricing source is read over a connection of its own. The test
+ * database stands in for the database the journal's instance used.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ReplayPricing Tests")
+class ReplayPricingTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2026, 10, 1, 9, 0);
+
+  @Autowired private PricingRepository pricingRepository;
+  @Autowired private PriceBook priceBook;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private Clock clock;
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM pricing_history WHERE valid_from < ?", Timestamp.valueOf(START.plusDays(1)));
+    jdbcTemplate.update("DELETE FROM bundle_offer_component");
+    jdbcTemplate.update("DELETE FROM bundle_offer");
+    jdbcTemplate.update("DELETE FROM scheduled_offer");
+    jdbcTemplate.update("DELETE FROM item_barcode");
+    pricingRepository.deleteAll();
+    priceBook.reload();
+  }
+
+  @Test
+  @DisplayName("A replay should start from each item's last pricing version at its first record")
+  void shouldSeedPricingInForceAtFirstRecord() {
+    history("apple", START, 30, 2, 15, "");
+    history("banana", START, 50, null, null, "5:40");
+    history("apple", START.plusHours(1), 35, null, null, "");
+    history("apple", START.plusHours(3), 40, 2, 20, "");
+    history("kiwi", START.plusHours(3), 20, null, null, "");
+    ReplayPricing replayPricing = replayPricing("jdbc:h2:mem:testdb");
+
+    replayPricing.seed(micros(START.plusHours(2)));
+
+    assertEquals(2, pricingRepository.count());
+    ItemPricing apple = priceBook.snapshot().get(priceBook.catalog().resolve("apple"));
+    assertEquals(35, apple.getPriceInCents());
+    assertNull(apple.getDiscountRule());
+    ItemPricing banana = priceBook.snapshot().get(priceBook.catalog().resolve("banana"));
+    assertEquals(List.of(new DiscountRule(5, 40)), banana.getOfferTiers());
+    assertNull(priceBook.catalog().find("kiwi"));
+  }
+
+  @Test
+  @DisplayName("An in-process replay without a pricing source should be refused")
+  void shouldRequirePricingSource() {
+    ReplayPricing replayPricing = replayPricing("");
+
+    assertThrows(IllegalStateException.class, () -> replayPricing.seed(micros(START)));
+  }
+
+  @Test
+  @DisplayName("A replay should copy bundles, barcodes and promotions, and report items promoted since its start")
+  void shouldCopyBundlesBarcodesAndPromotions() {
+    history("apple", START, 30, null, null, "");
+    history("banana", START, 50, null, null, "");
+    LocalDateTime now = LocalDateTime.now(clock);
+    jdbcTemplate.update("INSERT INTO bundle_offer (bundle_key, name, price_in_cents, created_at, updated_at) "
+        + "VALUES ('pair', 'Apple and banana', 60, ?, ?)", Timestamp.valueOf(now), Timestamp.valueOf(now));
+    jdbcTemplate.update("INSERT INTO bundle_offer_component (bundle_key, position, required_quantity, item_keys) "
+        + "VALUES ('pair', 0, 1, 'apple'), ('pair', 1, 1, 'banana')");
+    jdbcTemplate.update("INSERT INTO item_barcode (barcode, item_key) VALUES (5000000000012, 'apple')");
+    promotion("apple", START.minusDays(1), null);
+    promotion("banana", START.minusDays(3), START.minusDays(2));
+
+    Set<String> uncomparable = replayPricing("jdbc:h2:mem:testdb").seed(micros(START.plusHours(2)));
+
+    Item apple = priceBook.catalog().resolve("apple");
+    assertEquals(Set.of("apple"), uncomparable);
+    assertEquals(apple, priceBook.snapshot().findByBarcode(5000000000012L));
+    assertEquals("Apple and banana", priceBook.snapshot().bundlesFor(apple).get(0).getName());
+    assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scheduled_offer", Integer.class));
+  }
+
+  @Test
+  @DisplayName("Only promotions whose window overlaps the journal should make items uncomparable")
+  void shouldFindItemsPromotedSinceStart() {
+    List<Map<String, Object>> promotions = List.of(
+        Map.of("item_key", "apple", "valid_from", Timestamp.valueOf(START.minusDays(1))),
+        Map.of("item_key", "banana", "valid_from", Timestamp.valueOf(START.minusDays(3)),
+            "valid_to", Timestamp.valueOf(START.minusDays(2))),
+        Map.of("item_key", "kiwi", "valid_from", Timestamp.valueOf(START.plusDays(1)),
+            "valid_to", Timestamp.valueOf(START.plusDays(2))),
+        Map.of("item_key", "peach", "valid_from", Timestamp.valueOf(START.plusDays(5))));
+
+    assertEquals(Set.of("apple", "kiwi"), ReplayPricing.promotedSince(promotions, START, START.plusDays(3)));
+  }
+
+  private ReplayPricing replayPricing(String sourceUrl) {
+    return new ReplayPricing(pricingRepository, jdbcTemplate, priceBook, clock, sourceUrl, "sa", "");
+  }
+
+  private void promotion(String itemKey, LocalDateTime validFrom, LocalDateTime validTo) {
+    LocalDateTime now = LocalDateTime.now(clock);
+    jdbcTemplate.update("INSERT INTO scheduled_offer (item_key, offer_quantity, offer_savings_in_cents, valid_from, "
+            + "valid_to, created_at, updated_at) VALUES (?, 2, 5, ?, ?, ?, ?)", itemKey, Timestamp.valueOf(validFrom),
+        validTo == null ? null : Timestamp.valueOf(validTo), Timestamp.valueOf(now), Timestamp.valueOf(now));
+  }
+
+  private void history(String itemKey, LocalDateTime validFrom, int priceInCents, Integer offerQuantity,
+                       Integer offerSavingsInCents, String offerTiers) {
+    jdbcTemplate.update("INSERT INTO pricing_history (item_key, valid_from, price_in_cents, offer_quantity, "
+            + "offer_savings_in_cents, offer_tiers) VALUES (?, ?, ?, ?, ?, ?)", itemKey, Timestamp.valueOf(validFrom),
+        priceInCents, offerQuantity, offerSavingsInCents, offerTiers);
+  }
+
+  private long micros(LocalDateTime at) {
+    return ChronoUnit.MICROS.between(Instant.EPOCH, at.atZone(clock.getZone()).toInstant());
+  }
+}
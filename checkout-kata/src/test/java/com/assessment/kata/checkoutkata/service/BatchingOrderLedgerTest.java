@@ -0,0 +1,141 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.exception.OrderLedgerUnavailableException;
+import com.assessment.kata.checkoutkata.model.CheckoutSummary;
+import com.assessment.kata.checkoutkata.model.Receipt;
+import com.assessment.kata.checkoutkata.repository.CompletedOrderRepository;
+import com.assessment.kata.checkoutkata.util.ReceiptIds;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: the ledger commits on its own thread. Each test builds its own ledger so
+ * it controls when the writer starts.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BatchingOrderLedger Tests")
+class BatchingOrderLedgerTest {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private CompletedOrderRepository completedOrderRepository;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final List<String> receiptIds = new ArrayList<>();
+  private BatchingOrderLedger ledger;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (ledger != null) {
+      ledger.close();
+    }
+    completedOrderRepository.deleteAllById(receiptIds);
+  }
+
+  @Test
+  @DisplayName("Orders queued while the writer is busy should be written in one commit")
+  void shouldGroupQueuedOrdersIntoOneCommit() throws InterruptedException {
+    ledger = ledger(BatchingOrderLedger.Durability.ASYNC, 100);
+    for (int i = 0; i < 25; i++) {
+      assertFalse(ledger.record(receipt()));
+    }
+
+    ledger.start();
+    ledger.close();
+
+    assertEquals(25, completedOrderRepository.findAllById(receiptIds).size());
+    assertEquals(1, registry.summary("checkout.orders.batch.size").count());
+    assertEquals(25, registry.summary("checkout.orders.batch.size").totalAmount());
+  }
+
+  @Test
+  @DisplayName("A full queue should turn receipts away instead of blocking the checkout")
+  void shouldRejectReceiptsWhenQueueIsFull() {
+    ledger = ledger(BatchingOrderLedger.Durability.ASYNC, 1);
+    ledger.record(receipt());
+
+    assertThrows(OrderLedgerUnavailableException.class, () -> ledger.record(receipt()));
+  }
+
+  @Test
+  @DisplayName("COMMIT durability should return once the order is committed")
+  void shouldWaitForCommitWhenConfigured() {
+    ledger = ledger(BatchingOrderLedger.Durability.COMMIT, 100);
+    ledger.start();
+
+    assertTrue(ledger.record(receipt()));
+    assertTrue(completedOrderRepository.existsById(receiptIds.get(0)));
+  }
+
+  @Test
+  @DisplayName("An order rewritten for the same cart should be kept once")
+  void shouldKeepRewrittenOrderOnce() throws InterruptedException {
+    ledger = ledger(BatchingOrderLedger.Durability.ASYNC, 100);
+    Receipt receipt = receipt("lane-1");
+    ledger.record(receipt);
+    ledger.record(receipt);
+
+    ledger.start();
+    ledger.close();
+
+    assertEquals(1, completedOrderRepository.findAllById(receiptIds).size());
+  }
+
+  @Test
+  @DisplayName("A receipt id taken by another cart's order should fail that order and keep the rest of its batch")
+  void shouldFailOrderWhoseReceiptIdIsTaken() throws InterruptedException {
+    ledger = ledger(BatchingOrderLedger.Durability.ASYNC, 100);
+    Receipt first = receipt("lane-1");
+    ledger.record(first);
+    ledger.record(new Receipt(first.getReceiptId(), "lane-2", LocalDateTime.now(),
+        new CheckoutSummary(Map.of(), 0, 0, 0, List.of())));
+    ledger.record(receipt("lane-3"));
+
+    ledger.start();
+    ledger.close();
+
+    assertEquals(2, completedOrderRepository.findAllById(receiptIds).size());
+    assertEquals("lane-1", jdbcTemplate.queryForObject("SELECT cart_id FROM orders WHERE receipt_id = ?",
+        String.class, first.getReceiptId()));
+
+    ledger = ledger(BatchingOrderLedger.Durability.COMMIT, 100);
+    ledger.start();
+    Receipt taken = new Receipt(first.getReceiptId(), "lane-2", LocalDateTime.now(),
+        new CheckoutSummary(Map.of(), 0, 0, 0, List.of()));
+    assertThrows(IllegalStateException.class, () -> ledger.record(taken));
+  }
+
+  private BatchingOrderLedger ledger(BatchingOrderLedger.Durability durability, int queueCapacity) {
+    return new BatchingOrderLedger(jdbcTemplate, transactionManager, objectMapper, registry, durability,
+        queueCapacity, 500, Duration.ofMillis(10), Duration.ofSeconds(5), Duration.ofMillis(50));
+  }
+
+  private Receipt receipt() {
+    return receipt("lane-1");
+  }
+
+  private Receipt receipt(String cartId) {
+    Receipt receipt = new Receipt(ReceiptIds.next(), cartId, LocalDateTime.now(),
+        new CheckoutSummary(Map.of(), 0, 0, 0, List.of()));
+    receiptIds.add(receipt.getReceiptId());
+    return receipt;
+  }
+}
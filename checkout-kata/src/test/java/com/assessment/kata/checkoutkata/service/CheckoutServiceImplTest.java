@@ -1,23 +1,51 @@
 package com.assessment.kata.checkoutkata.service;
 
 
+import com.assessment.kata.checkoutkata.dto.checkout.BarcodeScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.BatchScanResponseDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.CartUpdateType;
 import com.assessment.kata.checkoutkata.dto.checkout.CheckoutSummaryResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.CurrentItemsResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.dto.checkout.ReceiptResponseDTO;
 import com.assessment.kata.checkoutkata.dto.checkout.ScanResponseDTO;
+import com.assessment.kata.checkoutkata.event.PriceUpdateBatchEvent;
+import com.assessment.kata.checkoutkata.event.PriceUpdateEvent;
+import com.assessment.kata.checkoutkata.event.UpdateType;
+import com.assessment.kata.checkoutkata.exception.EmptyCartException;
 import com.assessment.kata.checkoutkata.exception.ItemNotFoundException;
+import com.assessment.kata.checkoutkata.model.BundleComponentConfig;
+import com.assessment.kata.checkoutkata.model.BundleOfferConfig;
+import com.assessment.kata.checkoutkata.model.CompletedOrder;
+import com.assessment.kata.checkoutkata.model.DiscountBreakdown;
 import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemBarcode;
 import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.model.PricingOffer;
+import com.assessment.kata.checkoutkata.repository.BundleOfferRepository;
+import com.assessment.kata.checkoutkata.repository.CompletedOrderRepository;
+import com.assessment.kata.checkoutkata.repository.ItemBarcodeRepository;
 import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -30,6 +58,13 @@ class CheckoutServiceImplTest {
 
     @Autowired private CheckoutService checkoutService;
     @Autowired private PricingRepository pricingRepository;
+    @Autowired private ItemBarcodeRepository itemBarcodeRepository;
+    @Autowired private BundleOfferRepository bundleOfferRepository;
+    @Autowired private CompletedOrderRepository completedOrderRepository;
+    @Autowired private PriceBook priceBook;
+    @Autowired private CartStore cartStore;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private ApplicationEventPublisher eventPublisher;
 
     // Test data constants
     private static final String APPLE = "apple";
@@ -37,6 +72,10 @@ class CheckoutServiceImplTest {
     private static final String PEACH = "peach";
     private static final String KIWI = "kiwi";
     private static final String INVALID_ITEM = "invaliditem";
+    private static final String LANE_ONE = "lane-1";
+    private static final String LANE_TWO = "lane-2";
+    private static final String APPLE_BARCODE = "5000000000012";
+    private static final String BANANA_BARCODE = "05000000000029";
 
     private static final int APPLE_PRICE = 30;
     private static final int BANANA_PRICE = 50;
@@ -45,9 +84,16 @@ class CheckoutServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        itemBarcodeRepository.deleteAll();
+        bundleOfferRepository.deleteAll();
         pricingRepository.deleteAll();
         checkoutService.clearCart();
+        checkoutService.clearCart(LANE_ONE);
+        checkoutService.clearCart(LANE_TWO);
         createTestPricingData();
+        itemBarcodeRepository.save(new ItemBarcode(Long.parseLong(APPLE_BARCODE), APPLE));
+        itemBarcodeRepository.save(new ItemBarcode(Long.parseLong(BANANA_BARCODE), BANANA));
+        priceBook.reload();
     }
 
     @Test
@@ -91,6 +137,101 @@ class CheckoutServiceImplTest {
         assertTrue(response.getMessage().contains("discount applied"));
     }
 
+    @Test
+    @DisplayName("scanBarcode should resolve EAN codes, including zero-padded GTIN-14, into the same cart lines")
+    void shouldScanItemsByBarcode() {
+        checkoutService.scanItems(createItemRequest(APPLE, 1));
+        ScanResponseDTO response = checkoutService.scanBarcode(new BarcodeScanRequestDTO(APPLE_BARCODE, 1));
+        checkoutService.scanBarcode(new BarcodeScanRequestDTO(BANANA_BARCODE, 3));
+
+        assertScanResponse(response, APPLE, 2);
+        assertEquals("$0.45", response.getRunningTotal());
+        assertCartContains(APPLE, 2);
+        assertCartContains(BANANA, 3);
+    }
+
+    @Test
+    @DisplayName("scanBarcode should throw ItemNotFoundException for an unknown barcode")
+    void shouldRejectUnknownBarcode() {
+        ItemNotFoundException exception = assertThrows(ItemNotFoundException.class,
+            () -> checkoutService.scanBarcode(new BarcodeScanRequestDTO("4006381333931", 1)));
+
+        assertTrue(exception.getMessage().contains("4006381333931"));
+        assertCartEmpty();
+    }
+
+    @Test
+    @DisplayName("a mixed bundle should replace a multi-buy offer when it saves the customer more")
+    void shouldApplyCheapestBundleAssignment() {
+        BundleOfferConfig fruitTrio = new BundleOfferConfig();
+        fruitTrio.setBundleKey("fruit-trio");
+        fruitTrio.setName("Any 3 of apple, kiwi or peach");
+        fruitTrio.setPriceInCents(100);
+        fruitTrio.setComponents(List.of(new BundleComponentConfig(3, "apple,kiwi,peach")));
+        bundleOfferRepository.save(fruitTrio);
+        priceBook.reload();
+
+        checkoutService.scanItems(createItemRequest(APPLE, 2));
+        assertEquals("$0.45", checkoutService.getCurrentTotal().getFinalTotal()); // 2 for 45¢
+
+        checkoutService.scanItems(createItemRequest(PEACH, 1));
+        CheckoutSummaryResponseDTO summary = checkoutService.getCurrentTotal();
+        assertEquals("$1.20", summary.getSubtotal());
+        assertEquals("$1.00", summary.getFinalTotal()); // bundle saves 20¢, apple pair only 15¢
+        assertEquals(List.of(new DiscountBreakdown("Any 3 of apple, kiwi or peach", 1, 20, 20)),
+            summary.getDiscountsApplied());
+    }
+
+    @Test
+    @DisplayName("an item with several offer tiers should get the best mix of them")
+    void shouldCombineOfferTiers() {
+        PricingConfig apple = pricingRepository.findByItemKey(APPLE).orElseThrow();
+        apple.setOfferTiers(new ArrayList<>(List.of(new PricingOffer(5, 50)))); // 5 for $1.00 next to 2 for 45¢
+        pricingRepository.save(apple);
+        priceBook.reload();
+
+        checkoutService.scanItems(createItemRequest(APPLE, 7));
+        CheckoutSummaryResponseDTO summary = checkoutService.getCurrentTotal();
+
+        assertEquals("$2.10", summary.getSubtotal());
+        assertEquals("$1.45", summary.getFinalTotal()); // 5 for $1.00 plus 2 for 45¢
+        assertEquals(List.of(new DiscountBreakdown("Apple", 1, 15, 15), new DiscountBreakdown("Apple", 1, 50, 50)),
+            summary.getDiscountsApplied());
+    }
+
+    @Test
+    @DisplayName("scanBatch should apply every line and return one summary")
+    void shouldApplyBatchAndReturnSummary() {
+        BatchScanRequestDTO request = new BatchScanRequestDTO(List.of(
+            createItemRequest(APPLE, 2),
+            createItemRequest(BANANA, 3),
+            createItemRequest(APPLE, 1)));
+
+        BatchScanResponseDTO response = checkoutService.scanBatch(request);
+
+        assertEquals(3, response.getLines().size());
+        assertEquals(2, response.getLines().get(0).getCurrentQuantity());
+        assertEquals(3, response.getLines().get(2).getCurrentQuantity());
+        assertEquals("$2.40", response.getSummary().getSubtotal()); // 90 + 150
+        assertEquals("$2.05", response.getSummary().getFinalTotal()); // 240 - 15 - 20
+        assertCartContains(APPLE, 3);
+        assertCartContains(BANANA, 3);
+    }
+
+    @Test
+    @DisplayName("scanBatch should leave the cart unchanged when any line is invalid")
+    void shouldRejectBatchWithInvalidLine() {
+        checkoutService.scanItems(createItemRequest(PEACH, 1));
+        BatchScanRequestDTO request = new BatchScanRequestDTO(List.of(
+            createItemRequest(APPLE, 2),
+            createItemRequest(INVALID_ITEM, 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.scanBatch(request));
+
+        assertEquals(1, checkoutService.getCurrentItemsResponse().getItems().size());
+        assertEquals("$0.60", checkoutService.getCurrentTotal().getFinalTotal());
+    }
+
     @Test
     @DisplayName("removeItems should successfully remove items from cart")
     void shouldRemoveItemsFromCart() {
@@ -184,6 +325,201 @@ class CheckoutServiceImplTest {
         assertEquals("$0.00", checkoutService.getCurrentTotal().getFinalTotal());
     }
 
+    @Test
+    @DisplayName("completeCheckout should freeze the summary under a receipt, store the order and clear the cart")
+    void shouldCompleteCheckoutIntoOrder() {
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 2));
+        checkoutService.scanItems(LANE_ONE, createItemRequest(BANANA, 1));
+
+        ReceiptResponseDTO receipt = checkoutService.completeCheckout(LANE_ONE);
+
+        assertEquals(LANE_ONE, receipt.getCartId());
+        assertEquals("$0.95", receipt.getSummary().getFinalTotal()); // 60 - 15 + 50
+        assertTrue(receipt.isRecorded());
+        assertTrue(checkoutService.getCurrentItemsResponse(LANE_ONE).getItems().isEmpty());
+
+        CompletedOrder order = completedOrderRepository.findById(receipt.getReceiptId()).orElseThrow();
+        assertEquals(LANE_ONE, order.getCartId());
+        assertEquals(110, order.getSubtotalInCents());
+        assertEquals(15, order.getDiscountInCents());
+        assertEquals(95, order.getTotalInCents());
+        assertEquals("{\"apple\":2,\"banana\":1}", order.getItems());
+
+        checkoutService.scanItems(LANE_TWO, createItemRequest(APPLE, 1));
+        assertNotEquals(receipt.getReceiptId(), checkoutService.completeCheckout(LANE_TWO).getReceiptId());
+    }
+
+    @Test
+    @DisplayName("completeCheckout should refuse an empty or unknown cart")
+    void shouldRefuseToCompleteEmptyCart() {
+        assertThrows(EmptyCartException.class, () -> checkoutService.completeCheckout("unknown-lane"));
+
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 1));
+        checkoutService.clearCart(LANE_ONE);
+        assertThrows(EmptyCartException.class, () -> checkoutService.completeCheckout(LANE_ONE));
+    }
+
+    @Test
+    @DisplayName("running total should reprice cart lines when the price book changes")
+    void shouldRepriceCartWhenPriceBookChanges() {
+        checkoutService.scanItems(createItemRequest(APPLE, 3));
+        checkoutService.scanItems(createItemRequest(PEACH, 1));
+        assertEquals("$1.35", checkoutService.getCurrentTotal().getFinalTotal()); // 90 - 15 + 60
+
+        PricingConfig apple = pricingRepository.findByItemKey(APPLE).orElseThrow();
+        apple.setPriceInCents(40);
+        pricingRepository.save(apple);
+        priceBook.reload();
+
+        CheckoutSummaryResponseDTO response = checkoutService.getCurrentTotal();
+        assertEquals("$1.80", response.getSubtotal()); // 120 + 60
+        assertEquals("$0.15", response.getTotalDiscount());
+        assertEquals("$1.65", response.getFinalTotal());
+    }
+
+    @Test
+    @DisplayName("separate carts should keep independent items and totals")
+    void shouldKeepCartsIndependent() {
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 2));
+        checkoutService.scanItems(LANE_TWO, createItemRequest(BANANA, 3));
+
+        assertEquals("$0.45", checkoutService.getCurrentTotal(LANE_ONE).getFinalTotal());
+        assertEquals("$1.30", checkoutService.getCurrentTotal(LANE_TWO).getFinalTotal());
+        assertEquals(1, checkoutService.getCurrentItemsResponse(LANE_ONE).getItems().size());
+        assertCartEmpty();
+
+        checkoutService.clearCart(LANE_ONE);
+
+        assertTrue(checkoutService.getCurrentItemsResponse(LANE_ONE).getItems().isEmpty());
+        assertEquals("$1.30", checkoutService.getCurrentTotal(LANE_TWO).getFinalTotal());
+    }
+
+    @Test
+    @DisplayName("removeItems should throw ItemNotFoundException for unknown cart")
+    void shouldThrowItemNotFoundExceptionForUnknownCart() {
+        ItemNotFoundException exception = assertThrows(ItemNotFoundException.class,
+            () -> checkoutService.removeItems("unknown-lane", createItemRequest(APPLE, 1)));
+        assertTrue(exception.getMessage().contains("not in cart"));
+    }
+
+    @Test
+    @DisplayName("Cart ETag should stay put while polling and change with the cart or the price book")
+    void shouldChangeCartETagOnlyWhenCartOrPricesChange() {
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 2));
+        String scanned = checkoutService.getCartETag(LANE_ONE);
+        checkoutService.getCurrentTotal(LANE_ONE);
+        assertEquals(scanned, checkoutService.getCartETag(LANE_ONE));
+
+        checkoutService.scanItems(LANE_TWO, createItemRequest(BANANA, 1));
+        assertEquals(scanned, checkoutService.getCartETag(LANE_ONE));
+
+        checkoutService.removeItems(LANE_ONE, createItemRequest(APPLE, 1));
+        String removed = checkoutService.getCartETag(LANE_ONE);
+        assertNotEquals(scanned, removed);
+
+        priceBook.reload();
+        assertNotEquals(removed, checkoutService.getCartETag(LANE_ONE));
+    }
+
+    @Test
+    @DisplayName("streamCartUpdates should push the current summary, then one per change with its total delta")
+    void shouldStreamCartUpdates() {
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 1));
+
+        StepVerifier.create(checkoutService.streamCartUpdates(LANE_ONE))
+            .assertNext(update -> {
+                assertEquals(CartUpdateType.CURRENT, update.getType());
+                assertEquals("$0.30", update.getSummary().getFinalTotal());
+            })
+            .then(() -> checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 1)))
+            .assertNext(update -> {
+                assertEquals(CartUpdateType.SCANNED, update.getType());
+                assertEquals(15, update.getTotalChangeInCents());
+            })
+            .then(() -> {
+                checkoutService.scanItems(LANE_TWO, createItemRequest(APPLE, 1));
+                pricingRepository.findByItemKey(APPLE).orElseThrow().setPriceInCents(40);
+                priceBook.reload();
+                Item apple = priceBook.catalog().resolve(APPLE);
+                eventPublisher.publishEvent(new PriceUpdateBatchEvent(this, List.of(PriceUpdateEvent.builder()
+                    .source(this)
+                    .item(apple)
+                    .updateType(UpdateType.PRICE_CHANGED)
+                    .description("Price updated: Apple $0.30 → $0.40")
+                    .build())));
+            })
+            .assertNext(update -> {
+                assertEquals(CartUpdateType.PRICES_CHANGED, update.getType());
+                assertEquals(20, update.getTotalChangeInCents());
+                assertTrue(update.getMessage().contains("Apple $0.30 → $0.40"));
+            })
+            .then(() -> checkoutService.clearCart(LANE_ONE))
+            .assertNext(update -> assertEquals(-65, update.getTotalChangeInCents()))
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Emptied carts should leave the store without repeating an ETag when reopened")
+    void shouldDropEmptiedCarts() {
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 1));
+        String scanned = checkoutService.getCartETag(LANE_ONE);
+        checkoutService.completeCheckout(LANE_ONE);
+        assertFalse(cartStore.find(LANE_ONE).isPresent());
+
+        checkoutService.scanItems(LANE_ONE, createItemRequest(BANANA, 1));
+        assertNotEquals(scanned, checkoutService.getCartETag(LANE_ONE));
+        checkoutService.removeItems(LANE_ONE, createItemRequest(BANANA, 1));
+        assertFalse(cartStore.find(LANE_ONE).isPresent());
+
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 1));
+        checkoutService.clearCart(LANE_ONE);
+        assertFalse(cartStore.find(LANE_ONE).isPresent());
+    }
+
+    @Test
+    @DisplayName("streamCartUpdates should not open a cart, and should keep an emptied one until the stream closes")
+    void shouldStreamCartThatIsNotOpenYet() {
+        StepVerifier.create(checkoutService.streamCartUpdates(LANE_ONE))
+            .assertNext(update -> {
+                assertEquals(CartUpdateType.CURRENT, update.getType());
+                assertEquals("$0.00", update.getSummary().getFinalTotal());
+                assertFalse(cartStore.find(LANE_ONE).isPresent());
+            })
+            .then(() -> checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 1)))
+            .assertNext(update -> assertEquals(30, update.getTotalChangeInCents()))
+            .then(() -> checkoutService.clearCart(LANE_ONE))
+            .assertNext(update -> {
+                assertEquals(CartUpdateType.CLEARED, update.getType());
+                assertTrue(cartStore.find(LANE_ONE).isPresent());
+            })
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+
+        assertFalse(cartStore.find(LANE_ONE).isPresent());
+    }
+
+    @Test
+    @DisplayName("Checkout should record scan counters, completed offer sets, cart size and service timings")
+    void shouldRecordCheckoutMetrics() {
+        double applesBefore = meterRegistry.counter("checkout.items.scanned", "item", APPLE).count();
+        double appleSetsBefore = meterRegistry.counter("checkout.discount.sets.applied", "item", APPLE).count();
+        long cartsBefore = meterRegistry.summary("checkout.cart.size").count();
+
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 1));
+        checkoutService.scanItems(LANE_ONE, createItemRequest(APPLE, 4));
+        checkoutService.scanItems(LANE_ONE, createItemRequest(PEACH, 1));
+        checkoutService.clearCart(LANE_ONE);
+
+        assertEquals(5, meterRegistry.counter("checkout.items.scanned", "item", APPLE).count() - applesBefore);
+        assertEquals(2, meterRegistry.counter("checkout.discount.sets.applied", "item", APPLE).count() - appleSetsBefore);
+        assertEquals(cartsBefore + 1, meterRegistry.summary("checkout.cart.size").count());
+
+        Timer scanTimer = meterRegistry.find("checkout.service").tag("method", "scanItems").timer();
+        assertNotNull(scanTimer);
+        assertTrue(scanTimer.count() >= 3);
+    }
+
     @Test
     @DisplayName("Business logic integration test - complete checkout workflow")
     void shouldHandleCompleteCheckoutWorkflow() {
@@ -238,7 +574,7 @@ class CheckoutServiceImplTest {
 
     private void assertScanResponse(ScanResponseDTO response, String expectedItem, int expectedCurrentQuantity) {
         assertNotNull(response);
-        assertEquals(Item.fromKey(expectedItem).getDisplayName(), response.getItemScanned());
+        assertEquals(Item.displayNameOf(expectedItem), response.getItemScanned());
         assertEquals(expectedCurrentQuantity, response.getCurrentQuantity());
         assertNotNull(response.getRunningTotal());
         assertNotNull(response.getMessage());
@@ -246,7 +582,7 @@ class CheckoutServiceImplTest {
 
     private void assertCartContains(String itemKey, int expectedQuantity) {
         CurrentItemsResponseDTO items = checkoutService.getCurrentItemsResponse();
-        String displayName = Item.fromKey(itemKey).getDisplayName();
+        String displayName = Item.displayNameOf(itemKey);
 
         boolean found = items.getItems().stream()
             .anyMatch(item -> displayName.equals(item.getItemName()) && item.getQuantity() == expectedQuantity);
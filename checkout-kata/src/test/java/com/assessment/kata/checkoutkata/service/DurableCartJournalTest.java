@@ -0,0 +1,162 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.discount.DiscountEngine;
+import com.assessment.kata.checkoutkata.dto.checkout.ItemQuantityRequestDTO;
+import com.assessment.kata.checkoutkata.model.Cart;
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.repository.CartSnapshotRepository;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: snapshots are written in their own transactions. A restart is simulated by
+ * recovering a second journal, with its own cart store, from a copy of the journal directory.
+ */
+@SpringBootTest(properties = {"checkout.carts.durable=true", "checkout.carts.snapshot-interval=1h"})
+@ActiveProfiles("test")
+@DisplayName("DurableCartJournal Tests")
+class DurableCartJournalTest {
+
+  @TempDir
+  static Path journalDir;
+
+  @TempDir
+  Path restartDir;
+
+  @Autowired private CheckoutService checkoutService;
+  @Autowired private DurableCartJournal durableCartJournal;
+  @Autowired private PricingRepository pricingRepository;
+  @Autowired private CartSnapshotRepository cartSnapshotRepository;
+  @Autowired private PriceBook priceBook;
+  @Autowired private DiscountEngine discountEngine;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private ObjectMapper objectMapper;
+
+  @DynamicPropertySource
+  static void journalProperties(DynamicPropertyRegistry registry) {
+    registry.add("checkout.carts.journal-dir", () -> journalDir.toString());
+  }
+
+  @BeforeEach
+  void setUp() {
+    pricingRepository.save(pricing("apple", 30));
+    pricingRepository.save(pricing("banana", 50));
+    priceBook.reload();
+  }
+
+  @AfterEach
+  void tearDown() {
+    cartSnapshotRepository.deleteAll();
+    pricingRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Carts should be rebuilt from their last snapshot plus the journal written after it")
+  void shouldRecoverFromSnapshotAndJournalTail() throws IOException {
+    checkoutService.scanItems("lane-1", new ItemQuantityRequestDTO("apple", 3));
+    checkoutService.scanItems("lane-2", new ItemQuantityRequestDTO("banana", 1));
+    durableCartJournal.flush();
+
+    assertEquals("{\"apple\":3}", cartSnapshotRepository.findById("lane-1").orElseThrow().getItems());
+    assertTrue(listJournal(journalDir).stream().allMatch(DurableCartJournalTest::isEmpty));
+
+    checkoutService.scanItems("lane-1", new ItemQuantityRequestDTO("banana", 2));
+    checkoutService.removeItems("lane-1", new ItemQuantityRequestDTO("apple", 1));
+    checkoutService.clearCart("lane-2");
+    checkoutService.scanItems("lane-3", new ItemQuantityRequestDTO("apple", 1));
+
+    CartStore restarted = restart();
+
+    assertEquals(Map.of("apple", 2, "banana", 2), quantities(restarted, "lane-1"));
+    assertEquals(Map.of(), quantities(restarted, "lane-2"));
+    assertEquals(Map.of("apple", 1), quantities(restarted, "lane-3"));
+  }
+
+  @Test
+  @DisplayName("A journal record cut short by a crash should be ignored")
+  void shouldIgnoreTornJournalRecord() throws IOException {
+    checkoutService.scanItems("lane-4", new ItemQuantityRequestDTO("apple", 1));
+    checkoutService.scanItems("lane-4", new ItemQuantityRequestDTO("banana", 1));
+
+    CartStore restarted = restart(3);
+
+    assertEquals(Map.of("apple", 1), quantities(restarted, "lane-4"));
+  }
+
+  private CartStore restart() throws IOException {
+    return restart(0);
+  }
+
+  /**
+   * Recovers from a copy of the journal as it is now, without its last {@code truncatedBytes}.
+   */
+  private CartStore restart(int truncatedBytes) throws IOException {
+    List<Path> segments = listJournal(journalDir);
+    for (Path segment : segments) {
+      Files.copy(segment, restartDir.resolve(segment.getFileName()));
+    }
+    if (truncatedBytes > 0) {
+      Path last = restartDir.resolve(segments.get(segments.size() - 1).getFileName());
+      try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+        channel.truncate(channel.size() - truncatedBytes);
+      }
+    }
+    CartStore cartStore = new CartStore(discountEngine);
+    DurableCartJournal journal = new DurableCartJournal(cartStore, priceBook, cartSnapshotRepository, jdbcTemplate,
+        transactionManager, objectMapper, Clock.systemDefaultZone(), true, restartDir);
+    journal.recover();
+    return cartStore;
+  }
+
+  private static Map<String, Integer> quantities(CartStore cartStore, String cartId) {
+    return cartStore.find(cartId).map(Cart::getItems).orElseGet(Map::of).entrySet().stream()
+        .collect(Collectors.toMap(entry -> entry.getKey().getKey(), Map.Entry::getValue));
+  }
+
+  private static List<Path> listJournal(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  private static boolean isEmpty(Path file) {
+    try {
+      return Files.size(file) == 0;
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static PricingConfig pricing(String key, int price) {
+    PricingConfig config = new PricingConfig();
+    config.setItemKey(key);
+    config.setPriceInCents(price);
+    return config;
+  }
+}
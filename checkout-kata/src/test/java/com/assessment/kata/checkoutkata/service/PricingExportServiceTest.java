@@ -0,0 +1,113 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.model.PricingOffer;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "checkout.pricing.export.fetch-size=2")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("PricingExportService Tests")
+class PricingExportServiceTest {
+
+  @Autowired private PricingExportService pricingExportService;
+  @Autowired private PricingRepository pricingRepository;
+  @Autowired private PricingService pricingService;
+  @Autowired private PriceBook priceBook;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void setUp() {
+    pricingRepository.deleteAll();
+    PricingConfig apple = pricing("apple", 30, 2, 15);
+    apple.getOfferTiers().add(new PricingOffer(5, 40));
+    apple.getOfferTiers().add(new PricingOffer(10, 100));
+    pricingRepository.save(apple);
+    pricingRepository.save(pricing("banana", 50, 3, 20));
+    pricingRepository.save(pricing("peach", 60, null, null));
+    pricingRepository.flush();
+    priceBook.reload();
+  }
+
+  @Test
+  @DisplayName("The export should write one NDJSON line per item, in key order, with its offer tiers")
+  void shouldExportEveryItemAsOneLine() throws Exception {
+    List<JsonNode> rows = export(null);
+
+    assertEquals(List.of("apple", "banana", "peach"), rows.stream().map(row -> row.get("itemKey").asText()).toList());
+    JsonNode apple = rows.get(0);
+    assertEquals("2 for $0.45 (save $0.15)", apple.get("offerDescription").asText());
+    assertEquals(2, apple.get("offerTierDescriptions").size());
+    assertEquals("5 for $1.10 (save $0.40)", apple.get("offerTierDescriptions").get(0).asText());
+    assertTrue(rows.get(2).get("offerQuantity").isNull());
+    assertFalse(rows.get(2).get("updatedAt").isNull());
+  }
+
+  @Test
+  @DisplayName("An export since a given time should only contain items updated from then on")
+  void shouldExportOnlyItemsUpdatedSince() throws Exception {
+    LocalDateTime since = LocalDateTime.now().minusHours(1);
+    jdbcTemplate.update("UPDATE pricing_config SET updated_at = ? WHERE item_key <> 'banana'",
+        Timestamp.valueOf(since.minusDays(1)));
+
+    List<JsonNode> rows = export(since);
+
+    assertEquals(1, rows.size());
+    assertEquals("banana", rows.get(0).get("itemKey").asText());
+  }
+
+  @Test
+  @DisplayName("Removing an offer should bring its item into the next export since a given time")
+  void shouldExportItemWhoseOfferWasRemoved() throws Exception {
+    LocalDateTime since = LocalDateTime.now().minusHours(1);
+    jdbcTemplate.update("UPDATE pricing_config SET updated_at = ?", Timestamp.valueOf(since.minusDays(1)));
+
+    pricingService.removeItemOfferByName("banana");
+
+    List<JsonNode> rows = export(since);
+    assertEquals(1, rows.size());
+    assertEquals("banana", rows.get(0).get("itemKey").asText());
+    assertTrue(rows.get(0).get("offerQuantity").isNull());
+  }
+
+  private List<JsonNode> export(LocalDateTime since) throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    int written = pricingExportService.exportNdjson(since, output);
+
+    List<JsonNode> rows = new ArrayList<>();
+    for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+      rows.add(objectMapper.readTree(line));
+    }
+    assertEquals(written, rows.size());
+    return rows;
+  }
+
+  private static PricingConfig pricing(String key, int price, Integer offerQuantity, Integer offerSavings) {
+    PricingConfig config = new PricingConfig();
+    config.setItemKey(key);
+    config.setPriceInCents(price);
+    config.setOfferQuantity(offerQuantity);
+    config.setOfferSavingsInCents(offerSavings);
+    return config;
+  }
+}
@@ -0,0 +1,150 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.dto.pricing.PricingImportResponseDTO;
+import com.assessment.kata.checkoutkata.event.PriceUpdateBatchEvent;
+import com.assessment.kata.checkoutkata.event.PriceUpdateEvent;
+import com.assessment.kata.checkoutkata.event.UpdateType;
+import com.assessment.kata.checkoutkata.exception.PricingValidationException;
+import com.assessment.kata.checkoutkata.model.Item;
+import com.assessment.kata.checkoutkata.model.ItemPricing;
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: the price book reload and the change event only happen once the import commits.
+ * The small batch size makes every import below span several JDBC batches.
+ */
+@SpringBootTest(properties = "checkout.pricing.import.batch-size=2")
+@ActiveProfiles("test")
+@DisplayName("PricingImportService Tests")
+class PricingImportServiceTest {
+
+  @Autowired private PricingImportService pricingImportService;
+  @Autowired private PricingRepository pricingRepository;
+  @Autowired private PriceBook priceBook;
+  @Autowired private BatchCollector batchCollector;
+
+  @BeforeEach
+  void setUp() {
+    pricingRepository.save(pricing("apple", 30, 2, 15));
+    pricingRepository.save(pricing("banana", 50, 3, 20));
+    pricingRepository.save(pricing("peach", 60, null, null));
+    priceBook.reload();
+    batchCollector.batches.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    pricingRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("A CSV price file should upsert every row and announce the changed items in one batch")
+  void shouldImportCsvAndPublishOneBatch() throws InterruptedException {
+    PricingImportResponseDTO response = pricingImportService.importCsv(stream("""
+        item_key,price_in_cents,offer_quantity,offer_savings_in_cents
+        apple,35,2,15
+        Banana,50,,
+        peach,60,,
+        kiwi,25,3,10
+        """));
+
+    assertEquals(4, response.getRowsImported());
+    assertEquals(1, response.getItemsAdded());
+    assertEquals(2, response.getItemsChanged());
+    assertEquals(35, pricingRepository.findByItemKey("apple").orElseThrow().getPriceInCents());
+    assertFalse(pricingRepository.findByItemKey("banana").orElseThrow().hasOffer());
+
+    // The price book is reloaded on the dispatch thread, before the batch goes out
+    PriceUpdateBatchEvent batch = batchCollector.batches.poll(5, TimeUnit.SECONDS);
+    assertNotNull(batch);
+    Item kiwi = priceBook.catalog().resolve("kiwi");
+    ItemPricing kiwiPricing = priceBook.snapshot().get(kiwi);
+    assertEquals(25, kiwiPricing.getPriceInCents());
+    assertEquals(10, kiwiPricing.getOfferTable().savingsFor(3));
+
+    assertNull(batchCollector.batches.poll(100, TimeUnit.MILLISECONDS));
+    Map<String, PriceUpdateEvent> updates = batch.getUpdates().stream()
+        .collect(Collectors.toMap(update -> update.getItem().getKey(), Function.identity()));
+    assertEquals(3, updates.size());
+    assertEquals("Price updated: Apple $0.30 → $0.35", updates.get("apple").getDescription());
+    assertEquals(UpdateType.OFFER_REMOVED, updates.get("banana").getUpdateType());
+    assertEquals("New item: Kiwi $0.25; New offer: Kiwi 3 for $0.65 (save $0.10)",
+        updates.get("kiwi").getDescription());
+  }
+
+  @Test
+  @DisplayName("An invalid row should reject the whole file and leave pricing untouched")
+  void shouldRejectFileWithInvalidRow() {
+    InputStream file = stream("""
+        [{"itemKey": "apple", "priceInCents": 40},
+         {"itemKey": "kiwi", "priceInCents": 25},
+         {"itemKey": "peach", "priceInCents": 60, "offerQuantity": 2, "offerSavingsInCents": 120},
+         {"itemKey": "banana", "priceInCents": 0},
+         {"itemKey": "kiwi", "priceInCents": 25, "offerQuantity": 5000, "offerSavingsInCents": 100}]
+        """);
+
+    PricingValidationException exception = assertThrows(PricingValidationException.class,
+        () -> pricingImportService.importJson(file));
+
+    assertEquals("Price file rejected: Row 3: Savings cannot exceed total price; "
+        + "Row 4: Price must be at least 1 cent; Row 5: Offer quantity must be at most 1000", exception.getMessage());
+    assertEquals(30, pricingRepository.findByItemKey("apple").orElseThrow().getPriceInCents());
+    assertTrue(pricingRepository.findByItemKey("kiwi").isEmpty());
+    assertTrue(batchCollector.batches.isEmpty());
+  }
+
+  private static PricingConfig pricing(String key, int price, Integer offerQuantity, Integer offerSavings) {
+    PricingConfig config = new PricingConfig();
+    config.setItemKey(key);
+    config.setPriceInCents(price);
+    config.setOfferQuantity(offerQuantity);
+    config.setOfferSavingsInCents(offerSavings);
+    return config;
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @TestConfiguration
+  static class BatchCollectorConfig {
+
+    @Bean
+    BatchCollector batchCollector() {
+      return new BatchCollector();
+    }
+  }
+
+  static class BatchCollector {
+
+    private final BlockingQueue<PriceUpdateBatchEvent> batches = new LinkedBlockingQueue<>();
+
+    @EventListener
+    public void onBatch(PriceUpdateBatchEvent batch) {
+      batches.add(batch);
+    }
+  }
+}
@@ -5,6 +5,8 @@ import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
 import com.assessment.kata.checkoutkata.dto.pricing.UpdatePricingResponseDTO;
 import com.assessment.kata.checkoutkata.exception.PricingValidationException;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.Item;
 import com.assessment.kata.checkoutkata.model.PricingConfig;
 import com.assessment.kata.checkoutkata.repository.PricingRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +14,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +33,9 @@ class PricingServiceImplTest {
 
   @Autowired private PricingService pricingService;
   @Autowired private PricingRepository pricingRepository;
+  @Autowired private PriceBook priceBook;
   @Autowired private EntityManager entityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
 
   // Test data constants
   private static final String APPLE = "apple";
@@ -41,6 +48,7 @@ class PricingServiceImplTest {
   void setUp() {
     pricingRepository.deleteAll();
     createTestPricingData();
+    priceBook.reload();
   }
 
   @Test
@@ -67,6 +75,43 @@ class PricingServiceImplTest {
     assertDatabaseOffer(APPLE, 40, 2, 15); // Price updated, offer unchanged
   }
 
+  @Test
+  @DisplayName("reload should keep the previous pricing of an item whose offers cannot be priced")
+  void shouldKeepPreviousPricingOfUnpriceableItem() {
+    // Two tiers of thousands of units each would need a table of millions of entries
+    jdbcTemplate.update("INSERT INTO pricing_offer (item_key, offer_quantity, offer_savings_in_cents) VALUES (?, ?, ?)",
+        PEACH, 5000, 100);
+    jdbcTemplate.update("INSERT INTO pricing_offer (item_key, offer_quantity, offer_savings_in_cents) VALUES (?, ?, ?)",
+        PEACH, 4999, 99);
+    jdbcTemplate.update("UPDATE pricing_config SET price_in_cents = 65 WHERE item_key = ?", PEACH);
+    jdbcTemplate.update("UPDATE pricing_config SET price_in_cents = 35 WHERE item_key = ?", APPLE);
+    entityManager.clear();
+
+    priceBook.reload();
+
+    assertEquals(60, priceBook.snapshot().get(priceBook.catalog().resolve(PEACH)).getPriceInCents());
+    assertEquals(35, priceBook.snapshot().get(priceBook.catalog().resolve(APPLE)).getPriceInCents());
+  }
+
+  @Test
+  @DisplayName("every pricing change should append its new version to pricing_history")
+  void shouldAppendPricingHistory() {
+    long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM pricing_history", Long.class);
+
+    pricingService.updateItemPriceByName(APPLE, UpdatePriceRequestDTO.builder().newPriceInCents(40).build());
+    pricingService.updateItemOfferByName(APPLE,
+        UpdateOfferRequestDTO.builder().quantity(3).savingsInCents(25).build());
+    pricingService.removeItemOfferByName(APPLE);
+
+    List<Map<String, Object>> history = jdbcTemplate.queryForList(
+        "SELECT price_in_cents, offer_quantity, offer_savings_in_cents FROM pricing_history "
+            + "WHERE item_key = ? AND id > ? ORDER BY id", APPLE, lastId);
+    assertEquals(3, history.size());
+    assertEquals(List.of(40, 2, 15), row(history.get(0)));
+    assertEquals(List.of(40, 3, 25), row(history.get(1)));
+    assertEquals(Arrays.asList(40, null, null), row(history.get(2)));
+  }
+
   @Test
   @DisplayName("updateItemPriceByName should throw IllegalArgumentException for invalid item")
   void shouldThrowIllegalArgumentExceptionForInvalidItem() {
@@ -152,6 +197,44 @@ class PricingServiceImplTest {
     assertTrue(exception.getMessage().contains("No item found with key"));
   }
 
+  @Test
+  @DisplayName("price lookups should be served from the price book without the database")
+  void shouldServePriceLookupsFromPriceBook() {
+    pricingRepository.deleteAll();
+
+    assertTrue(pricingService.hasItemConfiguration(item(APPLE)));
+    assertEquals(30, pricingService.getItemPriceInCents(item(APPLE)));
+    assertEquals(new DiscountRule(2, 15), pricingService.getDiscountRule(item(APPLE)).orElseThrow());
+    assertTrue(pricingService.getDiscountRule(item(PEACH)).isEmpty());
+  }
+
+  @Test
+  @DisplayName("price book should pick up items added to the table outside the admin API")
+  void shouldReloadCatalogWhenTableChanges() {
+    long versionBefore = priceBook.snapshot().getVersion();
+    priceBook.reloadIfChanged();
+    assertEquals(versionBefore, priceBook.snapshot().getVersion());
+
+    savePricingConfig("mango", 80, null, null);
+    priceBook.reloadIfChanged();
+
+    Item mango = priceBook.catalog().resolve("MANGO");
+    assertEquals("Mango", mango.getDisplayName());
+    assertEquals(80, pricingService.getItemPriceInCents(mango));
+    assertSame(priceBook.catalog().resolve(APPLE), item(APPLE));
+  }
+
+  @Test
+  @DisplayName("price book should only change once the admin update commits")
+  void shouldKeepPriceBookUntilCommit() {
+    long versionBefore = priceBook.snapshot().getVersion();
+
+    pricingService.updateItemPriceByName(APPLE, UpdatePriceRequestDTO.builder().newPriceInCents(40).build());
+
+    assertEquals(versionBefore, priceBook.snapshot().getVersion());
+    assertEquals(30, pricingService.getItemPriceInCents(item(APPLE)));
+  }
+
   @Test
   @DisplayName("Business logic integration test - complete workflow")
   void shouldHandleCompleteWorkflow() {
@@ -192,6 +275,10 @@ class PricingServiceImplTest {
     pricingRepository.save(config);
   }
 
+  private Item item(String itemKey) {
+    return priceBook.catalog().resolve(itemKey);
+  }
+
   private void clearPersistenceContext() {
     entityManager.flush();
     entityManager.clear();
@@ -223,4 +310,8 @@ class PricingServiceImplTest {
     assertEquals(expectedSavings, config.getOfferSavingsInCents());
   }
 
-}
\ No newline at end of file
+  private static List<Object> row(Map<String, Object> columns) {
+    return Arrays.asList(columns.get("price_in_cents"), columns.get("offer_quantity"),
+        columns.get("offer_savings_in_cents"));
+  }
+}
@@ -0,0 +1,128 @@
+package com.assessment.kata.checkoutkata.service;
+
+import com.assessment.kata.checkoutkata.dto.pricing.UpdateOfferRequestDTO;
+import com.assessment.kata.checkoutkata.dto.pricing.UpdatePriceRequestDTO;
+import com.assessment.kata.checkoutkata.exception.ItemNotFoundException;
+import com.assessment.kata.checkoutkata.exception.PricingValidationException;
+import com.assessment.kata.checkoutkata.model.DiscountRule;
+import com.assessment.kata.checkoutkata.model.PricingConfig;
+import com.assessment.kata.checkoutkata.repository.PricingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: the R2DBC connection only sees rows that JPA has committed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ReactivePricingServiceImpl Business Logic Tests")
+class ReactivePricingServiceImplTest {
+
+  @Autowired private ReactivePricingService reactivePricingService;
+  @Autowired private PricingRepository pricingRepository;
+  @Autowired private PriceBook priceBook;
+  @Autowired private PricingHistory pricingHistory;
+
+  @BeforeEach
+  void setUp() {
+    pricingRepository.deleteAll();
+    savePricingConfig("apple", 30, 2, 15);
+    savePricingConfig("banana", 50, 3, 20);
+    savePricingConfig("peach", 60, null, null);
+    priceBook.reload();
+  }
+
+  @AfterEach
+  void tearDown() {
+    pricingRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("getAllPricingResponses should read every row over R2DBC")
+  void shouldReturnAllPricingConfigurations() {
+    StepVerifier.create(reactivePricingService.getAllPricingResponses())
+        .assertNext(allPricing -> {
+          assertEquals(3, allPricing.size());
+          assertEquals("2 for $0.45 (save $0.15)", allPricing.get("apple").getOfferDescription());
+          assertNull(allPricing.get("peach").getOfferDescription());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("updateItemPriceByName should commit and publish the new price to the price book")
+  void shouldUpdatePriceAndPriceBook() {
+    UpdatePriceRequestDTO request = UpdatePriceRequestDTO.builder().newPriceInCents(40).build();
+
+    StepVerifier.create(reactivePricingService.updateItemPriceByName("apple", request))
+        .assertNext(response -> {
+          assertEquals("Price updated: Apple $0.30 → $0.40", response.getMessage());
+          assertEquals(30, response.getOldPriceInCents());
+          assertEquals(40, response.getNewPriceInCents());
+        })
+        .verifyComplete();
+
+    assertEquals(40, pricingRepository.findByItemKey("apple").orElseThrow().getPriceInCents());
+    assertEquals(40, priceBook.snapshot().get(priceBook.catalog().resolve("apple")).getPriceInCents());
+    assertEquals(new DiscountRule(2, 15), priceBook.snapshot().get(priceBook.catalog().resolve("apple")).getDiscountRule());
+    assertEquals(40, pricingHistory.pricingAt("apple", LocalDateTime.now()).orElseThrow().pricing().getPriceInCents());
+  }
+
+  @Test
+  @DisplayName("updateItemOfferByName should reject savings above the offer total and leave pricing untouched")
+  void shouldRejectExcessiveSavings() {
+    UpdateOfferRequestDTO request = UpdateOfferRequestDTO.builder().quantity(2).savingsInCents(60).build();
+    long version = priceBook.snapshot().getVersion();
+
+    StepVerifier.create(reactivePricingService.updateItemOfferByName("apple", request))
+        .expectError(PricingValidationException.class)
+        .verify();
+
+    assertEquals(15, pricingRepository.findByItemKey("apple").orElseThrow().getOfferSavingsInCents());
+    assertEquals(version, priceBook.snapshot().getVersion());
+  }
+
+  @Test
+  @DisplayName("removeItemOfferByName should clear the offer in the database and the price book")
+  void shouldRemoveOffer() {
+    StepVerifier.create(reactivePricingService.removeItemOfferByName("banana"))
+        .assertNext(response -> assertEquals("Removed Banana offer: 3 for $1.30 (save $0.20)", response.getMessage()))
+        .verifyComplete();
+
+    assertFalse(pricingRepository.findByItemKey("banana").orElseThrow().hasOffer());
+    assertNull(priceBook.snapshot().get(priceBook.catalog().resolve("banana")).getDiscountRule());
+    assertNull(pricingHistory.pricingAt("banana", LocalDateTime.now()).orElseThrow().pricing().getDiscountRule());
+  }
+
+  @Test
+  @DisplayName("Unknown and unconfigured items should surface as errors")
+  void shouldSignalErrorsForUnknownItems() {
+    UpdatePriceRequestDTO request = UpdatePriceRequestDTO.builder().newPriceInCents(40).build();
+
+    StepVerifier.create(reactivePricingService.updateItemPriceByName("invaliditem", request))
+        .expectError(IllegalArgumentException.class)
+        .verify();
+    StepVerifier.create(reactivePricingService.updateItemPriceByName("kiwi", request))
+        .expectError(ItemNotFoundException.class)
+        .verify();
+  }
+
+  private void savePricingConfig(String itemKey, int priceInCents, Integer offerQuantity, Integer savingsInCents) {
+    PricingConfig config = new PricingConfig();
+    config.setItemKey(itemKey);
+    config.setPriceInCents(priceInCents);
+    config.setOfferQuantity(offerQuantity);
+    config.setOfferSavingsInCents(savingsInCents);
+    pricingRepository.save(config);
+  }
+}
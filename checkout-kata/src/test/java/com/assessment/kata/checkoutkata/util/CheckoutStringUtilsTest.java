@@ -0,0 +1,34 @@
+package com.assessment.kata.checkoutkata.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("CheckoutStringUtils Formatting Tests")
+class CheckoutStringUtilsTest {
+
+  @Test
+  @DisplayName("formatPrice should match the legacy String.format output")
+  void shouldMatchLegacyFormat() {
+    int[] prices = {0, 5, 10, 99, 100, 105, 130, 9_999, 10_000, 123_456, -5, -150, Integer.MAX_VALUE};
+    for (int price : prices) {
+      assertEquals(String.format("$%.2f", price / 100.0), CheckoutStringUtils.formatPrice(price),
+          "Unexpected format for " + price);
+    }
+  }
+
+  @Test
+  @DisplayName("formatPrice should reuse cached strings for common prices")
+  void shouldReuseCachedStrings() {
+    assertSame(CheckoutStringUtils.formatPrice(45), CheckoutStringUtils.formatPrice(45));
+  }
+
+  @Test
+  @DisplayName("formatOfferDescription should describe the set price and savings")
+  void shouldFormatOfferDescription() {
+    assertEquals("2 for $0.45 (save $0.15)", CheckoutStringUtils.formatOfferDescription(2, 30, 15));
+    assertEquals("3 for $1.30 (save $0.20)", CheckoutStringUtils.formatOfferDescription(3, 50, 20));
+  }
+}
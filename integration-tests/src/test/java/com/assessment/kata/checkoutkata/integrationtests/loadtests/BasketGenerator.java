@@ -0,0 +1,94 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Draws shopping baskets: a few lines usually and now and then a big shop, items by the configured
+ * mix, mostly single units, and a share of lines sized to hit the item's multi-buy offer.
+ */
+final class BasketGenerator {
+
+  private static final int MAX_LINES = 40;
+
+  record Line(String item, int quantity) {
+  }
+
+  private final Random random;
+  private final String[] items;
+  private final int[] cumulativeWeights;
+  private final Map<String, Integer> offerQuantities;
+  private final LoadSettings settings;
+
+  /**
+   * @param offerQuantities the offer quantity of every item the store sells, 0 for items without one
+   */
+  BasketGenerator(LoadSettings settings, Map<String, Integer> offerQuantities, long seed) {
+    this.settings = settings;
+    this.random = new Random(seed);
+    this.offerQuantities = offerQuantities;
+    List<String> sold = new ArrayList<>();
+    List<Integer> weights = new ArrayList<>();
+    settings.itemMix.forEach((item, weight) -> {
+      if (offerQuantities.containsKey(item) && weight > 0) {
+        sold.add(item);
+        weights.add(weight);
+      }
+    });
+    if (sold.isEmpty()) {
+      throw new IllegalStateException("None of " + settings.itemMix.keySet() + " is priced in " + offerQuantities.keySet());
+    }
+    this.items = sold.toArray(new String[0]);
+    this.cumulativeWeights = new int[items.length];
+    int total = 0;
+    for (int i = 0; i < items.length; i++) {
+      total += weights.get(i);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  List<Line> next() {
+    // Exponentially distributed line count: mostly small baskets with a long tail
+    int lines = 1 + (int) Math.min(MAX_LINES - 1,
+        Math.round(-Math.log(1 - random.nextDouble()) * (settings.meanBasketLines - 1)));
+    List<Line> basket = new ArrayList<>(lines);
+    for (int i = 0; i < lines; i++) {
+      String item = pickItem();
+      basket.add(new Line(item, quantity(item)));
+    }
+    return basket;
+  }
+
+  boolean voidsALine() {
+    return random.nextDouble() < settings.voidRatio;
+  }
+
+  int pick(int bound) {
+    return random.nextInt(bound);
+  }
+
+  private String pickItem() {
+    int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (draw < cumulativeWeights[i]) {
+        return items[i];
+      }
+    }
+    return items[items.length - 1];
+  }
+
+  private int quantity(String item) {
+    int offerQuantity = offerQuantities.get(item);
+    if (offerQuantity > 1 && random.nextDouble() < settings.discountRatio) {
+      // Now and then two lots of the offer
+      return random.nextDouble() < 0.2 ? 2 * offerQuantity : offerQuantity;
+    }
+    double draw = random.nextDouble();
+    if (draw < 0.7) {
+      return 1;
+    }
+    return draw < 0.9 ? 2 : 3 + random.nextInt(3);
+  }
+}
@@ -0,0 +1,112 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.ServerSocket;
+
+/**
+ * The service under load: one already running, such as the Docker Compose web profile, or one started
+ * in this JVM on an in-memory H2 database. The embedded service comes from the {@code embedded} Maven
+ * profile's classpath, so it is started by name and the module still compiles without it. Its schema
+ * comes from the entities, as in the service's own tests, and it is stocked with the price list
+ * {@code data.sql} gives the Docker Compose database.
+ */
+final class CheckoutInstance implements AutoCloseable {
+
+  static final String EMBEDDED = "embedded";
+
+  private static final String APPLICATION = "com.assessment.kata.checkoutkata.CheckoutKataApplication";
+  private static final String PROBE_CART = "stock-probe";
+  private static final String PRICE_LIST = """
+      item_key,price_in_cents,offer_quantity,offer_savings_in_cents
+      apple,30,2,15
+      banana,50,3,20
+      peach,60,,
+      kiwi,20,,
+      """;
+
+  private final String baseUrl;
+  private final AutoCloseable context;
+
+  private CheckoutInstance(String baseUrl, AutoCloseable context) {
+    this.baseUrl = baseUrl;
+    this.context = context;
+  }
+
+  static CheckoutInstance connect(String target) throws Exception {
+    return EMBEDDED.equals(target) ? startEmbedded() : new CheckoutInstance(target, null);
+  }
+
+  String baseUrl() {
+    return baseUrl;
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (context != null) {
+      context.close();
+    }
+  }
+
+  private static CheckoutInstance startEmbedded() throws Exception {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    String[] args = {
+        "--server.port=" + port,
+        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.username=sa",
+        "--spring.r2dbc.url=r2dbc:h2:mem:///loadtest",
+        "--spring.r2dbc.username=sa",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.sql.init.mode=never",
+        "--logging.level.com.assessment.kata.checkoutkata=WARN",
+        // Nothing from a load test run should outlive it
+        "--checkout.carts.durable=false",
+        "--checkout.journal.enabled=false"
+    };
+    CheckoutInstance instance = new CheckoutInstance("http://localhost:" + port, run(args));
+    StoreClient client = new StoreClient(instance.baseUrl);
+    int status = client.importCsv(PRICE_LIST);
+    if (status != 200) {
+      instance.context.close();
+      throw new IllegalStateException("Stocking the embedded checkout service returned " + status);
+    }
+    if (!awaitPrices(client)) {
+      instance.context.close();
+      throw new IllegalStateException("The embedded checkout service never put its price list on sale");
+    }
+    return instance;
+  }
+
+  /**
+   * The price book picks an import up on its own thread just after the import returns, so this scans
+   * into a throwaway cart until the last item of the price list is on sale.
+   */
+  private static boolean awaitPrices(StoreClient client) throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      if (client.scan(PROBE_CART, "kiwi", 1) == 200) {
+        client.clear(PROBE_CART);
+        return true;
+      }
+      Thread.sleep(50);
+    }
+    return false;
+  }
+
+  private static AutoCloseable run(String[] args) {
+    try {
+      Class<?> application = Class.forName(APPLICATION);
+      Class<?> springApplication = Class.forName("org.springframework.boot.SpringApplication");
+      return (AutoCloseable) springApplication.getMethod("run", Class.class, String[].class)
+          .invoke(null, application, args);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("The checkout service is not on the classpath: install checkout-kata and "
+          + "run with -Pembedded", e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException("The embedded checkout service failed to start", e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-model load test: {@code loadtest.tills} tills scan realistic baskets and take payment while the
+ * back office changes prices, then the run is judged against latency and error objectives. Against the
+ * Docker Compose web profile:
+ *
+ * <pre>
+ * mvn test -Dtest=CheckoutLoadTest -Dloadtest=true -Dloadtest.tills=200
+ * </pre>
+ *
+ * or against an instance started in this JVM on H2, after {@code ./mvnw install -DskipTests} in
+ * checkout-kata:
+ *
+ * <pre>
+ * mvn test -Pembedded -Dtest=CheckoutLoadTest -Dloadtest=true -Dloadtest.target=embedded
+ * </pre>
+ *
+ * Each till gets its own thread, a virtual thread on Java 21 or later, so thousands of tills cost little
+ * more than the requests they make. See {@link LoadSettings} for the basket mix and the objectives.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class CheckoutLoadTest {
+
+  @Test
+  public void shouldMeetServiceLevelObjectivesUnderLoad() throws Exception {
+    LoadSettings settings = new LoadSettings();
+    LatencyRecorder recorder = new LatencyRecorder();
+    double measuredSeconds;
+
+    try (CheckoutInstance instance = CheckoutInstance.connect(settings.target)) {
+      StoreClient client = new StoreClient(instance.baseUrl());
+      Map<String, StoreClient.Pricing> pricing = new TreeMap<>(client.pricing());
+      Map<String, Integer> offerQuantities = new TreeMap<>();
+      pricing.forEach((item, itemPricing) ->
+          offerQuantities.put(item, itemPricing.offerQuantity() == null ? 0 : itemPricing.offerQuantity()));
+
+      long intervalNanos = TimeUnit.MILLISECONDS.toNanos(settings.scanIntervalMillis);
+      long start = System.nanoTime();
+      long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds);
+      long deadline = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds);
+
+      ExecutorService executor = tillExecutor(settings.tills + 1);
+      List<Future<LatencyRecorder>> results = new ArrayList<>();
+      for (int till = 0; till < settings.tills; till++) {
+        BasketGenerator baskets = new BasketGenerator(settings, offerQuantities, settings.seed + till);
+        long firstDue = start + intervalNanos * till / settings.tills;
+        results.add(executor.submit(new Till("till-" + till, client, baskets, intervalNanos, firstDue,
+            measureFrom, deadline)));
+      }
+      if (settings.adminIntervalMillis > 0) {
+        results.add(executor.submit(new PricingChanger(client, pricing, settings.seed,
+            TimeUnit.MILLISECONDS.toNanos(settings.adminIntervalMillis), measureFrom, deadline)));
+      }
+      for (Future<LatencyRecorder> result : results) {
+        recorder.add(result.get());
+      }
+      executor.shutdown();
+      measuredSeconds = (Math.min(System.nanoTime(), deadline) - measureFrom) / 1e9;
+    }
+
+    LoadReport report = new LoadReport(settings, recorder, measuredSeconds);
+    report.print(System.out);
+    report.writeHistograms();
+    List<String> violations = report.violations();
+    assertTrue(violations.isEmpty(), "Service level objectives missed: " + violations);
+  }
+
+  /**
+   * A virtual thread per till where the runtime has them, otherwise a platform thread each.
+   */
+  private static ExecutorService tillExecutor(int threads) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (NoSuchMethodException e) {
+      System.out.printf("Java %d has no virtual threads; running each till on a platform thread%n",
+          Runtime.version().feature());
+      return Executors.newFixedThreadPool(threads);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies in nanoseconds and failures per endpoint. Each till and the pricing changer keep their
+ * own, unsynchronized, and the load test merges them when the run is over.
+ */
+final class LatencyRecorder {
+
+  static final class Endpoint {
+    final Histogram latency = new Histogram(3);
+    long errors;
+
+    long count() {
+      return latency.getTotalCount();
+    }
+  }
+
+  private final Map<String, Endpoint> endpoints = new TreeMap<>();
+
+  void record(String endpoint, long latencyNanos, boolean ok) {
+    Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+    stats.latency.recordValue(latencyNanos);
+    if (!ok) {
+      stats.errors++;
+    }
+  }
+
+  void add(LatencyRecorder other) {
+    other.endpoints.forEach((endpoint, stats) -> {
+      Endpoint merged = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+      merged.latency.add(stats.latency);
+      merged.errors += stats.errors;
+    });
+  }
+
+  Map<String, Endpoint> endpoints() {
+    return endpoints;
+  }
+}
@@ -0,0 +1,117 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints per-endpoint throughput and latency percentiles, writes each endpoint's full HdrHistogram
+ * percentile distribution to {@code target/loadtest/*.hgrm} for plotting, and judges the till requests
+ * against the service level objectives.
+ */
+final class LoadReport {
+
+  static final Path HISTOGRAM_DIR = Path.of("target", "loadtest");
+
+  private static final String ROW = "%-38s %8s %7s %9s %9s %9s %9s %9s%n";
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  private static final String TILLS = "all till requests";
+
+  private final LoadSettings settings;
+  private final LatencyRecorder recorder;
+  private final double measuredSeconds;
+  private final LatencyRecorder.Endpoint tills = new LatencyRecorder.Endpoint();
+
+  LoadReport(LoadSettings settings, LatencyRecorder recorder, double measuredSeconds) {
+    this.settings = settings;
+    this.recorder = recorder;
+    this.measuredSeconds = measuredSeconds;
+    recorder.endpoints().forEach((endpoint, stats) -> {
+      if (isTill(endpoint)) {
+        tills.latency.add(stats.latency);
+        tills.errors += stats.errors;
+      }
+    });
+  }
+
+  void print(PrintStream out) {
+    out.printf("Load test: %s%n", settings);
+    out.printf("Measured %.1f s after warmup%n", measuredSeconds);
+    out.printf(ROW, "Endpoint", "Count", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+    recorder.endpoints().forEach((endpoint, stats) -> row(out, endpoint, stats));
+    row(out, TILLS, tills);
+    List<String> violations = violations();
+    out.println(violations.isEmpty() ? "SLO verdict: PASS" : "SLO verdict: FAIL");
+    violations.forEach(violation -> out.println("  " + violation));
+  }
+
+  void writeHistograms() throws IOException {
+    Files.createDirectories(HISTOGRAM_DIR);
+    writeHistogram(TILLS, tills.latency);
+    for (Map.Entry<String, LatencyRecorder.Endpoint> entry : recorder.endpoints().entrySet()) {
+      writeHistogram(entry.getKey(), entry.getValue().latency);
+    }
+  }
+
+  /**
+   * The objectives the till requests missed, empty when the run passes.
+   */
+  List<String> violations() {
+    List<String> violations = new ArrayList<>();
+    if (tills.count() == 0) {
+      violations.add("no till requests were measured");
+      return violations;
+    }
+    double p99 = millis(tills.latency.getValueAtPercentile(99));
+    double p999 = millis(tills.latency.getValueAtPercentile(99.9));
+    double errorPercent = 100.0 * tills.errors / tills.count();
+    double throughput = tills.count() / measuredSeconds;
+    if (p99 > settings.sloP99Millis) {
+      violations.add(String.format("p99 %.1f ms is over %.1f ms", p99, settings.sloP99Millis));
+    }
+    if (p999 > settings.sloP999Millis) {
+      violations.add(String.format("p99.9 %.1f ms is over %.1f ms", p999, settings.sloP999Millis));
+    }
+    if (errorPercent > settings.sloMaxErrorPercent) {
+      violations.add(String.format("%.3f%% of requests failed, allowed %.3f%%", errorPercent,
+          settings.sloMaxErrorPercent));
+    }
+    if (throughput < settings.sloMinThroughput) {
+      violations.add(String.format("%.1f req/s is under %.1f req/s", throughput, settings.sloMinThroughput));
+    }
+    return violations;
+  }
+
+  private void row(PrintStream out, String endpoint, LatencyRecorder.Endpoint stats) {
+    Histogram latency = stats.latency;
+    out.printf(ROW, endpoint, stats.count(), stats.errors, String.format("%.1f", stats.count() / measuredSeconds),
+        format(latency.getValueAtPercentile(50)), format(latency.getValueAtPercentile(99)),
+        format(latency.getValueAtPercentile(99.9)), format(latency.getMaxValue()));
+  }
+
+  private void writeHistogram(String endpoint, Histogram latency) throws FileNotFoundException {
+    String name = endpoint.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("^-|-$", "").toLowerCase();
+    try (PrintStream out = new PrintStream(HISTOGRAM_DIR.resolve(name + ".hgrm").toFile())) {
+      latency.outputPercentileDistribution(out, NANOS_PER_MILLI);
+    }
+  }
+
+  private static boolean isTill(String endpoint) {
+    return endpoint.contains("/api/checkout/");
+  }
+
+  private static String format(long nanos) {
+    return String.format("%.3f", millis(nanos));
+  }
+
+  private static double millis(long nanos) {
+    return nanos / NANOS_PER_MILLI;
+  }
+}
@@ -0,0 +1,55 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from {@code -Dloadtest.*} system properties. Defaults describe a mid-sized
+ * store: 50 tills scanning a line every 100 ms, one admin pricing change every 2 s.
+ */
+final class LoadSettings {
+
+  /** {@code embedded} to start the service in-process (needs {@code -Pembedded}), or a base URL. */
+  final String target = System.getProperty("loadtest.target", "http://localhost:8080");
+  final int tills = Integer.getInteger("loadtest.tills", 50);
+  final int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+  final int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+  final long seed = Long.getLong("loadtest.seed", 42);
+
+  // Baskets
+  final Map<String, Integer> itemMix = parseMix(System.getProperty("loadtest.itemMix",
+      "apple:35,banana:30,kiwi:20,peach:15"));
+  final double meanBasketLines = Double.parseDouble(System.getProperty("loadtest.meanBasketLines", "8"));
+  /** Share of lines of an item on offer whose quantity is rounded up to a whole number of offers. */
+  final double discountRatio = Double.parseDouble(System.getProperty("loadtest.discountRatio", "0.3"));
+  /** Share of baskets where the cashier voids a line before taking payment. */
+  final double voidRatio = Double.parseDouble(System.getProperty("loadtest.voidRatio", "0.05"));
+  final int scanIntervalMillis = Integer.getInteger("loadtest.scanIntervalMillis", 100);
+
+  // Admin pricing changes interleaved with the tills; 0 turns them off
+  final int adminIntervalMillis = Integer.getInteger("loadtest.adminIntervalMillis", 2000);
+
+  // Service level objectives for till requests, judged after the warmup
+  final double sloP99Millis = Double.parseDouble(System.getProperty("loadtest.slo.p99Millis", "250"));
+  final double sloP999Millis = Double.parseDouble(System.getProperty("loadtest.slo.p999Millis", "1000"));
+  final double sloMaxErrorPercent = Double.parseDouble(System.getProperty("loadtest.slo.maxErrorPercent", "0.1"));
+  /** Minimum till requests per second; 0 leaves throughput unjudged. */
+  final double sloMinThroughput = Double.parseDouble(System.getProperty("loadtest.slo.minThroughput", "0"));
+
+  @Override
+  public String toString() {
+    return String.format("target=%s tills=%d duration=%ds warmup=%ds scanInterval=%dms adminInterval=%dms "
+            + "itemMix=%s meanBasketLines=%.1f discountRatio=%.2f voidRatio=%.2f seed=%d", target, tills,
+        durationSeconds, warmupSeconds, scanIntervalMillis, adminIntervalMillis, itemMix, meanBasketLines,
+        discountRatio, voidRatio, seed);
+  }
+
+  private static Map<String, Integer> parseMix(String mix) {
+    Map<String, Integer> weights = new LinkedHashMap<>();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split(":");
+      weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+    }
+    return weights;
+  }
+}
@@ -0,0 +1,73 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The back office changing prices while the tills run: every admin interval it nudges one item's price
+ * or multi-buy saving up by a few cents, or sets it back, so price book reloads and price events
+ * compete with checkout traffic. Everything is put back as it was when the run ends.
+ */
+final class PricingChanger implements Callable<LatencyRecorder> {
+
+  static final String PRICE = "PATCH /admin/pricing/{item}/price";
+  static final String OFFER = "PATCH /admin/pricing/{item}/offer";
+
+  private final StoreClient client;
+  private final Map<String, StoreClient.Pricing> original;
+  private final List<String> items;
+  private final Random random;
+  private final long intervalNanos;
+  private final long measureFrom;
+  private final long deadline;
+  private final LatencyRecorder recorder = new LatencyRecorder();
+
+  PricingChanger(StoreClient client, Map<String, StoreClient.Pricing> original, long seed, long intervalNanos,
+                 long measureFrom, long deadline) {
+    this.client = client;
+    this.original = original;
+    this.items = new ArrayList<>(original.keySet());
+    this.random = new Random(seed);
+    this.intervalNanos = intervalNanos;
+    this.measureFrom = measureFrom;
+    this.deadline = deadline;
+  }
+
+  @Override
+  public LatencyRecorder call() {
+    long due = System.nanoTime() + intervalNanos;
+    for (int step = 0; due < deadline; step++, due += intervalNanos) {
+      long remaining;
+      while ((remaining = due - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(remaining);
+      }
+      // Each item is changed and then restored on its next turn, alternating price and offer
+      String item = items.get((step / 2) % items.size());
+      StoreClient.Pricing pricing = original.get(item);
+      boolean restore = step % 2 == 1;
+      boolean offer = (step / (2 * items.size())) % 2 == 1 && pricing.offerQuantity() != null;
+      int delta = restore ? 0 : 1 + random.nextInt(5);
+      int status = offer ?
+          client.updateOffer(item, pricing.offerQuantity(), pricing.offerSavingsInCents() + delta) :
+          client.updatePrice(item, pricing.priceInCents() + delta);
+      if (due >= measureFrom) {
+        recorder.record(offer ? OFFER : PRICE, System.nanoTime() - due, status == 200);
+      }
+    }
+    restoreAll();
+    return recorder;
+  }
+
+  private void restoreAll() {
+    original.forEach((item, pricing) -> {
+      client.updatePrice(item, pricing.priceInCents());
+      if (pricing.offerQuantity() != null) {
+        client.updateOffer(item, pricing.offerQuantity(), pricing.offerSavingsInCents());
+      }
+    });
+  }
+}
@@ -0,0 +1,114 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import com.assessment.kata.checkoutkata.integrationtests.common.TestConstants;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The checkout and admin calls a till and a back office make, over one shared HTTP/1.1 client.
+ * Calls return the status code, or -1 when no response came back.
+ */
+final class StoreClient {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /** The admin view of one item, as much of it as the load test needs. */
+  record Pricing(int priceInCents, Integer offerQuantity, Integer offerSavingsInCents) {
+  }
+
+  private final String baseUrl;
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  StoreClient(String baseUrl) {
+    this.baseUrl = baseUrl;
+  }
+
+  int scan(String cartId, String item, int quantity) {
+    return post("/api/checkout/" + cartId + "/scan", itemQuantity(item, quantity));
+  }
+
+  int remove(String cartId, String item, int quantity) {
+    return post("/api/checkout/" + cartId + "/remove", itemQuantity(item, quantity));
+  }
+
+  int total(String cartId) {
+    return send(request("/api/checkout/" + cartId + "/total").GET());
+  }
+
+  int complete(String cartId) {
+    return post("/api/checkout/" + cartId + "/complete", null);
+  }
+
+  int clear(String cartId) {
+    return post("/api/checkout/" + cartId + "/clear", null);
+  }
+
+  int updatePrice(String item, int priceInCents) {
+    return send(request(TestConstants.ADMIN_PRICING_ENDPOINT + "/" + item + "/price")
+        .method("PATCH", json(String.format("{\"newPriceInCents\":%d}", priceInCents))));
+  }
+
+  int updateOffer(String item, int quantity, int savingsInCents) {
+    return send(request(TestConstants.ADMIN_PRICING_ENDPOINT + "/" + item + "/offer")
+        .method("PATCH", json(String.format("{\"quantity\":%d,\"savingsInCents\":%d}", quantity, savingsInCents))));
+  }
+
+  int importCsv(String csv) {
+    return send(request(TestConstants.ADMIN_PRICING_ENDPOINT + "/import")
+        .setHeader("Content-Type", "text/csv")
+        .POST(HttpRequest.BodyPublishers.ofString(csv)));
+  }
+
+  Map<String, Pricing> pricing() throws IOException, InterruptedException {
+    HttpResponse<String> response = httpClient.send(request(TestConstants.ADMIN_PRICING_ENDPOINT)
+        .header("Accept", TestConstants.CONTENT_TYPE_JSON).GET().build(), HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException("GET " + TestConstants.ADMIN_PRICING_ENDPOINT + " returned " + response.statusCode());
+    }
+    return MAPPER.readerFor(new TypeReference<Map<String, Pricing>>() { })
+        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .readValue(response.body());
+  }
+
+  private int post(String path, String body) {
+    return send(request(path).POST(body == null ? HttpRequest.BodyPublishers.noBody() : json(body)));
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(REQUEST_TIMEOUT)
+        .header("Content-Type", TestConstants.CONTENT_TYPE_JSON);
+  }
+
+  private static HttpRequest.BodyPublisher json(String body) {
+    return HttpRequest.BodyPublishers.ofString(body);
+  }
+
+  private static String itemQuantity(String item, int quantity) {
+    return String.format("{\"itemName\":\"%s\",\"quantity\":%d}", item, quantity);
+  }
+
+  private int send(HttpRequest.Builder request) {
+    try {
+      return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    } catch (IOException e) {
+      return -1;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return -1;
+    }
+  }
+}
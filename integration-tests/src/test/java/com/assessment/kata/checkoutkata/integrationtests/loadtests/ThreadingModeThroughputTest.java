@@ -0,0 +1,135 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import com.assessment.kata.checkoutkata.integrationtests.common.TestConstants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Closed-loop throughput test used to compare the platform-thread and virtual-thread
+ * execution modes. Run it once against an instance started normally and once against
+ * an instance started with JAVA_VERSION=21 and SPRING_PROFILES_ACTIVE=virtual-threads:
+ *
+ * <pre>
+ * mvn test -Dtest=ThreadingModeThroughputTest -Dloadtest=true -Dloadtest.clients=400
+ * </pre>
+ *
+ * Every client owns its own cart and mixes scans with the database-backed pricing listing,
+ * so requests that block on JDBC compete with cheap in-memory requests for request threads.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class ThreadingModeThroughputTest {
+
+  private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+  private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+  private static final int PRICING_LISTING_PERCENT = Integer.getInteger("loadtest.pricingListingPercent", 20);
+
+  private static final String[] ITEMS = {"apple", "banana", "peach", "kiwi"};
+
+  @Test
+  public void shouldReportThroughputForCurrentThreadingMode() throws Exception {
+    HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newFixedThreadPool(Math.min(CLIENTS, 64)))
+        .build();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+    ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+    List<Future<ClientResult>> futures = new ArrayList<>();
+    for (int client = 0; client < CLIENTS; client++) {
+      String cartId = "load-" + client;
+      futures.add(clients.submit(() -> runClient(httpClient, cartId, deadline)));
+    }
+
+    long requests = 0;
+    long errors = 0;
+    List<long[]> latencies = new ArrayList<>();
+    for (Future<ClientResult> future : futures) {
+      ClientResult result = future.get();
+      requests += result.requests;
+      errors += result.errors;
+      latencies.add(Arrays.copyOf(result.latenciesMicros, result.requests));
+    }
+    clients.shutdown();
+
+    long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+    System.out.printf("clients=%d duration=%ds requests=%d errors=%d throughput=%.1f req/s p50=%dus p99=%dus%n",
+        CLIENTS, DURATION_SECONDS, requests, errors, requests / (double) DURATION_SECONDS,
+        percentile(all, 0.50), percentile(all, 0.99));
+
+    assertTrue(requests > 0, "No requests completed");
+    assertEquals(0, errors, "Requests failed during the load test");
+  }
+
+  private ClientResult runClient(HttpClient httpClient, String cartId, long deadline) {
+    ClientResult result = new ClientResult();
+    int sequence = 0;
+    while (System.nanoTime() < deadline) {
+      HttpRequest request = nextRequest(cartId, sequence++);
+      long start = System.nanoTime();
+      try {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+          result.errors++;
+        }
+      } catch (Exception e) {
+        result.errors++;
+      }
+      result.record((System.nanoTime() - start) / 1_000);
+    }
+    return result;
+  }
+
+  private HttpRequest nextRequest(String cartId, int sequence) {
+    if (sequence % 100 < PRICING_LISTING_PERCENT) {
+      return HttpRequest.newBuilder(URI.create(TestConstants.BASE_URL + TestConstants.ADMIN_PRICING_ENDPOINT))
+          .GET()
+          .build();
+    }
+    if (sequence % 50 == 49) {
+      return HttpRequest.newBuilder(URI.create(TestConstants.BASE_URL + "/api/checkout/" + cartId + "/clear"))
+          .POST(HttpRequest.BodyPublishers.noBody())
+          .build();
+    }
+    String body = String.format("{\"itemName\":\"%s\",\"quantity\":1}", ITEMS[sequence % ITEMS.length]);
+    return HttpRequest.newBuilder(URI.create(TestConstants.BASE_URL + "/api/checkout/" + cartId + "/scan"))
+        .header("Content-Type", TestConstants.CONTENT_TYPE_JSON)
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+  }
+
+  private static final class ClientResult {
+    private long[] latenciesMicros = new long[1024];
+    private int requests;
+    private long errors;
+
+    private void record(long latencyMicros) {
+      if (requests == latenciesMicros.length) {
+        latenciesMicros = Arrays.copyOf(latenciesMicros, requests * 2);
+      }
+      latenciesMicros[requests++] = latencyMicros;
+    }
+  }
+}
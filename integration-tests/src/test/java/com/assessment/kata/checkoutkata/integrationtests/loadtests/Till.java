@@ -0,0 +1,87 @@
+package com.assessment.kata.checkoutkata.integrationtests.loadtests;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * One checkout lane working through baskets: scans each line, sometimes voids one, checks the total and
+ * takes payment, one request every scan interval.
+ *
+ * <p>Requests follow a fixed schedule rather than waiting for the previous answer plus the interval, and
+ * latency runs from when a request was due. When the service stalls, the requests that fall due
+ * meanwhile are sent late and charged the wait, as a queue of shoppers would feel it; a closed loop
+ * that only timed each call would hide it.
+ */
+final class Till implements Callable<LatencyRecorder> {
+
+  static final String SCAN = "POST /api/checkout/{cartId}/scan";
+  static final String REMOVE = "POST /api/checkout/{cartId}/remove";
+  static final String TOTAL = "GET /api/checkout/{cartId}/total";
+  static final String COMPLETE = "POST /api/checkout/{cartId}/complete";
+
+  private final String cartId;
+  private final StoreClient client;
+  private final BasketGenerator baskets;
+  private final long intervalNanos;
+  private final long measureFrom;
+  private final long deadline;
+  private final LatencyRecorder recorder = new LatencyRecorder();
+  private long due;
+
+  /**
+   * @param firstDue when the first scan is due; tills are staggered across one interval
+   * @param measureFrom requests due before this are warmup and not recorded
+   */
+  Till(String cartId, StoreClient client, BasketGenerator baskets, long intervalNanos, long firstDue,
+       long measureFrom, long deadline) {
+    this.cartId = cartId;
+    this.client = client;
+    this.baskets = baskets;
+    this.intervalNanos = intervalNanos;
+    this.due = firstDue;
+    this.measureFrom = measureFrom;
+    this.deadline = deadline;
+  }
+
+  @Override
+  public LatencyRecorder call() {
+    client.clear(cartId);
+    while (due < deadline) {
+      List<BasketGenerator.Line> basket = baskets.next();
+      for (BasketGenerator.Line line : basket) {
+        send(SCAN, () -> client.scan(cartId, line.item(), line.quantity()));
+      }
+      // Voiding the only unit would empty the cart and leave nothing to pay for
+      if (baskets.voidsALine() && units(basket) > 1) {
+        BasketGenerator.Line line = basket.get(baskets.pick(basket.size()));
+        send(REMOVE, () -> client.remove(cartId, line.item(), 1));
+      }
+      send(TOTAL, () -> client.total(cartId));
+      send(COMPLETE, () -> client.complete(cartId));
+    }
+    return recorder;
+  }
+
+  private static int units(List<BasketGenerator.Line> basket) {
+    int units = 0;
+    for (BasketGenerator.Line line : basket) {
+      units += line.quantity();
+    }
+    return units;
+  }
+
+  private void send(String endpoint, IntSupplier request) {
+    long remaining;
+    while ((remaining = due - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+    int status = request.getAsInt();
+    long latency = System.nanoTime() - due;
+    if (due >= measureFrom && due < deadline) {
+      recorder.record(endpoint, latency, status == 200);
+    }
+    due += intervalNanos;
+  }
+}